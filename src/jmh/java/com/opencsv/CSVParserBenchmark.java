@@ -0,0 +1,105 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the general CSVParser with the parsers CSVParserBuilder builds for
+ * a configuration, parsing the same lines.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CSVParserBenchmark {
+
+    private static final int LINES = 10000;
+
+    /**
+     * quoted: comma separated with quotes and the default escape character;
+     * unescaped: the same without an escape character; tsv: tab separated
+     * without quote and escape characters.
+     */
+    @Param({"quoted", "unescaped", "tsv"})
+    public String dialect;
+
+    /**
+     * general: the CSVParser constructor; built: CSVParserBuilder.build();
+     * table: CSVParserBuilder.buildTableDriven().
+     */
+    @Param({"general", "built", "table"})
+    public String parser;
+
+    private CSVParser csvParser;
+    private char[] chars;
+    private int[] lineEnds;
+
+    @Setup
+    public void setUp() {
+        CSVParserBuilder builder = new CSVParserBuilder();
+        if ("unescaped".equals(dialect)) {
+            builder.withEscapeChar(ICSVParser.NULL_CHARACTER);
+        } else if ("tsv".equals(dialect)) {
+            builder.withSeparator('\t')
+                    .withQuoteChar(ICSVParser.NULL_CHARACTER)
+                    .withEscapeChar(ICSVParser.NULL_CHARACTER);
+        }
+        if ("general".equals(parser)) {
+            csvParser = new CSVParser(builder.getSeparator(), builder.getQuoteChar(), builder.getEscapeChar(),
+                    builder.isStrictQuotes(), builder.isIgnoreLeadingWhiteSpace(), builder.isIgnoreQuotations(),
+                    CSVReaderNullFieldIndicator.NEITHER);
+        } else if ("built".equals(parser)) {
+            csvParser = builder.build();
+        } else {
+            csvParser = builder.buildTableDriven();
+        }
+
+        Random random = new Random(1);
+        boolean quoted = !"tsv".equals(dialect);
+        char separator = builder.getSeparator();
+        StringBuilder sb = new StringBuilder();
+        lineEnds = new int[LINES];
+        for (int line = 0; line < LINES; line++) {
+            for (int column = 0; column < 10; column++) {
+                if (column > 0) {
+                    sb.append(separator);
+                }
+                if (column % 3 == 0) {
+                    sb.append(random.nextInt(1000000));
+                } else if (quoted && column % 3 == 1) {
+                    sb.append("\"some quoted text, ").append(random.nextInt(1000)).append('"');
+                } else {
+                    sb.append("plain text value ").append(random.nextInt(1000));
+                }
+            }
+            lineEnds[line] = sb.length();
+        }
+        chars = sb.toString().toCharArray();
+    }
+
+    @Benchmark
+    public void parseLines(Blackhole blackhole) throws IOException {
+        int start = 0;
+        for (int end : lineEnds) {
+            blackhole.consume(csvParser.parseLineMulti(chars, start, end - start));
+            start = end;
+        }
+    }
+}
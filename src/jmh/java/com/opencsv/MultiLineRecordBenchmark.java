@@ -0,0 +1,69 @@
+package com.opencsv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a record whose quoted fields span many lines. The time per line
+ * should not grow with the number of lines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiLineRecordBenchmark {
+
+    /**
+     * The number of lines of the record.
+     */
+    @Param({"100", "1000", "10000"})
+    public int lines;
+
+    /**
+     * field: one field spanning all lines; fields: every line ends one
+     * quoted field and starts the next.
+     */
+    @Param({"field", "fields"})
+    public String layout;
+
+    /**
+     * True to read the lines as Strings, false to parse them in the buffer
+     * of the reader.
+     */
+    @Param({"false", "true"})
+    public boolean keepCR;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("id,\"");
+        String lineBreak = "fields".equals(layout) ? "\",\"\n" : "\n";
+        for (int line = 1; line < lines; line++) {
+            sb.append("free text comment line ").append(line).append(lineBreak);
+        }
+        sb.append("last line\",end\n");
+        csv = sb.toString();
+    }
+
+    @Benchmark
+    public String[] readRecord() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(csv)).withKeepCarriageReturn(keepCR).build();
+        return reader.readNext();
+    }
+}
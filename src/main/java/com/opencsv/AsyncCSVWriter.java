@@ -0,0 +1,375 @@
+package com.opencsv;
+
+import com.opencsv.enums.BackpressurePolicy;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes rows through a {@link CSVWriter} on a thread of its own, so that
+ * the threads writing the rows do not wait for the output.
+ * <p>
+ * {@link #writeNext(String[])} puts the row into a bounded queue and
+ * returns. When the queue is full, the row is either waited for or dropped,
+ * as set by the {@link BackpressurePolicy}. The writer thread takes all
+ * rows queued at a time and writes them together with
+ * {@link CSVWriter#writeAll(Iterable, boolean)}. It flushes the CSVWriter
+ * once a number of rows has been written since the last flush, or once the
+ * first row not flushed has waited for the flush interval.
+ * </p>
+ * <p>
+ * The arrays passed to {@link #writeNext(String[])} are written later, so
+ * they must not be changed afterwards. Errors of the output are reported
+ * by {@link #checkError()}, as by the CSVWriter. {@link #close()} writes
+ * all rows still queued before closing the CSVWriter.
+ * </p>
+ * <p>Example code for using this class:<br><br>
+ * <code>
+ * AsyncCSVWriter writer = new AsyncCSVWriterBuilder(csvWriter)<br>
+ * .withBackpressurePolicy(BackpressurePolicy.DROP)<br>
+ * .build();<br>
+ * writer.writeNext(row);<br>
+ * </code></p>
+ *
+ * @see com.opencsv.AsyncCSVWriterBuilder
+ * @since 3.9
+ */
+public class AsyncCSVWriter implements Closeable, Flushable {
+
+    /**
+     * The default number of rows the queue holds.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 8 * 1024;
+    /**
+     * The default number of rows written after which the CSVWriter is flushed.
+     */
+    public static final int DEFAULT_FLUSH_ROWS = 8 * 1024;
+    /**
+     * The default time in milliseconds after which written rows are flushed.
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+    private final CSVWriter writer;
+    private final BackpressurePolicy backpressurePolicy;
+    private final int flushRows;
+    private final long flushIntervalNanos;
+    private final Thread thread;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    // The queue is a ring buffer of rows and their applyQuotesToAll flags.
+    // All fields below are guarded by the lock.
+    private final String[][] rows;
+    private final boolean[] quoteAll;
+    private int head = 0;
+    private int size = 0;
+    /**
+     * The number of rows queued since the writer was created.
+     */
+    private long queued = 0;
+    /**
+     * The number of rows that have to be flushed for a waiting flush.
+     */
+    private long flushRequested = 0;
+    /**
+     * The number of rows that have been written and flushed.
+     */
+    private long flushedRows = 0;
+    private long droppedRows = 0;
+    private boolean closed = false;
+    private boolean stopped = false;
+
+    private volatile IOException exception;
+    private volatile boolean writerError = false;
+
+    /**
+     * Creates the writer and starts its thread.
+     *
+     * @param writer             The CSVWriter to write the rows with
+     * @param capacity           The number of rows the queue holds
+     * @param backpressurePolicy What to do with a row when the queue is full
+     * @param flushRows          The number of rows written after which the CSVWriter is flushed
+     * @param flushIntervalNanos The time after which written rows are flushed
+     */
+    AsyncCSVWriter(CSVWriter writer, int capacity, BackpressurePolicy backpressurePolicy,
+                   int flushRows, long flushIntervalNanos) {
+        this.writer = writer;
+        this.backpressurePolicy = backpressurePolicy;
+        this.flushRows = flushRows;
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.rows = new String[capacity][];
+        this.quoteAll = new boolean[capacity];
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeRows();
+            }
+        }, "AsyncCSVWriter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues the next line, quoting all values.
+     *
+     * @param nextLine A string array with each comma-separated element as a separate
+     *                 entry.
+     * @return True if the line was queued, false if it was dropped.
+     * @throws IllegalStateException If the writer has been closed
+     */
+    public boolean writeNext(String[] nextLine) {
+        return writeNext(nextLine, true);
+    }
+
+    /**
+     * Queues the next line. If the queue is full, the line is waited for
+     * or dropped, as set by the {@link BackpressurePolicy}. A line that is
+     * waited for is dropped if the thread is interrupted.
+     *
+     * @param nextLine         A string array with each comma-separated element as a separate
+     *                         entry. It must not be changed afterwards.
+     * @param applyQuotesToAll True if all values are to be quoted. False applies quotes only
+     *                         to values which contain the separator, escape, quote, or new line characters.
+     * @return True if the line was queued, false if it was dropped.
+     * @throws IllegalStateException If the writer has been closed
+     */
+    public boolean writeNext(String[] nextLine, boolean applyQuotesToAll) {
+        if (nextLine == null) {
+            return true;
+        }
+        lock.lock();
+        try {
+            while (size == rows.length && !closed && !stopped
+                    && backpressurePolicy == BackpressurePolicy.BLOCK) {
+                try {
+                    notFull.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedRows++;
+                    return false;
+                }
+            }
+            if (closed) {
+                throw new IllegalStateException("The writer has been closed");
+            }
+            if (size == rows.length || stopped) {
+                droppedRows++;
+                return false;
+            }
+            int tail = (head + size) % rows.length;
+            rows[tail] = nextLine;
+            quoteAll[tail] = applyQuotesToAll;
+            size++;
+            queued++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The loop of the writer thread: takes the rows queued, writes them,
+     * and flushes them when it is time to.
+     */
+    private void writeRows() {
+        String[][] batch = new String[rows.length][];
+        boolean[] batchQuoteAll = new boolean[rows.length];
+        List<String[]> batchList = Arrays.asList(batch);
+        int unflushed = 0;
+        long flushDeadline = 0;
+        try {
+            while (true) {
+                int n;
+                long written;
+                boolean flushNow;
+                boolean closing;
+                lock.lock();
+                try {
+                    while (size == 0 && !closed && flushRequested <= flushedRows) {
+                        if (unflushed == 0) {
+                            notEmpty.await();
+                        } else {
+                            long wait = flushDeadline - System.nanoTime();
+                            if (wait <= 0) {
+                                break;
+                            }
+                            notEmpty.awaitNanos(wait);
+                        }
+                    }
+                    n = size;
+                    for (int i = 0; i < n; i++) {
+                        int index = (head + i) % rows.length;
+                        batch[i] = rows[index];
+                        batchQuoteAll[i] = quoteAll[index];
+                        rows[index] = null;
+                    }
+                    head = (head + n) % rows.length;
+                    size = 0;
+                    written = queued;
+                    flushNow = flushRequested > flushedRows;
+                    closing = closed;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+
+                // consecutive rows quoted the same way are written together
+                int start = 0;
+                for (int i = 1; i <= n; i++) {
+                    if (i == n || batchQuoteAll[i] != batchQuoteAll[start]) {
+                        writer.writeAll(batchList.subList(start, i), batchQuoteAll[start]);
+                        start = i;
+                    }
+                }
+                Arrays.fill(batch, 0, n, null);
+                if (unflushed == 0 && n > 0) {
+                    flushDeadline = System.nanoTime() + flushIntervalNanos;
+                }
+                unflushed += n;
+
+                if (flushNow || closing || unflushed >= flushRows
+                        || (unflushed > 0 && System.nanoTime() - flushDeadline >= 0)) {
+                    flushWriter();
+                    unflushed = 0;
+                    lock.lock();
+                    try {
+                        flushedRows = written;
+                        flushed.signalAll();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                if (closing) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // the thread is only interrupted if close() is interrupted
+        } catch (RuntimeException e) {
+            writerError = true;
+            throw e;
+        } finally {
+            lock.lock();
+            try {
+                stopped = true;
+                notFull.signalAll();
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void flushWriter() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            exception = e;
+        }
+        if (writer.checkError()) {
+            writerError = true;
+        }
+    }
+
+    /**
+     * Waits until the rows queued before have been written and flushed.
+     *
+     * @throws IOException If flushing the CSVWriter failed, or the thread
+     *                     is interrupted while waiting
+     */
+    @Override
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            long target = queued;
+            if (flushRequested < target) {
+                flushRequested = target;
+            }
+            notEmpty.signal();
+            while (flushedRows < target && !stopped) {
+                try {
+                    flushed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the rows to be flushed");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Writes the rows still queued, and closes the CSVWriter. Rows queued
+     * afterwards are rejected.
+     *
+     * @throws IOException If the CSVWriter cannot be flushed or closed, or
+     *                     the thread is interrupted while waiting
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            thread.interrupt();
+            throw new InterruptedIOException("Interrupted while writing the queued rows");
+        }
+        writer.close();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Waits until the rows queued have been written and flushed, and checks
+     * whether there has been an error writing the rows.
+     *
+     * @return True if the CSVWriter has encountered an error.
+     */
+    public boolean checkError() {
+        try {
+            flush();
+        } catch (IOException e) {
+            return true;
+        }
+        return writerError;
+    }
+
+    /**
+     * @return The number of rows that have been dropped because the queue
+     * was full.
+     */
+    public long getDroppedRows() {
+        lock.lock();
+        try {
+            return droppedRows;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
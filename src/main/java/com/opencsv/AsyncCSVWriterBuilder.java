@@ -0,0 +1,112 @@
+package com.opencsv;
+
+import com.opencsv.enums.BackpressurePolicy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder for creating an AsyncCSVWriter.
+ * <p>
+ * <code>
+ * final AsyncCSVWriter writer =<br>
+ * new AsyncCSVWriterBuilder(new CSVWriter(new FileWriter(file)))<br>
+ * .withQueueCapacity(100000)<br>
+ * .withFlushInterval(100, TimeUnit.MILLISECONDS)<br>
+ * .build();<br>
+ * </code></p>
+ *
+ * @see com.opencsv.AsyncCSVWriter
+ * @since 3.9
+ */
+public class AsyncCSVWriterBuilder {
+
+    private final CSVWriter writer;
+    private int queueCapacity = AsyncCSVWriter.DEFAULT_QUEUE_CAPACITY;
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+    private int flushRows = AsyncCSVWriter.DEFAULT_FLUSH_ROWS;
+    private long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(AsyncCSVWriter.DEFAULT_FLUSH_INTERVAL_MILLIS);
+
+    /**
+     * Sets the CSVWriter to write the rows with.
+     *
+     * @param writer The CSVWriter. It is closed when the AsyncCSVWriter is closed.
+     * @throws IllegalArgumentException If the CSVWriter is null
+     */
+    public AsyncCSVWriterBuilder(final CSVWriter writer) {
+        if (writer == null) {
+            throw new IllegalArgumentException("CSVWriter may not be null");
+        }
+        this.writer = writer;
+    }
+
+    /**
+     * Sets the number of rows the queue holds.
+     *
+     * @param queueCapacity The number of rows the queue holds
+     * @return The AsyncCSVWriterBuilder
+     * @throws IllegalArgumentException If the capacity is not positive
+     */
+    public AsyncCSVWriterBuilder withQueueCapacity(final int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("The queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Sets what to do with a row when the queue is full.
+     *
+     * @param backpressurePolicy Whether to wait for room in the queue or to drop the row
+     * @return The AsyncCSVWriterBuilder
+     * @throws IllegalArgumentException If the policy is null
+     */
+    public AsyncCSVWriterBuilder withBackpressurePolicy(final BackpressurePolicy backpressurePolicy) {
+        if (backpressurePolicy == null) {
+            throw new IllegalArgumentException("Backpressure policy may not be null");
+        }
+        this.backpressurePolicy = backpressurePolicy;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows written after which the CSVWriter is flushed.
+     *
+     * @param flushRows The number of rows
+     * @return The AsyncCSVWriterBuilder
+     * @throws IllegalArgumentException If the number is not positive
+     */
+    public AsyncCSVWriterBuilder withFlushRows(final int flushRows) {
+        if (flushRows <= 0) {
+            throw new IllegalArgumentException("The number of rows to flush after must be positive");
+        }
+        this.flushRows = flushRows;
+        return this;
+    }
+
+    /**
+     * Sets the time after which written rows are flushed, counted from the
+     * first row that has not been flushed.
+     *
+     * @param interval The time
+     * @param unit     The unit of the time
+     * @return The AsyncCSVWriterBuilder
+     * @throws IllegalArgumentException If the time is not positive or the unit is null
+     */
+    public AsyncCSVWriterBuilder withFlushInterval(final long interval, final TimeUnit unit) {
+        if (interval <= 0 || unit == null) {
+            throw new IllegalArgumentException("The flush interval must be positive");
+        }
+        this.flushIntervalNanos = unit.toNanos(interval);
+        return this;
+    }
+
+    /**
+     * Creates the AsyncCSVWriter and starts its thread.
+     *
+     * @return The AsyncCSVWriter based on the set criteria.
+     */
+    public AsyncCSVWriter build() {
+        return new AsyncCSVWriter(writer, queueCapacity, backpressurePolicy, flushRows, flushIntervalNanos);
+    }
+}
@@ -0,0 +1,273 @@
+package com.opencsv;
+
+/**
+ * Collects the bytes of the fields of a record while it is being parsed.
+ * <p>
+ * This is the byte counterpart of {@link FieldBuffer} used to parse UTF-8
+ * encoded lines without decoding them: a field is tracked as a range of the
+ * line as long as possible and copied into an internal buffer only when it
+ * stops being contiguous or has to outlive the line.
+ * </p>
+ * <p>
+ * When a field stops being contiguous because an escape or quote character
+ * was dropped, the bytes on both sides of the gap end up next to each other.
+ * A decoder reading the input as a whole would have seen the dropped
+ * character between them, so a multi-byte sequence that is cut off in front
+ * of the gap is replaced by what the decoder would have made of it before
+ * anything is appended behind it.
+ * </p>
+ *
+ * @since 3.9
+ */
+class ByteFieldBuffer {
+    /**
+     * The number of bytes of the longest valid UTF-8 sequence.
+     */
+    private static final int MAX_SEQUENCE_LENGTH = 4;
+
+    private byte[] line;
+    private byte[] copy = new byte[ICSVParser.INITIAL_READ_SIZE];
+    private int copyLength;
+    private int offset;
+    private int length;
+    private boolean copied;
+    /**
+     * The index in the line just past the last byte copied from it, or -1
+     * if the last byte copied did not come from the line.
+     */
+    private int next = -1;
+
+    /**
+     * Starts a new record on the given line, discarding all previous content.
+     *
+     * @param line The bytes of the line being parsed
+     */
+    void startLine(byte[] line) {
+        this.line = line;
+        copyLength = 0;
+        clear();
+    }
+
+    /**
+     * Continues the current field on the given line.
+     * The content collected so far is kept.
+     *
+     * @param line The bytes of the line being parsed
+     */
+    void continueLine(byte[] line) {
+        makeCopy();
+        this.line = line;
+        next = -1;
+    }
+
+    /**
+     * Appends the byte found at the given index of the current line.
+     *
+     * @param index Index of the byte in the current line
+     */
+    void append(int index) {
+        if (!copied) {
+            if (length == 0) {
+                offset = index;
+                length = 1;
+                return;
+            }
+            if (offset + length == index) {
+                length++;
+                return;
+            }
+            makeCopy();
+            endSequence();
+        } else if (index != next) {
+            endSequence();
+        }
+        append(line[index]);
+        next = index + 1;
+    }
+
+    /**
+     * Appends a range of bytes of the current line. This has the same effect
+     * as appending the bytes one at a time.
+     *
+     * @param from Index of the first byte to append
+     * @param to   Index just past the last byte to append
+     */
+    void append(int from, int to) {
+        int count = to - from;
+        if (!copied) {
+            if (length == 0) {
+                offset = from;
+                length = count;
+                return;
+            }
+            if (offset + length == from) {
+                length += count;
+                return;
+            }
+            makeCopy();
+            endSequence();
+        } else if (from != next) {
+            endSequence();
+        }
+        ensureCapacity(count);
+        System.arraycopy(line, from, copy, copyLength, count);
+        copyLength += count;
+        length += count;
+        next = to;
+    }
+
+    /**
+     * Appends a byte that is not part of the current line.
+     *
+     * @param b The byte to append
+     */
+    void append(byte b) {
+        makeCopy();
+        ensureCapacity(1);
+        copy[copyLength++] = b;
+        length++;
+        next = -1;
+    }
+
+    /**
+     * @return True if no bytes have been collected for this field.
+     */
+    boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * @return True if the characters of the field are all white space, in
+     * the sense of {@link Character#isWhitespace(char)}. An empty field is
+     * white space.
+     */
+    boolean isWhitespace() {
+        byte[] bytes = getBytes();
+        if (!Utf8.isAscii(bytes, offset, length)) {
+            String decoded = Utf8.decode(bytes, offset, length);
+            for (int i = 0; i < decoded.length(); i++) {
+                if (!Character.isWhitespace(decoded.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (!Character.isWhitespace((char) bytes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Starts the next field. The content of the current field remains
+     * available in the array it was returned in until a new record is started.
+     */
+    void clear() {
+        offset = 0;
+        length = 0;
+        copied = false;
+    }
+
+    /**
+     * Discards the content of the current field.
+     */
+    void discard() {
+        if (copied) {
+            copyLength = offset;
+        }
+        clear();
+    }
+
+    /**
+     * @return The array holding the bytes of the current field. This is
+     * either the line being parsed or the internal buffer.
+     */
+    byte[] getBytes() {
+        return copied ? copy : line;
+    }
+
+    /**
+     * @return The index of the first byte of the current field in {@link #getBytes()}.
+     */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The number of bytes in the current field.
+     */
+    int getLength() {
+        return length;
+    }
+
+    /**
+     * @return The decoded content of the current field.
+     */
+    @Override
+    public String toString() {
+        return Utf8.decode(getBytes(), offset, length);
+    }
+
+    /**
+     * Replaces a multi-byte sequence at the end of the copied field that is
+     * cut off by a dropped character with the characters the decoder would
+     * have found for it, encoded again. After that no byte appended can
+     * complete or change the sequence.
+     */
+    private void endSequence() {
+        int start = Math.max(offset, copyLength - (MAX_SEQUENCE_LENGTH - 1));
+        for (int i = copyLength - 1; i >= start; i--) {
+            byte b = copy[i];
+            if (b >= 0) {
+                return;
+            }
+            if ((b & 0xC0) == 0xC0) {
+                // the lead byte of the last sequence, decoded with the ASCII
+                // character that followed it in the input
+                int tailLength = copyLength - i;
+                byte[] tail = new byte[tailLength + 1];
+                System.arraycopy(copy, i, tail, 0, tailLength);
+                tail[tailLength] = ' ';
+                String decoded = new String(tail, Utf8.UTF_8);
+                byte[] encoded = decoded.substring(0, decoded.length() - 1).getBytes(Utf8.UTF_8);
+                copyLength = i;
+                length -= tailLength;
+                ensureCapacity(encoded.length);
+                System.arraycopy(encoded, 0, copy, copyLength, encoded.length);
+                copyLength += encoded.length;
+                length += encoded.length;
+                return;
+            }
+        }
+    }
+
+    private void makeCopy() {
+        if (copied) {
+            return;
+        }
+        ensureCapacity(length);
+        if (length > 0) {
+            System.arraycopy(line, offset, copy, copyLength, length);
+        }
+        offset = copyLength;
+        copyLength += length;
+        copied = true;
+    }
+
+    /**
+     * Makes room for more bytes in the internal buffer. When the buffer has
+     * to grow a new array is allocated, so the bytes of fields that were
+     * already handed out remain valid in the old one.
+     *
+     * @param additional The number of bytes to make room for
+     */
+    private void ensureCapacity(int additional) {
+        if (copyLength + additional > copy.length) {
+            byte[] grown = new byte[Math.max(copyLength + additional, copy.length * 2)];
+            System.arraycopy(copy, 0, grown, 0, copyLength);
+            copy = grown;
+        }
+    }
+}
@@ -17,7 +17,7 @@ package com.opencsv;
  */
 
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
-import org.apache.commons.lang3.StringUtils;
+import com.opencsv.exceptions.CsvLimitExceededException;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -40,6 +40,17 @@ import java.util.List;
  */
 public class CSVParser implements ICSVParser {
 
+    /**
+     * Set in the state returned by {@link #parseFields(char[], int, int, FieldCollector, int)}
+     * if the line ends inside quotes.
+     */
+    static final int IN_QUOTES = 1;
+    /**
+     * Set in the state returned by {@link #parseFields(char[], int, int, FieldCollector, int)}
+     * if the field the line ends in contained quotes or characters.
+     */
+    static final int FROM_QUOTED_FIELD = 2;
+
     /**
      * This is the character that the CSVParser will treat as the separator.
      */
@@ -65,9 +76,70 @@ public class CSVParser implements ICSVParser {
      */
     private final boolean ignoreQuotations;
     private final CSVReaderNullFieldIndicator nullFieldIndicator;
-    private StringBuilder pending;
-    private boolean inField = false;
+    /**
+     * Collects the characters of the field currently being parsed.
+     */
+    final FieldBuffer field = new FieldBuffer();
+    /**
+     * Reusable copy of the characters of a line passed in as a String.
+     */
+    private char[] lineChars = new char[INITIAL_READ_SIZE];
+    /**
+     * The line passed to {@link #parseLine(String, boolean)} while it is
+     * parsed, for {@link #isNextCharacterEscapable(String, boolean, int)}.
+     */
+    private String stringLine;
+    /**
+     * True if the field in {@link #field} continues on the next line.
+     */
+    private boolean pending = false;
+    /**
+     * The index of the column of the field in {@link #field} within its record.
+     */
+    int column = 0;
+    /**
+     * The elements found by the String returning parse methods.
+     */
+    private final List<String> tokens = new ArrayList<String>();
+    /**
+     * Turns the fields found into the Strings in {@link #tokens}.
+     */
+    private final FieldCollector tokenCollector = new FieldCollector() {
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+            if (chars == null) {
+                tokens.add(null);
+            } else {
+                tokens.add(length == 0 ? "" : new String(chars, offset, length));
+            }
+        }
+    };
+    /**
+     * True if the current field has seen characters or an opening quote.
+     */
+    boolean inField = false;
+    /**
+     * True if a quote opened a quoted section in the current field.
+     */
+    boolean quotedField = false;
     private int multiLineCount = 0;
+    /**
+     * The longest field in characters that is collected, Integer.MAX_VALUE for no limit.
+     */
+    private int maxFieldSize = Integer.MAX_VALUE;
+    /**
+     * The longest record in characters that is parsed, Integer.MAX_VALUE for no limit.
+     */
+    private int maxRecordSize = Integer.MAX_VALUE;
+    /**
+     * The offset of the line being parsed from the start of its record.
+     */
+    private long lineOffset = 0;
+    /**
+     * The column of the first field on the line being parsed that is longer
+     * than {@link #maxFieldSize}, or -1.
+     */
+    private int oversizedColumn = -1;
 
     /**
      * Constructs CSVParser using a comma for the separator.
@@ -225,6 +297,152 @@ public class CSVParser implements ICSVParser {
         return ignoreQuotations;
     }
 
+    /**
+     * @return The longest field in characters the parser accepts, or 0 if
+     * the length of fields is not limited.
+     * @since 3.9
+     */
+    public int getMaxFieldSize() {
+        return maxFieldSize == Integer.MAX_VALUE ? 0 : maxFieldSize;
+    }
+
+    /**
+     * @return The longest record in characters the parser accepts, or 0 if
+     * the length of records is not limited.
+     * @since 3.9
+     */
+    public int getMaxRecordSize() {
+        return maxRecordSize == Integer.MAX_VALUE ? 0 : maxRecordSize;
+    }
+
+    /**
+     * Tells whether a subclass changes how lines are parsed by overriding
+     * {@link #parseLineMulti(String)}, {@link #parseLine(String, boolean)}
+     * or {@link #isNextCharacterEscapable(String, boolean, int)}.
+     * <p>
+     * A {@link CSVReader} reads the lines of its file in place in a reusable
+     * buffer and parses them without calling these methods, unless this
+     * method returns true. It then reads every line into a String and
+     * parses it with {@link #parseLineMulti(String)}, as before version 3.9.
+     * By default this is true for all subclasses except the parsers of this
+     * library. A subclass that overrides none of these methods can return
+     * false to be parsed as fast as the CSVParser. The result must not
+     * change while the parser is used.
+     * </p>
+     *
+     * @return True if lines have to be parsed through the String methods.
+     * @since 3.9
+     */
+    protected boolean usesCustomParsing() {
+        Class<?> type = getClass();
+        return type != CSVParser.class && type != NonStrictCSVParser.class
+                && type != SeparatorOnlyCSVParser.class && type != TableDrivenCSVParser.class;
+    }
+
+    /**
+     * Sets the limits of {@link #getMaxFieldSize()} and {@link #getMaxRecordSize()}.
+     *
+     * @param maxFieldSize  The longest field in characters, or 0 for no limit
+     * @param maxRecordSize The longest record in characters, or 0 for no limit
+     */
+    void setLimits(int maxFieldSize, int maxRecordSize) {
+        this.maxFieldSize = maxFieldSize == 0 ? Integer.MAX_VALUE : maxFieldSize;
+        this.maxRecordSize = maxRecordSize == 0 ? Integer.MAX_VALUE : maxRecordSize;
+    }
+
+    /**
+     * Gives a copy of this parser the same limits as this one.
+     *
+     * @param copy A parser with the same configuration as this one
+     * @param <P>  The type of the parser
+     * @return The copy
+     */
+    final <P extends CSVParser> P withLimitsOf(P copy) {
+        copy.setLimits(getMaxFieldSize(), getMaxRecordSize());
+        return copy;
+    }
+
+    /**
+     * Starts parsing a line, checking that the record it belongs to does not
+     * get longer than {@link #getMaxRecordSize()}.
+     *
+     * @param continued True if the line continues the record of the last line
+     * @param length    The number of characters in the line
+     * @throws CsvLimitExceededException If the record gets too long
+     */
+    final void startLineOfRecord(boolean continued, int length) throws CsvLimitExceededException {
+        // the line break within the record counts as one character
+        long offset = continued ? lineOffset + 1 : 0;
+        if (offset + length > maxRecordSize) {
+            throw recordTooLong(offset);
+        }
+        lineOffset = offset;
+        oversizedColumn = -1;
+    }
+
+    /**
+     * Ends parsing a line, checking that neither a field that ended on the
+     * line nor the field continuing on the next line is longer than
+     * {@link #getMaxFieldSize()}.
+     *
+     * @param length    The number of characters in the line
+     * @param continues True if the current field continues on the next line
+     * @throws CsvLimitExceededException If a field is too long
+     */
+    final void endLineOfRecord(int length, boolean continues) throws CsvLimitExceededException {
+        if (oversizedColumn < 0 && continues && field.getLength() > maxFieldSize) {
+            oversizedColumn = column;
+        }
+        if (oversizedColumn >= 0) {
+            CsvLimitExceededException e = new CsvLimitExceededException("Field in column " + oversizedColumn
+                    + " is longer than " + maxFieldSize + " characters", maxFieldSize, oversizedColumn, lineOffset);
+            discardRecord();
+            throw e;
+        }
+        lineOffset += length;
+    }
+
+    /**
+     * Notes a field that is longer than {@link #getMaxFieldSize()}. Called
+     * with every field the parser completes.
+     */
+    final void checkFieldSize() {
+        if (field.getLength() > maxFieldSize && oversizedColumn < 0) {
+            oversizedColumn = column;
+        }
+    }
+
+    /**
+     * Discards the record being parsed and returns the exception reporting
+     * that the next line makes it longer than {@link #getMaxRecordSize()}.
+     * Used by readers that do not even read a line that is too long.
+     *
+     * @return The exception to throw
+     */
+    CsvLimitExceededException recordTooLong() {
+        return recordTooLong(isPending() ? lineOffset + 1 : 0);
+    }
+
+    private CsvLimitExceededException recordTooLong(long offset) {
+        discardRecord();
+        return new CsvLimitExceededException("Record is longer than " + maxRecordSize + " characters",
+                maxRecordSize, -1, offset);
+    }
+
+    /**
+     * Discards everything parsed of the current record, so that the next
+     * line is parsed as the start of a new record.
+     */
+    void discardRecord() {
+        pending = false;
+        inField = false;
+        quotedField = false;
+        multiLineCount = 0;
+        lineOffset = 0;
+        oversizedColumn = -1;
+        field.startLine(null);
+    }
+
     /**
      * Checks to see if any two of the three characters are the same.
      * This is because in opencsv the separator, quote, and escape characters
@@ -254,7 +472,40 @@ public class CSVParser implements ICSVParser {
      */
     @Override
     public boolean isPending() {
-        return pending != null;
+        return pending;
+    }
+
+    /**
+     * @return True if the last line parsed ended inside a field that has seen
+     * characters or an opening quote. Together with {@link #isPending()} this
+     * decides how the next line is parsed.
+     */
+    boolean isInField() {
+        return inField;
+    }
+
+    /**
+     * Puts the parser into the state it would be in if the last line parsed
+     * had ended inside a quoted field, discarding everything parsed so far.
+     * Used to parse part of a file when it is not known whether it starts
+     * inside a quoted field.
+     *
+     * @param inField The value {@link #isInField()} is to return
+     */
+    void resumeQuotedField(boolean inField) {
+        field.startLine(null);
+        pending = true;
+        this.inField = inField;
+        quotedField = true;
+        multiLineCount = 1;
+    }
+
+    /**
+     * @return A new parser with the same configuration as this one.
+     */
+    CSVParser copy() {
+        return withLimitsOf(new CSVParser(separator, quotechar, escape, strictQuotes, ignoreLeadingWhiteSpace,
+                ignoreQuotations, nullFieldIndicator));
     }
 
     /**
@@ -283,6 +534,28 @@ public class CSVParser implements ICSVParser {
         return parseLine(nextLine, false);
     }
 
+    /**
+     * Parses a line held in a character buffer and returns an array of elements.
+     * This method is used when the data spans multiple lines.
+     * <p>
+     * This is the counterpart of {@link #parseLineMulti(String)} for callers
+     * that read their input into a reusable buffer: the line is parsed in
+     * place and only the Strings of the resulting elements are created.
+     * The buffer is not modified and is not referenced after this method
+     * returns.
+     * </p>
+     *
+     * @param line   Buffer holding the current line to be processed
+     * @param offset Index of the first character of the line in the buffer
+     * @param length Number of characters in the line, without line terminator
+     * @return The comma-tokenized list of elements
+     * @throws IOException If bad things happen during the read
+     * @since 3.9
+     */
+    public String[] parseLineMulti(char[] line, int offset, int length) throws IOException {
+        return parseLine(line, offset, length, true);
+    }
+
     /**
      * Parses an incoming String and returns an array of elements.
      *
@@ -293,59 +566,178 @@ public class CSVParser implements ICSVParser {
      */
     protected String[] parseLine(String nextLine, boolean multi) throws IOException {
 
-        if (!multi && pending != null) {
-            pending = null;
+        if (!multi && pending) {
+            pending = false;
         }
 
         if (nextLine == null) {
-            if (pending != null) {
-                String[] result = new String[]{pending.toString()};
-                pending = null;
+            if (pending) {
+                String[] result = new String[]{field.toString()};
+                pending = false;
                 return result;
             }
             return null;
         }
 
-        List<String> tokensOnThisLine = new ArrayList<String>();
+        int length = nextLine.length();
+        if (lineChars.length < length) {
+            lineChars = new char[length + READ_BUFFER_SIZE];
+        }
+        nextLine.getChars(0, length, lineChars, 0);
+        stringLine = nextLine;
+        try {
+            return parseLine(lineChars, 0, length, multi);
+        } finally {
+            stringLine = null;
+        }
+    }
+
+    /**
+     * Parses a line held in a character buffer and returns an array of elements.
+     *
+     * @param line   Buffer holding the line to parse
+     * @param offset Index of the first character of the line in the buffer
+     * @param length Number of characters in the line
+     * @param multi  Does it take multiple lines to form a single record.
+     * @return The list of elements
+     * @throws IOException If bad things happen during the read
+     */
+    protected String[] parseLine(char[] line, int offset, int length, boolean multi) throws IOException {
+        tokens.clear();
+        parseLine(line, offset, length, multi, tokenCollector);
+        return tokens.toArray(new String[tokens.size()]);
+    }
+
+    /**
+     * Parses a line held in a character buffer and passes the elements found
+     * to a collector instead of creating Strings for them.
+     * <p>
+     * If the line ends inside a quoted field and multi is true the field is
+     * kept until the next call and {@link #isPending()} returns true. The
+     * characters of the elements of one record stay unchanged until the
+     * first line of the next record is parsed, except for those that were
+     * found in the line buffer itself.
+     * </p>
+     *
+     * @param line      Buffer holding the line to parse
+     * @param offset    Index of the first character of the line in the buffer
+     * @param length    Number of characters in the line
+     * @param multi     Does it take multiple lines to form a single record.
+     * @param collector Receives the elements found
+     * @throws IOException If bad things happen during the read
+     */
+    void parseLine(char[] line, int offset, int length, boolean multi, FieldCollector collector) throws IOException {
+
+        if (!multi && pending) {
+            pending = false;
+        }
+
+        startLineOfRecord(pending, length);
         boolean inQuotes = false;
-        boolean fromQuotedField = false;
-        StringBuilder sb;
-        if (pending == null) {
-            sb = new StringBuilder(nextLine.length() + READ_BUFFER_SIZE);
-        } else {
-            sb = pending;
-            pending = null;
+        if (pending) {
+            field.continueLine(line);
+            pending = false;
             inQuotes = !this.ignoreQuotations;
+        } else {
+            field.startLine(line);
+            column = 0;
+            quotedField = false;
+        }
+        int state = parseFields(line, offset, offset + length, collector, inQuotes ? IN_QUOTES : 0);
+        inQuotes = (state & IN_QUOTES) != 0;
+        boolean fromQuotedField = (state & FROM_QUOTED_FIELD) != 0;
+        boolean collect = collector.isSelected(column);
+        // line is done - check status
+        if (inQuotes && !ignoreQuotations) {
+            if (multi) {
+                // continuing a quoted section, re-append newline
+                if (collect) {
+                    field.append('\n');
+                }
+                pending = true; // this partial content is not to be added to field list yet
+                multiLineCount++;
+                if (multiLineCount > MAX_LINES_IN_MULTILINE) {
+                    throw new IOException(
+                        "Multi-line field with more than " + MAX_LINES_IN_MULTILINE + 
+                        " lines. Possible stray quote?");
+                }
+            } else {
+                throw new IOException("Un-terminated quoted field at end of CSV line");
+            }
+            if (inField) {
+                fromQuotedField = true;
+            }
+        } else {
+            multiLineCount = 0;
+            inField = false;
         }
-        for (int i = 0; i < nextLine.length(); i++) {
 
-            char c = nextLine.charAt(i);
+        if (!pending) {
+            addField(collector, collect, fromQuotedField);
+        }
+        endLineOfRecord(length, pending);
+    }
+
+    /**
+     * Parses the characters of a line, passing every field that ends on the
+     * line to the collector. The field the line ends in is left in
+     * {@link #field}.
+     * <p>
+     * Subclasses created by {@link CSVParserBuilder#build()} override this
+     * with loops that leave out what their configuration does not need.
+     * </p>
+     *
+     * @param line      Buffer holding the line to parse
+     * @param offset    Index of the first character of the line in the buffer
+     * @param end       Index just past the last character of the line
+     * @param collector Receives the fields found
+     * @param state     {@link #IN_QUOTES} if the line starts inside quotes
+     * @return The state at the end of the line: a combination of
+     * {@link #IN_QUOTES} and {@link #FROM_QUOTED_FIELD}
+     */
+    int parseFields(char[] line, int offset, int end, FieldCollector collector, int state) {
+        boolean inQuotes = (state & IN_QUOTES) != 0;
+        boolean fromQuotedField = false;
+        // characters of fields the collector does not want are not collected
+        boolean collect = collector.isSelected(column);
+        for (int i = offset; i < end; i++) {
+
+            char c = line[i];
             if (c == this.escape) {
-                if (isNextCharacterEscapable(nextLine, inQuotes(inQuotes), i)) {
-                    i = appendNextCharacterAndAdvanceLoop(nextLine, sb, i);
+                if (isNextCharacterEscapable(line, end, inQuotes(inQuotes), i)) {
+                    i++;
+                    if (collect) {
+                        field.append(i);
+                    }
                 }
             } else if (c == quotechar) {
-                if (isNextCharacterEscapedQuote(nextLine, inQuotes(inQuotes), i)) {
-                    i = appendNextCharacterAndAdvanceLoop(nextLine, sb, i);
+                if (isNextCharacterEscapedQuote(line, end, inQuotes(inQuotes), i)) {
+                    i++;
+                    if (collect) {
+                        field.append(i);
+                    }
                 } else {
 
                     inQuotes = !inQuotes;
-                    if (atStartOfField(sb)) {
+                    if (inQuotes && !ignoreQuotations) {
+                        quotedField = true;
+                    }
+                    if (field.isEmpty()) {
                         fromQuotedField = true;
                     }
 
                     // the tricky case of an embedded quote in the middle: a,bc"d"ef,g
                     if (!strictQuotes) {
-                        if (i > 2 //not on the beginning of the line
-                                && nextLine.charAt(i - 1) != this.separator //not at the beginning of an escape sequence
-                                && nextLine.length() > (i + 1) &&
-                                nextLine.charAt(i + 1) != this.separator //not at the	end of an escape sequence
+                        if (i - offset > 2 //not on the beginning of the line
+                                && line[i - 1] != this.separator //not at the beginning of an escape sequence
+                                && end > (i + 1) &&
+                                line[i + 1] != this.separator //not at the	end of an escape sequence
                                 ) {
 
-                            if (ignoreLeadingWhiteSpace && sb.length() > 0 && StringUtils.isWhitespace(sb)) {
-                                sb.setLength(0);
-                            } else {
-                                sb.append(c);
+                            if (ignoreLeadingWhiteSpace && !field.isEmpty() && field.isWhitespace()) {
+                                field.discard();
+                            } else if (collect) {
+                                field.append(i);
                             }
 
                         }
@@ -353,59 +745,52 @@ public class CSVParser implements ICSVParser {
                 }
                 inField = !inField;
             } else if (c == separator && !(inQuotes && !ignoreQuotations)) {
-                tokensOnThisLine.add(convertEmptyToNullIfNeeded(sb.toString(), fromQuotedField));
+                addField(collector, collect, fromQuotedField);
+                collect = collector.isSelected(column);
                 fromQuotedField = false;
-                sb.setLength(0);
                 inField = false;
             } else {
                 if (!strictQuotes || (inQuotes && !ignoreQuotations)) {
-                    sb.append(c);
+                    if (collect) {
+                        field.append(i);
+                    }
                     inField = true;
                     fromQuotedField = true;
                 }
             }
 
         }
-        // line is done - check status
-        if (inQuotes && !ignoreQuotations) {
-            if (multi) {
-                // continuing a quoted section, re-append newline
-                sb.append('\n');
-                pending = sb;
-                sb = null; // this partial content is not to be added to field list yet
-                multiLineCount++;
-                if (multiLineCount > MAX_LINES_IN_MULTILINE) {
-                    throw new IOException(
-                        "Multi-line field with more than " + MAX_LINES_IN_MULTILINE + 
-                        " lines. Possible stray quote?");
-                }
-            } else {
-                throw new IOException("Un-terminated quoted field at end of CSV line");
-            }
-            if (inField) {
-                fromQuotedField = true;
-            }
-        } else {
-            multiLineCount = 0;
-            inField = false;
-        }
-
-        if (sb != null) {
-            tokensOnThisLine.add(convertEmptyToNullIfNeeded(sb.toString(), fromQuotedField));
-        }
-        return tokensOnThisLine.toArray(new String[tokensOnThisLine.size()]);
-
+        return fieldState(inQuotes, fromQuotedField);
     }
 
-    private boolean atStartOfField(StringBuilder sb) {
-        return sb.length() == 0;
+    /**
+     * @param inQuotes        True if the parser is inside quotes
+     * @param fromQuotedField True if the current field contained quotes or characters
+     * @return The state returned by {@link #parseFields(char[], int, int, FieldCollector, int)}
+     */
+    static int fieldState(boolean inQuotes, boolean fromQuotedField) {
+        return (inQuotes ? IN_QUOTES : 0) | (fromQuotedField ? FROM_QUOTED_FIELD : 0);
     }
 
-    private String convertEmptyToNullIfNeeded(String s, boolean fromQuotedField) {
-        if (s.isEmpty() && shouldConvertEmptyToNull(fromQuotedField)) {
-            return null;
+    /**
+     * Passes the current field to the collector and starts the next field.
+     *
+     * @param collector       Receives the field
+     * @param collect         False if the collector does not want the field
+     * @param fromQuotedField True if the field contained quotes or characters
+     */
+    final void addField(FieldCollector collector, boolean collect, boolean fromQuotedField) {
+        checkFieldSize();
+        if (collect) {
+            if (field.isEmpty() && shouldConvertEmptyToNull(fromQuotedField)) {
+                collector.addField(column, (char[]) null, 0, 0, quotedField);
+            } else {
+                collector.addField(column, field.getChars(), field.getOffset(), field.getLength(), quotedField);
+            }
         }
-        return s;
+        quotedField = false;
+        field.clear();
+        column++;
     }
 
     private boolean shouldConvertEmptyToNull(boolean fromQuotedField) {
@@ -421,19 +806,6 @@ public class CSVParser implements ICSVParser {
         }
     }
 
-    /**
-     * Appends the next character in the line to the string buffer.
-     *
-     * @param line Line to process
-     * @param sb Contains the processed character
-     * @param i Current position in the line.
-     * @return New position in the line.
-     */
-    private int appendNextCharacterAndAdvanceLoop(String line, StringBuilder sb, int i) {
-        sb.append(line.charAt(i + 1));
-        i++;
-        return i;
-    }
 
     /**
      * Determines if we can process as if we were in quotes.
@@ -445,20 +817,22 @@ public class CSVParser implements ICSVParser {
         return (inQuotes && !ignoreQuotations) || inField;
     }
 
+
     /**
      * Checks to see if the character after the index is a quotation character.
      *
      * Precondition: the current character is a quote or an escape.
      *
-     * @param nextLine The current line
+     * @param line     Buffer holding the current line
+     * @param end      Index just past the last character of the line
      * @param inQuotes True if the current context is quoted
-     * @param i        Current index in line
+     * @param i        Current index in the buffer
      * @return True if the following character is a quote
      */
-    private boolean isNextCharacterEscapedQuote(String nextLine, boolean inQuotes, int i) {
+    private boolean isNextCharacterEscapedQuote(char[] line, int end, boolean inQuotes, int i) {
         return inQuotes  // we are in quotes, therefore there can be escaped quotes in here.
-                && nextLine.length() > (i + 1)  // there is indeed another character to check.
-                && isCharacterQuoteCharacter(nextLine.charAt(i + 1));
+                && end > (i + 1)  // there is indeed another character to check.
+                && isCharacterQuoteCharacter(line[i + 1]);
     }
 
     /**
@@ -512,6 +886,28 @@ public class CSVParser implements ICSVParser {
                 && isCharacterEscapable(nextLine.charAt(i + 1));
     }
 
+    /**
+     * Checks to see if the character after the current index in a buffer is an
+     * escapable character.
+     *
+     * Precondition: the current character is an escape.
+     *
+     * @param line     Buffer holding the current line
+     * @param end      Index just past the last character of the line
+     * @param inQuotes True if the current context is quoted
+     * @param i        Current index in the buffer
+     * @return True if the following character is a quote
+     */
+    private boolean isNextCharacterEscapable(char[] line, int end, boolean inQuotes, int i) {
+        if (stringLine != null && usesCustomParsing()) {
+            // the line was copied to the start of the buffer, so the indexes are the same
+            return isNextCharacterEscapable(stringLine, inQuotes, i);
+        }
+        return inQuotes  // we are in quotes, therefore there can be escaped quotes in here.
+                && end > (i + 1)  // there is indeed another character to check.
+                && isCharacterEscapable(line[i + 1]);
+    }
+
     /**
      * @return The null field indicator.
      */
@@ -40,6 +40,8 @@ public class CSVParserBuilder {
     private boolean ignoreLeadingWhiteSpace = ICSVParser.DEFAULT_IGNORE_LEADING_WHITESPACE;
     private boolean ignoreQuotations = ICSVParser.DEFAULT_IGNORE_QUOTATIONS;
     private CSVReaderNullFieldIndicator nullFieldIndicator = CSVReaderNullFieldIndicator.NEITHER;
+    private int maxFieldSize = 0;
+    private int maxRecordSize = 0;
 
 
     /**
@@ -127,12 +129,57 @@ public class CSVParserBuilder {
 
     /**
      * Constructs CSVParser.
+     * <p>
+     * For some common configurations the parser returned is a subclass of
+     * CSVParser that returns the same elements but leaves out the checks
+     * the configuration does not need: one for parsers without strict
+     * quotes that respect quotations, and one for parsers without quote
+     * and escape characters that only split lines at the separator.
+     * </p>
      *
      * @return A new CSVParser with defined settings.
      */
     public CSVParser build() {
 
-        return new CSVParser(
+        CSVParser parser;
+        if (!strictQuotes && quoteChar == ICSVParser.NULL_CHARACTER && escapeChar == ICSVParser.NULL_CHARACTER) {
+            parser = new SeparatorOnlyCSVParser(
+                    separator,
+                    ignoreLeadingWhiteSpace,
+                    ignoreQuotations,
+                    nullFieldIndicator);
+        } else if (!strictQuotes && !ignoreQuotations) {
+            parser = new NonStrictCSVParser(
+                    separator,
+                    quoteChar,
+                    escapeChar,
+                    ignoreLeadingWhiteSpace,
+                    nullFieldIndicator);
+        } else {
+            parser = new CSVParser(
+                    separator,
+                    quoteChar,
+                    escapeChar,
+                    strictQuotes,
+                    ignoreLeadingWhiteSpace,
+                    ignoreQuotations,
+                    nullFieldIndicator);
+        }
+        parser.setLimits(maxFieldSize, maxRecordSize);
+        return parser;
+    }
+
+    /**
+     * Constructs a {@link TableDrivenCSVParser}, which returns the same
+     * elements as the CSVParser returned by {@link #build()} but is driven
+     * by a state transition table.
+     *
+     * @return A new TableDrivenCSVParser with defined settings.
+     * @since 3.9
+     */
+    public TableDrivenCSVParser buildTableDriven() {
+
+        TableDrivenCSVParser parser = new TableDrivenCSVParser(
                 separator,
                 quoteChar,
                 escapeChar,
@@ -140,6 +187,8 @@ public class CSVParserBuilder {
                 ignoreLeadingWhiteSpace,
                 ignoreQuotations,
                 nullFieldIndicator);
+        parser.setLimits(maxFieldSize, maxRecordSize);
+        return parser;
     }
 
     /**
@@ -184,6 +233,69 @@ public class CSVParserBuilder {
         return ignoreQuotations;
     }
 
+    /**
+     * Limits the length of the fields the parser accepts.
+     * <p>
+     * A field longer than this, usually the result of a stray quote that
+     * turns the following lines into one field, makes the parser throw a
+     * {@link com.opencsv.exceptions.CsvLimitExceededException} at the end of
+     * the line on which the field got too long, instead of collecting it
+     * until the memory runs out. The characters of fields that are left out
+     * by a column projection are not collected and are not counted.
+     * </p>
+     *
+     * @param maxFieldSize The longest field in characters, or 0 for no limit (the default)
+     * @return The CSVParserBuilder
+     * @throws IllegalArgumentException If maxFieldSize is negative
+     * @since 3.9
+     */
+    public CSVParserBuilder withMaxFieldSize(final int maxFieldSize) {
+        if (maxFieldSize < 0) {
+            throw new IllegalArgumentException("The maximum field size may not be negative");
+        }
+        this.maxFieldSize = maxFieldSize;
+        return this;
+    }
+
+    /**
+     * Limits the length of the records the parser accepts.
+     * <p>
+     * The length of a record is the number of characters of all of its
+     * lines, counting one character for every line break within the record.
+     * A line that would make the record longer than this makes the parser
+     * throw a {@link com.opencsv.exceptions.CsvLimitExceededException}
+     * without parsing the line.
+     * </p>
+     *
+     * @param maxRecordSize The longest record in characters, or 0 for no limit (the default)
+     * @return The CSVParserBuilder
+     * @throws IllegalArgumentException If maxRecordSize is negative
+     * @since 3.9
+     */
+    public CSVParserBuilder withMaxRecordSize(final int maxRecordSize) {
+        if (maxRecordSize < 0) {
+            throw new IllegalArgumentException("The maximum record size may not be negative");
+        }
+        this.maxRecordSize = maxRecordSize;
+        return this;
+    }
+
+    /**
+     * @return The defined maximum field size, 0 for no limit.
+     * @since 3.9
+     */
+    public int getMaxFieldSize() {
+        return maxFieldSize;
+    }
+
+    /**
+     * @return The defined maximum record size, 0 for no limit.
+     * @since 3.9
+     */
+    public int getMaxRecordSize() {
+        return maxRecordSize;
+    }
+
     /**
      * Sets the NullFieldIndicator.
      *
@@ -16,18 +16,33 @@ package com.opencsv;
  limitations under the License.
  */
 
+import com.opencsv.exceptions.CsvLimitExceededException;
 import com.opencsv.stream.reader.LineReader;
+import com.opencsv.stream.reader.LineScanner;
+import com.opencsv.stream.reader.MappedFileReader;
 
 import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 /**
  * A very simple CSV reader released under a commercial-friendly license.
+ * <p>
+ * Since 3.9 a CSVReader with a {@link CSVParser} parses the lines in place
+ * in its buffer, without calling {@link #getNextLine()} or
+ * {@link #combineResultsFromMultipleReads(String[], String[])}. Subclasses
+ * still read their lines through these methods, so that overrides written
+ * for earlier versions keep working, but they cannot use
+ * {@link #parse(CsvEventHandler)}, and they read more slowly. A subclass that overrides neither method should override
+ * {@link #usesCustomLineReading()} to return false, which makes it read
+ * exactly like a CSVReader.
+ * </p>
  *
  * @author Glen Smith
  */
@@ -44,6 +59,11 @@ public class CSVReader implements Closeable, Iterable<String[]> {
     protected int skipLines;
     protected BufferedReader br;
     protected LineReader lineReader;
+    /**
+     * Reads lines into a reusable buffer when the parser can parse them in place.
+     * Null if lines are read as Strings through {@link #lineReader}.
+     */
+    protected LineScanner lineScanner;
     protected boolean hasNext = true;
     protected boolean linesSkiped;
     protected boolean keepCR;
@@ -52,6 +72,63 @@ public class CSVReader implements Closeable, Iterable<String[]> {
     protected long linesRead = 0;
     protected long recordsRead = 0;
 
+    /**
+     * The file read by the {@link #lineScanner} if it is memory mapped, or null.
+     */
+    private MappedFileReader mappedFile;
+    /**
+     * The record returned by {@link #readNextRecord()}. Created on first use.
+     */
+    private CsvRecord record;
+    /**
+     * The columns to return, or null to return all columns.
+     */
+    private ColumnProjection projection;
+    /**
+     * Collects the selected columns of a record when there is a projection.
+     */
+    private ProjectingCollector projectingCollector;
+    /**
+     * The header read to resolve a projection by names, or the header of
+     * the checkpoint the reader resumed at.
+     */
+    private String[] header;
+    /**
+     * The offsets in bytes and in characters of the start of the input
+     * read, -1 if not known, for {@link #checkpoint()}.
+     */
+    private long byteOffsetBase = 0;
+    private long characterOffsetBase = 0;
+    /**
+     * The fields of the record being read, collected over all of its lines
+     * so that a record spanning many lines is not copied once per line.
+     */
+    private final List<String> recordFields = new ArrayList<String>();
+    /**
+     * True to skip records that are longer than the limits of the parser
+     * instead of throwing an exception.
+     */
+    private boolean skipOversizedRecords = false;
+    /**
+     * The exceptions for the records skipped since the last call to
+     * {@link #getCapturedExceptions()}.
+     */
+    private List<CsvLimitExceededException> capturedExceptions = new ArrayList<CsvLimitExceededException>();
+    /**
+     * Turns the fields found by a {@link CSVParser} into the Strings in
+     * {@link #recordFields}.
+     */
+    private final FieldCollector recordCollector = new FieldCollector() {
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+            if (chars == null) {
+                recordFields.add(null);
+            } else {
+                recordFields.add(length == 0 ? "" : new String(chars, offset, length));
+            }
+        }
+    };
+
     /**
      * Constructs CSVReader using a comma for the separator.
      *
@@ -209,6 +286,20 @@ public class CSVReader implements Closeable, Iterable<String[]> {
                         (BufferedReader) reader :
                         new BufferedReader(reader));
         this.lineReader = new LineReader(br, keepCR);
+        if (icsvParser instanceof CSVParser && !((CSVParser) icsvParser).usesCustomParsing()) {
+            if (reader instanceof MappedFileReader) {
+                // the mapped file is read in blocks already, so it does not
+                // need to be buffered
+                this.mappedFile = (MappedFileReader) reader;
+                this.lineScanner = new LineScanner(reader, LineScanner.DEFAULT_BUFFER_SIZE, keepCR);
+            } else {
+                this.lineScanner = new LineScanner(br, LineScanner.DEFAULT_BUFFER_SIZE, keepCR);
+            }
+        }
+        if (lineScanner != null) {
+            // a line longer than a record may be is not even kept in memory
+            lineScanner.setMaxLineLength(((CSVParser) icsvParser).getMaxRecordSize());
+        }
         this.skipLines = line;
         this.parser = icsvParser;
         this.keepCR = keepCR;
@@ -267,30 +358,444 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * @return A string array with each comma-separated element as a separate
      * entry.
      * @throws IOException If bad things happen during the read
+     * @throws CsvLimitExceededException If the record is longer than the
+     *                                   limits of the parser and oversized
+     *                                   records are not skipped
      */
     public String[] readNext() throws IOException {
+        while (true) {
+            try {
+                return readRecordFields();
+            } catch (CsvLimitExceededException e) {
+                skipOversizedRecord(e);
+            }
+        }
+    }
+
+    /**
+     * Reads the next record for {@link #readNext()}.
+     *
+     * @return The fields of the record, or null if there are no more records.
+     * @throws IOException If bad things happen during the read
+     */
+    private String[] readRecordFields() throws IOException {
+        if (projection != null && !projection.isResolved()) {
+            if (header == null) {
+                return readHeaderForProjection();
+            }
+            // resumed at a checkpoint after the header
+            projection.resolve(header);
+        }
+        if (readsInPlace()) {
+            return readNextFromBuffer();
+        }
 
         String[] result = null;
+        boolean combined = false;
         do {
             String nextLine = getNextLine();
             if (!hasNext) {
                 if (parser.isPending()) {
                     throw new IOException("Un-terminated quoted field at end of CSV file");
                 }
-                return validateResult(result);
+                break;
             }
             String[] r = parser.parseLineMulti(nextLine);
             if (r.length > 0) {
                 if (result == null) {
                     result = r;
-                } else {
+                } else if (usesCustomLineReading()) {
                     result = combineResultsFromMultipleReads(result, r);
+                } else {
+                    // the fields of a record spanning lines are collected once, not copied per line
+                    if (!combined) {
+                        recordFields.clear();
+                        Collections.addAll(recordFields, result);
+                        combined = true;
+                    }
+                    Collections.addAll(recordFields, r);
                 }
             }
         } while (parser.isPending());
+        if (combined) {
+            result = recordFields.toArray(new String[recordFields.size()]);
+        }
+        return validateResult(project(result));
+    }
+
+    /**
+     * Reads the header of the file to look up the names of the columns to
+     * return.
+     *
+     * @return The projected header, or null if the file is empty.
+     * @throws IOException If bad things happen during the read or a column
+     *                     name is not found in the header.
+     */
+    private String[] readHeaderForProjection() throws IOException {
+        ColumnProjection columns = projection;
+        projection = null;
+        String[] header;
+        try {
+            header = readNext();
+        } finally {
+            projection = columns;
+        }
+        if (header == null) {
+            return null;
+        }
+        this.header = header;
+        projection.resolve(header);
+        return projection.project(header);
+    }
+
+    /**
+     * Applies the projection to a complete record.
+     *
+     * @param result The record as read from the file, or null
+     * @return The selected columns of the record, or the record itself if
+     * there is no projection.
+     */
+    private String[] project(String[] result) {
+        return projection == null || result == null ? result : projection.project(result);
+    }
+
+    /**
+     * Reads the next record by parsing the lines in place in the buffer of
+     * the {@link #lineScanner}, so that no String is created for a line.
+     *
+     * @return A string array with each comma-separated element as a separate
+     * entry.
+     * @throws IOException If bad things happen during the read
+     */
+    private String[] readNextFromBuffer() throws IOException {
+        CSVParser csvParser = (CSVParser) parser;
+        String[] result = null;
+        boolean lineRead = false;
+        do {
+            if (!scanNextLine()) {
+                if (parser.isPending()) {
+                    throw new IOException("Un-terminated quoted field at end of CSV file");
+                }
+                break;
+            }
+            if (projection != null) {
+                // only the selected columns are turned into Strings, straight into the result
+                if (result == null) {
+                    result = new String[projection.getWidth()];
+                    projectingCollector.values = result;
+                }
+                csvParser.parseLine(lineScanner.getBuffer(), lineScanner.getLineStart(),
+                        lineScanner.getLineLength(), true, projectingCollector);
+                continue;
+            }
+            if (!lineRead) {
+                recordFields.clear();
+                lineRead = true;
+            }
+            // the fields of all lines of the record are collected in one list
+            csvParser.parseLine(lineScanner.getBuffer(), lineScanner.getLineStart(), lineScanner.getLineLength(),
+                    true, recordCollector);
+        } while (parser.isPending());
+        if (lineRead) {
+            result = recordFields.toArray(new String[recordFields.size()]);
+        }
         return validateResult(result);
     }
 
+    /**
+     * Reads the next record into a reusable {@link CsvRecord}.
+     * <p>
+     * This is the allocation free counterpart of {@link #readNext()}: the
+     * fields of the record are views into the buffers of the reader and no
+     * String or array is created for them. The same CsvRecord is returned by
+     * every call, so the record and its fields are only valid until the next
+     * call to this method or to {@link #readNext()}.
+     * </p>
+     *
+     * @return The next record, or null if there are no more records.
+     * @throws IOException If bad things happen during the read
+     * @throws CsvLimitExceededException If the record is longer than the
+     *                                   limits of the parser and oversized
+     *                                   records are not skipped
+     * @since 3.9
+     */
+    public CsvRecord readNextRecord() throws IOException {
+        if (record == null) {
+            record = new CsvRecord();
+        }
+
+        if (!readsInPlace() || (projection != null && !projection.isResolved())) {
+            record.clear(null);
+            String[] result = readNext();
+            if (result == null) {
+                return null;
+            }
+            for (String field : result) {
+                record.add(field);
+            }
+            return record;
+        }
+        while (true) {
+            try {
+                return readRecordInPlace();
+            } catch (CsvLimitExceededException e) {
+                skipOversizedRecord(e);
+            }
+        }
+    }
+
+    /**
+     * Reads the next record for {@link #readNextRecord()} by parsing the
+     * lines in the buffer of the {@link #lineScanner}.
+     *
+     * @return The record, or null if there are no more records.
+     * @throws IOException If bad things happen during the read
+     */
+    private CsvRecord readRecordInPlace() throws IOException {
+        record.clear(projection);
+
+        CSVParser csvParser = (CSVParser) parser;
+        boolean lineRead = false;
+        do {
+            if (!scanNextLine()) {
+                if (parser.isPending()) {
+                    throw new IOException("Un-terminated quoted field at end of CSV file");
+                }
+                break;
+            }
+            lineRead = true;
+            csvParser.parseLine(lineScanner.getBuffer(), lineScanner.getLineStart(), lineScanner.getLineLength(),
+                    true, record.collector);
+            if (parser.isPending()) {
+                // the line buffer is reused for the next line of this record
+                record.detach();
+            }
+        } while (parser.isPending());
+
+        if (!lineRead) {
+            return null;
+        }
+        recordsRead++;
+        return record;
+    }
+
+    /**
+     * Parses the remaining records and passes their fields to a handler as
+     * the parser finds them, instead of returning them.
+     * <p>
+     * This is the lowest overhead way to read a file: the characters of the
+     * fields are passed straight from the buffers of the reader and the
+     * parser, and nothing at all is created per field or per record.
+     * Oversized records that are {@link CSVReaderBuilder#withSkipOversizedRecords(boolean)
+     * skipped} are started and then {@link CsvEventHandler#abortRecord() aborted};
+     * the next record is passed with the same number.
+     * </p>
+     *
+     * @param handler Receives the records field by field
+     * @return The number of records parsed.
+     * @throws IOException If bad things happen during the read
+     * @throws CsvLimitExceededException If a record is longer than the
+     *                                   limits of the parser and oversized
+     *                                   records are not skipped
+     * @throws UnsupportedOperationException If the parser is not a
+     * CSVParser or {@link CSVParser#usesCustomParsing() parses lines its own
+     * way}, the reader {@link #usesCustomLineReading() reads its lines
+     * through getNextLine()}, or columns were selected with
+     * {@link CSVReaderBuilder#withColumns(String...)}
+     * @since 3.9
+     */
+    public long parse(CsvEventHandler handler) throws IOException {
+        if (!readsInPlace() || projection != null) {
+            throw new UnsupportedOperationException(
+                    "Only readers with a CSVParser that read lines in place and without selected columns"
+                            + " can parse to a handler");
+        }
+        EventCollector collector = new EventCollector(handler);
+        long records = 0;
+        while (true) {
+            try {
+                if (!parseRecord(collector)) {
+                    return records;
+                }
+                records++;
+            } catch (CsvLimitExceededException e) {
+                skipOversizedRecord(e);
+            }
+        }
+    }
+
+    /**
+     * Parses the next record for {@link #parse(CsvEventHandler)}.
+     *
+     * @param collector Passes the fields to the handler
+     * @return False if there are no more records.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean parseRecord(EventCollector collector) throws IOException {
+        CSVParser csvParser = (CSVParser) parser;
+        boolean lineRead = false;
+        try {
+            do {
+                if (!scanNextLine()) {
+                    if (parser.isPending()) {
+                        throw new IOException("Un-terminated quoted field at end of CSV file");
+                    }
+                    break;
+                }
+                if (!lineRead) {
+                    collector.handler.startRecord(recordsRead);
+                    lineRead = true;
+                }
+                csvParser.parseLine(lineScanner.getBuffer(), lineScanner.getLineStart(), lineScanner.getLineLength(),
+                        true, collector);
+            } while (parser.isPending());
+        } catch (IOException e) {
+            if (lineRead) {
+                collector.handler.abortRecord();
+            }
+            throw e;
+        }
+
+        if (!lineRead) {
+            return false;
+        }
+        recordsRead++;
+        collector.handler.endRecord();
+        return true;
+    }
+
+    /**
+     * Reports a record that is longer than the limits of the parser, or
+     * remembers it if oversized records are skipped. Reading goes on with the
+     * line after the one on which the limit was exceeded.
+     *
+     * @param e The exception thrown for the record
+     * @throws CsvLimitExceededException The exception, completed with the
+     *                                   position of the offending line, if
+     *                                   oversized records are not skipped
+     */
+    private void skipOversizedRecord(CsvLimitExceededException e) throws CsvLimitExceededException {
+        e.setLineNumber(linesRead);
+        if (lineScanner != null) {
+            e.setCharacterOffset(lineScanner.getLineOffset());
+        }
+        if (!skipOversizedRecords) {
+            throw e;
+        }
+        capturedExceptions.add(e);
+    }
+
+    /**
+     * Skips records that are longer than the limits of the parser instead of
+     * throwing an exception. Used by {@link CSVReaderBuilder}.
+     *
+     * @param skipOversizedRecords True to skip oversized records
+     */
+    void setSkipOversizedRecords(boolean skipOversizedRecords) {
+        this.skipOversizedRecords = skipOversizedRecords;
+    }
+
+    /**
+     * Any records skipped because they were longer than the limits of the
+     * parser can be retrieved through this method.
+     * <p><em>Reads from the list are destructive!</em> Calling this method
+     * will clear the list of captured exceptions.</p>
+     *
+     * @return A list of the exceptions that would have been thrown for
+     * oversized records since the last call to this method
+     * @see CSVReaderBuilder#withSkipOversizedRecords(boolean)
+     * @since 3.9
+     */
+    public List<CsvLimitExceededException> getCapturedExceptions() {
+        List<CsvLimitExceededException> intermediate = capturedExceptions;
+        capturedExceptions = new ArrayList<CsvLimitExceededException>();
+        return intermediate;
+    }
+
+    /**
+     * Counts the bytes read, so that checkpoints tell the byte offset of
+     * the next record. Used by {@link CSVReaderBuilder}.
+     *
+     * @param charset The charset the input was decoded from. Bytes are only
+     *                counted for charsets {@link LineScanner#canCountBytes(Charset)}
+     *                accepts.
+     */
+    void setCharset(Charset charset) {
+        if (lineScanner != null && LineScanner.canCountBytes(charset)) {
+            lineScanner.setByteCounting(charset);
+        }
+    }
+
+    /**
+     * Takes a checkpoint of the position of the reader, to resume reading
+     * at the next record with a new reader later.
+     * <p>
+     * The checkpoint holds the offset of the next record in characters, and
+     * in bytes if the charset of the input was given with
+     * {@link CSVReaderBuilder#withCharset(Charset)}. Only a reader that
+     * parses with a {@link CSVParser} knows these offsets.
+     * </p>
+     * <p>
+     * A checkpoint can be taken whenever the reader is between records:
+     * right after {@link #readNext()} or {@link #readNextRecord()} returned,
+     * whether a record or null, after {@link #skipRecords(long)}, or before
+     * the first read.
+     * </p>
+     *
+     * @return A checkpoint to resume reading at the next record
+     * @throws UnsupportedOperationException If the parser is not a CSVParser,
+     * or {@link CSVParser#usesCustomParsing() parses lines its own way}
+     * @throws IllegalStateException If {@code parser.isPending()} returns
+     * true, because a read failed within a record spanning several lines
+     * @see CSVReaderBuilder#withCheckpoint(ReaderCheckpoint)
+     * @since 3.9
+     */
+    public ReaderCheckpoint checkpoint() {
+        if (lineScanner == null) {
+            throw new UnsupportedOperationException(
+                    "Only readers with a CSVParser that parses lines in place can take checkpoints");
+        }
+        if (parser.isPending()) {
+            throw new IllegalStateException("No checkpoint can be taken within a record");
+        }
+        long bytes = lineScanner.getByteCount();
+        return new ReaderCheckpoint(
+                bytes < 0 || byteOffsetBase < 0 ? -1 : byteOffsetBase + bytes,
+                characterOffsetBase < 0 ? -1 : characterOffsetBase + lineScanner.getNextLineOffset(),
+                linesRead, recordsRead, linesSkiped, lineScanner.isAfterCarriageReturn(), header);
+    }
+
+    /**
+     * Continues reading at a checkpoint. The input has to be positioned at
+     * the checkpoint already. Used by {@link CSVReaderBuilder} and
+     * {@link CsvIndex}.
+     *
+     * @param checkpoint The checkpoint taken by the reader that read the
+     *                   input before
+     */
+    void resume(ReaderCheckpoint checkpoint) {
+        linesRead = checkpoint.getLinesRead();
+        recordsRead = checkpoint.getRecordsRead();
+        linesSkiped = checkpoint.isLinesSkipped();
+        byteOffsetBase = checkpoint.getByteOffset();
+        characterOffsetBase = checkpoint.getCharacterOffset();
+        header = checkpoint.getHeader();
+        if (checkpoint.isAfterCarriageReturn() && lineScanner != null) {
+            lineScanner.continueAfterCarriageReturn();
+        }
+    }
+
+    /**
+     * Restricts the records returned to some of their columns.
+     * Used by {@link CSVReaderBuilder}.
+     *
+     * @param projection The columns to return, or null to return all columns.
+     */
+    void setColumnProjection(ColumnProjection projection) {
+        this.projection = projection;
+        this.projectingCollector = projection == null ? null : new ProjectingCollector();
+    }
+
     /**
      * Increments the number of records read if the result passed in is not null.
      *
@@ -304,8 +809,39 @@ public class CSVReader implements Closeable, Iterable<String[]> {
         return result;
     }
 
+    /**
+     * Tells whether the lines of the file are read one by one through
+     * {@link #getNextLine()}, and the fields of a record spanning several
+     * lines are put together with
+     * {@link #combineResultsFromMultipleReads(String[], String[])}.
+     * <p>
+     * Otherwise a reader with a {@link CSVParser} that does not
+     * {@link CSVParser#usesCustomParsing() parse lines its own way} parses
+     * the lines in place in its buffer, without calling either method, and collects the fields
+     * of a multi-line record in a list. By default only subclasses read
+     * their lines through these methods, so that their overrides take
+     * effect. A subclass that overrides neither can return false to parse
+     * in place as well. The result must not change while the file is read.
+     * </p>
+     *
+     * @return True if lines are read through {@link #getNextLine()}.
+     * @since 3.9
+     */
+    protected boolean usesCustomLineReading() {
+        return getClass() != CSVReader.class;
+    }
+
+    /**
+     * @return True if records are parsed in place in the buffer of the
+     * {@link #lineScanner}.
+     */
+    private boolean readsInPlace() {
+        return lineScanner != null && !usesCustomLineReading();
+    }
+
     /**
      * For multi-line records this method combines the current result with the result from previous read(s).
+     * Only called if {@link #usesCustomLineReading()} returns true.
      * @param buffer Previous data read for this record
      * @param lastRead Latest data read for this record.
      * @return String array with union of the buffer and lastRead arrays.
@@ -318,25 +854,33 @@ public class CSVReader implements Closeable, Iterable<String[]> {
     }
 
     /**
-     * Reads the next line from the file.
+     * Reads the next line from the file. Only called to read records if
+     * {@link #usesCustomLineReading()} returns true, or the parser is not a
+     * {@link CSVParser} or {@link CSVParser#usesCustomParsing() parses lines
+     * its own way}.
      *
      * @return The next line from the file without trailing newline
      * @throws IOException If bad things happen during the read
      */
     protected String getNextLine() throws IOException {
-        if (isClosed()) {
+        if (usesCustomLineReading() && isClosed()) {
             hasNext = false;
             return null;
         }
+        if (lineScanner != null) {
+            return scanNextLine() ? lineScanner.getLine() : null;
+        }
 
-        if (!this.linesSkiped) {
-            for (int i = 0; i < skipLines; i++) {
-                lineReader.readLine();
-                linesRead++;
+        String nextLine = null;
+        try {
+            if (skipInitialLines()) {
+                nextLine = lineReader.readLine();
+            }
+        } catch (IOException e) {
+            if (!readFailedBecauseClosed()) {
+                throw e;
             }
-            this.linesSkiped = true;
         }
-        String nextLine = lineReader.readLine();
         if (nextLine == null) {
             hasNext = false;
         } else {
@@ -346,14 +890,239 @@ public class CSVReader implements Closeable, Iterable<String[]> {
         return hasNext ? nextLine : null;
     }
 
+    /**
+     * Skips the lines to skip before the first line is read, without creating
+     * Strings for them.
+     *
+     * @return False if the input is empty.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean skipInitialLines() throws IOException {
+        if (this.linesSkiped) {
+            return true;
+        }
+        if (skipLines > 0 && isClosed()) {
+            // empty input does not count the lines to skip
+            return false;
+        }
+        for (int i = 0; i < skipLines; i++) {
+            if (lineScanner != null) {
+                lineScanner.nextLine();
+            } else {
+                lineReader.skipLine();
+            }
+            linesRead++;
+        }
+        this.linesSkiped = true;
+        return true;
+    }
+
+    /**
+     * Advances the {@link #lineScanner} to the next line from the file.
+     *
+     * @return True if a line was read, false if there are no more lines.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean scanNextLine() throws IOException {
+        boolean lineFound = advanceLineScanner();
+        if (!lineFound
+                || (keepCR && lineScanner.getLineLength() == 0 && !lineScanner.isLineTooLong())) {
+            // with carriage returns kept an empty line ends the data, as it does for the LineReader
+            hasNext = false;
+        } else {
+            linesRead++;
+            if (lineScanner.isLineTooLong()) {
+                throw ((CSVParser) parser).recordTooLong();
+            }
+        }
+
+        return hasNext;
+    }
+
+    /**
+     * Moves the {@link #lineScanner} on to the next line, skipping the lines
+     * to skip first.
+     *
+     * @return False if there are no more lines.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean advanceLineScanner() throws IOException {
+        // the scanner finds the end of the data when it reads, so the reader
+        // only has to be checked if that fails before the line has started
+        boolean startsInBuffer = lineScanner.hasBufferedCharacters();
+        try {
+            return skipInitialLines() && lineScanner.nextLine();
+        } catch (IOException e) {
+            if (startsInBuffer || !readFailedBecauseClosed()) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Skips lines of the file without parsing them. The lines are counted by
+     * {@link #getLinesRead()} like the lines read.
+     * <p>
+     * No String is created for a skipped line: the line breaks are found in
+     * the buffer of the reader. Quotes are not taken into account, so this is
+     * meant for preambles and comments in front of the data; use
+     * {@link #skipRecords(long)} to skip records that may span lines.
+     * </p>
+     *
+     * @param lines The number of lines to skip
+     * @return The number of lines skipped, which is less than requested if
+     * the end of the file was reached.
+     * @throws IOException If bad things happen during the read
+     * @since 3.9
+     */
+    public long skipLines(long lines) throws IOException {
+        long skipped = 0;
+        while (skipped < lines && skipLine()) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * Skips the next line of the file.
+     *
+     * @return False if there are no more lines.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean skipLine() throws IOException {
+        boolean skipped;
+        if (lineScanner != null) {
+            skipped = advanceLineScanner();
+        } else {
+            try {
+                skipped = skipInitialLines() && lineReader.skipLine();
+            } catch (IOException e) {
+                if (!readFailedBecauseClosed()) {
+                    throw e;
+                }
+                skipped = false;
+            }
+        }
+        if (skipped) {
+            linesRead++;
+        } else {
+            hasNext = false;
+        }
+        return skipped;
+    }
+
+    /**
+     * Skips records of the file, for example to resume reading a file at a
+     * known record. The records are counted by {@link #getRecordsRead()} like
+     * the records read.
+     * <p>
+     * Unlike {@link #skipLines(long)} this respects quoted fields spanning
+     * lines. If the parser is a {@link CSVParser}, the lines are parsed in the
+     * buffer of the reader to keep track of quotes, but no characters of the
+     * fields are collected and no String is created.
+     * </p>
+     *
+     * @param records The number of records to skip
+     * @return The number of records skipped, which is less than requested if
+     * the end of the file was reached.
+     * @throws IOException If bad things happen during the read
+     * @since 3.9
+     */
+    public long skipRecords(long records) throws IOException {
+        long skipped = 0;
+        while (skipped < records) {
+            if (!readsInPlace() || (projection != null && !projection.isResolved())) {
+                if (readNext() == null) {
+                    break;
+                }
+            } else if (!skipRecordInPlace()) {
+                break;
+            }
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * Skips the next record for {@link #skipRecords(long)} by parsing its
+     * lines in the buffer of the {@link #lineScanner} without collecting
+     * any field.
+     *
+     * @return False if there are no more records.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean skipRecordInPlace() throws IOException {
+        CSVParser csvParser = (CSVParser) parser;
+        while (true) {
+            try {
+                boolean lineRead = false;
+                do {
+                    if (!scanNextLine()) {
+                        if (parser.isPending()) {
+                            throw new IOException("Un-terminated quoted field at end of CSV file");
+                        }
+                        break;
+                    }
+                    lineRead = true;
+                    csvParser.parseLine(lineScanner.getBuffer(), lineScanner.getLineStart(),
+                            lineScanner.getLineLength(), true, FieldCollector.SKIP_ALL);
+                } while (parser.isPending());
+                if (lineRead) {
+                    recordsRead++;
+                }
+                return lineRead;
+            } catch (CsvLimitExceededException e) {
+                skipOversizedRecord(e);
+            }
+        }
+    }
+
+    /**
+     * Decides after a failed read whether the reader had been closed. If the
+     * reader is verified, reading a closed reader ends the data instead of
+     * failing, as if {@link #isClosed()} had been checked before the read.
+     * A reader counts as closed if it cannot even tell whether it is ready.
+     *
+     * @return True if the failure is to be taken as the end of the data.
+     */
+    private boolean readFailedBecauseClosed() {
+        if (!verifyReader) {
+            return false;
+        }
+        try {
+            if (mappedFile != null) {
+                mappedFile.ready();
+            } else {
+                br.ready();
+            }
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
     /**
      * Checks to see if the file is closed.
+     * <p>
+     * A reader that {@link #usesCustomLineReading() reads its lines through
+     * getNextLine()} calls this before every line, as it did before 3.9.
+     * Since 3.9 any other reader only calls it once, before skipping lines:
+     * the end of the data is found by reading, and a closed reader is
+     * recognized when a read fails.
+     * </p>
      * @return True if the reader can no longer be read from.
      */
     protected boolean isClosed() {
         if (!verifyReader) {
             return false;
         }
+        if (lineScanner != null && lineScanner.hasBufferedCharacters()) {
+            return false;
+        }
+        if (mappedFile != null) {
+            return mappedFile.isAtEnd();
+        }
         try {
             br.mark(READ_AHEAD_LIMIT);
             int nextByte = br.read();
@@ -399,6 +1168,12 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * false for their ready() methods until a read was done (namely readers created using Channels).
      * This caused opencsv not to read from those readers.
      * </p>
+     * <p>
+     * Since 3.9 the reader is not probed before each read any more. The end
+     * of the data is found by reading, and only when a read fails is the
+     * reader checked: if it has been closed, the failure ends the data
+     * instead of causing an exception.
+     * </p>
      *
      * @return True if CSVReader will verify the reader before reads.  False otherwise.
      * @see <a href="https://sourceforge.net/p/opencsv/bugs/108/">Bug 108</a>
@@ -483,4 +1258,43 @@ public class CSVReader implements Closeable, Iterable<String[]> {
     public long getRecordsRead() {
         return recordsRead;
     }
+
+    /**
+     * Passes the fields found by the parser to a {@link CsvEventHandler}.
+     */
+    private static final class EventCollector extends FieldCollector {
+        private final CsvEventHandler handler;
+
+        EventCollector(CsvEventHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+            handler.field(chars, offset, length, false);
+        }
+
+        @Override
+        void addField(int column, char[] chars, int offset, int length, boolean quoted) {
+            handler.field(chars, offset, length, quoted);
+        }
+    }
+
+    /**
+     * Creates Strings for the selected columns only and stores them at their
+     * position in the projected record.
+     */
+    private final class ProjectingCollector extends FieldCollector {
+        private String[] values;
+
+        @Override
+        boolean isSelected(int column) {
+            return projection.slotOf(column) >= 0;
+        }
+
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+            values[projection.slotOf(column)] = chars == null ? null : new String(chars, offset, length);
+        }
+    }
 }
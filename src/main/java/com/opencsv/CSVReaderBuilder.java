@@ -17,8 +17,12 @@ package com.opencsv;
 
 
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.stream.reader.MappedFileReader;
 
+import java.io.IOException;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 /**
  * Builder for creating a CSVReader.
@@ -50,6 +54,10 @@ public class CSVReaderBuilder {
     private boolean keepCR;
     private boolean verifyReader = CSVReader.DEFAULT_VERIFY_READER;
     private CSVReaderNullFieldIndicator nullFieldIndicator = CSVReaderNullFieldIndicator.NEITHER;
+    /*@Nullable*/private ColumnProjection projection = null;
+    private boolean skipOversizedRecords = false;
+    /*@Nullable*/private Charset charset = null;
+    /*@Nullable*/private ReaderCheckpoint checkpoint = null;
 
    /**
     * Sets the reader to an underlying CSV source.
@@ -64,6 +72,27 @@ public class CSVReaderBuilder {
       this.reader = reader;
    }
 
+    /**
+     * Creates a builder for a reader of a file that is read through memory
+     * mapped regions.
+     * <p>
+     * This avoids copying the content of the file from the operating system
+     * into the heap, which makes a difference for large files that are read
+     * often and are therefore in the page cache. Files in ISO-8859-1, US-ASCII
+     * or UTF-8 are decoded the fastest.
+     * </p>
+     *
+     * @param path    The file to read
+     * @param charset The charset of the file
+     * @return A CSVReaderBuilder for the file
+     * @throws IOException If the file cannot be opened
+     * @see MappedFileReader
+     * @since 3.9
+     */
+    public static CSVReaderBuilder fromPath(Path path, Charset charset) throws IOException {
+        return new CSVReaderBuilder(new MappedFileReader(path, charset)).withCharset(charset);
+    }
+
     /**
      * Used by unit tests.
      *
@@ -124,7 +153,16 @@ public class CSVReaderBuilder {
     public CSVReader build() {
         final ICSVParser parser =
                 icsvParser != null ? icsvParser : parserBuilder.withFieldAsNull(nullFieldIndicator).build();
-       return new CSVReader(reader, skipLines, parser, keepCR, verifyReader);
+        CSVReader csvReader = new CSVReader(reader, skipLines, parser, keepCR, verifyReader);
+        csvReader.setColumnProjection(projection);
+        csvReader.setSkipOversizedRecords(skipOversizedRecords);
+        if (charset != null) {
+            csvReader.setCharset(charset);
+        }
+        if (checkpoint != null) {
+            csvReader.resume(checkpoint);
+        }
+        return csvReader;
    }
 
     /**
@@ -156,6 +194,10 @@ public class CSVReaderBuilder {
      *
      * <p>The default value is true.</p>
      *
+     * <p>Verifying costs nothing per line: the reader is only checked when a
+     * read fails, and a reader found closed ends the data instead of causing
+     * an exception.</p>
+     *
      * @param verifyReader True if CSVReader should verify reader before each read, false otherwise.
      * @return The CSVReaderBuilder based on this criteria.
      */
@@ -174,4 +216,148 @@ public class CSVReaderBuilder {
         this.nullFieldIndicator = indicator;
         return this;
     }
+
+    /**
+     * Restricts the records read to the given columns.
+     * <p>
+     * The arrays returned by the reader only hold the selected columns, in the
+     * order they are given here. Columns that are missing from a record are
+     * returned as null. If the parser is a {@link CSVParser} the fields of the
+     * other columns are still parsed to keep track of quotes, but their
+     * characters are neither collected nor turned into Strings, which makes
+     * reading a few columns of a wide file much cheaper.
+     * </p>
+     *
+     * @param columns The zero-based indexes of the columns to return
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalArgumentException If no column is given, or an index is
+     *                                  negative or given more than once
+     * @since 3.9
+     */
+    public CSVReaderBuilder withColumns(int... columns) {
+        this.projection = ColumnProjection.ofIndexes(columns);
+        return this;
+    }
+
+    /**
+     * Restricts the records read to the columns with the given names.
+     * <p>
+     * The first record read (after the skipped lines) is taken to be the
+     * header of the file and is used to look up the names. Names are matched
+     * ignoring case and leading or trailing white space. The header itself is
+     * returned as the first record, restricted to the selected columns like
+     * every other record.
+     * </p>
+     *
+     * @param columnNames The names of the columns to return
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalArgumentException If no column name or a null column name is given
+     * @see #withColumns(int...)
+     * @since 3.9
+     */
+    public CSVReaderBuilder withColumns(String... columnNames) {
+        this.projection = ColumnProjection.ofNames(columnNames);
+        return this;
+    }
+
+    /**
+     * Limits the length of the fields of the records read.
+     * This applies to the parser created by the builder; a parser set with
+     * {@link #withCSVParser(ICSVParser)} keeps its own limits.
+     *
+     * @param maxFieldSize The longest field in characters, or 0 for no limit (the default)
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalArgumentException If maxFieldSize is negative
+     * @see CSVParserBuilder#withMaxFieldSize(int)
+     * @since 3.9
+     */
+    public CSVReaderBuilder withMaxFieldSize(int maxFieldSize) {
+        parserBuilder.withMaxFieldSize(maxFieldSize);
+        return this;
+    }
+
+    /**
+     * Limits the length of the records read.
+     * This applies to the parser created by the builder; a parser set with
+     * {@link #withCSVParser(ICSVParser)} keeps its own limits.
+     * <p>
+     * If the parser is a {@link CSVParser}, a line longer than this is not
+     * even read into memory.
+     * </p>
+     *
+     * @param maxRecordSize The longest record in characters, or 0 for no limit (the default)
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalArgumentException If maxRecordSize is negative
+     * @see CSVParserBuilder#withMaxRecordSize(int)
+     * @since 3.9
+     */
+    public CSVReaderBuilder withMaxRecordSize(int maxRecordSize) {
+        parserBuilder.withMaxRecordSize(maxRecordSize);
+        return this;
+    }
+
+    /**
+     * Sets what the reader does with a record that is longer than the limits
+     * of the parser.
+     * <p>
+     * By default the reader throws a
+     * {@link com.opencsv.exceptions.CsvLimitExceededException} that tells
+     * where the offending line is. If oversized records are skipped, the
+     * reader instead discards the record and goes on with the line after the
+     * one on which the limit was exceeded, which is the next place a record
+     * can plausibly start. The exceptions for the skipped records are
+     * available from {@link CSVReader#getCapturedExceptions()}.
+     * </p>
+     *
+     * @param skipOversizedRecords True to skip oversized records, false to fail
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.9
+     */
+    public CSVReaderBuilder withSkipOversizedRecords(boolean skipOversizedRecords) {
+        this.skipOversizedRecords = skipOversizedRecords;
+        return this;
+    }
+
+    /**
+     * Sets the charset the input was decoded from, so that the reader can
+     * tell the offset in bytes of the records it reads in a
+     * {@link CSVReader#checkpoint() checkpoint}.
+     * <p>
+     * Bytes are only counted for UTF-8 and single-byte charsets like
+     * ISO-8859-1; for other charsets only the offset in characters is known.
+     * </p>
+     *
+     * @param charset The charset the input was decoded from
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.9
+     */
+    public CSVReaderBuilder withCharset(final Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset may not be null");
+        }
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Resumes reading at a checkpoint taken by another reader of the same
+     * input.
+     * <p>
+     * The reader given to the builder has to be positioned at the
+     * checkpoint, see {@link ReaderCheckpoint#seek(java.nio.channels.FileChannel)}
+     * and {@link ReaderCheckpoint#skip(Reader)}. The reader built counts
+     * lines and records on from the checkpoint, does not skip lines at the
+     * start again, and takes the header to look up columns by name from the
+     * checkpoint. The other settings should be the same as for the reader
+     * that took the checkpoint.
+     * </p>
+     *
+     * @param checkpoint The checkpoint to resume at, or null to start at the start of the input
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.9
+     */
+    public CSVReaderBuilder withCheckpoint(final /*@Nullable*/ ReaderCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
 }
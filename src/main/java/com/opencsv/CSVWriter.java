@@ -23,6 +23,15 @@ import java.util.List;
 
 /**
  * A very simple CSV writer released under a commercial-friendly license.
+ * <p>
+ * Since 3.9 a CSVWriter formats its rows into a reusable buffer and writes
+ * them in blocks, without calling its protected formatting methods such as
+ * {@link #processLine(String, Appendable)}. Subclasses still format their
+ * rows through these methods, so that overrides written for earlier
+ * versions keep working, but they write more slowly. A subclass that
+ * overrides none of them should override {@link #usesCustomFormatting()}
+ * to return false, which makes it write exactly like a CSVWriter.
+ * </p>
  *
  * @author Glen Smith
  */
@@ -58,6 +67,11 @@ public class CSVWriter implements Closeable, Flushable {
     * RFC 4180 compliant line terminator.
     */
    public static final String RFC4180_LINE_END = "\r\n";
+   /**
+    * The number of characters of rows collected by the writeAll methods
+    * before they are written to the writer in one block.
+    */
+   static final int BLOCK_SIZE = 8 * 1024;
 
    protected final Writer writer;
    protected final char separator;
@@ -67,6 +81,11 @@ public class CSVWriter implements Closeable, Flushable {
    protected ResultSetHelper resultService;
    protected volatile IOException exception;
 
+   /**
+    * Formats rows into a reusable buffer; guarded by this writer.
+    */
+   private final RowFormatter formatter;
+
    /**
     * Constructs CSVWriter using a comma for the separator.
     *
@@ -138,6 +157,30 @@ public class CSVWriter implements Closeable, Flushable {
       this.quotechar = quotechar;
       this.escapechar = escapechar;
       this.lineEnd = lineEnd;
+      this.formatter = new RowFormatter(separator, quotechar, escapechar);
+   }
+
+   /**
+    * Tells whether rows are formatted through the protected methods
+    * {@link #writeNext(String[], boolean, Appendable)},
+    * {@link #stringContainsSpecialCharacters(String)},
+    * {@link #processLine(String, Appendable)},
+    * {@link #processCharacter(Appendable, char)} and
+    * {@link #checkCharactersToEscape(char)}, so that a subclass can change
+    * how they are formatted.
+    * <p>
+    * Otherwise the rows are formatted into a reusable buffer without calling
+    * these methods, and written in blocks. By default only subclasses format
+    * their rows through the protected methods. A subclass that overrides
+    * none of them can return false to be as fast as the CSVWriter. The
+    * result must not change while rows are written.
+    * </p>
+    *
+    * @return True if rows are formatted through the protected methods.
+    * @since 3.9
+    */
+   protected boolean usesCustomFormatting() {
+      return getClass() != CSVWriter.class;
    }
 
    /**
@@ -150,6 +193,10 @@ public class CSVWriter implements Closeable, Flushable {
     *                         quote or new line characters.
     */
    public void writeAll(Iterable<String[]> allLines, boolean applyQuotesToAll) {
+      if (!usesCustomFormatting()) {
+         writeRows(allLines, applyQuotesToAll);
+         return;
+      }
       StringBuilder sb = new StringBuilder(INITIAL_STRING_SIZE);
       try {
          for (String[] line : allLines) {
@@ -182,6 +229,10 @@ public class CSVWriter implements Closeable, Flushable {
     *                 the file.
     */
    public void writeAll(Iterable<String[]> allLines) {
+      if (!usesCustomFormatting()) {
+         writeRows(allLines, true);
+         return;
+      }
       StringBuilder sb = new StringBuilder(INITIAL_STRING_SIZE);
       try {
          for (String[] line : allLines) {
@@ -270,7 +321,74 @@ public class CSVWriter implements Closeable, Flushable {
     */
    public void writeNext(String[] nextLine, boolean applyQuotesToAll) {
       try {
-         writeNext(nextLine, applyQuotesToAll, new StringBuilder(INITIAL_STRING_SIZE));
+         if (usesCustomFormatting()) {
+            writeNext(nextLine, applyQuotesToAll, new StringBuilder(INITIAL_STRING_SIZE));
+            return;
+         }
+         if (nextLine == null) {
+            return;
+         }
+         synchronized (this) {
+            try {
+               formatter.appendRow(nextLine, applyQuotesToAll, lineEnd);
+               writeBuffer();
+            } finally {
+               formatter.clear();
+            }
+         }
+      } catch (IOException e) {
+         exception = e;
+      }
+   }
+
+   /**
+    * Formats rows into the buffer and writes them to the writer in blocks
+    * of about {@link #BLOCK_SIZE} characters.
+    *
+    * @param allLines         The rows to write
+    * @param applyQuotesToAll True if all values are to be quoted
+    */
+   private synchronized void writeRows(Iterable<String[]> allLines, boolean applyQuotesToAll) {
+      try {
+         for (String[] line : allLines) {
+            if (line != null) {
+               formatter.appendRow(line, applyQuotesToAll, lineEnd);
+               if (formatter.size() >= BLOCK_SIZE) {
+                  writeBuffer();
+               }
+            }
+         }
+         writeBuffer();
+      } catch (IOException e) {
+         exception = e;
+      } finally {
+         formatter.clear();
+      }
+   }
+
+   /**
+    * Writes the formatted rows in the buffer to the writer.
+    *
+    * @throws IOException Exceptions thrown by the writer supplied to CSVWriter.
+    */
+   private void writeBuffer() throws IOException {
+      int n = formatter.size();
+      if (n > 0) {
+         formatter.clear();
+         writer.write(formatter.getChars(), 0, n);
+      }
+   }
+
+   /**
+    * Writes rows formatted by a {@link CsvRowWriter}. Errors are recorded
+    * for {@link #checkError()}, as for {@link #writeNext(String[])}.
+    *
+    * @param rows   The buffer holding the formatted rows
+    * @param length The number of characters to write
+    */
+   synchronized void writeFormatted(char[] rows, int length) {
+      try {
+         writer.write(rows, 0, length);
       } catch (IOException e) {
          exception = e;
       }
@@ -0,0 +1,157 @@
+package com.opencsv;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The columns a {@link CSVReader} is to return, in the order they are to be
+ * returned in.
+ * <p>
+ * The columns are either given by their index or by their name in the header
+ * of the file. Names are matched the same way as by
+ * {@link com.opencsv.bean.HeaderColumnNameMappingStrategy}, that is ignoring
+ * case and leading or trailing white space, and have to be resolved with
+ * {@link #resolve(String[])} before the projection can be used.
+ * </p>
+ *
+ * @see CSVReaderBuilder#withColumns(int...)
+ * @see CSVReaderBuilder#withColumns(String...)
+ * @since 3.9
+ */
+class ColumnProjection {
+    private final String[] names;
+    private int[] columns;
+    private int[] slots;
+
+    private ColumnProjection(int[] columns, String[] names) {
+        this.columns = columns;
+        this.names = names;
+        if (columns != null) {
+            buildSlots();
+        }
+    }
+
+    /**
+     * Creates a projection on columns given by their index.
+     *
+     * @param columns The zero-based indexes of the columns to return
+     * @return The projection
+     * @throws IllegalArgumentException If an index is negative or repeated
+     */
+    static ColumnProjection ofIndexes(int[] columns) {
+        if (columns == null || columns.length == 0) {
+            throw new IllegalArgumentException("At least one column must be selected");
+        }
+        return new ColumnProjection(columns.clone(), null);
+    }
+
+    /**
+     * Creates a projection on columns given by their name in the header.
+     *
+     * @param names The names of the columns to return
+     * @return The projection
+     * @throws IllegalArgumentException If no name or a null name is given
+     */
+    static ColumnProjection ofNames(String[] names) {
+        if (names == null || names.length == 0) {
+            throw new IllegalArgumentException("At least one column must be selected");
+        }
+        for (String name : names) {
+            if (name == null) {
+                throw new IllegalArgumentException("Column names may not be null");
+            }
+        }
+        return new ColumnProjection(null, names.clone());
+    }
+
+    /**
+     * @return True if the columns are known, false if the names still have to
+     * be looked up in the header.
+     */
+    boolean isResolved() {
+        return columns != null;
+    }
+
+    /**
+     * Looks up the column names in the header of the file.
+     *
+     * @param header The unprojected header record
+     * @throws IOException If a name is not found in the header
+     */
+    void resolve(String[] header) throws IOException {
+        int[] resolved = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            resolved[i] = indexOf(header, names[i]);
+            if (resolved[i] < 0) {
+                throw new IOException("Column \"" + names[i] + "\" not found in header " + Arrays.toString(header));
+            }
+        }
+        columns = resolved;
+        buildSlots();
+    }
+
+    /**
+     * @return The number of columns in the projected records.
+     */
+    int getWidth() {
+        return columns.length;
+    }
+
+    /**
+     * Gives the position of a column in the projected records.
+     *
+     * @param column The zero-based index of the column in the file
+     * @return The index of the column in the projected record, or -1 if the
+     * column is not part of the projection
+     */
+    int slotOf(int column) {
+        return column < slots.length ? slots[column] : -1;
+    }
+
+    /**
+     * Projects a complete record.
+     *
+     * @param record The record as read from the file
+     * @return A new array with the selected columns of the record. Columns
+     * missing from the record are null.
+     */
+    String[] project(String[] record) {
+        String[] result = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] < record.length) {
+                result[i] = record[columns[i]];
+            }
+        }
+        return result;
+    }
+
+    private void buildSlots() {
+        int max = -1;
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("Column indexes may not be negative");
+            }
+            max = Math.max(max, column);
+        }
+        slots = new int[max + 1];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < columns.length; i++) {
+            if (slots[columns[i]] != -1) {
+                throw new IllegalArgumentException("Column " + columns[i] + " is selected more than once");
+            }
+            slots[columns[i]] = i;
+        }
+    }
+
+    private static int indexOf(String[] header, String name) {
+        String wanted = name.toUpperCase().trim();
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] != null && wanted.equals(StringUtils.trim(header[i].toUpperCase()))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,80 @@
+package com.opencsv;
+
+/**
+ * Tells which characters a writer has to look at when it writes a field:
+ * the characters that make the field special, so that it is quoted, and
+ * the characters to escape. The classes of the first 128 characters are
+ * looked up in a table; other characters are only compared if one of the
+ * separator, quote and escape characters is not ASCII.
+ * <p>
+ * The classes follow {@link CSVWriter#stringContainsSpecialCharacters(String)}
+ * and {@link CSVWriter#checkCharactersToEscape(char)}: the quote, escape
+ * and separator characters, line feed and carriage return are special, even
+ * if the quote or escape character is the character for no quote or no
+ * escape. Every character to escape is also special.
+ * </p>
+ *
+ * @since 3.9
+ */
+final class CsvCharClasses {
+
+    /**
+     * The class of characters that need no attention.
+     */
+    static final int PLAIN = 0;
+    /**
+     * A character that makes a field special.
+     */
+    static final int SPECIAL = 1;
+    /**
+     * A character that is escaped when it is written; always combined with
+     * {@link #SPECIAL}.
+     */
+    static final int ESCAPE = 2;
+
+    private final char separator;
+    private final char quotechar;
+    private final char escapechar;
+    private final byte[] asciiClasses = new byte[128];
+    private final boolean asciiOnly;
+
+    /**
+     * @param separator  The delimiter between fields
+     * @param quotechar  The quote character, or {@link CSVWriter#NO_QUOTE_CHARACTER}
+     * @param escapechar The escape character, or {@link CSVWriter#NO_ESCAPE_CHARACTER}
+     */
+    CsvCharClasses(char separator, char quotechar, char escapechar) {
+        this.separator = separator;
+        this.quotechar = quotechar;
+        this.escapechar = escapechar;
+        this.asciiOnly = separator < 128 && quotechar < 128 && escapechar < 128;
+        for (char c = 0; c < asciiClasses.length; c++) {
+            asciiClasses[c] = (byte) classify(c);
+        }
+    }
+
+    /**
+     * @param c A character of a field
+     * @return {@link #PLAIN}, {@link #SPECIAL}, or {@link #SPECIAL} combined
+     * with {@link #ESCAPE}.
+     */
+    int classOf(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        return asciiOnly ? PLAIN : classify(c);
+    }
+
+    private int classify(char c) {
+        int characterClass = PLAIN;
+        if (c == quotechar || c == escapechar || c == separator || c == '\n' || c == '\r') {
+            characterClass = SPECIAL;
+        }
+        if (escapechar != CSVWriter.NO_ESCAPE_CHARACTER
+                && (c == quotechar || c == escapechar
+                || (quotechar == CSVWriter.NO_QUOTE_CHARACTER && c == separator))) {
+            characterClass |= ESCAPE;
+        }
+        return characterClass;
+    }
+}
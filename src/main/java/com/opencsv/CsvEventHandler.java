@@ -0,0 +1,56 @@
+package com.opencsv;
+
+/**
+ * Receives the records parsed by {@link CSVReader#parse(CsvEventHandler)}
+ * field by field, as the parser finds them.
+ * <p>
+ * No String or array is created for a field: its characters are passed as
+ * a range of a buffer of the reader or the parser. They are only valid
+ * during the call, so a handler must either use them immediately, for
+ * example to hash or sum them, or copy them.
+ * </p>
+ * <p>
+ * For every record {@link #startRecord(long)} is called first, then
+ * {@link #field(char[], int, int, boolean)} for every field in the order of
+ * the columns, and {@link #endRecord()} last. If the record cannot be read,
+ * for instance because it is longer than the limits of the parser,
+ * {@link #abortRecord()} is called instead of {@link #endRecord()}, before
+ * the exception is thrown or the record is skipped, so that the handler can
+ * discard the fields it got so far.
+ * </p>
+ *
+ * @since 3.9
+ */
+public interface CsvEventHandler {
+
+    /**
+     * Called before the first field of a record.
+     *
+     * @param recordNumber The zero-based number of the record, which is the
+     *                     number of records read before it
+     */
+    void startRecord(long recordNumber);
+
+    /**
+     * Called for every field of the record.
+     *
+     * @param buf    The buffer holding the characters of the field, or null
+     *               for a null field
+     * @param off    The index of the first character of the field in buf
+     * @param len    The number of characters in the field
+     * @param quoted True if a quote opened a quoted section in the field
+     */
+    void field(char[] buf, int off, int len, boolean quoted);
+
+    /**
+     * Called after the last field of a record.
+     */
+    void endRecord();
+
+    /**
+     * Called instead of {@link #endRecord()} if a record that was started
+     * cannot be read. If oversized records are skipped, the next record is
+     * started with the same number.
+     */
+    void abortRecord();
+}
@@ -0,0 +1,528 @@
+package com.opencsv;
+
+import com.opencsv.stream.reader.LineSplitter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * An index of the records of a CSV file, to start reading the file at any
+ * record without parsing everything in front of it.
+ * <p>
+ * The index is built by {@link CsvIndexBuilder} in one pass over the file.
+ * It holds the byte position and the number of lines in front of every
+ * {@link #getInterval() interval}th record. To read from record K a
+ * {@link CSVReader} is started at the closest indexed record in front of K
+ * with {@link FileChannel#position(long)}, and skips the few records up to
+ * K. The reader counts lines and records as if it had read the file from
+ * the start.
+ * </p>
+ * <p>
+ * An index can be saved next to the file and loaded again later. It
+ * remembers the size, the time of the last modification and a CRC-32
+ * checksum of the file it was built for, so {@link #isCurrent(Path, boolean)}
+ * can tell whether the file changed since. Reading a file that changed with
+ * an outdated index returns wrong records.
+ * </p>
+ * <p>
+ * The charset of the file has the same restrictions as for the
+ * {@link ParallelCSVReader}: line feeds and carriage returns have to be
+ * single bytes that are never part of the encoding of another character.
+ * </p>
+ *
+ * @see CsvIndexBuilder
+ * @since 3.9
+ */
+public class CsvIndex {
+
+    private static final int MAGIC = 0x43535849;
+    private static final int VERSION = 1;
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final Charset charset;
+    private final boolean keepCR;
+    private final int skipLines;
+    private final int interval;
+    private final char separator;
+    private final char quoteChar;
+    private final char escapeChar;
+    private final int parserFlags;
+    private final long fileSize;
+    private final long lastModified;
+    private final long checksum;
+    private final long recordCount;
+    private final long lineCount;
+    /**
+     * The byte position of record i * interval.
+     */
+    private final long[] positions;
+    /**
+     * The number of lines in front of record i * interval.
+     */
+    private final long[] lines;
+
+    private CsvIndex(Charset charset, boolean keepCR, int skipLines, int interval,
+                     char separator, char quoteChar, char escapeChar, int parserFlags,
+                     long fileSize, long lastModified, long checksum, long recordCount, long lineCount,
+                     long[] positions, long[] lines) {
+        this.charset = charset;
+        this.keepCR = keepCR;
+        this.skipLines = skipLines;
+        this.interval = interval;
+        this.separator = separator;
+        this.quoteChar = quoteChar;
+        this.escapeChar = escapeChar;
+        this.parserFlags = parserFlags;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.checksum = checksum;
+        this.recordCount = recordCount;
+        this.lineCount = lineCount;
+        this.positions = positions;
+        this.lines = lines;
+    }
+
+    /**
+     * Builds the index of a file. Used by {@link CsvIndexBuilder}.
+     *
+     * @param file      The file to index
+     * @param charset   The charset of the file
+     * @param parser    The parser configuration. It is copied, not used.
+     * @param skipLines The number of lines in front of the first record
+     * @param keepCR    True if carriage returns are kept in data read
+     * @param interval  The number of records between two indexed records
+     * @return The index of the file
+     * @throws IOException If bad things happen during the read
+     */
+    static CsvIndex build(Path file, Charset charset, CSVParser parser, int skipLines, boolean keepCR,
+                          int interval) throws IOException {
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            Scan scan = new Scan(charset, parser.copy(), skipLines, keepCR, interval);
+            scan.run(channel);
+            return new CsvIndex(charset, keepCR, skipLines, interval,
+                    parser.getSeparator(), parser.getQuotechar(), parser.getEscape(), flagsOf(parser),
+                    scan.position, lastModified, scan.crc.getValue(), scan.records, scan.lines,
+                    Arrays.copyOf(scan.positions, scan.entries), Arrays.copyOf(scan.entryLines, scan.entries));
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * The settings of a parser, besides its separator, quote and escape
+     * characters, that decide where records end.
+     */
+    private static int flagsOf(CSVParser parser) {
+        return (parser.isStrictQuotes() ? 1 : 0)
+                | (parser.isIgnoreLeadingWhiteSpace() ? 2 : 0)
+                | (parser.isIgnoreQuotations() ? 4 : 0);
+    }
+
+    /**
+     * Loads an index saved with {@link #save(Path)}.
+     *
+     * @param sidecar The file the index was saved to
+     * @return The index
+     * @throws IOException If the file cannot be read or does not hold an index
+     */
+    public static CsvIndex load(Path sidecar) throws IOException {
+        InputStream in = Files.newInputStream(sidecar);
+        try {
+            DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+            if (data.readInt() != MAGIC) {
+                throw new IOException(sidecar + " does not hold a CSV index");
+            }
+            int version = data.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " of the CSV index in " + sidecar);
+            }
+            Charset charset = Charset.forName(data.readUTF());
+            boolean keepCR = data.readBoolean();
+            int skipLines = data.readInt();
+            int interval = data.readInt();
+            char separator = data.readChar();
+            char quoteChar = data.readChar();
+            char escapeChar = data.readChar();
+            int parserFlags = data.readInt();
+            long fileSize = data.readLong();
+            long lastModified = data.readLong();
+            long checksum = data.readLong();
+            long recordCount = data.readLong();
+            long lineCount = data.readLong();
+            int entries = data.readInt();
+            if (entries < 0) {
+                throw new IOException(sidecar + " does not hold a CSV index");
+            }
+            long[] positions = new long[entries];
+            long[] lines = new long[entries];
+            for (int i = 0; i < entries; i++) {
+                positions[i] = data.readLong();
+                lines[i] = data.readLong();
+            }
+            return new CsvIndex(charset, keepCR, skipLines, interval, separator, quoteChar, escapeChar,
+                    parserFlags, fileSize, lastModified, checksum, recordCount, lineCount, positions, lines);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Saves the index, usually to a file next to the CSV file.
+     *
+     * @param sidecar The file to save the index to. It is replaced if it exists.
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path sidecar) throws IOException {
+        OutputStream out = Files.newOutputStream(sidecar);
+        try {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeUTF(charset.name());
+            data.writeBoolean(keepCR);
+            data.writeInt(skipLines);
+            data.writeInt(interval);
+            data.writeChar(separator);
+            data.writeChar(quoteChar);
+            data.writeChar(escapeChar);
+            data.writeInt(parserFlags);
+            data.writeLong(fileSize);
+            data.writeLong(lastModified);
+            data.writeLong(checksum);
+            data.writeLong(recordCount);
+            data.writeLong(lineCount);
+            data.writeInt(positions.length);
+            for (int i = 0; i < positions.length; i++) {
+                data.writeLong(positions[i]);
+                data.writeLong(lines[i]);
+            }
+            data.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Checks whether a file is still the one the index was built for,
+     * by its size and the time of its last modification.
+     *
+     * @param file The file the index was built for
+     * @return True if the file seems unchanged
+     * @throws IOException If the attributes of the file cannot be read
+     */
+    public boolean isCurrent(Path file) throws IOException {
+        return isCurrent(file, false);
+    }
+
+    /**
+     * Checks whether a file is still the one the index was built for.
+     *
+     * @param file           The file the index was built for
+     * @param verifyChecksum True to compare the checksum of the whole file as
+     *                       well, which means reading all of it. This finds
+     *                       changes that kept the size and the time of the
+     *                       last modification.
+     * @return True if the file is unchanged
+     * @throws IOException If the file cannot be read
+     */
+    public boolean isCurrent(Path file, boolean verifyChecksum) throws IOException {
+        if (!Files.isRegularFile(file)
+                || Files.size(file) != fileSize
+                || Files.getLastModifiedTime(file).toMillis() != lastModified) {
+            return false;
+        }
+        if (!verifyChecksum) {
+            return true;
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            CRC32 crc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            long position = 0;
+            int read;
+            while ((read = channel.read(buffer, position)) > 0) {
+                crc.update(buffer.array(), 0, read);
+                position += read;
+                buffer.clear();
+            }
+            return position == fileSize && crc.getValue() == checksum;
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Opens a reader that starts at a record.
+     * <p>
+     * The reader reads from the channel, which is closed when the reader is
+     * closed. {@link CSVReader#getRecordsRead()} and
+     * {@link CSVReader#getLinesRead()} start with the number of records and
+     * lines in front of the record, as if the file had been read from the
+     * start.
+     * </p>
+     *
+     * @param channel The file the index was built for
+     * @param parser  The parser to use. It has to split records like the
+     *                parser the index was built with.
+     * @param record  The zero-based number of the first record to read. If
+     *                the file has no such record, the reader returns no records.
+     * @return A reader whose next record is the given record
+     * @throws IOException If bad things happen during the read
+     * @throws IllegalArgumentException If the record is negative or the parser
+     * does not split records like the parser the index was built with
+     */
+    public CSVReader openAtRecord(FileChannel channel, CSVParser parser, long record) throws IOException {
+        if (record < 0) {
+            throw new IllegalArgumentException("The record number may not be negative");
+        }
+        int entry = positions.length == 0 ? -1 : (int) Math.min(record / interval, positions.length - 1);
+        CSVReader reader = open(channel, parser, entry);
+        reader.skipRecords(record - reader.getRecordsRead());
+        return reader;
+    }
+
+    /**
+     * Opens a reader that starts at the first record that starts on or after
+     * a line. The reader is the same as for {@link #openAtRecord(FileChannel, CSVParser, long)}.
+     *
+     * @param channel The file the index was built for
+     * @param parser  The parser to use. It has to split records like the
+     *                parser the index was built with.
+     * @param line    The zero-based number of the line, which is the number
+     *                of lines in front of it
+     * @return A reader whose next record starts on or after the line
+     * @throws IOException If bad things happen during the read
+     * @throws IllegalArgumentException If the line is negative or the parser
+     * does not split records like the parser the index was built with
+     */
+    public CSVReader openAtLine(FileChannel channel, CSVParser parser, long line) throws IOException {
+        if (line < 0) {
+            throw new IllegalArgumentException("The line number may not be negative");
+        }
+        int entry = -1;
+        if (lines.length > 0) {
+            // every record starts on a later line than the one in front of it
+            entry = Arrays.binarySearch(lines, line);
+            if (entry < 0) {
+                entry = Math.max(-entry - 2, 0);
+            }
+        }
+        CSVReader reader = open(channel, parser, entry);
+        while (reader.getLinesRead() < line && reader.skipRecords(1) == 1) {
+            // skip the records that start in front of the line
+        }
+        return reader;
+    }
+
+    /**
+     * Opens a reader at an indexed record.
+     *
+     * @param entry The index entry of the record, or -1 for the start of the file
+     */
+    private CSVReader open(FileChannel channel, CSVParser parser, int entry) throws IOException {
+        if (parser.getSeparator() != separator || parser.getQuotechar() != quoteChar
+                || parser.getEscape() != escapeChar || flagsOf(parser) != parserFlags) {
+            throw new IllegalArgumentException("The parser does not split records like the parser of the index");
+        }
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        channel.position(entry < 0 ? 0 : positions[entry]);
+        CSVReader reader = new CSVReader(Channels.newReader(channel, decoder, -1), skipLines, parser, keepCR,
+                CSVReader.DEFAULT_VERIFY_READER);
+        reader.setCharset(charset);
+        if (entry >= 0) {
+            // the character offset is not known without decoding everything in front
+            reader.resume(new ReaderCheckpoint(positions[entry], -1, lines[entry], (long) entry * interval,
+                    true, false, null));
+        }
+        return reader;
+    }
+
+    /**
+     * @return The charset of the file.
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * @return The number of records between two indexed records.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return The number of records in the file.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return The number of lines in the file, including the skipped lines.
+     */
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return The size of the file in bytes.
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Finds the indexed record closest to a record.
+     *
+     * @param record The zero-based number of a record
+     * @return The byte position of the last indexed record at or in front of
+     * the record, or -1 if the file has no records.
+     */
+    public long positionOf(long record) {
+        if (record < 0) {
+            throw new IllegalArgumentException("The record number may not be negative");
+        }
+        if (positions.length == 0) {
+            return -1;
+        }
+        return positions[(int) Math.min(record / interval, positions.length - 1)];
+    }
+
+    /**
+     * The single pass over the file that builds the index. Lines are split at
+     * the same bytes a {@link CSVReader} splits them at, then decoded and
+     * parsed one by one to find where the records end.
+     */
+    private static final class Scan {
+        private final CSVParser parser;
+        private final int skipLines;
+        private final boolean keepCR;
+        private final int interval;
+        private final LineDecoder decoder;
+        private final LineSplitter splitter;
+        final CRC32 crc = new CRC32();
+
+        private byte[] line = new byte[256];
+        private int lineLength = 0;
+
+        long[] positions = new long[16];
+        long[] entryLines = new long[16];
+        int entries = 0;
+        long records = 0;
+        long lines = 0;
+        /**
+         * The position of the byte after the last byte read, in the end the size of the file.
+         */
+        long position = 0;
+        private long lineStart = 0;
+        private boolean ended = false;
+
+        Scan(Charset charset, CSVParser parser, int skipLines, boolean keepCR, int interval) {
+            this.parser = parser;
+            this.skipLines = skipLines;
+            this.keepCR = keepCR;
+            this.interval = interval;
+            this.decoder = new LineDecoder(charset);
+            this.splitter = new LineSplitter(keepCR);
+        }
+
+        void run(FileChannel channel) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            int read;
+            while ((read = channel.read(buffer, position)) > 0) {
+                crc.update(bytes, 0, read);
+                splitter.setPosition(0);
+                while (splitter.nextLine(bytes, read)) {
+                    int start = splitter.getLineStart();
+                    if (lineLength == 0) {
+                        lineStart = position + start;
+                    }
+                    append(bytes, start, splitter.getLineEnd() - start);
+                    endLine(bytes[splitter.getLineEnd()] == '\n');
+                }
+                int rest = splitter.getPosition();
+                if (lineLength == 0) {
+                    lineStart = position + rest;
+                }
+                append(bytes, rest, read - rest);
+                position += read;
+                buffer.clear();
+            }
+            if (lineLength > 0) {
+                endLine(false);
+            }
+        }
+
+        private void append(byte[] bytes, int start, int length) {
+            if (ended || length == 0) {
+                return;
+            }
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            System.arraycopy(bytes, start, line, lineLength, length);
+            lineLength += length;
+        }
+
+        /**
+         * Handles a complete line.
+         *
+         * @param endsWithLineFeed True if the line ended with a line feed
+         */
+        private void endLine(boolean endsWithLineFeed) throws IOException {
+            if (ended) {
+                return;
+            }
+            if (lines < skipLines) {
+                lines++;
+            } else if (keepCR && endsWithLineFeed && lineLength == 0) {
+                // a CSVReader that keeps carriage returns takes an empty line as the end of the file
+                ended = true;
+            } else {
+                if (!parser.isPending() && records % interval == 0) {
+                    addEntry();
+                }
+                int length = decoder.decode(line, 0, lineLength);
+                parser.parseLine(decoder.getChars(), 0, length, true, FieldCollector.SKIP_ALL);
+                lines++;
+                if (!parser.isPending()) {
+                    records++;
+                }
+            }
+            lineLength = 0;
+        }
+
+        private void addEntry() {
+            if (entries == positions.length) {
+                positions = Arrays.copyOf(positions, entries * 2);
+                entryLines = Arrays.copyOf(entryLines, entries * 2);
+            }
+            positions[entries] = lineStart;
+            entryLines[entries] = lines;
+            entries++;
+        }
+    }
+}
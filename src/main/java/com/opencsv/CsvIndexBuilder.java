@@ -0,0 +1,130 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Builder for creating a {@link CsvIndex} of a file.
+ * <p>Example code for using this class:<br><br>
+ * <code>
+ * CsvIndex index = new CsvIndexBuilder(path)<br>
+ * .withCharset(StandardCharsets.UTF_8)<br>
+ * .withInterval(1000)<br>
+ * .build();<br>
+ * CSVReader reader = index.openAtRecord(FileChannel.open(path), new CSVParser(), 123456);<br>
+ * </code></p>
+ *
+ * @see CsvIndex
+ * @since 3.9
+ */
+public class CsvIndexBuilder {
+
+    /**
+     * The default number of records between two indexed records.
+     */
+    public static final int DEFAULT_INTERVAL = 1000;
+
+    private final Path file;
+    private Charset charset = Charset.defaultCharset();
+    private CSVParser parser = null;
+    private int skipLines = CSVReader.DEFAULT_SKIP_LINES;
+    private boolean keepCR = CSVReader.DEFAULT_KEEP_CR;
+    private int interval = DEFAULT_INTERVAL;
+
+    /**
+     * Sets the file to index.
+     *
+     * @param file The file to index
+     * @throws IllegalArgumentException If the file is null
+     */
+    public CsvIndexBuilder(final Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File may not be null");
+        }
+        this.file = file;
+    }
+
+    /**
+     * Sets the charset of the file. The default is the platform's default charset.
+     *
+     * @param charset The charset of the file
+     * @return The CsvIndexBuilder with the charset set.
+     * @throws IllegalArgumentException If the charset is null
+     */
+    public CsvIndexBuilder withCharset(final Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset may not be null");
+        }
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Sets the parser configuration to find the ends of the records with.
+     * The parser itself is never used. Readers opened with the index have
+     * to split records the same way.
+     *
+     * @param parser The parser configuration.
+     * @return The CsvIndexBuilder with the CSVParser set.
+     */
+    public CsvIndexBuilder withCSVParser(final /*@Nullable*/ CSVParser parser) {
+        this.parser = parser;
+        return this;
+    }
+
+    /**
+     * Sets the number of lines in front of the first record, as for
+     * {@link CSVReaderBuilder#withSkipLines(int)}.
+     *
+     * @param skipLines The number of lines to skip
+     * @return The CsvIndexBuilder with skipLines set.
+     */
+    public CsvIndexBuilder withSkipLines(final int skipLines) {
+        this.skipLines = skipLines <= 0 ? 0 : skipLines;
+        return this;
+    }
+
+    /**
+     * Sets whether carriage returns are kept in data read, as for
+     * {@link CSVReaderBuilder#withKeepCarriageReturn(boolean)}.
+     *
+     * @param keepCR True to keep carriage returns, false to take them as line breaks
+     * @return The CsvIndexBuilder with keepCR set.
+     */
+    public CsvIndexBuilder withKeepCarriageReturn(final boolean keepCR) {
+        this.keepCR = keepCR;
+        return this;
+    }
+
+    /**
+     * Sets the number of records between two indexed records. A smaller
+     * interval means fewer records to skip after a seek, at the cost of a
+     * larger index.
+     *
+     * @param interval The number of records between two indexed records
+     * @return The CsvIndexBuilder with the interval set.
+     * @throws IllegalArgumentException If the interval is not greater than zero
+     */
+    public CsvIndexBuilder withInterval(final int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be greater than zero");
+        }
+        this.interval = interval;
+        return this;
+    }
+
+    /**
+     * Reads the file once and builds its index.
+     *
+     * @return The index of the file.
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If files in the charset cannot be indexed
+     */
+    public CsvIndex build() throws IOException {
+        if (!ParallelCSVReader.canSplit(charset)) {
+            throw new IllegalArgumentException("Files in " + charset.name() + " cannot be indexed");
+        }
+        return CsvIndex.build(file, charset, parser != null ? parser : new CSVParser(), skipLines, keepCR, interval);
+    }
+}
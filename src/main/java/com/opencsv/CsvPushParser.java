@@ -0,0 +1,352 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import com.opencsv.stream.reader.LineSplitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses CSV data that is pushed to it in pieces, for example from the
+ * buffers of a non-blocking network channel, instead of pulling it from a
+ * {@link java.io.Reader}.
+ * <p>
+ * The pieces may end anywhere: within a line, a quoted field, a line break
+ * of a carriage return and a line feed, or the bytes of a character. Every
+ * record completed by a piece is passed to the {@link CsvRecordHandler}
+ * before {@link #feed(ByteBuffer)} returns, and the last record when
+ * {@link #endOfInput()} is called. Lines are split and parsed the same way
+ * as by a {@link CSVReader} with the same parser, number of lines to skip
+ * and handling of carriage returns, so the records are the same as the
+ * records it reads from the whole input. This includes that an empty line
+ * ends the data if carriage returns are kept.
+ * </p>
+ * <p>
+ * The buffer holding a line that is not complete yet grows no larger than
+ * the {@link CSVParser#getMaxRecordSize() record size limit} of a
+ * CSVParser. Once the line is longer, a {@link CsvLimitExceededException}
+ * is thrown, and the input up to the next line break is skipped.
+ * </p>
+ * <p>
+ * Input should either be fed as bytes or as characters, not both.
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @see CsvPushParserBuilder
+ * @since 3.9
+ */
+public class CsvPushParser {
+
+    private final ICSVParser parser;
+    private final CsvRecordHandler handler;
+    private final CharsetDecoder decoder;
+    private final int skipLines;
+    private final boolean keepCR;
+
+    /**
+     * The bytes at the end of the last piece fed that are not a complete character.
+     */
+    private final ByteBuffer carry = ByteBuffer.allocate(16);
+    private char[] chars = new char[1024];
+    private int limit = 0;
+    /**
+     * Keeps the index of the first character not parsed.
+     */
+    private final LineSplitter lines;
+    /**
+     * True once the end of the data has been found.
+     */
+    private boolean ended = false;
+    private boolean endOfInput = false;
+    /**
+     * The longest line kept in the buffer before it is complete.
+     */
+    private final int maxLineLength;
+    /**
+     * True while the rest of a line that is too long is skipped.
+     */
+    private boolean skippingLine = false;
+
+    private final List<String> fields = new ArrayList<String>();
+    private boolean inRecord = false;
+    private final FieldCollector collector = new FieldCollector() {
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+            if (chars == null) {
+                fields.add(null);
+            } else {
+                fields.add(length == 0 ? "" : new String(chars, offset, length));
+            }
+        }
+    };
+
+    private long linesRead = 0;
+    private long recordsRead = 0;
+
+    /**
+     * Constructor used by {@link CsvPushParserBuilder}.
+     *
+     * @param handler   The handler to pass the records to
+     * @param parser    The parser to parse the lines with
+     * @param charset   The charset of the bytes fed
+     * @param skipLines The number of lines to skip at the start of the input
+     * @param keepCR    True to keep carriage returns in data read, false otherwise
+     */
+    CsvPushParser(CsvRecordHandler handler, ICSVParser parser, Charset charset, int skipLines, boolean keepCR) {
+        this.handler = handler;
+        this.parser = parser;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.skipLines = skipLines;
+        this.keepCR = keepCR;
+        this.lines = new LineSplitter(keepCR);
+        int maxRecordSize = parser instanceof CSVParser ? ((CSVParser) parser).getMaxRecordSize() : 0;
+        this.maxLineLength = maxRecordSize == 0 ? Integer.MAX_VALUE : maxRecordSize;
+    }
+
+    /**
+     * Parses the next piece of the input.
+     * The bytes of a character split at the end of the piece are kept until
+     * the next piece completes it.
+     *
+     * @param input The bytes of the piece. All of them are consumed: the
+     *              position of the buffer is moved to its limit.
+     * @throws IOException If a record cannot be parsed. The input following
+     *                     the line of the record is parsed by the next call.
+     * @throws IllegalStateException If {@link #endOfInput()} was called
+     */
+    public void feed(ByteBuffer input) throws IOException {
+        checkInputOpen();
+        if (ended) {
+            input.position(input.limit());
+            return;
+        }
+        compact();
+        // the character split by the previous piece is completed byte by byte
+        while (carry.position() > 0 && input.hasRemaining()) {
+            carry.put(input.get());
+            carry.flip();
+            decode(carry, false);
+            carry.compact();
+        }
+        decode(input, false);
+        carry.put(input);
+        parseLines();
+    }
+
+    /**
+     * Parses the next piece of the input.
+     *
+     * @param input  The array holding the characters of the piece
+     * @param offset The index of the first character of the piece
+     * @param length The number of characters of the piece
+     * @throws IOException If a record cannot be parsed. The input following
+     *                     the line of the record is parsed by the next call.
+     * @throws IllegalStateException If {@link #endOfInput()} was called
+     */
+    public void feed(char[] input, int offset, int length) throws IOException {
+        checkInputOpen();
+        if (ended) {
+            return;
+        }
+        compact();
+        ensureCapacity(length);
+        System.arraycopy(input, offset, chars, limit, length);
+        limit += length;
+        parseLines();
+    }
+
+    /**
+     * Parses what is left of the input after the last piece: a last line
+     * without a line break, and the bytes of an incomplete character, which
+     * are replaced. Further calls do nothing.
+     *
+     * @throws IOException If a record cannot be parsed, or the input ends
+     *                     within a quoted field
+     */
+    public void endOfInput() throws IOException {
+        if (endOfInput) {
+            return;
+        }
+        endOfInput = true;
+        if (ended) {
+            return;
+        }
+        compact();
+        carry.flip();
+        decode(carry, true);
+        carry.clear();
+        CoderResult result;
+        do {
+            ensureCapacity(16);
+            CharBuffer out = CharBuffer.wrap(chars, limit, chars.length - limit);
+            result = decoder.flush(out);
+            limit = out.position();
+        } while (result.isOverflow());
+        parseLines();
+        if (ended) {
+            return;
+        }
+        int start = lines.getPosition();
+        if (skippingLine) {
+            skippingLine = false;
+            lines.setPosition(limit);
+            linesRead++;
+        } else if (start < limit) {
+            lines.setPosition(limit);
+            parseLine(start, limit - start);
+        }
+        end();
+    }
+
+    private void checkInputOpen() {
+        if (endOfInput) {
+            throw new IllegalStateException("The end of the input has been reached");
+        }
+    }
+
+    /**
+     * Ends the data. Input following the end is ignored.
+     *
+     * @throws IOException If the input ends within a quoted field
+     */
+    private void end() throws IOException {
+        ended = true;
+        if (parser.isPending()) {
+            throw new IOException("Un-terminated quoted field at end of CSV file");
+        }
+    }
+
+    /**
+     * Moves the characters not parsed yet to the start of the buffer.
+     */
+    private void compact() {
+        int position = lines.getPosition();
+        if (position > 0) {
+            System.arraycopy(chars, position, chars, 0, limit - position);
+            limit -= position;
+            lines.shift(position);
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (chars.length - limit < length) {
+            chars = Arrays.copyOf(chars, Math.max(limit + length, chars.length * 2));
+        }
+    }
+
+    /**
+     * Decodes bytes into the character buffer.
+     *
+     * @param input      The bytes to decode
+     * @param endOfInput True if no more bytes follow
+     */
+    private void decode(ByteBuffer input, boolean endOfInput) {
+        ensureCapacity((int) (input.remaining() * (double) decoder.maxCharsPerByte()) + 1);
+        while (true) {
+            CharBuffer out = CharBuffer.wrap(chars, limit, chars.length - limit);
+            CoderResult result = decoder.decode(input, out, endOfInput);
+            limit = out.position();
+            if (!result.isOverflow()) {
+                return;
+            }
+            ensureCapacity(chars.length);
+        }
+    }
+
+    /**
+     * Parses the complete lines in the buffer, and discards the line that
+     * is not complete yet if it is too long.
+     *
+     * @throws IOException If a record cannot be parsed
+     * @throws CsvLimitExceededException If the line that is not complete yet
+     *                                   is longer than the record size limit
+     */
+    private void parseLines() throws IOException {
+        while (!ended && lines.nextLine(chars, limit)) {
+            if (skippingLine) {
+                // the end of the line that was too long
+                skippingLine = false;
+                linesRead++;
+                continue;
+            }
+            parseLine(lines.getLineStart(), lines.getLineEnd() - lines.getLineStart());
+        }
+        if (!ended && limit - lines.getPosition() > maxLineLength) {
+            lines.setPosition(limit);
+            if (!skippingLine) {
+                skippingLine = true;
+                inRecord = false;
+                throw ((CSVParser) parser).recordTooLong();
+            }
+        }
+    }
+
+    /**
+     * Parses a line and passes the record to the handler if the line
+     * completes one.
+     *
+     * @param start  The index of the first character of the line
+     * @param length The number of characters of the line, without the line break
+     * @throws IOException If the line cannot be parsed
+     */
+    private void parseLine(int start, int length) throws IOException {
+        if (linesRead < skipLines) {
+            linesRead++;
+            return;
+        }
+        if (keepCR && length == 0) {
+            // with carriage returns kept an empty line ends the data, as it does for the CSVReader
+            end();
+            return;
+        }
+        linesRead++;
+        if (!inRecord) {
+            fields.clear();
+            inRecord = true;
+        }
+        try {
+            if (parser instanceof CSVParser) {
+                ((CSVParser) parser).parseLine(chars, start, length, true, collector);
+            } else {
+                fields.addAll(Arrays.asList(parser.parseLineMulti(new String(chars, start, length))));
+            }
+        } catch (IOException e) {
+            // the next record starts with the next line
+            if (parser instanceof CSVParser) {
+                ((CSVParser) parser).discardRecord();
+            }
+            inRecord = false;
+            throw e;
+        }
+        if (!parser.isPending()) {
+            inRecord = false;
+            recordsRead++;
+            handler.handleRecord(fields.toArray(new String[fields.size()]));
+        }
+    }
+
+    /**
+     * @return The number of lines parsed, including skipped lines and the
+     * lines of a record that is not complete yet.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return The number of records passed to the handler.
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+}
@@ -0,0 +1,96 @@
+package com.opencsv;
+
+import java.nio.charset.Charset;
+
+/**
+ * Builder for creating a {@link CsvPushParser}.
+ * <p>Example code for using this class:<br><br>
+ * <code>
+ * CsvPushParser parser = new CsvPushParserBuilder(handler)<br>
+ * .withCharset(StandardCharsets.UTF_8)<br>
+ * .withSkipLines(1)<br>
+ * .build();<br>
+ * </code></p>
+ *
+ * @see CsvPushParser
+ * @since 3.9
+ */
+public class CsvPushParserBuilder {
+
+    private final CsvRecordHandler handler;
+    private ICSVParser parser = null;
+    private Charset charset = Charset.defaultCharset();
+    private int skipLines = CSVReader.DEFAULT_SKIP_LINES;
+    private boolean keepCR = CSVReader.DEFAULT_KEEP_CR;
+
+    /**
+     * Sets the handler for the records parsed.
+     *
+     * @param handler The handler to pass the records to
+     * @throws IllegalArgumentException If the handler is null
+     */
+    public CsvPushParserBuilder(final CsvRecordHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler may not be null");
+        }
+        this.handler = handler;
+    }
+
+    /**
+     * Sets the parser to use to parse the input.
+     *
+     * @param parser The parser to use to parse the input.
+     * @return The CsvPushParserBuilder with the parser set.
+     */
+    public CsvPushParserBuilder withCSVParser(final /*@Nullable*/ ICSVParser parser) {
+        this.parser = parser;
+        return this;
+    }
+
+    /**
+     * Sets the charset of the bytes fed to the parser. The default is the
+     * platform's default charset.
+     *
+     * @param charset The charset of the input
+     * @return The CsvPushParserBuilder with the charset set.
+     * @throws IllegalArgumentException If the charset is null
+     */
+    public CsvPushParserBuilder withCharset(final Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset may not be null");
+        }
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Sets the number of lines to skip at the start of the input.
+     *
+     * @param skipLines The number of lines to skip
+     * @return The CsvPushParserBuilder with skipLines set.
+     */
+    public CsvPushParserBuilder withSkipLines(final int skipLines) {
+        this.skipLines = skipLines <= 0 ? 0 : skipLines;
+        return this;
+    }
+
+    /**
+     * Sets if the parser will keep or discard carriage returns.
+     *
+     * @param keepCR True to keep carriage returns, false to discard.
+     * @return The CsvPushParserBuilder with keepCR set.
+     */
+    public CsvPushParserBuilder withKeepCarriageReturn(final boolean keepCR) {
+        this.keepCR = keepCR;
+        return this;
+    }
+
+    /**
+     * Creates the CsvPushParser.
+     *
+     * @return The CsvPushParser based on the set criteria.
+     */
+    public CsvPushParser build() {
+        return new CsvPushParser(handler, parser != null ? parser : new CSVParser(), charset, skipLines, keepCR);
+    }
+}
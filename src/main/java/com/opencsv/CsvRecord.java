@@ -0,0 +1,376 @@
+package com.opencsv;
+
+/**
+ * A reusable view of one record read by {@link CSVReader#readNextRecord()}
+ * or {@link Utf8CSVReader#readNextRecord()}.
+ * <p>
+ * The fields of the record are returned as {@link CharSequence}s that look
+ * directly into the buffers of the reader and its parser. No String is
+ * created for a field unless it is asked for, which makes this the cheapest
+ * way to read a file when only some of the fields of a record are looked at.
+ * The fields of a record read by a {@link Utf8CSVReader} are not even decoded
+ * until their characters are looked at.
+ * </p>
+ * <p>
+ * The reader returns the same CsvRecord for every record, and the record
+ * and all CharSequences obtained from it are only valid until the next
+ * record is read. Use {@link #toStringArray()}, or call toString() on the
+ * fields needed, to keep the content of a record.
+ * </p>
+ * <p>
+ * Example code for using this class:<br><br>
+ * <code>
+ * CsvRecord record;<br>
+ * while ((record = reader.readNextRecord()) != null) {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;CharSequence id = record.get(0);<br>
+ * }<br>
+ * </code>
+ * </p>
+ *
+ * @see CSVReader#readNextRecord()
+ * @since 3.9
+ */
+public class CsvRecord {
+    private static final int INITIAL_FIELD_COUNT = 16;
+
+    private FieldView[] fields = new FieldView[INITIAL_FIELD_COUNT];
+    private int size = 0;
+    private char[] detached = new char[ICSVParser.INITIAL_READ_SIZE];
+    private int detachedLength = 0;
+    /**
+     * The number of fields at the start of the record that have been
+     * detached already. Only used without a projection, where fields are
+     * added in order.
+     */
+    private int detachedFields = 0;
+    /**
+     * The columns the parser is to collect, or null for all columns.
+     */
+    private ColumnProjection projection;
+
+    /**
+     * Adds the fields found by the parser to this record.
+     */
+    final FieldCollector collector = new FieldCollector() {
+        @Override
+        boolean isSelected(int column) {
+            return projection == null || projection.slotOf(column) >= 0;
+        }
+
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+            if (projection == null) {
+                add(chars, offset, length);
+            } else {
+                fields[projection.slotOf(column)].set(chars, offset, length);
+            }
+        }
+
+        @Override
+        void addField(int column, byte[] bytes, int offset, int length) {
+            if (projection == null) {
+                add(null, 0, 0);
+                fields[size - 1].setBytes(bytes, offset, length);
+            } else {
+                fields[projection.slotOf(column)].setBytes(bytes, offset, length);
+            }
+        }
+    };
+
+    /**
+     * Creates an empty record. Records are normally obtained from
+     * {@link CSVReader#readNextRecord()}.
+     */
+    CsvRecord() {
+    }
+
+    /**
+     * @return The number of fields in this record.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a field of this record.
+     * <p>
+     * The CharSequence returned is only valid until the next record is read.
+     * Its toString() method creates a String that can be kept.
+     * </p>
+     *
+     * @param index The zero-based index of the field
+     * @return The content of the field, or null if the parser treats the field
+     * as a null field (see {@link com.opencsv.enums.CSVReaderNullFieldIndicator})
+     * @throws IndexOutOfBoundsException If there is no field with that index
+     */
+    public CharSequence get(int index) {
+        FieldView field = field(index);
+        return field.isNull() ? null : field;
+    }
+
+    /**
+     * Returns a field of this record as a String.
+     *
+     * @param index The zero-based index of the field
+     * @return The content of the field, or null if the parser treats the field
+     * as a null field
+     * @throws IndexOutOfBoundsException If there is no field with that index
+     */
+    public String getString(int index) {
+        FieldView field = field(index);
+        return field.isNull() ? null : field.toString();
+    }
+
+    /**
+     * Checks if a field is a null field.
+     *
+     * @param index The zero-based index of the field
+     * @return True if the parser treats the field as a null field
+     * @throws IndexOutOfBoundsException If there is no field with that index
+     */
+    public boolean isNull(int index) {
+        return field(index).isNull();
+    }
+
+    /**
+     * Copies the content of this record into a new array of Strings.
+     * The result is the same array that {@link CSVReader#readNext()} would
+     * have returned for this record.
+     *
+     * @return A string array with each field of the record as a separate entry.
+     */
+    public String[] toStringArray() {
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            FieldView field = fields[i];
+            result[i] = field.isNull() ? null : field.toString();
+        }
+        return result;
+    }
+
+    /**
+     * @return The content of this record for debugging purposes.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(ICSVParser.INITIAL_READ_SIZE);
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Removes all fields from this record.
+     *
+     * @param projection The columns the parser is to collect for the next
+     *                   record, or null if all fields are added in order.
+     *                   With a projection the record starts out with one
+     *                   null field per selected column.
+     */
+    void clear(ColumnProjection projection) {
+        this.projection = projection;
+        size = 0;
+        detachedLength = 0;
+        detachedFields = 0;
+        if (projection != null) {
+            for (int i = projection.getWidth(); i > 0; i--) {
+                add(null, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * Adds a field that is a range of a character array.
+     *
+     * @param chars  The array holding the characters of the field, or null
+     *               for a null field
+     * @param offset The index of the first character of the field in chars
+     * @param length The number of characters in the field
+     */
+    void add(char[] chars, int offset, int length) {
+        if (size == fields.length) {
+            FieldView[] grown = new FieldView[size * 2];
+            System.arraycopy(fields, 0, grown, 0, size);
+            fields = grown;
+        }
+        FieldView field = fields[size];
+        if (field == null) {
+            field = new FieldView();
+            fields[size] = field;
+        }
+        field.set(chars, offset, length);
+        size++;
+    }
+
+    /**
+     * Adds a field that is given as a String.
+     *
+     * @param value The content of the field, or null for a null field
+     */
+    void add(String value) {
+        if (value == null) {
+            add(null, 0, 0);
+            return;
+        }
+        int length = value.length();
+        int offset = reserve(length);
+        value.getChars(0, length, detached, offset);
+        add(detached, offset, length);
+        fields[size - 1].detached = true;
+    }
+
+    /**
+     * Copies the fields added so far into storage owned by this record.
+     * This has to be done before the buffers the fields point into are reused
+     * while the record is not complete yet, which happens when a record spans
+     * more than one line. Fields that are still encoded are decoded.
+     */
+    void detach() {
+        for (int i = projection == null ? detachedFields : 0; i < size; i++) {
+            FieldView field = fields[i];
+            if (field.bytes != null) {
+                String decoded = Utf8.decode(field.bytes, field.offset, field.length);
+                int offset = reserve(decoded.length());
+                decoded.getChars(0, decoded.length(), detached, offset);
+                field.set(detached, offset, decoded.length());
+                field.detached = true;
+            } else if (field.chars != null && !field.detached) {
+                int offset = reserve(field.length);
+                System.arraycopy(field.chars, field.offset, detached, offset, field.length);
+                field.set(detached, offset, field.length);
+                field.detached = true;
+            }
+        }
+        detachedFields = size;
+    }
+
+    /**
+     * Reserves space in the storage owned by this record. When the storage has
+     * to grow a new array is allocated so the fields that already point into
+     * the old one remain valid.
+     *
+     * @param length The number of characters to reserve
+     * @return The offset of the reserved space in {@link #detached}
+     */
+    private int reserve(int length) {
+        if (detachedLength + length > detached.length) {
+            detached = new char[Math.max(length, detached.length * 2)];
+            detachedLength = 0;
+        }
+        int offset = detachedLength;
+        detachedLength += length;
+        return offset;
+    }
+
+    private FieldView field(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return fields[index];
+    }
+
+    /**
+     * A CharSequence that looks into a range of a character array, or into a
+     * range of UTF-8 encoded bytes that is decoded when it is first needed.
+     */
+    private static final class FieldView implements CharSequence {
+        private char[] chars;
+        /**
+         * The encoded content if it has not been decoded, or null.
+         * Once the bytes are known to be ASCII characters they are used as
+         * they are, one char per byte.
+         */
+        private byte[] bytes;
+        private boolean ascii;
+        private int offset;
+        private int length;
+        private boolean detached;
+
+        /**
+         * Points this view at a new range.
+         *
+         * @param chars  The array holding the characters, or null for a null field
+         * @param offset The index of the first character in chars
+         * @param length The number of characters
+         */
+        void set(char[] chars, int offset, int length) {
+            this.chars = chars;
+            this.bytes = null;
+            this.offset = offset;
+            this.length = length;
+            this.detached = false;
+        }
+
+        /**
+         * Points this view at a new range of UTF-8 encoded bytes.
+         *
+         * @param bytes  The array holding the bytes, or null for a null field
+         * @param offset The index of the first byte in bytes
+         * @param length The number of bytes
+         */
+        void setBytes(byte[] bytes, int offset, int length) {
+            set(null, offset, length);
+            this.bytes = bytes;
+            this.ascii = false;
+        }
+
+        boolean isNull() {
+            return chars == null && bytes == null;
+        }
+
+        @Override
+        public int length() {
+            decode();
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            decode();
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+            }
+            return bytes != null ? (char) bytes[offset + index] : chars[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            decode();
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length);
+            }
+            return bytes != null ? Utf8.decode(bytes, offset + start, end - start)
+                    : new String(chars, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            if (bytes != null) {
+                return Utf8.decode(bytes, offset, length);
+            }
+            return length == 0 ? "" : new String(chars, offset, length);
+        }
+
+        /**
+         * Makes the characters of an encoded field available, decoding the
+         * bytes unless they are all ASCII characters.
+         */
+        private void decode() {
+            if (bytes == null || ascii) {
+                return;
+            }
+            if (Utf8.isAscii(bytes, offset, length)) {
+                ascii = true;
+                return;
+            }
+            char[] decoded = Utf8.decode(bytes, offset, length).toCharArray();
+            set(decoded, 0, decoded.length);
+            detached = true;
+        }
+    }
+}
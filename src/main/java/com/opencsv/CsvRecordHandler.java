@@ -0,0 +1,17 @@
+package com.opencsv;
+
+/**
+ * Receives the records parsed by a {@link CsvPushParser}.
+ *
+ * @since 3.9
+ */
+public interface CsvRecordHandler {
+
+    /**
+     * Called for every complete record, in the order of the input.
+     *
+     * @param record The fields of the record, as {@link CSVReader#readNext()}
+     *               would return them. The array belongs to the handler.
+     */
+    void handleRecord(String[] record);
+}
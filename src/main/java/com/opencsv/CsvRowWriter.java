@@ -0,0 +1,240 @@
+package com.opencsv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes rows field by field through a {@link CSVWriter}, formatting
+ * numbers straight into the output instead of turning them into Strings
+ * first.
+ * <p>Example code for using this class:<br><br>
+ * <code>
+ * CsvRowWriter rows = new CsvRowWriter(csvWriter, false);<br>
+ * rows.beginRow().field(id).field(price).field(name).endRow();<br>
+ * rows.flush();<br>
+ * </code></p>
+ * <p>
+ * Numbers are written as {@link Long#toString(long)} and
+ * {@link Double#toString(double)} format them. Every field is quoted and
+ * escaped exactly as {@link CSVWriter#writeNext(String[], boolean)} would
+ * quote and escape the same text, so a row written with this class is the
+ * same as the row of Strings written by the CSVWriter.
+ * </p>
+ * <p>
+ * Rows are collected and passed on to the CSVWriter in blocks, so they
+ * only reach its Writer once a block is full or {@link #flush()} is called.
+ * Errors of the Writer are reported by {@link CSVWriter#checkError()}.
+ * This class is not thread-safe, but several row writers may write to the
+ * same CSVWriter from different threads: the rows of a block are written
+ * together.
+ * </p>
+ *
+ * @since 3.9
+ */
+public class CsvRowWriter implements Closeable, Flushable {
+
+    private final CSVWriter writer;
+    private final boolean applyQuotesToAll;
+    /**
+     * Formats the rows, unless the CSVWriter formats them itself.
+     */
+    private final RowFormatter formatter;
+    /**
+     * The fields of the current row, if the CSVWriter formats the rows itself.
+     */
+    private final List<String> fields;
+    private boolean inRow = false;
+    private int fieldCount = 0;
+    /**
+     * The index in the buffer of the formatter of the current row.
+     */
+    private int rowStart = 0;
+
+    /**
+     * Creates a row writer that quotes all values, as
+     * {@link CSVWriter#writeNext(String[])} does.
+     *
+     * @param writer The CSVWriter to write the rows to
+     */
+    public CsvRowWriter(CSVWriter writer) {
+        this(writer, true);
+    }
+
+    /**
+     * Creates a row writer.
+     *
+     * @param writer           The CSVWriter to write the rows to
+     * @param applyQuotesToAll True if all values are to be quoted. False applies quotes only
+     *                         to values which contain the separator, escape, quote, or new line characters.
+     */
+    public CsvRowWriter(CSVWriter writer, boolean applyQuotesToAll) {
+        this.writer = writer;
+        this.applyQuotesToAll = applyQuotesToAll;
+        if (writer.usesCustomFormatting()) {
+            // the subclass of the CSVWriter decides how the row is written
+            this.formatter = null;
+            this.fields = new ArrayList<String>();
+        } else {
+            this.formatter = new RowFormatter(writer.separator, writer.quotechar, writer.escapechar);
+            this.fields = null;
+        }
+    }
+
+    /**
+     * Starts a new row.
+     *
+     * @return This row writer, to add the fields of the row to.
+     * @throws IllegalStateException If the previous row has not been ended
+     */
+    public CsvRowWriter beginRow() {
+        if (inRow) {
+            throw new IllegalStateException("The previous row has not been ended");
+        }
+        inRow = true;
+        fieldCount = 0;
+        if (formatter != null) {
+            rowStart = formatter.size();
+        }
+        return this;
+    }
+
+    /**
+     * Adds a number to the current row.
+     *
+     * @param value The number
+     * @return This row writer.
+     * @throws IllegalStateException If no row has been started
+     */
+    public CsvRowWriter field(long value) {
+        if (startField()) {
+            formatter.appendField(value, applyQuotesToAll);
+        } else {
+            fields.add(Long.toString(value));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a number to the current row.
+     *
+     * @param value The number
+     * @return This row writer.
+     * @throws IllegalStateException If no row has been started
+     */
+    public CsvRowWriter field(double value) {
+        if (startField()) {
+            formatter.appendField(value, applyQuotesToAll);
+        } else {
+            fields.add(Double.toString(value));
+        }
+        return this;
+    }
+
+    /**
+     * Adds text to the current row. No String is created for text that is
+     * not a String.
+     *
+     * @param value The text. Null is written as an empty field without
+     *              quotes, as CSVWriter writes a null element.
+     * @return This row writer.
+     * @throws IllegalStateException If no row has been started
+     */
+    public CsvRowWriter field(CharSequence value) {
+        if (startField()) {
+            if (value != null) {
+                formatter.appendField(value, applyQuotesToAll);
+            }
+        } else {
+            fields.add(value == null ? null : value.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Starts the next field of the current row.
+     *
+     * @return True if the field is to be formatted by the {@link #formatter},
+     * false if it is to be collected in {@link #fields}.
+     */
+    private boolean startField() {
+        if (!inRow) {
+            throw new IllegalStateException("No row has been started");
+        }
+        if (formatter == null) {
+            return false;
+        }
+        if (fieldCount++ > 0) {
+            formatter.appendSeparator();
+        }
+        return true;
+    }
+
+    /**
+     * Ends the current row. The row is passed on to the CSVWriter once the
+     * rows collected fill a block.
+     *
+     * @throws IllegalStateException If no row has been started
+     */
+    public void endRow() {
+        if (!inRow) {
+            throw new IllegalStateException("No row has been started");
+        }
+        inRow = false;
+        if (formatter == null) {
+            writer.writeNext(fields.toArray(new String[fields.size()]), applyQuotesToAll);
+            fields.clear();
+            return;
+        }
+        formatter.appendLineEnd(writer.lineEnd);
+        if (formatter.size() >= CSVWriter.BLOCK_SIZE) {
+            writeRows();
+        }
+    }
+
+    /**
+     * Passes the rows ended so far on to the CSVWriter, keeping the
+     * current row.
+     */
+    private void writeRows() {
+        int length = inRow ? rowStart : formatter.size();
+        if (length > 0) {
+            writer.writeFormatted(formatter.getChars(), length);
+            formatter.removeFirst(length);
+            rowStart = 0;
+        }
+    }
+
+    /**
+     * Passes the rows ended so far on to the CSVWriter and flushes it.
+     *
+     * @throws IOException If bad things happen
+     */
+    @Override
+    public void flush() throws IOException {
+        if (formatter != null) {
+            writeRows();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Passes the rows ended so far on to the CSVWriter and closes it.
+     * A row that has not been ended is discarded.
+     *
+     * @throws IOException If bad things happen
+     */
+    @Override
+    public void close() throws IOException {
+        if (formatter != null) {
+            if (inRow) {
+                formatter.truncate(rowStart);
+                inRow = false;
+            }
+            writeRows();
+        }
+        writer.close();
+    }
+}
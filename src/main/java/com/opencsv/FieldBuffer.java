@@ -0,0 +1,211 @@
+package com.opencsv;
+
+/**
+ * Collects the characters of the fields of a record while it is being parsed.
+ * <p>
+ * As long as a field is a contiguous run of the line being parsed it is
+ * only tracked as an offset and a length into that line, so no characters
+ * are copied until the final String is created. The characters are copied
+ * into an internal buffer as soon as the field stops being contiguous (an
+ * escape or quote character was dropped) or when it has to outlive the line
+ * (a quoted field that continues on the next line).
+ * </p>
+ * <p>
+ * Copied fields are appended one after another and the internal buffer is
+ * only reset when a new record is started, so the content of every field of
+ * the current record stays available until then.
+ * </p>
+ *
+ * @since 3.9
+ */
+class FieldBuffer {
+    private char[] line;
+    private char[] copy = new char[ICSVParser.INITIAL_READ_SIZE];
+    private int copyLength;
+    private int offset;
+    private int length;
+    private boolean copied;
+
+    /**
+     * Starts a new record on the given line, discarding all previous content.
+     *
+     * @param line The characters of the line being parsed
+     */
+    void startLine(char[] line) {
+        this.line = line;
+        copyLength = 0;
+        clear();
+    }
+
+    /**
+     * Continues the current field on the given line.
+     * The content collected so far is kept.
+     *
+     * @param line The characters of the line being parsed
+     */
+    void continueLine(char[] line) {
+        makeCopy();
+        this.line = line;
+    }
+
+    /**
+     * Appends the character found at the given index of the current line.
+     *
+     * @param index Index of the character in the current line
+     */
+    void append(int index) {
+        if (!copied) {
+            if (length == 0) {
+                offset = index;
+                length = 1;
+                return;
+            }
+            if (offset + length == index) {
+                length++;
+                return;
+            }
+            makeCopy();
+        }
+        append(line[index]);
+    }
+
+    /**
+     * Appends the characters found in a range of the current line.
+     *
+     * @param from Index of the first character in the current line
+     * @param to   Index just past the last character in the current line
+     */
+    void append(int from, int to) {
+        int count = to - from;
+        if (!copied) {
+            if (length == 0) {
+                offset = from;
+                length = count;
+                return;
+            }
+            if (offset + length == from) {
+                length += count;
+                return;
+            }
+            makeCopy();
+        }
+        ensureCapacity(count);
+        System.arraycopy(line, from, copy, copyLength, count);
+        copyLength += count;
+        length += count;
+    }
+
+    /**
+     * Appends a character that is not part of the current line.
+     *
+     * @param c The character to append
+     */
+    void append(char c) {
+        makeCopy();
+        ensureCapacity(1);
+        copy[copyLength++] = c;
+        length++;
+    }
+
+    /**
+     * @return True if no characters have been collected for this field.
+     */
+    boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * @return True if the field only contains white space, in the sense of
+     * {@link Character#isWhitespace(char)}. An empty field is white space.
+     */
+    boolean isWhitespace() {
+        char[] chars = getChars();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Starts the next field. The content of the current field remains
+     * available in the array it was returned in until a new record is started.
+     */
+    void clear() {
+        offset = 0;
+        length = 0;
+        copied = false;
+    }
+
+    /**
+     * Discards the content of the current field.
+     */
+    void discard() {
+        if (copied) {
+            copyLength = offset;
+        }
+        clear();
+    }
+
+    /**
+     * @return The array holding the characters of the current field. This is
+     * either the line being parsed or the internal buffer.
+     */
+    char[] getChars() {
+        return copied ? copy : line;
+    }
+
+    /**
+     * @return The index of the first character of the current field in {@link #getChars()}.
+     */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The number of characters in the current field.
+     */
+    int getLength() {
+        return length;
+    }
+
+    /**
+     * @return The content of the current field.
+     */
+    @Override
+    public String toString() {
+        if (length == 0) {
+            return "";
+        }
+        return new String(getChars(), offset, length);
+    }
+
+    private void makeCopy() {
+        if (copied) {
+            return;
+        }
+        ensureCapacity(length);
+        if (length > 0) {
+            System.arraycopy(line, offset, copy, copyLength, length);
+        }
+        offset = copyLength;
+        copyLength += length;
+        copied = true;
+    }
+
+    /**
+     * Makes room for more characters in the internal buffer. When the buffer
+     * has to grow a new array is allocated, so the characters of fields that
+     * were already handed out remain valid in the old one.
+     *
+     * @param additional The number of characters to make room for
+     */
+    private void ensureCapacity(int additional) {
+        if (copyLength + additional > copy.length) {
+            char[] grown = new char[Math.max(copyLength + additional, copy.length * 2)];
+            System.arraycopy(copy, 0, grown, 0, copyLength);
+            copy = grown;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.opencsv;
+
+/**
+ * Receives the fields found by a parser that parses lines in place.
+ * <p>
+ * The characters of a field are passed as a range of an array that belongs
+ * to the parser or to the source of the line. They are only guaranteed to
+ * remain unchanged until the next line is parsed, so implementations must
+ * either use them immediately or copy them.
+ * </p>
+ *
+ * @since 3.9
+ */
+abstract class FieldCollector {
+
+    /**
+     * Wants no field at all, for parsing lines only to keep track of quotes.
+     */
+    static final FieldCollector SKIP_ALL = new FieldCollector() {
+        @Override
+        boolean isSelected(int column) {
+            return false;
+        }
+
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+        }
+    };
+
+    /**
+     * Checks if the field in a column is wanted at all. The parser does not
+     * collect the characters of fields that are not wanted, but still parses
+     * them to keep track of quotes.
+     *
+     * @param column The zero-based index of the column in the record
+     * @return True if {@link #addField(int, char[], int, int)} is to be called
+     * for this column. The default implementation wants every column.
+     */
+    boolean isSelected(int column) {
+        return true;
+    }
+
+    /**
+     * Adds the next field of the record.
+     *
+     * @param column The zero-based index of the column of the field in the record
+     * @param chars  The array holding the characters of the field, or null
+     *               if the field is to be treated as a null field
+     * @param offset The index of the first character of the field in chars
+     * @param length The number of characters in the field
+     */
+    abstract void addField(int column, char[] chars, int offset, int length);
+
+    /**
+     * Adds the next field of the record, telling whether a quote opened a
+     * quoted section in it. The default implementation ignores that and
+     * calls {@link #addField(int, char[], int, int)}.
+     *
+     * @param column The zero-based index of the column of the field in the record
+     * @param chars  The array holding the characters of the field, or null
+     *               if the field is to be treated as a null field
+     * @param offset The index of the first character of the field in chars
+     * @param length The number of characters in the field
+     * @param quoted True if the field was quoted
+     */
+    void addField(int column, char[] chars, int offset, int length, boolean quoted) {
+        addField(column, chars, offset, length);
+    }
+
+    /**
+     * Adds the next field of the record, found by a parser that parses UTF-8
+     * encoded lines without decoding them. The default implementation
+     * decodes the field and passes its characters to
+     * {@link #addField(int, char[], int, int)}.
+     *
+     * @param column The zero-based index of the column of the field in the record
+     * @param bytes  The array holding the UTF-8 encoded field, or null if the
+     *               field is to be treated as a null field
+     * @param offset The index of the first byte of the field in bytes
+     * @param length The number of bytes in the field
+     */
+    void addField(int column, byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            addField(column, (char[]) null, 0, 0);
+        } else {
+            char[] chars = Utf8.decode(bytes, offset, length).toCharArray();
+            addField(column, chars, 0, chars.length);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.opencsv;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Decodes lines found in the bytes of a file one at a time into a reusable
+ * character buffer. Malformed input is replaced, as it is by the readers of
+ * the JDK.
+ *
+ * @since 3.9
+ */
+final class LineDecoder {
+    private final CharsetDecoder decoder;
+    private char[] chars = new char[256];
+
+    /**
+     * @param charset The charset of the lines
+     */
+    LineDecoder(Charset charset) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Decodes a line into {@link #getChars()}.
+     *
+     * @param bytes  The array holding the line
+     * @param offset The index of the first byte of the line
+     * @param length The number of bytes of the line
+     * @return The number of characters of the line
+     */
+    int decode(byte[] bytes, int offset, int length) {
+        int capacity = (int) (length * (double) decoder.maxCharsPerByte()) + 1;
+        if (capacity > chars.length) {
+            chars = new char[Math.max(capacity, chars.length * 2)];
+        }
+        CharBuffer out = CharBuffer.wrap(chars);
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(bytes, offset, length), out, true);
+        decoder.flush(out);
+        return out.position();
+    }
+
+    /**
+     * @return The characters of the line decoded last, starting at index 0.
+     */
+    char[] getChars() {
+        return chars;
+    }
+}
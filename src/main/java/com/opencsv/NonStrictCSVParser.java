@@ -0,0 +1,115 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+
+/**
+ * The parser {@link CSVParserBuilder#build()} returns for the usual
+ * configuration without strict quotes and with quotations respected.
+ * <p>
+ * Every character outside of a field's quotes is part of the field in this
+ * configuration, so the checks of strictQuotes and ignoreQuotations are left
+ * out and a run of characters up to the next separator, quote or escape
+ * character is added to the field at once.
+ * </p>
+ *
+ * @since 3.9
+ */
+final class NonStrictCSVParser extends CSVParser {
+    private final char separator;
+    private final char quotechar;
+    private final char escape;
+    private final boolean ignoreLeadingWhiteSpace;
+
+    /**
+     * Constructs a parser. Used by {@link CSVParserBuilder#build()}.
+     *
+     * @param separator               The delimiter to use for separating entries
+     * @param quotechar               The character to use for quoted elements
+     * @param escape                  The character to use for escaping a separator or quote
+     * @param ignoreLeadingWhiteSpace If true, white space in front of a quote in a field is ignored
+     * @param nullFieldIndicator      Which field content will be returned as null
+     */
+    NonStrictCSVParser(char separator, char quotechar, char escape, boolean ignoreLeadingWhiteSpace,
+                       CSVReaderNullFieldIndicator nullFieldIndicator) {
+        super(separator, quotechar, escape, false, ignoreLeadingWhiteSpace, false, nullFieldIndicator);
+        this.separator = separator;
+        this.quotechar = quotechar;
+        this.escape = escape;
+        this.ignoreLeadingWhiteSpace = ignoreLeadingWhiteSpace;
+    }
+
+    @Override
+    NonStrictCSVParser copy() {
+        return withLimitsOf(new NonStrictCSVParser(separator, quotechar, escape, ignoreLeadingWhiteSpace,
+                nullFieldIndicator()));
+    }
+
+    @Override
+    int parseFields(char[] line, int offset, int end, FieldCollector collector, int state) {
+        boolean inQuotes = (state & IN_QUOTES) != 0;
+        boolean fromQuotedField = false;
+        boolean collect = collector.isSelected(column);
+        for (int i = offset; i < end; i++) {
+
+            char c = line[i];
+            if (c == escape) {
+                if ((inQuotes || inField) && end > (i + 1) && (line[i + 1] == quotechar || line[i + 1] == escape)) {
+                    i++;
+                    if (collect) {
+                        field.append(i);
+                    }
+                }
+            } else if (c == quotechar) {
+                if ((inQuotes || inField) && end > (i + 1) && line[i + 1] == quotechar) {
+                    i++;
+                    if (collect) {
+                        field.append(i);
+                    }
+                } else {
+
+                    inQuotes = !inQuotes;
+                    if (inQuotes) {
+                        quotedField = true;
+                    }
+                    if (field.isEmpty()) {
+                        fromQuotedField = true;
+                    }
+
+                    // the tricky case of an embedded quote in the middle: a,bc"d"ef,g
+                    if (i - offset > 2
+                            && line[i - 1] != separator
+                            && end > (i + 1)
+                            && line[i + 1] != separator) {
+
+                        if (ignoreLeadingWhiteSpace && !field.isEmpty() && field.isWhitespace()) {
+                            field.discard();
+                        } else if (collect) {
+                            field.append(i);
+                        }
+
+                    }
+                }
+                inField = !inField;
+            } else if (c == separator && !inQuotes) {
+                addField(collector, collect, fromQuotedField);
+                collect = collector.isSelected(column);
+                fromQuotedField = false;
+                inField = false;
+            } else {
+                // every character up to the next special one is part of the field
+                int runEnd = i + 1;
+                while (runEnd < end && (c = line[runEnd]) != separator && c != quotechar && c != escape) {
+                    runEnd++;
+                }
+                if (collect) {
+                    field.append(i, runEnd);
+                }
+                inField = true;
+                fromQuotedField = true;
+                i = runEnd - 1;
+            }
+
+        }
+        return fieldState(inQuotes, fromQuotedField);
+    }
+}
@@ -0,0 +1,813 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import com.opencsv.stream.reader.LineScanner;
+
+import java.io.CharArrayReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a single CSV file on several threads at once.
+ * <p>
+ * The file is split into chunks of about {@link ParallelCSVReaderBuilder#withChunkSize(int)}
+ * bytes, each starting right after a line feed, and the chunks are parsed on
+ * a {@link ForkJoinPool}. Splitting at a line feed does not mean a chunk
+ * starts with a new record: the line feed may belong to a quoted field that
+ * spans several lines. Each chunk is therefore scanned first for every state
+ * the parser can be in at its start (outside of a quoted field, or inside one).
+ * The scan finds the first record boundary and the state at the end of the
+ * chunk for each of these, which are chained together from the start of the
+ * file to find the real record boundaries. The byte ranges between those
+ * boundaries are then parsed in parallel, each by its own {@link CSVReader}.
+ * If the scan of a chunk fails, for example on a field that is too long, the
+ * rest of the file is read by a single {@link CSVReader} instead.
+ * As the scan takes about as long as the parse itself, this only pays off
+ * with more than two processors.
+ * </p>
+ * <p>
+ * The records returned are the same as those a {@link CSVReader} with the
+ * same parser configuration returns for the file. By default they are
+ * returned in the order they appear in the file; with unordered output the
+ * records of a range are returned as soon as the range is parsed, which keeps
+ * all threads busy when the consumer is slow on some records.
+ * {@link #getLinesRead()} and {@link #getRecordsRead()} count the lines and
+ * records returned so far, and end up with the same values as for a
+ * {@link CSVReader}.
+ * </p>
+ * <p>
+ * The charset of the file has to encode line feeds and carriage returns as
+ * single bytes that are never part of the encoding of another character.
+ * This is true for UTF-8 and all single-byte charsets like ISO-8859-1.
+ * </p>
+ * <p>
+ * This class is not thread-safe: records have to be read by one thread.
+ * </p>
+ *
+ * @see ParallelCSVReaderBuilder
+ * @since 3.9
+ */
+public class ParallelCSVReader implements Closeable {
+
+    /**
+     * The default size of a chunk of the file, in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final int OUTSIDE_QUOTES = 0;
+    private static final int IN_QUOTES = 1;
+    private static final int IN_QUOTED_FIELD = 2;
+    private static final int STATES = 3;
+
+    private static final int IO_BUFFER_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final CSVParser parser;
+    private final int skipLines;
+    private final boolean keepCR;
+    private final boolean ordered;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    /**
+     * The number of ranges that may be scanned or parsed ahead of the consumer.
+     */
+    private final int window;
+
+    private boolean started = false;
+    private long[] chunkStarts;
+    private final Deque<Future<ChunkScan>> scans = new ArrayDeque<Future<ChunkScan>>();
+    private int nextScan = 0;
+    private int nextChunk = 0;
+    private int chunkState = OUTSIDE_QUOTES;
+    private long lastBoundary;
+    /**
+     * The position at which reading stops, usually the end of the file.
+     */
+    private long end;
+    private boolean resolved = false;
+    private final Deque<long[]> ranges = new ArrayDeque<long[]>();
+    /**
+     * The position from which the rest of the file is read sequentially, or
+     * -1 if the whole file is read in ranges.
+     */
+    private long sequentialStart = -1;
+    /**
+     * Reads the rest of the file once the ranges before it have been read.
+     */
+    private CSVReader sequential;
+    private final Deque<Future<ParsedRange>> parses = new ArrayDeque<Future<ParsedRange>>();
+    private final CompletionService<ParsedRange> completed;
+    private int outstanding = 0;
+
+    private ParsedRange current;
+    private int index;
+    private long linesBeforeCurrent = 0;
+    private long linesRead = 0;
+    private long recordsRead = 0;
+
+    /**
+     * Constructor used by {@link ParallelCSVReaderBuilder}.
+     *
+     * @param channel     The file to read. Closed when this reader is closed.
+     * @param charset     The charset of the file
+     * @param parser      The parser configuration. Every range gets a copy of its own.
+     * @param skipLines   The number of lines to skip at the start of the file
+     * @param keepCR      True to keep carriage returns in data read, false otherwise
+     * @param ordered     True to return the records in the order of the file
+     * @param chunkSize   The approximate size of the chunks the file is split into
+     * @param pool        The pool to parse on
+     * @param ownsPool    True to shut the pool down when this reader is closed
+     * @param parallelism The number of chunks to work on at the same time
+     */
+    ParallelCSVReader(FileChannel channel, Charset charset, CSVParser parser, int skipLines, boolean keepCR,
+                      boolean ordered, int chunkSize, ForkJoinPool pool, boolean ownsPool, int parallelism) {
+        this.channel = channel;
+        this.charset = charset;
+        this.parser = parser;
+        this.skipLines = skipLines;
+        this.keepCR = keepCR;
+        this.ordered = ordered;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.window = 2 * parallelism;
+        this.completed = ordered ? null : new ExecutorCompletionService<ParsedRange>(pool);
+    }
+
+    /**
+     * Checks if a file in the given charset can be split at line feed bytes.
+     *
+     * @param charset The charset of the file
+     * @return True if line feeds and carriage returns are single bytes that
+     * cannot be part of another character
+     */
+    static boolean canSplit(Charset charset) {
+        // the same charsets in which the bytes of the lines can be counted
+        return LineScanner.canCountBytes(charset);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return A string array with each comma-separated element as a separate
+     * entry, or null if there is no more input.
+     * @throws IOException If bad things happen during the read
+     */
+    public String[] readNext() throws IOException {
+        while (sequential == null && (current == null || index == current.records.size()
+                || current.errorBefore(index) != null)) {
+            if (current != null) {
+                RangeError error = current.errorBefore(index);
+                if (error != null) {
+                    current.errors.poll();
+                    linesRead = linesBeforeCurrent + error.linesAfter;
+                    if (error.exception instanceof CsvLimitExceededException) {
+                        CsvLimitExceededException e = (CsvLimitExceededException) error.exception;
+                        e.setLineNumber(linesRead);
+                    }
+                    throw error.exception;
+                }
+                if (index < current.records.size()) {
+                    break;
+                }
+            }
+            if (!nextRange()) {
+                if (sequentialStart < 0) {
+                    return null;
+                }
+                startSequential();
+            }
+        }
+        if (sequential != null) {
+            try {
+                String[] record = sequential.readNext();
+                if (record != null) {
+                    recordsRead++;
+                }
+                return record;
+            } finally {
+                linesRead = linesBeforeCurrent + sequential.getLinesRead();
+            }
+        }
+        linesRead = linesBeforeCurrent + current.linesAfter[index];
+        recordsRead++;
+        return current.records.get(index++);
+    }
+
+    /**
+     * Reads the entire file into a List with each element being a String[] of
+     * tokens.
+     *
+     * @return A List of String[], with each String[] representing a line of the file.
+     * @throws IOException If bad things happen during the read
+     */
+    public List<String[]> readAll() throws IOException {
+        List<String[]> allElements = new ArrayList<String[]>();
+        String[] next;
+        while ((next = readNext()) != null) {
+            allElements.add(next);
+        }
+        return allElements;
+    }
+
+    /**
+     * This call returns the number of lines read from the file for the
+     * records returned so far, including lines skipped at the start of the
+     * file. Once all records are read it is the same number a
+     * {@link CSVReader} returns.
+     *
+     * @return The number of lines read
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Used for debugging purposes, this method returns the number of records
+     * returned so far.
+     *
+     * @return The number of records returned
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * @return True if records are returned in the order of the file.
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Stops all work on the file and closes it.
+     *
+     * @throws IOException If the close fails
+     */
+    @Override
+    public void close() throws IOException {
+        for (Future<ChunkScan> scan : scans) {
+            scan.cancel(false);
+        }
+        for (Future<ParsedRange> parse : parses) {
+            parse.cancel(false);
+        }
+        scans.clear();
+        parses.clear();
+        ranges.clear();
+        resolved = true;
+        outstanding = 0;
+        if (ownsPool) {
+            pool.shutdownNow();
+        }
+        channel.close();
+    }
+
+    /**
+     * Moves on to the next parsed range.
+     *
+     * @return False if there are no more ranges.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean nextRange() throws IOException {
+        if (current != null) {
+            linesBeforeCurrent += current.lines;
+            linesRead = linesBeforeCurrent;
+            current = null;
+        }
+        if (!started) {
+            start();
+        }
+        pump();
+        if (outstanding == 0) {
+            return false;
+        }
+        current = await(ordered ? parses.poll() : takeCompleted());
+        outstanding--;
+        index = 0;
+        pump();
+        return true;
+    }
+
+    /**
+     * Starts reading the rest of the file with a single CSVReader.
+     *
+     * @throws IOException If bad things happen during the read
+     */
+    private void startSequential() throws IOException {
+        channel.position(sequentialStart);
+        sequentialStart = -1;
+        sequential = new CSVReader(Channels.newReader(channel, newDecoder(), -1),
+                0, parser.copy(), keepCR, CSVReader.DEFAULT_VERIFY_READER);
+    }
+
+    private Future<ParsedRange> takeCompleted() throws IOException {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for records");
+        }
+    }
+
+    /**
+     * Skips the lines at the start of the file and splits the rest into chunks.
+     *
+     * @throws IOException If bad things happen during the read
+     */
+    private void start() throws IOException {
+        started = true;
+        long size = channel.size();
+        long dataStart = skipLines(size);
+        if (size > 0) {
+            linesBeforeCurrent = skipLines;
+            linesRead = skipLines;
+        }
+
+        List<Long> starts = new ArrayList<Long>();
+        long start = dataStart;
+        while (start < size) {
+            starts.add(start);
+            long lineFeed = findLineFeed(start + chunkSize - 1, size);
+            if (lineFeed < 0) {
+                break;
+            }
+            start = lineFeed + 1;
+        }
+        chunkStarts = new long[starts.size() + 1];
+        for (int i = 0; i < starts.size(); i++) {
+            chunkStarts[i] = starts.get(i);
+        }
+        chunkStarts[starts.size()] = size;
+        lastBoundary = dataStart;
+        end = size;
+        resolved = starts.isEmpty();
+    }
+
+    /**
+     * Finds the end of the lines to skip. Lines end the same way as for the
+     * {@link CSVReader}.
+     *
+     * @param size The size of the file
+     * @return The position of the first byte after the skipped lines
+     * @throws IOException If bad things happen during the read
+     */
+    private long skipLines(long size) throws IOException {
+        long position = 0;
+        int skipped = 0;
+        boolean skipLF = false;
+        ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        while (skipped < skipLines && position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read && skipped < skipLines; i++) {
+                byte b = buffer.get(i);
+                position++;
+                if (skipLF) {
+                    skipLF = false;
+                    if (b == '\n') {
+                        continue;
+                    }
+                }
+                if (b == '\n') {
+                    skipped++;
+                } else if (b == '\r' && !keepCR) {
+                    skipped++;
+                    skipLF = true;
+                }
+            }
+        }
+        if (skipLF && position < size) {
+            ByteBuffer next = ByteBuffer.allocate(1);
+            if (channel.read(next, position) == 1 && next.get(0) == '\n') {
+                position++;
+            }
+        }
+        return skipped < skipLines ? size : position;
+    }
+
+    /**
+     * @param from The position to start searching at
+     * @param size The size of the file
+     * @return The position of the first line feed at or after from, or -1 if there is none.
+     * @throws IOException If bad things happen during the read
+     */
+    private long findLineFeed(long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+        return -1;
+    }
+
+    /**
+     * Chains the scanned chunks together to find record boundaries, and starts
+     * parsing the ranges between them, as far ahead as the window allows.
+     *
+     * @throws IOException If bad things happen during the read
+     */
+    private void pump() throws IOException {
+        int chunks = chunkStarts.length - 1;
+        while (!resolved && outstanding + ranges.size() < window) {
+            while (nextScan < chunks && nextScan < nextChunk + window) {
+                scans.add(pool.submit(new ChunkScanner(nextScan)));
+                nextScan++;
+            }
+            ChunkScan scan = await(scans.poll());
+            if (scan.failed[chunkState]) {
+                // the scan gave up, most likely on a field that is too long;
+                // the rest of the file is read sequentially to report the problem
+                for (Future<ChunkScan> pending : scans) {
+                    pending.cancel(false);
+                }
+                scans.clear();
+                resolved = true;
+                sequentialStart = lastBoundary;
+                lastBoundary = end;
+                break;
+            }
+            long boundary = scan.boundaries[chunkState];
+            if (boundary > lastBoundary && (scan.emptyLine < 0 || boundary <= scan.emptyLine)) {
+                ranges.add(new long[]{lastBoundary, boundary});
+                lastBoundary = boundary;
+            }
+            chunkState = scan.endStates[chunkState];
+            nextChunk++;
+            resolved = nextChunk == chunks;
+            if (scan.emptyLine >= 0) {
+                end = scan.emptyLine;
+                resolved = true;
+            }
+        }
+        if (resolved && lastBoundary < end) {
+            ranges.add(new long[]{lastBoundary, end});
+            lastBoundary = end;
+        }
+        while (!ranges.isEmpty() && outstanding < window) {
+            long[] range = ranges.poll();
+            RangeParser task = new RangeParser(range[0], range[1]);
+            if (ordered) {
+                parses.add(pool.submit(task));
+            } else {
+                completed.submit(task);
+            }
+            outstanding++;
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for records");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause != null && cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+                // checked exceptions of a Callable are wrapped by the fork-join pool
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Reads a range of the file.
+     *
+     * @param start The position of the first byte
+     * @param end   The position just past the last byte
+     * @return The bytes read, ready to be read from the buffer
+     * @throws IOException If bad things happen during the read, or the range
+     *                     does not fit into a buffer
+     */
+    private ByteBuffer read(long start, long end) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("The record at byte " + start + " is longer than "
+                    + Integer.MAX_VALUE + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new IOException("File ended unexpectedly at byte " + (start + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private CharBuffer decode(ByteBuffer bytes) throws IOException {
+        return newDecoder().decode(bytes);
+    }
+
+    private CharsetDecoder newDecoder() {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static int stateOf(CSVParser parser) {
+        if (!parser.isPending()) {
+            return OUTSIDE_QUOTES;
+        }
+        return parser.isInField() ? IN_QUOTED_FIELD : IN_QUOTES;
+    }
+
+    /**
+     * What the scan of a chunk found for each state the parser can be in at
+     * the start of the chunk.
+     */
+    private static final class ChunkScan {
+        /**
+         * The position of the first record boundary, or -1 if there is none.
+         */
+        final long[] boundaries = new long[STATES];
+        final int[] endStates = new int[STATES];
+        final boolean[] failed = new boolean[STATES];
+        /**
+         * The position of the first empty line when carriage returns are
+         * kept, or -1 if there is none. A {@link CSVReader} that keeps
+         * carriage returns takes an empty line as the end of the file.
+         */
+        long emptyLine = -1;
+    }
+
+    /**
+     * Scans a chunk for all start states at once. One parser is run for each
+     * start state, and as soon as two of them end a line in the same state
+     * one is dropped, as they would parse the rest of the chunk the same way.
+     * Usually that happens after the first line.
+     */
+    private final class ChunkScanner implements Callable<ChunkScan> {
+        private final int chunk;
+
+        ChunkScanner(int chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        public ChunkScan call() throws IOException {
+            long start = chunkStarts[chunk];
+            ByteBuffer bytes = read(start, chunkStarts[chunk + 1]);
+            CharBuffer chars = decode(bytes.duplicate());
+            char[] buf = chars.array();
+            int end = chars.arrayOffset() + chars.limit();
+
+            ChunkScan scan = new ChunkScan();
+            // the start of the file is outside of quotes, nothing else has to be tried
+            int states = chunk == 0 ? 1 : STATES;
+            CSVParser[] parsers = new CSVParser[STATES];
+            int[] parserOf = new int[STATES];
+            long[] lineFeeds = new long[STATES];
+            for (int s = 0; s < STATES; s++) {
+                if (s < states) {
+                    parsers[s] = parser.copy();
+                    if (s != OUTSIDE_QUOTES) {
+                        parsers[s].resumeQuotedField(s == IN_QUOTED_FIELD);
+                    }
+                } else {
+                    scan.failed[s] = true;
+                }
+                parserOf[s] = s;
+                lineFeeds[s] = -1;
+            }
+            lineFeeds[OUTSIDE_QUOTES] = 0;
+
+            long lineFeedCount = 0;
+            int i = chars.arrayOffset() + chars.position();
+            while (i < end) {
+                int lineStart = i;
+                int lineEnd = end;
+                int next = end;
+                boolean endsWithLineFeed = false;
+                for (; i < end; i++) {
+                    char c = buf[i];
+                    if (c == '\n') {
+                        lineEnd = i;
+                        next = i + 1;
+                        endsWithLineFeed = true;
+                        break;
+                    }
+                    if (c == '\r' && !keepCR) {
+                        lineEnd = i;
+                        next = i + 1;
+                        if (next < end && buf[next] == '\n') {
+                            next++;
+                            endsWithLineFeed = true;
+                        }
+                        break;
+                    }
+                }
+                i = next;
+                if (keepCR && endsWithLineFeed && lineEnd == lineStart) {
+                    scan.emptyLine = start + positionAfterLineFeeds(bytes, lineFeedCount);
+                    break;
+                }
+                if (endsWithLineFeed) {
+                    lineFeedCount++;
+                }
+
+                for (int p = 0; p < states; p++) {
+                    if (parsers[p] == null) {
+                        continue;
+                    }
+                    try {
+                        parsers[p].parseLine(buf, lineStart, lineEnd - lineStart, true, FieldCollector.SKIP_ALL);
+                    } catch (IOException e) {
+                        parsers[p] = null;
+                        for (int s = 0; s < states; s++) {
+                            if (parserOf[s] == p) {
+                                scan.failed[s] = true;
+                            }
+                        }
+                    }
+                }
+                mergeParsers(parsers, parserOf, states);
+                if (endsWithLineFeed) {
+                    for (int s = 0; s < states; s++) {
+                        if (lineFeeds[s] < 0 && !scan.failed[s] && !parsers[parserOf[s]].isPending()) {
+                            lineFeeds[s] = lineFeedCount;
+                        }
+                    }
+                }
+            }
+
+            for (int s = 0; s < states; s++) {
+                if (!scan.failed[s]) {
+                    scan.endStates[s] = stateOf(parsers[parserOf[s]]);
+                }
+                scan.boundaries[s] = lineFeeds[s] < 0 ? -1 : start + positionAfterLineFeeds(bytes, lineFeeds[s]);
+            }
+            return scan;
+        }
+
+        /**
+         * Drops parsers that are in the same state as another one.
+         */
+        private void mergeParsers(CSVParser[] parsers, int[] parserOf, int states) {
+            for (int p = 1; p < states; p++) {
+                if (parsers[p] == null) {
+                    continue;
+                }
+                for (int q = 0; q < p; q++) {
+                    if (parsers[q] != null && stateOf(parsers[q]) == stateOf(parsers[p])) {
+                        for (int s = 0; s < states; s++) {
+                            if (parserOf[s] == p) {
+                                parserOf[s] = q;
+                            }
+                        }
+                        parsers[p] = null;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private int positionAfterLineFeeds(ByteBuffer bytes, long count) {
+            int position = bytes.position();
+            for (long found = 0; found < count; position++) {
+                if (bytes.get(position) == '\n') {
+                    found++;
+                }
+            }
+            return position;
+        }
+    }
+
+    /**
+     * An error found while parsing a range.
+     */
+    private static final class RangeError {
+        /**
+         * The index of the record that follows the error.
+         */
+        final int index;
+        /**
+         * The number of lines of the range read up to the error.
+         */
+        final int linesAfter;
+        final IOException exception;
+
+        RangeError(int index, int linesAfter, IOException exception) {
+            this.index = index;
+            this.linesAfter = linesAfter;
+            this.exception = exception;
+        }
+    }
+
+    /**
+     * The records of a range of the file.
+     */
+    private static final class ParsedRange {
+        final List<String[]> records = new ArrayList<String[]>();
+        /**
+         * The number of lines of the range read up to and including each record.
+         */
+        int[] linesAfter = new int[16];
+        int lines;
+        /**
+         * The errors found between the records, reported in order as the
+         * records are returned, like CSVReader does.
+         */
+        final Deque<RangeError> errors = new ArrayDeque<RangeError>();
+
+        /**
+         * @param index The index of the next record to return
+         * @return The error to report before the record, or null.
+         */
+        RangeError errorBefore(int index) {
+            RangeError error = errors.peek();
+            return error != null && error.index == index ? error : null;
+        }
+    }
+
+    /**
+     * Parses a range of the file that starts with a new record.
+     */
+    private final class RangeParser implements Callable<ParsedRange> {
+        private final long start;
+        private final long end;
+
+        RangeParser(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public ParsedRange call() throws IOException {
+            CharBuffer chars = decode(read(start, end));
+            CSVReader reader = new CSVReader(
+                    new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()),
+                    0, parser.copy(), keepCR, CSVReader.DEFAULT_VERIFY_READER);
+            ParsedRange range = new ParsedRange();
+            while (true) {
+                String[] record;
+                try {
+                    record = reader.readNext();
+                } catch (CsvLimitExceededException e) {
+                    // the reader goes on with the next record, like CSVReader does
+                    range.errors.add(new RangeError(range.records.size(), (int) reader.getLinesRead(), e));
+                    continue;
+                } catch (IOException e) {
+                    // reported once the records before it are returned
+                    range.errors.add(new RangeError(range.records.size(), (int) reader.getLinesRead(), e));
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                int n = range.records.size();
+                if (n == range.linesAfter.length) {
+                    range.linesAfter = Arrays.copyOf(range.linesAfter, n * 2);
+                }
+                range.linesAfter[n] = (int) reader.getLinesRead();
+                range.records.add(record);
+            }
+            range.lines = (int) reader.getLinesRead();
+            return range;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.opencsv;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Builder for creating a ParallelCSVReader.
+ * <p>
+ * <code>
+ * final ParallelCSVReader reader =<br>
+ * new ParallelCSVReaderBuilder(FileChannel.open(path))<br>
+ * .withCharset(Charset.forName("UTF-8"))<br>
+ * .withSkipLines(1)<br>
+ * .withOrderedOutput(false)<br>
+ * .build();<br>
+ * </code></p>
+ *
+ * @see com.opencsv.ParallelCSVReader
+ * @since 3.9
+ */
+public class ParallelCSVReaderBuilder {
+
+    private final FileChannel channel;
+    private Charset charset = Charset.defaultCharset();
+    /*@Nullable*/private CSVParser parser = null;
+    private int skipLines = CSVReader.DEFAULT_SKIP_LINES;
+    private boolean keepCR = CSVReader.DEFAULT_KEEP_CR;
+    private boolean ordered = true;
+    private int chunkSize = ParallelCSVReader.DEFAULT_CHUNK_SIZE;
+    /*@Nullable*/private ForkJoinPool pool = null;
+    private int parallelism = 0;
+
+    /**
+     * Sets the file to read.
+     *
+     * @param channel The file to read. It is closed when the reader is closed.
+     */
+    public ParallelCSVReaderBuilder(final FileChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel may not be null");
+        }
+        this.channel = channel;
+    }
+
+    /**
+     * Sets the charset of the file. The default is the platform's default charset.
+     *
+     * @param charset The charset of the file
+     * @return The ParallelCSVReaderBuilder with the charset set.
+     */
+    public ParallelCSVReaderBuilder withCharset(final Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset may not be null");
+        }
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Sets the parser to use to parse the input.
+     * The parser itself is never used: every chunk of the file is parsed by a
+     * new parser with the same configuration.
+     *
+     * @param parser The parser to use to parse the input.
+     * @return The ParallelCSVReaderBuilder with the CSVParser set.
+     */
+    public ParallelCSVReaderBuilder withCSVParser(final /*@Nullable*/ CSVParser parser) {
+        this.parser = parser;
+        return this;
+    }
+
+    /**
+     * Sets the number of lines to skip before reading.
+     *
+     * @param skipLines The number of lines to skip before reading.
+     * @return The ParallelCSVReaderBuilder with skipLines set.
+     */
+    public ParallelCSVReaderBuilder withSkipLines(final int skipLines) {
+        this.skipLines = skipLines <= 0 ? 0 : skipLines;
+        return this;
+    }
+
+    /**
+     * Sets if the reader will keep or discard carriage returns.
+     *
+     * @param keepCR True to keep carriage returns, false to discard.
+     * @return The ParallelCSVReaderBuilder based on the set criteria.
+     */
+    public ParallelCSVReaderBuilder withKeepCarriageReturn(boolean keepCR) {
+        this.keepCR = keepCR;
+        return this;
+    }
+
+    /**
+     * Sets if records are returned in the order they appear in the file.
+     * <p>
+     * Unordered output returns the records of each chunk as soon as it is
+     * parsed. The records of a chunk are still returned in order. The default
+     * is ordered output.
+     * </p>
+     *
+     * @param ordered True to return records in the order of the file, false otherwise.
+     * @return The ParallelCSVReaderBuilder based on the set criteria.
+     */
+    public ParallelCSVReaderBuilder withOrderedOutput(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Sets the approximate size of the chunks the file is split into.
+     * <p>
+     * Up to twice the parallelism chunks are held in memory at the same time,
+     * both as characters and as the records parsed from them. The default is
+     * {@link ParallelCSVReader#DEFAULT_CHUNK_SIZE}.
+     * </p>
+     *
+     * @param chunkSize The size of a chunk in bytes
+     * @return The ParallelCSVReaderBuilder based on the set criteria.
+     */
+    public ParallelCSVReaderBuilder withChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets the pool the file is parsed on. The pool is not shut down when
+     * the reader is closed. By default every reader creates a pool of its
+     * own.
+     *
+     * @param pool The pool to parse on
+     * @return The ParallelCSVReaderBuilder based on the set criteria.
+     */
+    public ParallelCSVReaderBuilder withPool(final /*@Nullable*/ ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Sets the number of chunks that are parsed at the same time. The default
+     * is the parallelism of the pool given, or else the number of processors.
+     *
+     * @param parallelism The number of chunks parsed at the same time
+     * @return The ParallelCSVReaderBuilder based on the set criteria.
+     */
+    public ParallelCSVReaderBuilder withParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than zero");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Creates the ParallelCSVReader.
+     *
+     * @return The ParallelCSVReader based on the set criteria.
+     * @throws IllegalArgumentException If files in the charset cannot be split into chunks
+     */
+    public ParallelCSVReader build() {
+        if (!ParallelCSVReader.canSplit(charset)) {
+            throw new IllegalArgumentException("Files in " + charset.name() + " cannot be split into chunks");
+        }
+        int threads = parallelism > 0 ? parallelism
+                : pool != null ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+        boolean ownsPool = pool == null;
+        return new ParallelCSVReader(channel, charset, parser != null ? parser : new CSVParser(), skipLines,
+                keepCR, ordered, chunkSize, ownsPool ? new ForkJoinPool(threads) : pool, ownsPool, threads);
+    }
+}
@@ -1,7 +1,6 @@
 package com.opencsv;
 
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -18,6 +17,12 @@ import java.util.List;
  * The intent is that if you want to create anything other than a default RFC4180Parser you should use the
  * CSVParserBuilder.  This way the code will not become cluttered with constructors as the CSVParser did.
  * <p>
+ * Lines are parsed in a single pass by a small state machine: a field is either unquoted and ends at the next
+ * separator, or quoted and ends at a quote that is not doubled. A doubled quote inside a quoted field stands for
+ * one quote. Quotes inside an unquoted field and characters between a closing quote and the next separator are
+ * kept as they are. A quoted field may contain line breaks; with {@link #parseLineMulti(String)} it continues on
+ * the next line, so a CSVReader reads records that span lines.
+ * <p>
  * Examples:
  * <p>
  * ICSVParser parser = new RFC4180Parser();
@@ -31,6 +36,12 @@ import java.util.List;
  */
 
 public class RFC4180Parser implements ICSVParser {
+    // states of the parser within a line
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int AFTER_QUOTE = 3;
+
     /**
      * This is the character that the RFC4180Parser will treat as the separator.
      */
@@ -39,6 +50,23 @@ public class RFC4180Parser implements ICSVParser {
      * This is the character that the RFC4180Parser will treat as the quotation character.
      */
     private final char quotechar;
+    /**
+     * Collects the characters of the field currently being parsed.
+     */
+    private final FieldBuffer field = new FieldBuffer();
+    /**
+     * The elements found in the line being parsed.
+     */
+    private final List<String> tokens = new ArrayList<String>();
+    /**
+     * Reusable copy of the characters of the line being parsed.
+     */
+    private char[] lineChars = new char[INITIAL_READ_SIZE];
+    /**
+     * True if the field in {@link #field} continues on the next line.
+     */
+    private boolean pending = false;
+    private int multiLineCount = 0;
 
     /**
      * Default constructor for the RFC4180Parser.  Uses values from the ICSVParser
@@ -76,12 +104,26 @@ public class RFC4180Parser implements ICSVParser {
 
     @Override
     public boolean isPending() {
-        return false;
+        return pending;
     }
 
+    /**
+     * Parses an incoming String and returns an array of elements.
+     * This method is used when the data spans multiple lines.
+     * <p>
+     * If the line ends inside a quoted field the elements before that field
+     * are returned, {@link #isPending()} returns true and the field is
+     * continued with the next line, separated from it by a line feed.
+     * </p>
+     *
+     * @param nextLine Current line to be processed
+     * @return The elements that end on this line, or null if nextLine is null
+     * @throws IOException If a quoted field spans more than
+     *                     {@link #MAX_LINES_IN_MULTILINE} lines
+     */
     @Override
     public String[] parseLineMulti(String nextLine) throws IOException {
-        return new String[0];
+        return parseLine(nextLine, true);
     }
 
     /**
@@ -90,77 +132,135 @@ public class RFC4180Parser implements ICSVParser {
      *
      * @param nextLine Line to be parsed.
      * @return The list of elements, or null if nextLine is null
-     * @throws IOException If bad things happen during the read
+     * @throws IOException If the line ends inside a quoted field
      */
     @Override
     public String[] parseLine(String nextLine) throws IOException {
-        String[] elements;
-        if (!nextLine.contains(Character.toString(quotechar))) {
-            elements = StringUtils.split(nextLine, separator);
-        } else {
-            elements = splitWhileNotInQuotes(nextLine);
-            for (int i = 0; i < elements.length; i++) {
-                elements[i] = handleQuotes(elements[i]);
-            }
-        }
-        return elements;
+        return parseLine(nextLine, false);
     }
 
-    private String[] splitWhileNotInQuotes(String nextLine) {
-        int currentPosition = 0;
-        List<String> elements = new ArrayList<String>();
-        int nextSeparator;
-        int nextQuote;
-
-        while (currentPosition < nextLine.length()) {
-            nextSeparator = nextLine.indexOf(separator, currentPosition);
-            nextQuote = nextLine.indexOf(quotechar, currentPosition);
-
-            if (nextSeparator == -1) {
-                elements.add(nextLine.substring(currentPosition));
-                currentPosition = nextLine.length();
-            } else if (nextQuote == -1 || nextQuote > nextSeparator || nextQuote != currentPosition) {
-                elements.add(nextLine.substring(currentPosition, nextSeparator));
-                currentPosition = nextSeparator + 1;
-            } else {
-                int fieldEnd = findEndOfFieldFromPosition(nextLine, currentPosition);
-
-                elements.add(fieldEnd >= nextLine.length() ? nextLine.substring(currentPosition) : nextLine.substring(currentPosition, fieldEnd));
+    private String[] parseLine(String nextLine, boolean multi) throws IOException {
+        if (!multi && pending) {
+            pending = false;
+        }
 
-                currentPosition = fieldEnd + 1;
+        if (nextLine == null) {
+            if (pending) {
+                String[] result = new String[]{field.toString()};
+                pending = false;
+                return result;
             }
-
+            return null;
         }
 
-        return elements.toArray(new String[elements.size()]);
+        int length = nextLine.length();
+        if (lineChars.length < length) {
+            lineChars = new char[length + READ_BUFFER_SIZE];
+        }
+        nextLine.getChars(0, length, lineChars, 0);
+        tokens.clear();
+        parseLine(lineChars, length, multi);
+        return tokens.toArray(new String[tokens.size()]);
     }
 
-    private int findEndOfFieldFromPosition(String nextLine, int currentPosition) {
-        int nextQuote = nextLine.indexOf(quotechar, currentPosition + 1);
-
-        while (nextQuote != -1) {
-            if (nextLine.charAt(nextQuote + 1) == separator) {
-                return nextQuote + 1;
+    /**
+     * Parses the characters of a line in one pass. Runs of characters up to
+     * the next separator, or inside quotes up to the next quote, are added to
+     * the field at once, and a doubled quote is turned into one as it is
+     * found.
+     *
+     * @param line   Buffer holding the line
+     * @param length Number of characters in the line
+     * @param multi  Does it take multiple lines to form a single record.
+     * @throws IOException If the line ends inside a quoted field and multi
+     *                     is false, or a quoted field spans too many lines
+     */
+    private void parseLine(char[] line, int length, boolean multi) throws IOException {
+        int state;
+        if (pending) {
+            field.continueLine(line);
+            pending = false;
+            state = QUOTED;
+        } else {
+            field.startLine(line);
+            state = FIELD_START;
+        }
+        int i = 0;
+        while (i < length) {
+            char c = line[i];
+            switch (state) {
+                case QUOTED:
+                    if (c == quotechar) {
+                        state = AFTER_QUOTE;
+                        i++;
+                    } else {
+                        int runEnd = indexOf(line, quotechar, i + 1, length);
+                        field.append(i, runEnd);
+                        i = runEnd;
+                    }
+                    break;
+                case AFTER_QUOTE:
+                    if (c == quotechar) {
+                        // a doubled quote stands for one
+                        field.append(i);
+                        state = QUOTED;
+                        i++;
+                        break;
+                    }
+                    // anything else between the closing quote and the separator is kept
+                    state = UNQUOTED;
+                    break;
+                case FIELD_START:
+                    if (c == quotechar) {
+                        state = QUOTED;
+                        i++;
+                        break;
+                    }
+                    state = UNQUOTED;
+                    break;
+                default:
+                    if (c == separator) {
+                        addField();
+                        state = FIELD_START;
+                        i++;
+                    } else {
+                        int runEnd = indexOf(line, separator, i + 1, length);
+                        field.append(i, runEnd);
+                        i = runEnd;
+                    }
+                    break;
             }
-
-            nextQuote = nextLine.indexOf(quotechar, nextQuote + 1);
         }
 
-        return nextLine.length();
+        if (state == QUOTED) {
+            if (!multi) {
+                throw new IOException("Un-terminated quoted field at end of CSV line");
+            }
+            field.append('\n');
+            pending = true;
+            multiLineCount++;
+            if (multiLineCount > MAX_LINES_IN_MULTILINE) {
+                throw new IOException(
+                        "Multi-line field with more than " + MAX_LINES_IN_MULTILINE +
+                        " lines. Possible stray quote?");
+            }
+        } else {
+            multiLineCount = 0;
+            addField();
+        }
     }
 
-    private String handleQuotes(String element) {
-        String ret = element;
-        String quoteCharString = Character.toString(getQuotechar());
-        if (StringUtils.startsWith(ret, quoteCharString)) {
-            ret = StringUtils.removeStart(ret, quoteCharString);
-
-            if (StringUtils.endsWith(ret, quoteCharString)) {
-                ret = StringUtils.removeEnd(ret, quoteCharString);
-            }
+    private static int indexOf(char[] line, char c, int from, int to) {
+        int i = from;
+        while (i < to && line[i] != c) {
+            i++;
         }
-        ret = StringUtils.replace(ret, quoteCharString + quoteCharString, quoteCharString);
-        return ret;
+        return i;
+    }
+
+    private void addField() {
+        tokens.add(field.toString());
+        field.clear();
     }
 
     @Override
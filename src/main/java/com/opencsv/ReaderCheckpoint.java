@@ -0,0 +1,167 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.nio.channels.FileChannel;
+
+/**
+ * The position of a {@link CSVReader} between two records, to resume reading
+ * the input after the reader is gone, for example after a crash.
+ * <p>
+ * A checkpoint is taken with {@link CSVReader#checkpoint()} and is
+ * serializable, so it can be stored along with the records processed. To
+ * resume, the input is positioned at the checkpoint, with
+ * {@link #seek(FileChannel)} or {@link #skip(Reader)}, and a new reader is
+ * built for it with {@link CSVReaderBuilder#withCheckpoint(ReaderCheckpoint)}:
+ * </p>
+ * <pre>
+ * FileChannel channel = FileChannel.open(path);
+ * checkpoint.seek(channel);
+ * CSVReader reader = new CSVReaderBuilder(Channels.newReader(channel, "UTF-8"))
+ *         .withCheckpoint(checkpoint)
+ *         .build();
+ * </pre>
+ * <p>
+ * The new reader counts lines and records on from the checkpoint and does
+ * not skip lines at the start again. If it projects columns by name, the
+ * header is taken from the checkpoint instead of being read again.
+ * </p>
+ * <p>
+ * Checkpoints are only taken between records, where the parser has no
+ * pending field of a record spanning several lines, so no parser state has
+ * to be kept. That is the case right after {@link CSVReader#readNext()} or
+ * {@link CSVReader#readNextRecord()} returned, whether a record or null,
+ * after {@link CSVReader#skipRecords(long)}, and before the first read. It
+ * is not the case after a read failed within a record, for instance on an
+ * un-terminated quoted field, as long as {@link ICSVParser#isPending()}
+ * returns true.
+ * </p>
+ *
+ * @see CSVReader#checkpoint()
+ * @since 3.9
+ */
+public class ReaderCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long byteOffset;
+    private final long characterOffset;
+    private final long linesRead;
+    private final long recordsRead;
+    private final boolean linesSkipped;
+    private final boolean afterCarriageReturn;
+    private final String[] header;
+
+    /**
+     * Constructor used by {@link CSVReader#checkpoint()}.
+     *
+     * @param byteOffset          The offset of the next record in bytes, or -1 if not known
+     * @param characterOffset     The offset of the next record in characters, or -1 if not known
+     * @param linesRead           The number of lines read
+     * @param recordsRead         The number of records read
+     * @param linesSkipped        True if the lines to skip at the start were skipped
+     * @param afterCarriageReturn True if the last line read ended with a carriage return
+     * @param header              The header read for a column projection, or null
+     */
+    ReaderCheckpoint(long byteOffset, long characterOffset, long linesRead, long recordsRead,
+                     boolean linesSkipped, boolean afterCarriageReturn, /*@Nullable*/ String[] header) {
+        this.byteOffset = byteOffset;
+        this.characterOffset = characterOffset;
+        this.linesRead = linesRead;
+        this.recordsRead = recordsRead;
+        this.linesSkipped = linesSkipped;
+        this.afterCarriageReturn = afterCarriageReturn;
+        this.header = header == null ? null : header.clone();
+    }
+
+    /**
+     * @return The offset in bytes of the next record from the start of the
+     * input, or -1 if it is not known because the reader did not know the
+     * charset of the input.
+     * @see CSVReaderBuilder#withCharset(java.nio.charset.Charset)
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * @return The offset in characters of the next record from the start of
+     * the input, or -1 if it is not known because the reader did not start
+     * at the start of the input.
+     */
+    public long getCharacterOffset() {
+        return characterOffset;
+    }
+
+    /**
+     * @return The number of lines read before the checkpoint, including the skipped lines.
+     * @see CSVReader#getLinesRead()
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return The number of records read before the checkpoint.
+     * @see CSVReader#getRecordsRead()
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * @return The header read to look up the columns of a projection by
+     * name, or null if none was read.
+     */
+    public /*@Nullable*/ String[] getHeader() {
+        return header == null ? null : header.clone();
+    }
+
+    boolean isLinesSkipped() {
+        return linesSkipped;
+    }
+
+    boolean isAfterCarriageReturn() {
+        return afterCarriageReturn;
+    }
+
+    /**
+     * Positions a file at the next record.
+     *
+     * @param channel The file that was read
+     * @throws IOException If the position cannot be set
+     * @throws IllegalStateException If the byte offset is not known
+     */
+    public void seek(FileChannel channel) throws IOException {
+        if (byteOffset < 0) {
+            throw new IllegalStateException("The byte offset of the checkpoint is not known");
+        }
+        channel.position(byteOffset);
+    }
+
+    /**
+     * Skips the characters of a Reader up to the next record. The characters
+     * are decoded, but not parsed.
+     *
+     * @param reader A reader of the input that was read, at its start
+     * @throws IOException If the input ends before the checkpoint or cannot be read
+     * @throws IllegalStateException If the character offset is not known
+     */
+    public void skip(Reader reader) throws IOException {
+        if (characterOffset < 0) {
+            throw new IllegalStateException("The character offset of the checkpoint is not known");
+        }
+        long remaining = characterOffset;
+        while (remaining > 0) {
+            long skipped = reader.skip(remaining);
+            if (skipped <= 0) {
+                if (reader.read() < 0) {
+                    throw new IOException("The input ended " + remaining + " characters before the checkpoint");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.opencsv;
+
+import java.util.Arrays;
+
+/**
+ * Formats rows into a reusable character buffer the way {@link CSVWriter}
+ * writes them, quoting and escaping every field in a single pass.
+ * <p>
+ * Fields are copied unquoted until their first special character. If the
+ * field turns out to need quotes, the part already copied is moved to make
+ * room for the opening quote, so that clean fields are only scanned and
+ * copied once.
+ * </p>
+ *
+ * @since 3.9
+ */
+final class RowFormatter {
+
+    /**
+     * The longest text of a double, as formatted by {@link Double#toString(double)}.
+     */
+    private static final int MAX_NUMBER_LENGTH = 32;
+
+    private final char separator;
+    private final char quotechar;
+    private final char escapechar;
+    /**
+     * The classes of the characters of fields, to find out in one pass over
+     * a field whether to quote it and which characters to escape.
+     */
+    private final CsvCharClasses charClasses;
+
+    private char[] buffer = new char[CSVWriter.INITIAL_STRING_SIZE];
+    private int count = 0;
+
+    private final char[] number = new char[MAX_NUMBER_LENGTH];
+    private final StringBuilder doubleText = new StringBuilder(MAX_NUMBER_LENGTH);
+
+    /**
+     * @param separator  The delimiter to use for separating entries
+     * @param quotechar  The character to use for quoted elements
+     * @param escapechar The character to use for escaping quotechars or escapechars
+     */
+    RowFormatter(char separator, char quotechar, char escapechar) {
+        this.separator = separator;
+        this.quotechar = quotechar;
+        this.escapechar = escapechar;
+        this.charClasses = new CsvCharClasses(separator, quotechar, escapechar);
+    }
+
+    /**
+     * Formats a row as {@link CSVWriter#writeNext(String[], boolean)} writes it.
+     *
+     * @param row              The elements of the row; null elements are left empty
+     * @param applyQuotesToAll True if all values are to be quoted
+     * @param lineEnd          The line terminator
+     */
+    void appendRow(String[] row, boolean applyQuotesToAll, String lineEnd) {
+        for (int i = 0; i < row.length; i++) {
+            if (i != 0) {
+                appendSeparator();
+            }
+            if (row[i] != null) {
+                appendField(row[i], applyQuotesToAll);
+            }
+        }
+        appendLineEnd(lineEnd);
+    }
+
+    void appendSeparator() {
+        ensureCapacity(1);
+        buffer[count++] = separator;
+    }
+
+    void appendLineEnd(String lineEnd) {
+        int length = lineEnd.length();
+        ensureCapacity(length);
+        lineEnd.getChars(0, length, buffer, count);
+        count += length;
+    }
+
+    /**
+     * Formats a field, quoting it if all values are to be quoted or it
+     * holds special characters, and escaping the characters to escape.
+     *
+     * @param field            The field
+     * @param applyQuotesToAll True if all values are to be quoted
+     */
+    void appendField(String field, boolean applyQuotesToAll) {
+        int length = field.length();
+        // every character may be escaped, and the field quoted
+        ensureCapacity(2 * length + 2);
+        char[] buf = buffer;
+        int n = count;
+
+        boolean quote = applyQuotesToAll && quotechar != CSVWriter.NO_QUOTE_CHARACTER;
+        if (quote) {
+            buf[n++] = quotechar;
+        }
+        int start = n;
+        boolean special = false;
+        // runs of plain characters are copied in bulk
+        int run = 0;
+        for (int j = 0; j < length; j++) {
+            char nextChar = field.charAt(j);
+            int characterClass = charClasses.classOf(nextChar);
+            if (characterClass == CsvCharClasses.PLAIN) {
+                continue;
+            }
+            field.getChars(run, j, buf, n);
+            n += j - run;
+            run = j + 1;
+            if (!special) {
+                special = true;
+                if (!quote && quotechar != CSVWriter.NO_QUOTE_CHARACTER) {
+                    // the field turns out to need quotes after all
+                    System.arraycopy(buf, start, buf, start + 1, n - start);
+                    buf[start] = quotechar;
+                    n++;
+                    quote = true;
+                }
+            }
+            if ((characterClass & CsvCharClasses.ESCAPE) != 0) {
+                buf[n++] = escapechar;
+            }
+            buf[n++] = nextChar;
+        }
+        field.getChars(run, length, buf, n);
+        n += length - run;
+
+        if (quote) {
+            buf[n++] = quotechar;
+        }
+        count = n;
+    }
+
+    /**
+     * Formats a field held in a character array, like
+     * {@link #appendField(String, boolean)}.
+     *
+     * @param chars            The array holding the field
+     * @param offset           The index of the first character of the field
+     * @param length           The number of characters of the field
+     * @param applyQuotesToAll True if all values are to be quoted
+     */
+    void appendField(char[] chars, int offset, int length, boolean applyQuotesToAll) {
+        ensureCapacity(2 * length + 2);
+        char[] buf = buffer;
+        int n = count;
+
+        boolean quote = applyQuotesToAll && quotechar != CSVWriter.NO_QUOTE_CHARACTER;
+        if (quote) {
+            buf[n++] = quotechar;
+        }
+        int start = n;
+        boolean special = false;
+        int end = offset + length;
+        int run = offset;
+        for (int j = offset; j < end; j++) {
+            char nextChar = chars[j];
+            int characterClass = charClasses.classOf(nextChar);
+            if (characterClass == CsvCharClasses.PLAIN) {
+                continue;
+            }
+            System.arraycopy(chars, run, buf, n, j - run);
+            n += j - run;
+            run = j + 1;
+            if (!special) {
+                special = true;
+                if (!quote && quotechar != CSVWriter.NO_QUOTE_CHARACTER) {
+                    System.arraycopy(buf, start, buf, start + 1, n - start);
+                    buf[start] = quotechar;
+                    n++;
+                    quote = true;
+                }
+            }
+            if ((characterClass & CsvCharClasses.ESCAPE) != 0) {
+                buf[n++] = escapechar;
+            }
+            buf[n++] = nextChar;
+        }
+        System.arraycopy(chars, run, buf, n, end - run);
+        n += end - run;
+
+        if (quote) {
+            buf[n++] = quotechar;
+        }
+        count = n;
+    }
+
+    /**
+     * Formats a field of any kind of character sequence. Strings are
+     * formatted directly, other sequences are copied into the output buffer
+     * first.
+     *
+     * @param field            The field
+     * @param applyQuotesToAll True if all values are to be quoted
+     */
+    void appendField(CharSequence field, boolean applyQuotesToAll) {
+        if (field instanceof String) {
+            appendField((String) field, applyQuotesToAll);
+            return;
+        }
+        int length = field.length();
+        // the field is copied to the end of the space it may take when formatted
+        ensureCapacity(3 * length + 2);
+        int offset = count + 2 * length + 2;
+        for (int i = 0; i < length; i++) {
+            buffer[offset + i] = field.charAt(i);
+        }
+        appendField(buffer, offset, length, applyQuotesToAll);
+    }
+
+    /**
+     * Formats a number as {@link Long#toString(long)} does.
+     *
+     * @param value            The number
+     * @param applyQuotesToAll True if all values are to be quoted
+     */
+    void appendField(long value, boolean applyQuotesToAll) {
+        int end = number.length;
+        int i = end;
+        // negative numbers are formatted as their negative to include Long.MIN_VALUE
+        long negative = value < 0 ? value : -value;
+        do {
+            long quotient = negative / 10;
+            number[--i] = (char) ('0' + (quotient * 10 - negative));
+            negative = quotient;
+        } while (negative != 0);
+        if (value < 0) {
+            number[--i] = '-';
+        }
+        appendField(number, i, end - i, applyQuotesToAll);
+    }
+
+    /**
+     * Formats a number as {@link Double#toString(double)} does.
+     *
+     * @param value            The number
+     * @param applyQuotesToAll True if all values are to be quoted
+     */
+    void appendField(double value, boolean applyQuotesToAll) {
+        doubleText.setLength(0);
+        doubleText.append(value);
+        int length = doubleText.length();
+        doubleText.getChars(0, length, number, 0);
+        appendField(number, 0, length, applyQuotesToAll);
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer.length - count < length) {
+            buffer = Arrays.copyOf(buffer, Math.max(count + length, buffer.length * 2));
+        }
+    }
+
+    /**
+     * @return The buffer holding the formatted rows, starting at index 0.
+     */
+    char[] getChars() {
+        return buffer;
+    }
+
+    /**
+     * @return The number of characters formatted.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Discards the formatted rows.
+     */
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Discards what was formatted after the first characters.
+     *
+     * @param size The number of characters to keep
+     */
+    void truncate(int size) {
+        count = size;
+    }
+
+    /**
+     * Discards the first characters formatted, moving the rest to the start
+     * of the buffer.
+     *
+     * @param length The number of characters to discard
+     */
+    void removeFirst(int length) {
+        System.arraycopy(buffer, length, buffer, 0, count - length);
+        count -= length;
+    }
+}
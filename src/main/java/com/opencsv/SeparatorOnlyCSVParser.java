@@ -0,0 +1,81 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+
+/**
+ * The parser {@link CSVParserBuilder#build()} returns when neither a quote
+ * nor an escape character is defined and strict quotes are off, as for tab
+ * separated data.
+ * <p>
+ * A line is split at the separators and nothing else. The only other
+ * character CSVParser treats specially in this configuration is the
+ * {@link #NULL_CHARACTER} standing in for the missing escape character,
+ * which is dropped unless it escapes another one inside a field.
+ * </p>
+ *
+ * @since 3.9
+ */
+final class SeparatorOnlyCSVParser extends CSVParser {
+    private final char separator;
+
+    /**
+     * Constructs a parser. Used by {@link CSVParserBuilder#build()}.
+     *
+     * @param separator               The delimiter to use for separating entries
+     * @param ignoreLeadingWhiteSpace Kept for {@link #isIgnoreLeadingWhiteSpace()}; without quotes it has no effect
+     * @param ignoreQuotations        Kept for {@link #isIgnoreQuotations()}; without quotes it has no effect
+     * @param nullFieldIndicator      Which field content will be returned as null
+     */
+    SeparatorOnlyCSVParser(char separator, boolean ignoreLeadingWhiteSpace, boolean ignoreQuotations,
+                           CSVReaderNullFieldIndicator nullFieldIndicator) {
+        super(separator, NULL_CHARACTER, NULL_CHARACTER, false, ignoreLeadingWhiteSpace, ignoreQuotations,
+                nullFieldIndicator);
+        this.separator = separator;
+    }
+
+    @Override
+    SeparatorOnlyCSVParser copy() {
+        return withLimitsOf(new SeparatorOnlyCSVParser(separator, isIgnoreLeadingWhiteSpace(), isIgnoreQuotations(),
+                nullFieldIndicator()));
+    }
+
+    @Override
+    int parseFields(char[] line, int offset, int end, FieldCollector collector, int state) {
+        if ((state & IN_QUOTES) != 0) {
+            // only after resumeQuotedField, as there is no quote character
+            return super.parseFields(line, offset, end, collector, state);
+        }
+        boolean fromQuotedField = false;
+        boolean collect = collector.isSelected(column);
+        for (int i = offset; i < end; i++) {
+
+            char c = line[i];
+            if (c == separator) {
+                addField(collector, collect, fromQuotedField);
+                collect = collector.isSelected(column);
+                fromQuotedField = false;
+                inField = false;
+            } else if (c == NULL_CHARACTER) {
+                if (inField && end > (i + 1) && line[i + 1] == NULL_CHARACTER) {
+                    i++;
+                    if (collect) {
+                        field.append(i);
+                    }
+                }
+            } else {
+                int runEnd = i + 1;
+                while (runEnd < end && (c = line[runEnd]) != separator && c != NULL_CHARACTER) {
+                    runEnd++;
+                }
+                if (collect) {
+                    field.append(i, runEnd);
+                }
+                inField = true;
+                fromQuotedField = true;
+                i = runEnd - 1;
+            }
+
+        }
+        return fieldState(false, fromQuotedField);
+    }
+}
@@ -0,0 +1,427 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+
+import java.io.IOException;
+
+/**
+ * A {@link CSVParser} that parses with a precomputed state transition table
+ * instead of the nested conditions of CSVParser.
+ * <p>
+ * Every character is mapped to one of a few classes (separator, quote,
+ * escape, white space, anything else) and the next state and the actions to
+ * take are looked up in a table indexed by the current state and the class.
+ * The state covers everything CSVParser looks at when it decides what to do
+ * with a character: whether the parser is inside quotes or a field, whether
+ * the field is empty or only white space so far, whether the previous
+ * character was a separator and how far into the line the character is. The
+ * characters CSVParser looks ahead at are handled by deciding about quote
+ * and escape characters when the character after them is seen.
+ * </p>
+ * <p>
+ * The table is computed from the configuration when the parser is created,
+ * by applying the rules of CSVParser to every state, so both parsers return
+ * the same elements for every input and configuration, including
+ * strictQuotes, ignoreQuotations, ignoreLeadingWhiteSpace and the
+ * {@link CSVReaderNullFieldIndicator}.
+ * </p>
+ *
+ * @see CSVParserBuilder#buildTableDriven()
+ * @since 3.9
+ */
+public class TableDrivenCSVParser extends CSVParser {
+
+    // character classes
+    private static final int OTHER = 0;
+    private static final int WHITESPACE = 1;
+    private static final int SEPARATOR = 2;
+    private static final int QUOTE = 3;
+    private static final int ESCAPE = 4;
+    private static final int END_OF_LINE = 5;
+    private static final int CLASS_BITS = 3;
+
+    // state bits
+    private static final int T_IN_QUOTES = 1;
+    private static final int IN_FIELD = 1 << 1;
+    private static final int T_FROM_QUOTED_FIELD = 1 << 2;
+    private static final int CONTENT_SHIFT = 3;
+    private static final int CONTENT_MASK = 3 << CONTENT_SHIFT;
+    private static final int POSITION_SHIFT = 5;
+    private static final int POSITION_MASK = 3 << POSITION_SHIFT;
+    private static final int AFTER_SEPARATOR = 1 << 7;
+    private static final int LOOKING_AT_SHIFT = 8;
+    private static final int LOOKING_AT_MASK = 3 << LOOKING_AT_SHIFT;
+    private static final int STATE_COUNT = 1 << 10;
+
+    // what the field holds so far
+    private static final int EMPTY = 0;
+    private static final int ONLY_WHITESPACE = 1;
+    private static final int CONTENT = 2;
+
+    // the character whose meaning depends on the next one
+    private static final int NOTHING = 0;
+    private static final int AN_ESCAPE = 1;
+    private static final int A_QUOTE = 2;
+
+    /**
+     * The number of characters into a line from which on a quote in the
+     * middle of a field is kept. Positions are only counted up to here.
+     */
+    private static final int EMBEDDED_QUOTE_POSITION = 3;
+
+    // actions
+    private static final int DISCARD = 1;
+    private static final int APPEND_PREVIOUS = 1 << 1;
+    private static final int APPEND_CURRENT = 1 << 2;
+    private static final int ADD_FIELD = 1 << 3;
+    private static final int ADD_NULL_FIELD = 1 << 4;
+    private static final int CONTINUES = 1 << 5;
+    private static final int OPENS_QUOTES = 1 << 6;
+    private static final int ACTION_BITS = 7;
+    private static final int ACTION_MASK = (1 << ACTION_BITS) - 1;
+
+    private final char separator;
+    private final char quotechar;
+    private final char escape;
+    private final byte[] asciiClasses = new byte[128];
+    /**
+     * The next state shifted by {@link #ACTION_BITS}, combined with the
+     * actions, indexed by the current state shifted by {@link #CLASS_BITS}
+     * and the class of the character.
+     */
+    private final int[] transitions = new int[STATE_COUNT << CLASS_BITS];
+
+    private char[] lineChars = new char[INITIAL_READ_SIZE];
+    /**
+     * The state at the end of the last line parsed.
+     */
+    private int state = 0;
+    private boolean pending = false;
+    private int multiLineCount = 0;
+
+    /**
+     * Constructs a parser. Used by {@link CSVParserBuilder#buildTableDriven()}.
+     *
+     * @param separator               The delimiter to use for separating entries
+     * @param quotechar               The character to use for quoted elements
+     * @param escape                  The character to use for escaping a separator or quote
+     * @param strictQuotes            If true, characters outside the quotes are ignored
+     * @param ignoreLeadingWhiteSpace If true, white space in front of a quote in a field is ignored
+     * @param ignoreQuotations        If true, treat quotations like any other character.
+     * @param nullFieldIndicator      Which field content will be returned as null
+     */
+    TableDrivenCSVParser(char separator, char quotechar, char escape, boolean strictQuotes,
+                         boolean ignoreLeadingWhiteSpace, boolean ignoreQuotations,
+                         CSVReaderNullFieldIndicator nullFieldIndicator) {
+        super(separator, quotechar, escape, strictQuotes, ignoreLeadingWhiteSpace, ignoreQuotations,
+                nullFieldIndicator);
+        this.separator = separator;
+        this.quotechar = quotechar;
+        this.escape = escape;
+        for (char c = 0; c < asciiClasses.length; c++) {
+            asciiClasses[c] = (byte) classify(c);
+        }
+        for (int s = 0; s < STATE_COUNT; s++) {
+            for (int characterClass = OTHER; characterClass <= END_OF_LINE; characterClass++) {
+                transitions[(s << CLASS_BITS) | characterClass] = transition(s, characterClass);
+            }
+        }
+    }
+
+    @Override
+    public boolean isPending() {
+        return pending;
+    }
+
+    @Override
+    boolean isInField() {
+        return (state & IN_FIELD) != 0;
+    }
+
+    @Override
+    void resumeQuotedField(boolean inField) {
+        field.startLine(null);
+        pending = true;
+        state = T_IN_QUOTES | (inField ? IN_FIELD : 0);
+        quotedField = true;
+        multiLineCount = 1;
+    }
+
+    @Override
+    TableDrivenCSVParser copy() {
+        return withLimitsOf(new TableDrivenCSVParser(separator, quotechar, escape, isStrictQuotes(),
+                isIgnoreLeadingWhiteSpace(), isIgnoreQuotations(), nullFieldIndicator()));
+    }
+
+    @Override
+    void discardRecord() {
+        super.discardRecord();
+        pending = false;
+        state = 0;
+        multiLineCount = 0;
+    }
+
+    @Override
+    protected String[] parseLine(String nextLine, boolean multi) throws IOException {
+        if (!multi && pending) {
+            pending = false;
+        }
+
+        if (nextLine == null) {
+            if (pending) {
+                String[] result = new String[]{field.toString()};
+                pending = false;
+                return result;
+            }
+            return null;
+        }
+
+        int length = nextLine.length();
+        if (lineChars.length < length) {
+            lineChars = new char[length + READ_BUFFER_SIZE];
+        }
+        nextLine.getChars(0, length, lineChars, 0);
+        return parseLine(lineChars, 0, length, multi);
+    }
+
+    @Override
+    void parseLine(char[] line, int offset, int length, boolean multi, FieldCollector collector) throws IOException {
+        if (!multi && pending) {
+            pending = false;
+        }
+
+        startLineOfRecord(pending, length);
+        int s;
+        if (pending) {
+            field.continueLine(line);
+            pending = false;
+            s = T_IN_QUOTES | (state & (IN_FIELD | CONTENT_MASK));
+        } else {
+            field.startLine(line);
+            column = 0;
+            quotedField = false;
+            s = state & IN_FIELD;
+        }
+        boolean collect = collector.isSelected(column);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = line[i];
+            int entry = transitions[(s << CLASS_BITS) | (c < 128 ? asciiClasses[c] : classify(c))];
+            s = entry >>> ACTION_BITS;
+            int actions = entry & ACTION_MASK;
+            if (actions != 0) {
+                if ((actions & DISCARD) != 0) {
+                    field.discard();
+                }
+                if ((actions & OPENS_QUOTES) != 0) {
+                    quotedField = true;
+                }
+                if (collect) {
+                    if ((actions & APPEND_PREVIOUS) != 0) {
+                        field.append(i - 1);
+                    }
+                    if ((actions & APPEND_CURRENT) != 0) {
+                        field.append(i);
+                    }
+                }
+                if ((actions & ADD_FIELD) != 0) {
+                    addField(collector, collect, actions);
+                    collect = collector.isSelected(column);
+                }
+            }
+        }
+
+        int entry = transitions[(s << CLASS_BITS) | END_OF_LINE];
+        state = entry >>> ACTION_BITS;
+        int actions = entry & ACTION_MASK;
+        if ((actions & OPENS_QUOTES) != 0) {
+            quotedField = true;
+        }
+        if ((actions & CONTINUES) != 0) {
+            if (!multi) {
+                throw new IOException("Un-terminated quoted field at end of CSV line");
+            }
+            if (collect) {
+                field.append('\n');
+            }
+            pending = true;
+            multiLineCount++;
+            if (multiLineCount > MAX_LINES_IN_MULTILINE) {
+                throw new IOException(
+                        "Multi-line field with more than " + MAX_LINES_IN_MULTILINE +
+                        " lines. Possible stray quote?");
+            }
+        } else {
+            multiLineCount = 0;
+            addField(collector, collect, actions);
+        }
+        endLineOfRecord(length, pending);
+    }
+
+    private void addField(FieldCollector collector, boolean collect, int actions) {
+        checkFieldSize();
+        if (collect) {
+            if ((actions & ADD_NULL_FIELD) != 0) {
+                collector.addField(column, (char[]) null, 0, 0, quotedField);
+            } else {
+                collector.addField(column, field.getChars(), field.getOffset(), field.getLength(), quotedField);
+            }
+        }
+        quotedField = false;
+        field.clear();
+        column++;
+    }
+
+    private int classify(char c) {
+        if (c == escape) {
+            return ESCAPE;
+        }
+        if (c == quotechar) {
+            return QUOTE;
+        }
+        if (c == separator) {
+            return SEPARATOR;
+        }
+        return Character.isWhitespace(c) ? WHITESPACE : OTHER;
+    }
+
+    /**
+     * Applies the rules of {@link CSVParser} to a character of a class seen in
+     * a state. If the state is looking at a quote or escape character the
+     * meaning of that character is decided first, now that the character
+     * after it is known.
+     *
+     * @param s              The current state
+     * @param characterClass The class of the character, or {@link #END_OF_LINE}
+     * @return The next state shifted by {@link #ACTION_BITS}, combined with
+     * the actions to take.
+     */
+    private int transition(int s, int characterClass) {
+        boolean inQuotes = (s & T_IN_QUOTES) != 0;
+        boolean inField = (s & IN_FIELD) != 0;
+        boolean fromQuotedField = (s & T_FROM_QUOTED_FIELD) != 0;
+        int content = (s & CONTENT_MASK) >> CONTENT_SHIFT;
+        int position = (s & POSITION_MASK) >> POSITION_SHIFT;
+        boolean afterSeparator = (s & AFTER_SEPARATOR) != 0;
+        int lookingAt = (s & LOOKING_AT_MASK) >> LOOKING_AT_SHIFT;
+        if (content > CONTENT || lookingAt > A_QUOTE) {
+            // not a state the parser can get into
+            return 0;
+        }
+        boolean endOfLine = characterClass == END_OF_LINE;
+        int actions = 0;
+
+        boolean quoted = (inQuotes && !isIgnoreQuotations()) || inField;
+        if (lookingAt == AN_ESCAPE) {
+            if (!endOfLine && quoted && (characterClass == QUOTE || characterClass == ESCAPE)) {
+                // an escaped quote or escape character
+                content = append(content, characterClass == QUOTE ? quotechar : escape);
+                return state(inQuotes, inField, fromQuotedField, content, advance(position, 2), false, NOTHING)
+                        | APPEND_CURRENT;
+            }
+            // a lone escape character is dropped
+            position = advance(position, 1);
+            afterSeparator = false;
+        } else if (lookingAt == A_QUOTE) {
+            if (!endOfLine && quoted && characterClass == QUOTE) {
+                // two quotes for one
+                content = append(content, quotechar);
+                return state(inQuotes, !inField, fromQuotedField, content, advance(position, 2), false, NOTHING)
+                        | APPEND_CURRENT;
+            }
+            inQuotes = !inQuotes;
+            if (inQuotes && !isIgnoreQuotations()) {
+                actions |= OPENS_QUOTES;
+            }
+            if (content == EMPTY) {
+                fromQuotedField = true;
+            }
+            // the tricky case of an embedded quote in the middle: a,bc"d"ef,g
+            if (!isStrictQuotes() && position >= EMBEDDED_QUOTE_POSITION && !afterSeparator
+                    && !endOfLine && characterClass != SEPARATOR) {
+                if (isIgnoreLeadingWhiteSpace() && content == ONLY_WHITESPACE) {
+                    actions |= DISCARD;
+                    content = EMPTY;
+                } else {
+                    actions |= APPEND_PREVIOUS;
+                    content = append(content, quotechar);
+                }
+            }
+            inField = !inField;
+            position = advance(position, 1);
+            afterSeparator = false;
+        }
+
+        if (endOfLine) {
+            if (inQuotes && !isIgnoreQuotations()) {
+                // the field continues on the next line, after a line feed
+                content = append(content, '\n');
+                return state(inQuotes, inField, fromQuotedField, content, 0, false, NOTHING) | actions | CONTINUES;
+            }
+            if (content == EMPTY && isNullField(fromQuotedField)) {
+                actions |= ADD_NULL_FIELD;
+            }
+            return state(false, false, false, EMPTY, 0, false, NOTHING) | actions;
+        }
+
+        if (characterClass == ESCAPE) {
+            return state(inQuotes, inField, fromQuotedField, content, position, afterSeparator, AN_ESCAPE)
+                    | actions;
+        }
+        if (characterClass == QUOTE) {
+            return state(inQuotes, inField, fromQuotedField, content, position, afterSeparator, A_QUOTE)
+                    | actions;
+        }
+        if (characterClass == SEPARATOR && !(inQuotes && !isIgnoreQuotations())) {
+            actions |= ADD_FIELD;
+            if (content == EMPTY && isNullField(fromQuotedField)) {
+                actions |= ADD_NULL_FIELD;
+            }
+            return state(inQuotes, false, false, EMPTY, advance(position, 1), true, NOTHING) | actions;
+        }
+
+        // anything else, a separator inside quotes included, is part of the field
+        if (!isStrictQuotes() || (inQuotes && !isIgnoreQuotations())) {
+            actions |= APPEND_CURRENT;
+            inField = true;
+            fromQuotedField = true;
+            content = append(content, characterClass == SEPARATOR ? separator
+                    : characterClass == WHITESPACE ? ' ' : 'x');
+        }
+        return state(inQuotes, inField, fromQuotedField, content, advance(position, 1),
+                characterClass == SEPARATOR, NOTHING) | actions;
+    }
+
+    private static int append(int content, char c) {
+        return content == CONTENT || !Character.isWhitespace(c) ? CONTENT : ONLY_WHITESPACE;
+    }
+
+    private static int advance(int position, int characters) {
+        return Math.min(position + characters, EMBEDDED_QUOTE_POSITION);
+    }
+
+    private boolean isNullField(boolean fromQuotedField) {
+        switch (nullFieldIndicator()) {
+            case BOTH:
+                return true;
+            case EMPTY_SEPARATORS:
+                return !fromQuotedField;
+            case EMPTY_QUOTES:
+                return fromQuotedField;
+            default:
+                return false;
+        }
+    }
+
+    private static int state(boolean inQuotes, boolean inField, boolean fromQuotedField, int content, int position,
+                             boolean afterSeparator, int lookingAt) {
+        int s = (inQuotes ? T_IN_QUOTES : 0)
+                | (inField ? IN_FIELD : 0)
+                | (fromQuotedField ? T_FROM_QUOTED_FIELD : 0)
+                | content << CONTENT_SHIFT
+                | position << POSITION_SHIFT
+                | (afterSeparator ? AFTER_SEPARATOR : 0)
+                | lookingAt << LOOKING_AT_SHIFT;
+        return s << ACTION_BITS;
+    }
+}
@@ -0,0 +1,483 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import com.opencsv.stream.reader.LineSplitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the records of a CSV file while it is being written, like
+ * <code>tail -f</code>.
+ * <p>
+ * The file is kept open and read on from where the last read stopped. A
+ * record is only returned once it is complete: a line is complete when its
+ * line break has been written, and a record when the parser is not inside
+ * a quoted field at the end of one of its lines. When there is no complete
+ * record, {@link #readNext()} waits for the file to grow, checking it after
+ * {@link TailingCSVReaderBuilder#withPollInterval(long, long, TimeUnit) a
+ * poll interval} that doubles up to a maximum as long as nothing is
+ * appended.
+ * </p>
+ * <p>
+ * The reader follows the rotation of the file:
+ * </p>
+ * <ul>
+ * <li>If the file gets shorter than what has been read, it was truncated,
+ * and reading starts again at its start.</li>
+ * <li>If another file takes the place of the file, the file read was renamed
+ * or deleted. The rest of it is read, including a last record without a
+ * line break, and then reading goes on with the new file.</li>
+ * </ul>
+ * <p>
+ * Lines are split the same way as by the {@link CSVReader}. The charset of
+ * the file has the same restrictions as for the {@link ParallelCSVReader}:
+ * line feeds and carriage returns have to be single bytes that are never
+ * part of the encoding of another character.
+ * </p>
+ * <p>
+ * A line that is not complete yet is kept in a buffer that grows no larger
+ * than the bytes the {@link CSVParser#getMaxRecordSize() record size limit}
+ * of the parser may take. Once the line is longer, a
+ * {@link CsvLimitExceededException} is thrown, and the file is read on
+ * after the next line break.
+ * </p>
+ * <p>
+ * This class is not thread-safe, except that it may be closed from another
+ * thread to end a wait in {@link #readNext()}.
+ * </p>
+ *
+ * @see TailingCSVReaderBuilder
+ * @since 3.9
+ */
+public class TailingCSVReader implements Closeable {
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final CSVParser parserConfiguration;
+    private final int skipLines;
+    private final boolean keepCR;
+    private final long minPollNanos;
+    private final long maxPollNanos;
+    private final LineDecoder decoder;
+
+    private FileChannel channel;
+    private Object fileId;
+    private CSVParser parser;
+    /**
+     * The position in the file of the byte after the last byte read, which
+     * is the position of the byte after the end of {@link #buffer}'s content.
+     */
+    private long readPosition;
+    private long recordPosition;
+    private byte[] buffer = new byte[IO_BUFFER_SIZE];
+    private int limit = 0;
+    /**
+     * Keeps the index of the first byte in the buffer not returned as part of a line.
+     */
+    private final LineSplitter lines;
+    private long linesInFile = 0;
+    /**
+     * The longest line in bytes kept in the buffer before it is complete.
+     */
+    private final long maxLineBytes;
+    /**
+     * True while the rest of a line that is too long is skipped.
+     */
+    private boolean skippingLine = false;
+
+    private final List<String> fields = new ArrayList<String>();
+    private boolean inRecord = false;
+    private final FieldCollector collector = new FieldCollector() {
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+            fields.add(chars == null ? null : new String(chars, offset, length));
+        }
+    };
+
+    private long linesRead = 0;
+    private long recordsRead = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor used by {@link TailingCSVReaderBuilder}.
+     *
+     * @param path          The file to read
+     * @param charset       The charset of the file
+     * @param parser        The parser configuration. Every file read gets a copy of its own.
+     * @param skipLines     The number of lines to skip at the start of every file
+     * @param keepCR        True to keep carriage returns in data read, false otherwise
+     * @param startPosition The position in the file to start reading at, or -1 for its end
+     * @param minPollNanos  The time to wait after the file was found to have grown
+     * @param maxPollNanos  The longest time to wait before the file is checked again
+     * @throws IOException If the file cannot be opened
+     */
+    TailingCSVReader(Path path, Charset charset, CSVParser parser, int skipLines, boolean keepCR,
+                     long startPosition, long minPollNanos, long maxPollNanos) throws IOException {
+        this.path = path;
+        this.parserConfiguration = parser;
+        this.skipLines = skipLines;
+        this.keepCR = keepCR;
+        this.lines = new LineSplitter(keepCR);
+        this.maxLineBytes = parser.getMaxRecordSize() == 0 ? Long.MAX_VALUE
+                : (long) parser.getMaxRecordSize() * maxBytesPerChar(charset);
+        this.minPollNanos = minPollNanos;
+        this.maxPollNanos = maxPollNanos;
+        this.decoder = new LineDecoder(charset);
+        open(startPosition);
+    }
+
+    /**
+     * Reads the next record, waiting until one is complete.
+     *
+     * @return The next record, or null if the reader was closed while waiting.
+     * @throws IOException If bad things happen during the read, or the
+     *                     current thread is interrupted while waiting
+     */
+    public String[] readNext() throws IOException {
+        return readNext(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reads the next record if it is complete, without waiting.
+     *
+     * @return The next record, or null if no record is complete yet.
+     * @throws IOException If bad things happen during the read
+     */
+    public String[] poll() throws IOException {
+        return readNext(0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reads the next record, waiting for a limited time until one is complete.
+     *
+     * @param timeout The longest time to wait
+     * @param unit    The unit of the timeout
+     * @return The next record, or null if no record was complete in time or
+     * the reader was closed while waiting.
+     * @throws IOException If bad things happen during the read, or the
+     *                     current thread is interrupted while waiting
+     */
+    public String[] readNext(long timeout, TimeUnit unit) throws IOException {
+        long start = System.nanoTime();
+        long wait = unit.toNanos(timeout);
+        long pollNanos = minPollNanos;
+        while (!closed) {
+            try {
+                String[] record = nextRecord();
+                if (record != null) {
+                    return record;
+                }
+                if (fill()) {
+                    pollNanos = minPollNanos;
+                    continue;
+                }
+                if (truncated()) {
+                    pollNanos = minPollNanos;
+                    continue;
+                }
+                if (replaced()) {
+                    pollNanos = minPollNanos;
+                    if (fill()) {
+                        // written just before the file was replaced
+                        continue;
+                    }
+                    // what is left of the old file is its last record, which may lack a line break
+                    record = switchFiles();
+                    if (record != null) {
+                        return record;
+                    }
+                    continue;
+                }
+            } catch (ClosedChannelException e) {
+                if (closed) {
+                    return null;
+                }
+                throw e;
+            }
+            long remaining = wait - (System.nanoTime() - start);
+            if (remaining <= 0) {
+                return null;
+            }
+            sleep(Math.min(pollNanos, remaining));
+            pollNanos = Math.min(pollNanos * 2, maxPollNanos);
+        }
+        return null;
+    }
+
+    private void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for records");
+        }
+    }
+
+    /**
+     * Parses the complete lines in the buffer up to the end of the next record.
+     *
+     * @return The record, or null if there is no complete record in the buffer.
+     * @throws IOException If the record cannot be parsed
+     */
+    private String[] nextRecord() throws IOException {
+        while (lines.nextLine(buffer, limit)) {
+            if (skippingLine) {
+                // the end of the line that was too long
+                skippingLine = false;
+                linesRead++;
+                linesInFile++;
+                recordPosition = readPosition - limit + lines.getPosition();
+                continue;
+            }
+            String[] record = parseLine(lines.getLineStart(), lines.getLineEnd());
+            if (record != null) {
+                return record;
+            }
+        }
+        if (limit - lines.getPosition() > maxLineBytes) {
+            lines.setPosition(limit);
+            if (!skippingLine) {
+                skippingLine = true;
+                inRecord = false;
+                throw parser.recordTooLong();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param charset The charset of the file
+     * @return The most bytes a character takes in the charset.
+     */
+    private static int maxBytesPerChar(Charset charset) {
+        if (!charset.canEncode()) {
+            return 4;
+        }
+        return (int) Math.ceil(charset.newEncoder().maxBytesPerChar());
+    }
+
+    /**
+     * Parses a complete line.
+     *
+     * @param start The index of the first byte of the line in the buffer
+     * @param end   The index just past the last byte of the line in the buffer
+     * @return The record the line completes, or null if it does not complete one.
+     * @throws IOException If the line cannot be parsed
+     */
+    private String[] parseLine(int start, int end) throws IOException {
+        linesRead++;
+        linesInFile++;
+        if (linesInFile <= skipLines) {
+            recordPosition = readPosition - limit + lines.getPosition();
+            return null;
+        }
+        if (!inRecord) {
+            fields.clear();
+            inRecord = true;
+        }
+        try {
+            int length = decoder.decode(buffer, start, end - start);
+            parser.parseLine(decoder.getChars(), 0, length, true, collector);
+        } catch (IOException e) {
+            // the next record starts with the next line
+            parser.discardRecord();
+            inRecord = false;
+            recordPosition = readPosition - limit + lines.getPosition();
+            throw e;
+        }
+        if (parser.isPending()) {
+            return null;
+        }
+        return endRecord();
+    }
+
+    private String[] endRecord() {
+        inRecord = false;
+        recordsRead++;
+        recordPosition = readPosition - limit + lines.getPosition();
+        return fields.toArray(new String[fields.size()]);
+    }
+
+    /**
+     * Reads what has been appended to the file.
+     *
+     * @return True if anything was read.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean fill() throws IOException {
+        int position = lines.getPosition();
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            lines.shift(position);
+        } else if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit), readPosition);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        readPosition += read;
+        return true;
+    }
+
+    /**
+     * Checks whether the file was truncated, and if so starts reading it
+     * again from its start. What was not read before is lost.
+     *
+     * @return True if the file was truncated.
+     * @throws IOException If the size of the file cannot be determined
+     */
+    private boolean truncated() throws IOException {
+        if (channel.size() >= readPosition) {
+            return false;
+        }
+        readPosition = 0;
+        startFile();
+        return true;
+    }
+
+    /**
+     * @return True if another file took the place of the file read.
+     * @throws IOException If the file cannot be checked
+     */
+    private boolean replaced() throws IOException {
+        Object id = idOf(path);
+        return id != null && !id.equals(fileId);
+    }
+
+    /**
+     * Ends reading the current file, which has been replaced, and goes on
+     * with the file that replaced it.
+     *
+     * @return The last record of the old file if it did not end with a line
+     * break, or null.
+     * @throws IOException If the new file cannot be opened, or the old file
+     *                     ended within a quoted field
+     */
+    private String[] switchFiles() throws IOException {
+        String[] record = null;
+        boolean unterminated = false;
+        int start = lines.getPosition();
+        if (skippingLine) {
+            linesRead++;
+            lines.setPosition(limit);
+        } else if (start < limit) {
+            record = parseLine(start, limit);
+            lines.setPosition(limit);
+        }
+        if (record == null && inRecord) {
+            unterminated = true;
+        }
+        channel.close();
+        open(0);
+        if (unterminated) {
+            throw new IOException("Un-terminated quoted field at end of CSV file " + path + " before it was rotated");
+        }
+        return record;
+    }
+
+    /**
+     * Opens the file.
+     *
+     * @param startPosition The position to start reading at, or -1 for the end of the file
+     * @throws IOException If the file cannot be opened
+     */
+    private void open(long startPosition) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileId = idOf(path);
+        long size = channel.size();
+        readPosition = startPosition < 0 ? size : Math.min(startPosition, size);
+        startFile();
+        if (readPosition > 0) {
+            linesInFile = skipLines;
+            if (!keepCR) {
+                // a line feed right after the start may end the line in front of it
+                ByteBuffer previous = ByteBuffer.allocate(1);
+                if (channel.read(previous, readPosition - 1) == 1 && previous.get(0) == '\r') {
+                    lines.continueAfterCarriageReturn();
+                }
+            }
+        }
+    }
+
+    private void startFile() {
+        parser = parserConfiguration.copy();
+        limit = 0;
+        lines.reset();
+        linesInFile = 0;
+        skippingLine = false;
+        inRecord = false;
+        fields.clear();
+        recordPosition = readPosition;
+    }
+
+    /**
+     * @return An identification of the file at the path that changes when
+     * another file takes its place, or null if there is no file.
+     */
+    private static Object idOf(Path path) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        Object key = attributes.fileKey();
+        return key != null ? key : attributes.creationTime();
+    }
+
+    /**
+     * @return The position in the current file just past the last record
+     * read, or the skipped lines in front of it. A new reader started there
+     * with {@link TailingCSVReaderBuilder#withStartPosition(long)} goes on
+     * with the next record.
+     */
+    public long getPosition() {
+        return recordPosition;
+    }
+
+    /**
+     * @return The number of lines read from all files, including skipped lines
+     * and the lines of records that are not complete yet.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return The number of records read from all files.
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Closes the file. A call to {@link #readNext()} waiting in another
+     * thread returns null.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+}
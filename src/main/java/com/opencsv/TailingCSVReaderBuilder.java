@@ -0,0 +1,162 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder for creating a {@link TailingCSVReader}.
+ * <p>Example code for using this class:<br><br>
+ * <code>
+ * TailingCSVReader reader = new TailingCSVReaderBuilder(path)<br>
+ * .withCharset(StandardCharsets.UTF_8)<br>
+ * .withSkipLines(1)<br>
+ * .withPollInterval(10, 1000, TimeUnit.MILLISECONDS)<br>
+ * .build();<br>
+ * </code></p>
+ *
+ * @see TailingCSVReader
+ * @since 3.9
+ */
+public class TailingCSVReaderBuilder {
+
+    /**
+     * The default time to wait after the file was found to have grown, in milliseconds.
+     */
+    public static final long DEFAULT_MIN_POLL_MILLIS = 10;
+
+    /**
+     * The default longest time to wait before the file is checked again, in milliseconds.
+     */
+    public static final long DEFAULT_MAX_POLL_MILLIS = 1000;
+
+    private final Path path;
+    private Charset charset = Charset.defaultCharset();
+    private CSVParser parser = null;
+    private int skipLines = CSVReader.DEFAULT_SKIP_LINES;
+    private boolean keepCR = CSVReader.DEFAULT_KEEP_CR;
+    private long startPosition = 0;
+    private long minPollNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MIN_POLL_MILLIS);
+    private long maxPollNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_POLL_MILLIS);
+
+    /**
+     * Sets the file to read.
+     *
+     * @param path The file to read
+     * @throws IllegalArgumentException If the path is null
+     */
+    public TailingCSVReaderBuilder(final Path path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path may not be null");
+        }
+        this.path = path;
+    }
+
+    /**
+     * Sets the charset of the file. The default is the platform's default charset.
+     *
+     * @param charset The charset of the file
+     * @return The TailingCSVReaderBuilder with the charset set.
+     * @throws IllegalArgumentException If the charset is null
+     */
+    public TailingCSVReaderBuilder withCharset(final Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset may not be null");
+        }
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Sets the parser to use to parse the input.
+     * The parser itself is never used: every file read is parsed by a new
+     * parser with the same configuration.
+     *
+     * @param parser The parser to use to parse the input.
+     * @return The TailingCSVReaderBuilder with the CSVParser set.
+     */
+    public TailingCSVReaderBuilder withCSVParser(final /*@Nullable*/ CSVParser parser) {
+        this.parser = parser;
+        return this;
+    }
+
+    /**
+     * Sets the number of lines to skip at the start of every file read,
+     * including the files that take the place of the file after a rotation.
+     *
+     * @param skipLines The number of lines to skip
+     * @return The TailingCSVReaderBuilder with skipLines set.
+     */
+    public TailingCSVReaderBuilder withSkipLines(final int skipLines) {
+        this.skipLines = skipLines <= 0 ? 0 : skipLines;
+        return this;
+    }
+
+    /**
+     * Sets if the reader will keep or discard carriage returns.
+     *
+     * @param keepCR True to keep carriage returns, false to discard.
+     * @return The TailingCSVReaderBuilder with keepCR set.
+     */
+    public TailingCSVReaderBuilder withKeepCarriageReturn(final boolean keepCR) {
+        this.keepCR = keepCR;
+        return this;
+    }
+
+    /**
+     * Sets the position in the file to start reading at, for example the
+     * {@link TailingCSVReader#getPosition() position} a previous reader
+     * stopped at. Lines are not skipped when reading does not start at the
+     * start of the file.
+     *
+     * @param startPosition The position in bytes of the first record to
+     *                      read, or -1 to read only what is appended to the file
+     * @return The TailingCSVReaderBuilder with the start position set.
+     * @throws IllegalArgumentException If the position is less than -1
+     */
+    public TailingCSVReaderBuilder withStartPosition(final long startPosition) {
+        if (startPosition < -1) {
+            throw new IllegalArgumentException("The start position may not be less than -1");
+        }
+        this.startPosition = startPosition;
+        return this;
+    }
+
+    /**
+     * Sets how long the reader waits for the file to grow. The first wait
+     * after the file was found to have grown is the shortest; every time the
+     * file has not grown after a wait the next wait is twice as long, up to
+     * the maximum.
+     *
+     * @param min  The shortest time to wait
+     * @param max  The longest time to wait
+     * @param unit The unit of the times
+     * @return The TailingCSVReaderBuilder with the poll interval set.
+     * @throws IllegalArgumentException If min is not greater than zero or
+     *                                  max is less than min
+     */
+    public TailingCSVReaderBuilder withPollInterval(final long min, final long max, final TimeUnit unit) {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("The poll interval must be greater than zero and the maximum at least the minimum");
+        }
+        this.minPollNanos = unit.toNanos(min);
+        this.maxPollNanos = unit.toNanos(max);
+        return this;
+    }
+
+    /**
+     * Opens the file and creates the TailingCSVReader.
+     *
+     * @return The TailingCSVReader based on the set criteria.
+     * @throws IOException If the file cannot be opened
+     * @throws IllegalArgumentException If files in the charset cannot be read by lines of bytes
+     */
+    public TailingCSVReader build() throws IOException {
+        if (!ParallelCSVReader.canSplit(charset)) {
+            throw new IllegalArgumentException("Files in " + charset.name() + " cannot be tailed");
+        }
+        return new TailingCSVReader(path, charset, parser != null ? parser : new CSVParser(), skipLines, keepCR,
+                startPosition, minPollNanos, maxPollNanos);
+    }
+}
@@ -0,0 +1,53 @@
+package com.opencsv;
+
+import java.nio.charset.Charset;
+
+/**
+ * Turns ranges of UTF-8 encoded bytes into characters.
+ * <p>
+ * Ranges that only hold ASCII characters, which is the common case for CSV
+ * data, are turned into Strings without going through the UTF-8 decoder.
+ * Malformed input is replaced the same way as by an
+ * {@link java.io.InputStreamReader} for UTF-8.
+ * </p>
+ *
+ * @since 3.9
+ */
+final class Utf8 {
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private Utf8() {
+    }
+
+    /**
+     * @param bytes  The array holding the bytes
+     * @param offset The index of the first byte
+     * @param length The number of bytes
+     * @return True if all bytes are ASCII characters.
+     */
+    static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a range of bytes.
+     *
+     * @param bytes  The array holding the bytes
+     * @param offset The index of the first byte
+     * @param length The number of bytes
+     * @return The characters encoded by the bytes.
+     */
+    static String decode(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return "";
+        }
+        // ASCII is a subset of ISO-8859-1, which maps every byte to one char
+        return new String(bytes, offset, length, isAscii(bytes, offset, length) ? ISO_8859_1 : UTF_8);
+    }
+}
@@ -0,0 +1,219 @@
+package com.opencsv;
+
+import com.opencsv.stream.reader.ByteLineScanner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads UTF-8 encoded CSV data from bytes without decoding it up front.
+ * <p>
+ * A {@link CSVReader} reads characters, so all of its input passes through
+ * a charset decoder before it is parsed. This reader finds lines and fields
+ * by looking at the bytes of the input instead, which is possible because
+ * line breaks, separators, quotes and escapes are ASCII characters. Only the
+ * fields that are turned into Strings are decoded, and fields that only hold
+ * ASCII characters are turned into Strings without a decoder.
+ * </p>
+ * <p>
+ * The records read are the same as those read by a CSVReader with the same
+ * parser from an {@link java.io.InputStreamReader} for UTF-8, including the
+ * replacement of malformed input. The separator, quote and escape characters
+ * have to be ASCII characters, and carriage returns are always discarded.
+ * </p>
+ * <p>
+ * Example code for using this class:<br><br>
+ * <code>
+ * Utf8CSVReader reader = new Utf8CSVReaderBuilder(new FileInputStream(file)).build();<br>
+ * CsvRecord record;<br>
+ * while ((record = reader.readNextRecord()) != null) {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;CharSequence id = record.get(0);<br>
+ * }<br>
+ * </code>
+ * </p>
+ *
+ * @see Utf8CSVReaderBuilder
+ * @since 3.9
+ */
+public class Utf8CSVReader implements Closeable {
+
+    private final Closeable input;
+    private final ByteLineScanner lineScanner;
+    private final Utf8LineParser parser;
+    private final int skipLines;
+    private boolean linesSkipped = false;
+    private boolean closed = false;
+    private long linesRead = 0;
+    private long recordsRead = 0;
+
+    /**
+     * The fields of the record read by {@link #readNext()}.
+     */
+    private final List<String> tokens = new ArrayList<String>();
+    private final FieldCollector tokenCollector = new FieldCollector() {
+        @Override
+        void addField(int column, char[] chars, int offset, int length) {
+            tokens.add(chars == null ? null : new String(chars, offset, length));
+        }
+
+        @Override
+        void addField(int column, byte[] bytes, int offset, int length) {
+            tokens.add(bytes == null ? null : Utf8.decode(bytes, offset, length));
+        }
+    };
+    /**
+     * The record returned by {@link #readNextRecord()}. Created on first use.
+     */
+    private CsvRecord record;
+
+    /**
+     * Constructs a reader. Used by {@link Utf8CSVReaderBuilder}.
+     *
+     * @param input       The source of the bytes to close with the reader, or null
+     * @param lineScanner Reads the lines from the source
+     * @param parser      The parser whose configuration is used to parse the lines
+     * @param skipLines   The number of lines to skip before reading
+     */
+    Utf8CSVReader(Closeable input, ByteLineScanner lineScanner, CSVParser parser, int skipLines) {
+        this.input = input;
+        this.lineScanner = lineScanner;
+        this.parser = new Utf8LineParser(parser);
+        this.skipLines = skipLines;
+    }
+
+    /**
+     * Reads the entire input into a List with each element being a String[]
+     * of tokens.
+     *
+     * @return A List of String[], with each String[] representing a record.
+     * @throws IOException If bad things happen during the read
+     */
+    public List<String[]> readAll() throws IOException {
+        List<String[]> allElements = new ArrayList<String[]>();
+        String[] next;
+        while ((next = readNext()) != null) {
+            allElements.add(next);
+        }
+        return allElements;
+    }
+
+    /**
+     * Reads the next record and converts it to a string array.
+     *
+     * @return A string array with each comma-separated element as a separate
+     * entry, or null if there are no more records.
+     * @throws IOException If bad things happen during the read
+     */
+    public String[] readNext() throws IOException {
+        tokens.clear();
+        if (!parseNextRecord(tokenCollector, null)) {
+            return null;
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+
+    /**
+     * Reads the next record into a reusable {@link CsvRecord}.
+     * <p>
+     * The fields of the record point into the buffers of the reader and are
+     * only decoded when their characters are asked for. The same CsvRecord is
+     * returned by every call, so the record and its fields are only valid
+     * until the next call to this method or to {@link #readNext()}.
+     * </p>
+     *
+     * @return The next record, or null if there are no more records.
+     * @throws IOException If bad things happen during the read
+     */
+    public CsvRecord readNextRecord() throws IOException {
+        if (record == null) {
+            record = new CsvRecord();
+        }
+        record.clear(null);
+        return parseNextRecord(record.collector, record) ? record : null;
+    }
+
+    /**
+     * Parses the lines of the next record.
+     *
+     * @param collector Receives the fields of the record
+     * @param record    The record the collector adds to, which has to be
+     *                  detached from the line buffer before the next line of
+     *                  the same record is read, or null
+     * @return False if there are no more records.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean parseNextRecord(FieldCollector collector, CsvRecord record) throws IOException {
+        do {
+            if (!scanNextLine()) {
+                if (parser.isPending()) {
+                    throw new IOException("Un-terminated quoted field at end of CSV file");
+                }
+                return false;
+            }
+            parser.parseLine(lineScanner.getBuffer(), lineScanner.getLineStart(),
+                    lineScanner.getLineLength(), collector);
+            if (record != null && parser.isPending()) {
+                record.detach();
+            }
+        } while (parser.isPending());
+        recordsRead++;
+        return true;
+    }
+
+    /**
+     * Advances the line scanner to the next line.
+     *
+     * @return True if a line was read, false if there are no more lines.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean scanNextLine() throws IOException {
+        if (closed || lineScanner.isAtEnd()) {
+            return false;
+        }
+
+        if (!linesSkipped) {
+            for (int i = 0; i < skipLines; i++) {
+                lineScanner.nextLine();
+                linesRead++;
+            }
+            linesSkipped = true;
+        }
+        if (!lineScanner.nextLine()) {
+            return false;
+        }
+        linesRead++;
+        return true;
+    }
+
+    /**
+     * Returns the number of lines read, including skipped lines, the same way
+     * as {@link CSVReader#getLinesRead()}.
+     *
+     * @return The number of lines read by the reader (including skip lines).
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return The number of records read by the reader.
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Closes the underlying InputStream, if there is one.
+     *
+     * @throws IOException If the close fails
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (input != null) {
+            input.close();
+        }
+    }
+}
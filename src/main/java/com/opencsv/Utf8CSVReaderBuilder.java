@@ -0,0 +1,96 @@
+package com.opencsv;
+
+import com.opencsv.stream.reader.ByteLineScanner;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Builder for creating a Utf8CSVReader.
+ * <p>
+ * <code>
+ * final Utf8CSVReader reader =<br>
+ * new Utf8CSVReaderBuilder(new FileInputStream(file))<br>
+ * .withSkipLines(1)<br>
+ * .withCSVParser(parser)<br>
+ * .build();<br>
+ * </code></p>
+ *
+ * @see com.opencsv.Utf8CSVReader
+ * @since 3.9
+ */
+public class Utf8CSVReaderBuilder {
+
+    /*@Nullable*/private final InputStream in;
+    /*@Nullable*/private final ByteBuffer bytes;
+    private int skipLines = CSVReader.DEFAULT_SKIP_LINES;
+    /*@Nullable*/private CSVParser parser = null;
+
+    /**
+     * Sets the InputStream to read UTF-8 encoded CSV data from.
+     *
+     * @param in The InputStream to read. It is closed when the reader is closed.
+     */
+    public Utf8CSVReaderBuilder(final InputStream in) {
+        if (in == null) {
+            throw new IllegalArgumentException("InputStream may not be null");
+        }
+        this.in = in;
+        this.bytes = null;
+    }
+
+    /**
+     * Sets the bytes to read UTF-8 encoded CSV data from. The bytes between
+     * the position and the limit of the buffer are read, and the buffer
+     * itself is not modified.
+     *
+     * @param bytes The UTF-8 encoded CSV data
+     */
+    public Utf8CSVReaderBuilder(final ByteBuffer bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("ByteBuffer may not be null");
+        }
+        this.in = null;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Sets the number of lines to skip before reading.
+     *
+     * @param skipLines The number of lines to skip before reading.
+     * @return The Utf8CSVReaderBuilder with skipLines set.
+     */
+    public Utf8CSVReaderBuilder withSkipLines(final int skipLines) {
+        this.skipLines = skipLines <= 0 ? 0 : skipLines;
+        return this;
+    }
+
+    /**
+     * Sets the parser whose configuration is used to parse the input.
+     * The parser itself is not used, so it can be shared with other readers.
+     * The size of fields and records is not limited on this path, so a
+     * parser with {@link CSVParser#getMaxFieldSize()} or
+     * {@link CSVParser#getMaxRecordSize()} set is rejected by {@link #build()}.
+     *
+     * @param parser The parser whose configuration is used.
+     * @return The Utf8CSVReaderBuilder with the CSVParser set.
+     */
+    public Utf8CSVReaderBuilder withCSVParser(final /*@Nullable*/ CSVParser parser) {
+        this.parser = parser;
+        return this;
+    }
+
+    /**
+     * Creates the Utf8CSVReader.
+     *
+     * @return The Utf8CSVReader based on the set criteria.
+     * @throws IllegalArgumentException If the separator, quote or escape
+     *                                  character of the parser is not an ASCII character,
+     *                                  or the parser limits the size of fields or records
+     */
+    public Utf8CSVReader build() {
+        CSVParser csvParser = parser != null ? parser : new CSVParser();
+        ByteLineScanner lineScanner = in != null ? new ByteLineScanner(in) : new ByteLineScanner(bytes);
+        return new Utf8CSVReader(in, lineScanner, csvParser, skipLines);
+    }
+}
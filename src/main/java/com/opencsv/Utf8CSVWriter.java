@@ -0,0 +1,417 @@
+package com.opencsv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes CSV data encoded in UTF-8 to an {@link OutputStream} or a
+ * {@link WritableByteChannel}, without going through a {@link java.io.Writer}.
+ * <p>
+ * Rows are quoted and escaped exactly as {@link CSVWriter} quotes and
+ * escapes them, and encoded straight into a reusable byte buffer, in the
+ * same pass over every field. Characters of the ASCII range, which make up
+ * most CSV data, are copied as single bytes. Characters that cannot be
+ * encoded, unpaired surrogates, are written as '?', as an
+ * {@link java.io.OutputStreamWriter} for UTF-8 writes them.
+ * </p>
+ * <p>
+ * The rows are written to the stream or channel when the buffer is full,
+ * and when the writer is flushed or closed, so that a
+ * {@link java.nio.channels.FileChannel} or socket gets few large writes. A
+ * channel must be in blocking mode. As for the CSVWriter, errors of the
+ * output are not thrown by {@link #writeNext(String[])} but reported by
+ * {@link #checkError()}.
+ * </p>
+ * <p>Example code for using this class:<br><br>
+ * <code>
+ * Utf8CSVWriter writer = new Utf8CSVWriterBuilder(fileChannel).build();<br>
+ * for (String[] row : rows) {<br>
+ * &nbsp;&nbsp;writer.writeNext(row, false);<br>
+ * }<br>
+ * writer.close();<br>
+ * </code></p>
+ *
+ * @see com.opencsv.Utf8CSVWriterBuilder
+ * @since 3.9
+ */
+public class Utf8CSVWriter implements Closeable, Flushable {
+
+    /**
+     * The default size of the buffer, in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /**
+     * The smallest size of the buffer, which holds the bytes of any
+     * character with its escape character.
+     */
+    public static final int MIN_BUFFER_SIZE = 16;
+
+    /**
+     * The most bytes a character takes in UTF-8; a surrogate pair takes
+     * four bytes for two characters.
+     */
+    private static final int MAX_BYTES_PER_CHAR = 3;
+
+    /*@Nullable*/private final OutputStream out;
+    /*@Nullable*/private final WritableByteChannel channel;
+    private final char quotechar;
+    private final CsvCharClasses charClasses;
+    private final byte[] separatorBytes;
+    private final byte[] quoteBytes;
+    private final byte[] escapeBytes;
+    private final byte[] lineEndBytes;
+
+    private final ByteBuffer buffer;
+    /**
+     * The array of the buffer, which the rows are encoded into.
+     */
+    private final byte[] bytes;
+    /**
+     * The number of bytes in the buffer.
+     */
+    private int count = 0;
+    private volatile IOException exception;
+
+    /**
+     * Creates a writer. Exactly one of out and channel is not null.
+     *
+     * @param out        The stream to write to
+     * @param channel    The channel to write to
+     * @param separator  The delimiter to use for separating entries
+     * @param quotechar  The character to use for quoted elements
+     * @param escapechar The character to use for escaping quotechars or escapechars
+     * @param lineEnd    The line feed terminator to use
+     * @param bufferSize The size of the buffer, at least {@link #MIN_BUFFER_SIZE}
+     */
+    Utf8CSVWriter(OutputStream out, WritableByteChannel channel, char separator, char quotechar,
+                  char escapechar, String lineEnd, int bufferSize) {
+        this.out = out;
+        this.channel = channel;
+        this.quotechar = quotechar;
+        this.charClasses = new CsvCharClasses(separator, quotechar, escapechar);
+        this.separatorBytes = String.valueOf(separator).getBytes(Utf8.UTF_8);
+        this.quoteBytes = String.valueOf(quotechar).getBytes(Utf8.UTF_8);
+        this.escapeBytes = String.valueOf(escapechar).getBytes(Utf8.UTF_8);
+        this.lineEndBytes = lineEnd.getBytes(Utf8.UTF_8);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.bytes = buffer.array();
+    }
+
+    /**
+     * Writes the next line, quoting all values.
+     *
+     * @param nextLine A string array with each comma-separated element as a separate
+     *                 entry.
+     */
+    public void writeNext(String[] nextLine) {
+        writeNext(nextLine, true);
+    }
+
+    /**
+     * Writes the next line.
+     *
+     * @param nextLine         A string array with each comma-separated element as a separate
+     *                         entry.
+     * @param applyQuotesToAll True if all values are to be quoted. False applies quotes only
+     *                         to values which contain the separator, escape, quote, or new line characters.
+     */
+    public synchronized void writeNext(String[] nextLine, boolean applyQuotesToAll) {
+        if (nextLine == null) {
+            return;
+        }
+        try {
+            appendRow(nextLine, applyQuotesToAll);
+        } catch (IOException e) {
+            exception = e;
+        }
+    }
+
+    /**
+     * Writes all rows, quoting all values.
+     *
+     * @param allLines An Iterable of String[], with each String[] representing a line of
+     *                 the file.
+     */
+    public void writeAll(Iterable<String[]> allLines) {
+        writeAll(allLines, true);
+    }
+
+    /**
+     * Writes all rows.
+     *
+     * @param allLines         An Iterable of String[], with each String[] representing a line of
+     *                         the file.
+     * @param applyQuotesToAll True if all values are to be quoted. False applies quotes only
+     *                         to values which contain the separator, escape, quote, or new line characters.
+     */
+    public synchronized void writeAll(Iterable<String[]> allLines, boolean applyQuotesToAll) {
+        try {
+            for (String[] line : allLines) {
+                if (line != null) {
+                    appendRow(line, applyQuotesToAll);
+                }
+            }
+        } catch (IOException e) {
+            exception = e;
+        }
+    }
+
+    private void appendRow(String[] row, boolean applyQuotesToAll) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i != 0) {
+                appendBytes(separatorBytes);
+            }
+            if (row[i] != null) {
+                appendField(row[i], applyQuotesToAll);
+            }
+        }
+        appendBytes(lineEndBytes);
+    }
+
+    /**
+     * Encodes a field, quoting it if all values are to be quoted or it
+     * holds special characters, and escaping the characters to escape.
+     * Fields are copied unquoted until their first special character, as by
+     * {@link RowFormatter}.
+     *
+     * @param field            The field
+     * @param applyQuotesToAll True if all values are to be quoted
+     * @throws IOException If the full buffer cannot be written
+     */
+    private void appendField(String field, boolean applyQuotesToAll) throws IOException {
+        int length = field.length();
+        // every character may be escaped, and the field quoted
+        long maxLength = 2L * quoteBytes.length + (long) length * (MAX_BYTES_PER_CHAR + escapeBytes.length);
+        if (maxLength > bytes.length - count) {
+            writeBuffer();
+            if (maxLength > bytes.length) {
+                appendLargeField(field, applyQuotesToAll);
+                return;
+            }
+        }
+        byte[] buf = bytes;
+        int n = count;
+
+        boolean quote = applyQuotesToAll && quotechar != CSVWriter.NO_QUOTE_CHARACTER;
+        if (quote) {
+            n = put(quoteBytes, buf, n);
+        }
+        int start = n;
+        boolean special = false;
+        for (int j = 0; j < length; j++) {
+            char nextChar = field.charAt(j);
+            int characterClass = charClasses.classOf(nextChar);
+            if (characterClass == CsvCharClasses.PLAIN) {
+                if (nextChar < 0x80) {
+                    // clean ASCII characters are copied as they are
+                    buf[n++] = (byte) nextChar;
+                } else {
+                    n = encode(field, j, buf, n);
+                    if (isPair(field, j)) {
+                        j++;
+                    }
+                }
+                continue;
+            }
+            if (!special) {
+                special = true;
+                if (!quote && quotechar != CSVWriter.NO_QUOTE_CHARACTER) {
+                    // the field turns out to need quotes after all
+                    System.arraycopy(buf, start, buf, start + quoteBytes.length, n - start);
+                    put(quoteBytes, buf, start);
+                    n += quoteBytes.length;
+                    quote = true;
+                }
+            }
+            if ((characterClass & CsvCharClasses.ESCAPE) != 0) {
+                n = put(escapeBytes, buf, n);
+            }
+            n = encode(field, j, buf, n);
+            if (isPair(field, j)) {
+                j++;
+            }
+        }
+
+        if (quote) {
+            n = put(quoteBytes, buf, n);
+        }
+        count = n;
+    }
+
+    /**
+     * Encodes a field that may not fit into the buffer, writing the buffer
+     * whenever it is full.
+     *
+     * @param field            The field
+     * @param applyQuotesToAll True if all values are to be quoted
+     * @throws IOException If the full buffer cannot be written
+     */
+    private void appendLargeField(String field, boolean applyQuotesToAll) throws IOException {
+        int length = field.length();
+        boolean special = false;
+        for (int j = 0; j < length && !special; j++) {
+            special = charClasses.classOf(field.charAt(j)) != CsvCharClasses.PLAIN;
+        }
+        boolean quote = (applyQuotesToAll || special) && quotechar != CSVWriter.NO_QUOTE_CHARACTER;
+        if (quote) {
+            appendBytes(quoteBytes);
+        }
+        for (int j = 0; j < length; j++) {
+            if (bytes.length - count < MIN_BUFFER_SIZE) {
+                writeBuffer();
+            }
+            if ((charClasses.classOf(field.charAt(j)) & CsvCharClasses.ESCAPE) != 0) {
+                count = put(escapeBytes, bytes, count);
+            }
+            count = encode(field, j, bytes, count);
+            if (isPair(field, j)) {
+                j++;
+            }
+        }
+        if (quote) {
+            appendBytes(quoteBytes);
+        }
+    }
+
+    /**
+     * @param field The field
+     * @param index The index of a character of the field
+     * @return True if the character is the first of a surrogate pair.
+     */
+    private static boolean isPair(String field, int index) {
+        return Character.isHighSurrogate(field.charAt(index))
+                && index + 1 < field.length()
+                && Character.isLowSurrogate(field.charAt(index + 1));
+    }
+
+    /**
+     * Encodes a character, together with the next one if they are a
+     * surrogate pair.
+     *
+     * @param field The field holding the character
+     * @param index The index of the character in the field
+     * @param buf   The array to encode the character into
+     * @param n     The index in buf to encode the character at
+     * @return The index in buf after the bytes of the character.
+     */
+    private static int encode(String field, int index, byte[] buf, int n) {
+        char c = field.charAt(index);
+        if (c < 0x80) {
+            buf[n++] = (byte) c;
+        } else if (c < 0x800) {
+            buf[n++] = (byte) (0xc0 | (c >> 6));
+            buf[n++] = (byte) (0x80 | (c & 0x3f));
+        } else if (c < Character.MIN_SURROGATE || c > Character.MAX_SURROGATE) {
+            buf[n++] = (byte) (0xe0 | (c >> 12));
+            buf[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buf[n++] = (byte) (0x80 | (c & 0x3f));
+        } else if (isPair(field, index)) {
+            int codePoint = Character.toCodePoint(c, field.charAt(index + 1));
+            buf[n++] = (byte) (0xf0 | (codePoint >> 18));
+            buf[n++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+            buf[n++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            buf[n++] = (byte) (0x80 | (codePoint & 0x3f));
+        } else {
+            buf[n++] = '?';
+        }
+        return n;
+    }
+
+    private static int put(byte[] source, byte[] buf, int n) {
+        System.arraycopy(source, 0, buf, n, source.length);
+        return n + source.length;
+    }
+
+    /**
+     * Appends bytes to the buffer, writing the buffer whenever it is full.
+     *
+     * @param source The bytes to append
+     * @throws IOException If the full buffer cannot be written
+     */
+    private void appendBytes(byte[] source) throws IOException {
+        int offset = 0;
+        while (offset < source.length) {
+            if (count == bytes.length) {
+                writeBuffer();
+            }
+            int length = Math.min(source.length - offset, bytes.length - count);
+            System.arraycopy(source, offset, bytes, count, length);
+            offset += length;
+            count += length;
+        }
+    }
+
+    /**
+     * Writes the bytes in the buffer to the stream or channel. The bytes
+     * are discarded even if they cannot be written.
+     *
+     * @throws IOException If the bytes cannot be written
+     */
+    private void writeBuffer() throws IOException {
+        int n = count;
+        if (n == 0) {
+            return;
+        }
+        count = 0;
+        if (channel != null) {
+            buffer.clear();
+            buffer.limit(n);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } else {
+            out.write(bytes, 0, n);
+        }
+    }
+
+    /**
+     * Writes the rows in the buffer and flushes the stream. A channel is
+     * not forced to the storage device.
+     *
+     * @throws IOException If bad things happen
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        writeBuffer();
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes the rows in the buffer and closes the stream or channel.
+     *
+     * @throws IOException If bad things happen
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (out != null) {
+                out.close();
+            } else {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Flushes the buffer and checks to see if there has been an error
+     * writing the rows.
+     *
+     * @return True if the stream or channel has encountered an error.
+     */
+    public boolean checkError() {
+        try {
+            flush();
+        } catch (IOException e) {
+            exception = e;
+        }
+        return exception != null;
+    }
+}
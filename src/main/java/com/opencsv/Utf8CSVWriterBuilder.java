@@ -0,0 +1,134 @@
+package com.opencsv;
+
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Builder for creating a Utf8CSVWriter.
+ * <p>
+ * <code>
+ * final Utf8CSVWriter writer =<br>
+ * new Utf8CSVWriterBuilder(new FileOutputStream(file).getChannel())<br>
+ * .withSeparator(';')<br>
+ * .withLineEnd(CSVWriter.RFC4180_LINE_END)<br>
+ * .build();<br>
+ * </code></p>
+ *
+ * @see com.opencsv.Utf8CSVWriter
+ * @since 3.9
+ */
+public class Utf8CSVWriterBuilder {
+
+    /*@Nullable*/private final OutputStream out;
+    /*@Nullable*/private final WritableByteChannel channel;
+    private char separator = CSVWriter.DEFAULT_SEPARATOR;
+    private char quotechar = CSVWriter.DEFAULT_QUOTE_CHARACTER;
+    private char escapechar = CSVWriter.DEFAULT_ESCAPE_CHARACTER;
+    private String lineEnd = CSVWriter.DEFAULT_LINE_END;
+    private int bufferSize = Utf8CSVWriter.DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Sets the OutputStream to write UTF-8 encoded CSV data to.
+     *
+     * @param out The OutputStream to write to. It is closed when the writer is closed.
+     * @throws IllegalArgumentException If the OutputStream is null
+     */
+    public Utf8CSVWriterBuilder(final OutputStream out) {
+        if (out == null) {
+            throw new IllegalArgumentException("OutputStream may not be null");
+        }
+        this.out = out;
+        this.channel = null;
+    }
+
+    /**
+     * Sets the channel to write UTF-8 encoded CSV data to.
+     *
+     * @param channel The channel to write to, in blocking mode. It is closed
+     *                when the writer is closed.
+     * @throws IllegalArgumentException If the channel is null
+     */
+    public Utf8CSVWriterBuilder(final WritableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("WritableByteChannel may not be null");
+        }
+        this.out = null;
+        this.channel = channel;
+    }
+
+    /**
+     * Sets the delimiter to use for separating entries.
+     *
+     * @param separator The delimiter to use for separating entries
+     * @return The Utf8CSVWriterBuilder
+     */
+    public Utf8CSVWriterBuilder withSeparator(final char separator) {
+        this.separator = separator;
+        return this;
+    }
+
+    /**
+     * Sets the character to use for quoted elements.
+     *
+     * @param quotechar The character to use for quoted elements, or
+     *                  {@link CSVWriter#NO_QUOTE_CHARACTER}
+     * @return The Utf8CSVWriterBuilder
+     */
+    public Utf8CSVWriterBuilder withQuoteChar(final char quotechar) {
+        this.quotechar = quotechar;
+        return this;
+    }
+
+    /**
+     * Sets the character to use for escaping quotechars or escapechars.
+     *
+     * @param escapechar The character to use for escaping, or
+     *                   {@link CSVWriter#NO_ESCAPE_CHARACTER}
+     * @return The Utf8CSVWriterBuilder
+     */
+    public Utf8CSVWriterBuilder withEscapeChar(final char escapechar) {
+        this.escapechar = escapechar;
+        return this;
+    }
+
+    /**
+     * Sets the line feed terminator to use.
+     *
+     * @param lineEnd The line feed terminator to use
+     * @return The Utf8CSVWriterBuilder
+     * @throws IllegalArgumentException If the line end is null
+     */
+    public Utf8CSVWriterBuilder withLineEnd(final String lineEnd) {
+        if (lineEnd == null) {
+            throw new IllegalArgumentException("Line end may not be null");
+        }
+        this.lineEnd = lineEnd;
+        return this;
+    }
+
+    /**
+     * Sets the size of the buffer the rows are encoded into. The rows are
+     * written to the output whenever the buffer is full.
+     *
+     * @param bufferSize The size of the buffer in bytes
+     * @return The Utf8CSVWriterBuilder
+     * @throws IllegalArgumentException If the size is less than
+     *                                  {@link Utf8CSVWriter#MIN_BUFFER_SIZE}
+     */
+    public Utf8CSVWriterBuilder withBufferSize(final int bufferSize) {
+        if (bufferSize < Utf8CSVWriter.MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("The buffer size must be at least " + Utf8CSVWriter.MIN_BUFFER_SIZE);
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Creates the Utf8CSVWriter.
+     *
+     * @return The Utf8CSVWriter based on the set criteria.
+     */
+    public Utf8CSVWriter build() {
+        return new Utf8CSVWriter(out, channel, separator, quotechar, escapechar, lineEnd, bufferSize);
+    }
+}
@@ -0,0 +1,257 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.stream.reader.ByteSearch;
+
+import java.io.IOException;
+
+/**
+ * Parses UTF-8 encoded lines the same way a {@link CSVParser} parses the
+ * decoded lines, without decoding them.
+ * <p>
+ * The separator, quote and escape characters have to be ASCII characters.
+ * In UTF-8 the bytes of ASCII characters never occur inside the encoding of
+ * another character, so the structure of a line can be found by looking at
+ * its bytes. The fields are passed to the collector as ranges of bytes and
+ * are only decoded if the collector needs their characters.
+ * </p>
+ * <p>
+ * Runs of bytes that are neither separators nor quote or escape characters
+ * are handled as a whole: the end of the run is found eight bytes at a time
+ * by a {@link ByteSearch} and the run is added to the field at once.
+ * </p>
+ *
+ * @since 3.9
+ */
+class Utf8LineParser {
+    /**
+     * The number of bytes of the longest encoding of a character, malformed
+     * input included.
+     */
+    private static final int MAX_BYTES_PER_CHARACTER = 4;
+
+    private final byte separator;
+    private final byte quotechar;
+    private final byte escape;
+    private final boolean strictQuotes;
+    private final boolean ignoreLeadingWhiteSpace;
+    private final boolean ignoreQuotations;
+    private final CSVReaderNullFieldIndicator nullFieldIndicator;
+    /**
+     * Finds the next separator, quote or escape character.
+     */
+    private final ByteSearch specialBytes;
+
+    private final ByteFieldBuffer field = new ByteFieldBuffer();
+    private boolean pending = false;
+    private int column = 0;
+    private boolean inField = false;
+    private int multiLineCount = 0;
+
+    /**
+     * Creates a parser with the configuration of a CSVParser.
+     *
+     * @param parser The parser whose configuration is used
+     * @throws IllegalArgumentException If the separator, quote or escape
+     *                                  character is not an ASCII character, or
+     *                                  the parser limits the size of fields or records
+     */
+    Utf8LineParser(CSVParser parser) {
+        if (parser.getMaxFieldSize() != 0 || parser.getMaxRecordSize() != 0) {
+            throw new IllegalArgumentException("The size of fields and records cannot be limited when parsing bytes");
+        }
+        this.separator = toAscii(parser.getSeparator(), "separator");
+        this.quotechar = toAscii(parser.getQuotechar(), "quote");
+        this.escape = toAscii(parser.getEscape(), "escape");
+        this.strictQuotes = parser.isStrictQuotes();
+        this.ignoreLeadingWhiteSpace = parser.isIgnoreLeadingWhiteSpace();
+        this.ignoreQuotations = parser.isIgnoreQuotations();
+        this.nullFieldIndicator = parser.nullFieldIndicator();
+        this.specialBytes = new ByteSearch(separator, quotechar, escape);
+    }
+
+    private static byte toAscii(char c, String name) {
+        if (c > 0x7F) {
+            throw new IllegalArgumentException("The " + name + " character must be an ASCII character to parse bytes");
+        }
+        return (byte) c;
+    }
+
+    /**
+     * @return True if the last line parsed ended inside a quoted field.
+     */
+    boolean isPending() {
+        return pending;
+    }
+
+    /**
+     * Parses a line and passes the fields found to a collector. This is the
+     * byte counterpart of
+     * {@link CSVParser#parseLine(char[], int, int, boolean, FieldCollector)}
+     * for lines that may be part of a multi-line record.
+     *
+     * @param line      Buffer holding the UTF-8 encoded line to parse
+     * @param offset    Index of the first byte of the line in the buffer
+     * @param length    Number of bytes in the line
+     * @param collector Receives the fields found
+     * @throws IOException If a quoted field spans too many lines
+     */
+    void parseLine(byte[] line, int offset, int length, FieldCollector collector) throws IOException {
+        boolean inQuotes = false;
+        boolean fromQuotedField = false;
+        if (pending) {
+            field.continueLine(line);
+            pending = false;
+            inQuotes = !this.ignoreQuotations;
+        } else {
+            field.startLine(line);
+            column = 0;
+        }
+        boolean collect = collector.isSelected(column);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+
+            byte c = line[i];
+            if (c == this.escape) {
+                if (isNextByteEscapable(line, end, inQuotes(inQuotes), i)) {
+                    i++;
+                    if (collect) {
+                        field.append(i);
+                    }
+                }
+            } else if (c == quotechar) {
+                if (isNextByteQuote(line, end, inQuotes(inQuotes), i)) {
+                    i++;
+                    if (collect) {
+                        field.append(i);
+                    }
+                } else {
+
+                    inQuotes = !inQuotes;
+                    if (field.isEmpty()) {
+                        fromQuotedField = true;
+                    }
+
+                    // the tricky case of an embedded quote in the middle: a,bc"d"ef,g
+                    if (!strictQuotes) {
+                        if (isPastStartOfLine(line, offset, i)
+                                && line[i - 1] != this.separator
+                                && end > (i + 1)
+                                && line[i + 1] != this.separator) {
+
+                            if (ignoreLeadingWhiteSpace && !field.isEmpty() && field.isWhitespace()) {
+                                field.discard();
+                            } else if (collect) {
+                                field.append(i);
+                            }
+
+                        }
+                    }
+                }
+                inField = !inField;
+            } else if (c == separator && !(inQuotes && !ignoreQuotations)) {
+                addField(collector, collect, fromQuotedField);
+                collect = collector.isSelected(column);
+                fromQuotedField = false;
+                inField = false;
+            } else {
+                // every byte up to the next special one is handled the same way
+                int runEnd = specialBytes.indexOf(line, i + 1, end);
+                if (!strictQuotes || (inQuotes && !ignoreQuotations)) {
+                    if (collect) {
+                        field.append(i, runEnd);
+                    }
+                    inField = true;
+                    fromQuotedField = true;
+                }
+                i = runEnd - 1;
+            }
+
+        }
+        if (inQuotes && !ignoreQuotations) {
+            if (collect) {
+                field.append((byte) '\n');
+            }
+            pending = true;
+            multiLineCount++;
+            if (multiLineCount > ICSVParser.MAX_LINES_IN_MULTILINE) {
+                throw new IOException(
+                        "Multi-line field with more than " + ICSVParser.MAX_LINES_IN_MULTILINE +
+                        " lines. Possible stray quote?");
+            }
+            if (inField) {
+                fromQuotedField = true;
+            }
+        } else {
+            multiLineCount = 0;
+            inField = false;
+        }
+
+        if (!pending) {
+            addField(collector, collect, fromQuotedField);
+        }
+    }
+
+    private void addField(FieldCollector collector, boolean collect, boolean fromQuotedField) {
+        if (collect) {
+            if (field.isEmpty() && shouldConvertEmptyToNull(fromQuotedField)) {
+                collector.addField(column, (byte[]) null, 0, 0);
+            } else {
+                collector.addField(column, field.getBytes(), field.getOffset(), field.getLength());
+            }
+        }
+        field.clear();
+        column++;
+    }
+
+    private boolean shouldConvertEmptyToNull(boolean fromQuotedField) {
+        switch (nullFieldIndicator) {
+            case BOTH:
+                return true;
+            case EMPTY_SEPARATORS:
+                return !fromQuotedField;
+            case EMPTY_QUOTES:
+                return fromQuotedField;
+            default:
+                return false;
+        }
+    }
+
+    private boolean inQuotes(boolean inQuotes) {
+        return (inQuotes && !ignoreQuotations) || inField;
+    }
+
+    private boolean isNextByteQuote(byte[] line, int end, boolean inQuotes, int i) {
+        return inQuotes
+                && end > (i + 1)
+                && line[i + 1] == quotechar;
+    }
+
+    private boolean isNextByteEscapable(byte[] line, int end, boolean inQuotes, int i) {
+        return inQuotes
+                && end > (i + 1)
+                && (line[i + 1] == quotechar || line[i + 1] == escape);
+    }
+
+    /**
+     * Checks if more than two characters of the line come before an index.
+     * CSVParser counts characters here, so the bytes before the index are
+     * decoded if they are not all ASCII characters and might encode fewer
+     * than three characters.
+     *
+     * @param line   Buffer holding the line
+     * @param offset Index of the first byte of the line
+     * @param i      Index of the current byte
+     * @return True if the line has more than two characters before index i
+     */
+    private static boolean isPastStartOfLine(byte[] line, int offset, int i) {
+        int bytes = i - offset;
+        if (bytes <= 2) {
+            return false;
+        }
+        if (bytes > 2 * MAX_BYTES_PER_CHARACTER || Utf8.isAscii(line, offset, bytes)) {
+            return true;
+        }
+        return Utf8.decode(line, offset, bytes).length() > 2;
+    }
+}
@@ -0,0 +1,16 @@
+package com.opencsv.enums;
+
+/**
+ * Enumeration used to tell the AsyncCSVWriter what to do with a row when
+ * its queue is full.
+ * <ul>
+ * <li>BLOCK - the thread writing the row waits until there is room in the queue. Default.</li>
+ * <li>DROP - the row is dropped and counted.</li>
+ * </ul>
+ *
+ * @since 3.9
+ */
+public enum BackpressurePolicy {
+    BLOCK,
+    DROP;
+}
@@ -0,0 +1,96 @@
+package com.opencsv.exceptions;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a record or one of its fields is longer than the limit set with
+ * {@link com.opencsv.CSVParserBuilder#withMaxRecordSize(int)} or
+ * {@link com.opencsv.CSVParserBuilder#withMaxFieldSize(int)}.
+ * <p>
+ * This is usually a sign of a stray quote that turned the rest of the input
+ * into one quoted field. The exception tells where the offending line
+ * starts, so the input can be inspected or repaired.
+ * </p>
+ *
+ * @since 3.9
+ */
+public class CsvLimitExceededException extends IOException {
+
+    private final int limit;
+    private final int column;
+    private final long recordOffset;
+    private long lineNumber = -1;
+    private long characterOffset = -1;
+
+    /**
+     * Constructor for a limit exceeded while parsing a record.
+     *
+     * @param message      A human-readable error message
+     * @param limit        The limit that was exceeded, in characters
+     * @param column       The zero-based column of the field that is too long,
+     *                     or -1 if the record as a whole is too long
+     * @param recordOffset The offset in characters of the offending line
+     *                     from the start of its record
+     */
+    public CsvLimitExceededException(String message, int limit, int column, long recordOffset) {
+        super(message);
+        this.limit = limit;
+        this.column = column;
+        this.recordOffset = recordOffset;
+    }
+
+    /**
+     * @return The limit that was exceeded, in characters.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The zero-based column of the field that is too long, or -1 if
+     * the record as a whole is too long.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * @return The offset in characters of the line on which the limit was
+     * exceeded from the start of its record, counting one character for
+     * every line break within the record.
+     */
+    public long getRecordOffset() {
+        return recordOffset;
+    }
+
+    /**
+     * @return The one-based number of the line on which the limit was
+     * exceeded, or -1 if it is not known.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @param lineNumber The one-based number of the line on which the limit was exceeded
+     */
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * @return The offset in characters of the line on which the limit was
+     * exceeded from the start of the input, or -1 if it is not known.
+     */
+    public long getCharacterOffset() {
+        return characterOffset;
+    }
+
+    /**
+     * @param characterOffset The offset in characters of the line on which
+     *                        the limit was exceeded from the start of the input
+     */
+    public void setCharacterOffset(long characterOffset) {
+        this.characterOffset = characterOffset;
+    }
+}
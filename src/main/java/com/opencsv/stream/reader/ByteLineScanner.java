@@ -0,0 +1,213 @@
+package com.opencsv.stream.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads lines of bytes from an InputStream or a ByteBuffer into a reusable
+ * byte buffer.
+ * <p>
+ * This is the byte counterpart of {@link LineScanner} for input in an
+ * encoding in which line feeds and carriage returns are single bytes that
+ * do not occur inside other characters, like UTF-8. The bytes are not
+ * decoded: after a successful call to {@link #nextLine()} the line can be
+ * found in {@link #getBuffer()} between {@link #getLineStart()} and
+ * {@link #getLineEnd()}.
+ * </p>
+ * <p>
+ * Lines are terminated the same way as for
+ * {@link java.io.BufferedReader#readLine()}: by a line feed, a carriage return,
+ * or a carriage return followed immediately by a line feed. The terminator is
+ * not part of the line. The line breaks are searched for eight bytes at a
+ * time with a {@link ByteSearch}.
+ * </p>
+ *
+ * @since 3.9
+ */
+public class ByteLineScanner {
+    /**
+     * The default size of the byte buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = LineScanner.DEFAULT_BUFFER_SIZE;
+
+    private final LineSplitter splitter = new LineSplitter(false);
+    private final InputStream in;
+    private final ByteBuffer source;
+    private byte[] buffer;
+    private int limit = 0;
+    private int lineStart = 0;
+    private int lineEnd = 0;
+    private boolean endOfInput = false;
+
+    /**
+     * ByteLineScanner constructor.
+     *
+     * @param in InputStream that data will be read from.
+     */
+    public ByteLineScanner(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * ByteLineScanner constructor.
+     *
+     * @param in         InputStream that data will be read from.
+     * @param bufferSize Initial size of the byte buffer.
+     */
+    public ByteLineScanner(InputStream in, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be greater than zero");
+        }
+        this.in = in;
+        this.source = null;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Reads the bytes between the position and the limit of a ByteBuffer.
+     * The ByteBuffer itself is not modified. If it is backed by an array the
+     * lines are found in that array and nothing is copied.
+     *
+     * @param source ByteBuffer that data will be read from.
+     */
+    public ByteLineScanner(ByteBuffer source) {
+        this.in = null;
+        if (source.hasArray()) {
+            this.source = null;
+            this.buffer = source.array();
+            this.lineStart = source.arrayOffset() + source.position();
+            this.lineEnd = lineStart;
+            this.limit = source.arrayOffset() + source.limit();
+            splitter.setPosition(lineStart);
+            this.endOfInput = true;
+        } else {
+            this.source = source.duplicate();
+            this.buffer = new byte[Math.min(DEFAULT_BUFFER_SIZE, Math.max(source.remaining(), 1))];
+        }
+    }
+
+    /**
+     * Advances to the next line.
+     *
+     * @return True if a line was read, false if the end of the input was reached.
+     * @throws IOException On error from the underlying InputStream
+     */
+    public boolean nextLine() throws IOException {
+        // the line starts here, or after a line feed ending the previous line
+        lineStart = splitter.getPosition();
+        lineEnd = lineStart;
+        while (!splitter.nextLine(buffer, limit)) {
+            if (!fill()) {
+                int start = splitter.getPosition();
+                if (start == limit) {
+                    return false;
+                }
+                lineStart = start;
+                lineEnd = limit;
+                splitter.setPosition(limit);
+                return true;
+            }
+        }
+        lineStart = splitter.getLineStart();
+        lineEnd = splitter.getLineEnd();
+        return true;
+    }
+
+    /**
+     * @return The buffer holding the current line. The buffer is reused and
+     * its content changes with the next call to {@link #nextLine()}.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return The index of the first byte of the current line in the buffer.
+     */
+    public int getLineStart() {
+        return lineStart;
+    }
+
+    /**
+     * @return The index just past the last byte of the current line in the buffer.
+     */
+    public int getLineEnd() {
+        return lineEnd;
+    }
+
+    /**
+     * @return The number of bytes in the current line.
+     */
+    public int getLineLength() {
+        return lineEnd - lineStart;
+    }
+
+    /**
+     * Checks if bytes have been read from the underlying input that have not
+     * yet been returned as part of a line.
+     *
+     * @return True if the buffer holds unread bytes.
+     */
+    public boolean hasBufferedBytes() {
+        return splitter.getPosition() < limit;
+    }
+
+    /**
+     * Checks if all bytes of the input have been returned as part of a line.
+     * If the buffer holds no unread bytes more bytes are read from the
+     * underlying input, but the position in the input does not change.
+     *
+     * @return True if there are no more bytes to read.
+     * @throws IOException On error from the underlying InputStream
+     */
+    public boolean isAtEnd() throws IOException {
+        return splitter.getPosition() == limit && !fill();
+    }
+
+    /**
+     * Reads more bytes from the underlying input.
+     * The unread part of the buffer, starting with the current line, is moved
+     * to the front of the buffer first, and the buffer is grown if the current
+     * line already fills it.
+     *
+     * @return False if the end of the input was reached.
+     * @throws IOException On error from the underlying InputStream
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int keep = limit - lineStart;
+        if (lineStart > 0) {
+            System.arraycopy(buffer, lineStart, buffer, 0, keep);
+            splitter.shift(lineStart);
+            lineStart = 0;
+        } else if (keep == buffer.length) {
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, keep);
+            buffer = grown;
+        }
+        limit = keep;
+
+        int read;
+        if (source != null) {
+            read = Math.min(source.remaining(), buffer.length - limit);
+            if (read == 0) {
+                read = -1;
+            } else {
+                source.get(buffer, limit, read);
+            }
+        } else {
+            do {
+                read = in.read(buffer, limit, buffer.length - limit);
+            } while (read == 0);
+        }
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
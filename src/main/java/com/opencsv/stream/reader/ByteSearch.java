@@ -0,0 +1,96 @@
+package com.opencsv.stream.reader;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Finds the first occurrence of any of up to three byte values in a byte
+ * array, looking at eight bytes at a time.
+ * <p>
+ * The bytes are read as a little endian long through a {@link ByteBuffer}
+ * view of the array, and each of the values searched for is found in the
+ * word with the usual SIMD within a register trick: after an exclusive or
+ * with the value repeated eight times the matching bytes are zero, and
+ * <code>(x - 0x01..01) &amp; ~x &amp; 0x80..80</code> sets the high bit of
+ * the lowest zero byte. Long runs without any of the values are skipped
+ * without a branch per byte.
+ * </p>
+ *
+ * @since 3.9
+ */
+public final class ByteSearch {
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private final byte first;
+    private final byte second;
+    private final byte third;
+    private final long firstPattern;
+    private final long secondPattern;
+    private final long thirdPattern;
+
+    private byte[] array;
+    private ByteBuffer words;
+
+    /**
+     * Creates a search for one to three byte values.
+     *
+     * @param values The values to search for
+     */
+    public ByteSearch(byte... values) {
+        if (values.length < 1 || values.length > 3) {
+            throw new IllegalArgumentException("Between one and three values can be searched for");
+        }
+        first = values[0];
+        second = values[Math.min(1, values.length - 1)];
+        third = values[values.length - 1];
+        firstPattern = pattern(first);
+        secondPattern = pattern(second);
+        thirdPattern = pattern(third);
+    }
+
+    private static long pattern(byte b) {
+        return ONES * (b & 0xFF);
+    }
+
+    /**
+     * Finds the first byte in a range of an array that is one of the values
+     * searched for.
+     *
+     * @param bytes The array to search
+     * @param from  The index of the first byte to look at
+     * @param to    The index just past the last byte to look at
+     * @return The index of the first byte found, or to if there is none.
+     */
+    public int indexOf(byte[] bytes, int from, int to) {
+        if (bytes != array) {
+            array = bytes;
+            words = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        int i = from;
+        for (int last = to - 8; i <= last; i += 8) {
+            long word = words.getLong(i);
+            long found = zeroBytes(word ^ firstPattern) | zeroBytes(word ^ secondPattern)
+                    | zeroBytes(word ^ thirdPattern);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            byte b = bytes[i];
+            if (b == first || b == second || b == third) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * @param x A word
+     * @return A word with the high bit of the lowest zero byte of x set, and
+     * no bits set below it. Bits above it may be set as well.
+     */
+    private static long zeroBytes(long x) {
+        return (x - ONES) & ~x & HIGH_BITS;
+    }
+}
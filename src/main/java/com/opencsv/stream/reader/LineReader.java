@@ -1,7 +1,5 @@
 package com.opencsv.stream.reader;
 
-import com.opencsv.ICSVParser;
-
 import java.io.BufferedReader;
 import java.io.IOException;
 
@@ -11,6 +9,12 @@ import java.io.IOException;
  * where carriage returns were being removed.
  * This class allows the user to determine if they wish to keep or
  * remove them from the data being read.
+ * <p>
+ * If carriage returns are kept, lines are only ended by line feeds. They are
+ * then found by scanning blocks of characters under a mark of the
+ * BufferedReader, which is reset to just after the line feed, so the
+ * BufferedReader is never read beyond the line returned.
+ * </p>
  *
  * @author scott
  * @since 2/19/15
@@ -19,6 +23,15 @@ import java.io.IOException;
 public class LineReader {
     private final BufferedReader reader;
     private final boolean keepCarriageReturns;
+    /**
+     * The number of characters scanned for a line feed at a time.
+     */
+    private static final int SCAN_SIZE = 1024;
+
+    /**
+     * Reusable buffer for the characters scanned. Created on first use.
+     */
+    private char[] scratch;
 
     /**
      * LineReader constructor.
@@ -42,11 +55,84 @@ public class LineReader {
     }
 
     private String readUntilNewline() throws IOException {
-        StringBuilder sb = new StringBuilder(ICSVParser.INITIAL_READ_SIZE);
-        for (int c = reader.read(); c > -1 && c != '\n'; c = reader.read()) {
-            sb.append((char) c);
+        if (scratch == null) {
+            scratch = new char[SCAN_SIZE];
+        }
+        StringBuilder sb = null;
+        while (true) {
+            reader.mark(SCAN_SIZE);
+            int read = reader.read(scratch, 0, SCAN_SIZE);
+            if (read < 0) {
+                break;
+            }
+            int end = 0;
+            while (end < read && scratch[end] != '\n') {
+                end++;
+            }
+            if (end < read) {
+                // give back what was read past the line feed
+                reader.reset();
+                reader.skip(end + 1);
+                if (sb == null) {
+                    return end > 0 ? new String(scratch, 0, end) : null;
+                }
+                sb.append(scratch, 0, end);
+                break;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(2 * SCAN_SIZE);
+            }
+            sb.append(scratch, 0, read);
         }
+        return sb != null && sb.length() > 0 ? sb.toString() : null;
+    }
 
-        return sb.length() > 0 ? sb.toString() : null;
+    /**
+     * Skips the next line of the Reader without creating a String for it.
+     * Lines end the same way as for {@link #readLine()}.
+     *
+     * @return True if a line was skipped, false at the end of the data.
+     * @throws IOException On error from BufferedReader
+     * @since 3.9
+     */
+    public boolean skipLine() throws IOException {
+        if (scratch == null) {
+            scratch = new char[SCAN_SIZE];
+        }
+        boolean skipped = false;
+        while (true) {
+            reader.mark(SCAN_SIZE);
+            int read = reader.read(scratch, 0, SCAN_SIZE);
+            if (read < 0) {
+                return skipped;
+            }
+            skipped = true;
+            int end = 0;
+            while (end < read && scratch[end] != '\n' && (keepCarriageReturns || scratch[end] != '\r')) {
+                end++;
+            }
+            if (end < read) {
+                int next = end + 1;
+                boolean lineFeedMayFollow = false;
+                if (scratch[end] == '\r') {
+                    if (next == read) {
+                        lineFeedMayFollow = true;
+                    } else if (scratch[next] == '\n') {
+                        next++;
+                    }
+                }
+                // give back what was read past the line
+                reader.reset();
+                reader.skip(next);
+                if (lineFeedMayFollow) {
+                    reader.mark(1);
+                    int c = reader.read();
+                    if (c >= 0 && c != '\n') {
+                        reader.reset();
+                    }
+                }
+                return true;
+            }
+        }
     }
 }
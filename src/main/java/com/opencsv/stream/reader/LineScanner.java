@@ -0,0 +1,380 @@
+package com.opencsv.stream.reader;
+
+import com.opencsv.ICSVParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Reads lines from a Reader into a reusable character buffer.
+ * <p>
+ * Unlike {@link java.io.BufferedReader#readLine()} no String is created for a
+ * line: after a successful call to {@link #nextLine()} the line can be found
+ * in {@link #getBuffer()} between {@link #getLineStart()} and
+ * {@link #getLineEnd()}. The buffer is refilled in large blocks from the
+ * underlying Reader and grows if a single line does not fit into it.
+ * </p>
+ * <p>
+ * Lines are terminated the same way as for
+ * {@link java.io.BufferedReader#readLine()}: by a line feed, a carriage return,
+ * or a carriage return followed immediately by a line feed. The terminator is
+ * not part of the line.
+ * </p>
+ * <p>
+ * A scanner that keeps carriage returns ends lines at line feeds only, the
+ * same way {@link LineReader} does: a carriage return is kept as part of the
+ * line, so a line ended by a carriage return and a line feed ends in the
+ * carriage return, and the input can be reassembled exactly by joining the
+ * lines with line feeds.
+ * </p>
+ * <p>
+ * The length of the lines kept in the buffer can be limited with
+ * {@link #setMaxLineLength(int)}, so that a file without line breaks does
+ * not make the buffer grow until the memory runs out.
+ * </p>
+ * <p>
+ * If the charset the input was decoded from is known, the scanner can count
+ * the bytes of the lines it returns with {@link #setByteCounting(Charset)},
+ * to tell where in a file the next line starts.
+ * </p>
+ *
+ * @since 3.9
+ */
+public class LineScanner {
+    /**
+     * The default size of the character buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8 * ICSVParser.INITIAL_READ_SIZE;
+
+    private final Reader reader;
+    private final LineSplitter splitter;
+    private char[] buffer;
+    private int limit = 0;
+    private int lineStart = 0;
+    private int lineEnd = 0;
+    private boolean endOfInput = false;
+    private int maxLineLength = Integer.MAX_VALUE;
+    private boolean lineTooLong = false;
+    /**
+     * The number of characters of the input that were moved out of the
+     * front of the buffer.
+     */
+    private long discarded = 0;
+    private long lineOffset = 0;
+    private boolean countBytes = false;
+    private boolean utf8 = false;
+    /**
+     * The number of bytes of the lines returned so far and their terminators.
+     */
+    private long bytes = 0;
+
+    /**
+     * LineScanner constructor.
+     *
+     * @param reader Reader that data will be read from.
+     */
+    public LineScanner(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * LineScanner constructor.
+     *
+     * @param reader     Reader that data will be read from.
+     * @param bufferSize Initial size of the character buffer.
+     */
+    public LineScanner(Reader reader, int bufferSize) {
+        this(reader, bufferSize, false);
+    }
+
+    /**
+     * LineScanner constructor.
+     *
+     * @param reader              Reader that data will be read from.
+     * @param bufferSize          Initial size of the character buffer.
+     * @param keepCarriageReturns True if carriage returns should remain in the data, false to remove them.
+     */
+    public LineScanner(Reader reader, int bufferSize, boolean keepCarriageReturns) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be greater than zero");
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.splitter = new LineSplitter(keepCarriageReturns);
+    }
+
+    /**
+     * Advances to the next line.
+     *
+     * @return True if a line was read, false if the end of the input was reached.
+     * @throws IOException On error from the underlying Reader
+     */
+    public boolean nextLine() throws IOException {
+        // the line starts here, or after a line feed ending the previous line
+        lineStart = splitter.getPosition();
+        lineEnd = lineStart;
+        lineTooLong = false;
+        while (!splitter.nextLine(buffer, limit)) {
+            int start = splitter.getPosition();
+            if (limit - start > maxLineLength) {
+                return skipLongLine();
+            }
+            if (!fill()) {
+                start = splitter.getPosition();
+                if (start == limit) {
+                    return false;
+                }
+                countBytes(lineStart, limit);
+                lineStart = start;
+                lineEnd = limit;
+                lineOffset = discarded + lineStart;
+                splitter.setPosition(limit);
+                return true;
+            }
+        }
+        countBytes(lineStart, splitter.getPosition());
+        lineStart = splitter.getLineStart();
+        lineEnd = splitter.getLineEnd();
+        lineOffset = discarded + lineStart;
+        return true;
+    }
+
+    /**
+     * Discards the characters read of a line that is longer than
+     * {@link #maxLineLength} and reads on to the end of the line without
+     * keeping its characters.
+     *
+     * @return True, as the line counts as read
+     * @throws IOException On error from the underlying Reader
+     */
+    private boolean skipLongLine() throws IOException {
+        lineTooLong = true;
+        lineOffset = discarded + splitter.getPosition();
+        while (true) {
+            countBytes(lineStart, limit);
+            lineStart = limit;
+            splitter.setPosition(limit);
+            if (!fill()) {
+                lineEnd = lineStart;
+                return true;
+            }
+            if (splitter.nextLine(buffer, limit)) {
+                countBytes(lineStart, splitter.getPosition());
+                lineStart = splitter.getLineEnd();
+                lineEnd = lineStart;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Limits the length of the lines kept in the buffer. The characters of a
+     * longer line are skipped instead: {@link #nextLine()} returns it as an
+     * empty line and {@link #isLineTooLong()} returns true.
+     * Lines that are a little longer may still be kept if they are found in
+     * the buffer in one piece.
+     *
+     * @param maxLineLength The longest line in characters, or 0 for no limit
+     * @throws IllegalArgumentException If maxLineLength is negative
+     */
+    public void setMaxLineLength(int maxLineLength) {
+        if (maxLineLength < 0) {
+            throw new IllegalArgumentException("The maximum line length may not be negative");
+        }
+        this.maxLineLength = maxLineLength == 0 ? Integer.MAX_VALUE : maxLineLength;
+    }
+
+    /**
+     * @return True if the current line was skipped because it is longer than
+     * the limit set with {@link #setMaxLineLength(int)}.
+     */
+    public boolean isLineTooLong() {
+        return lineTooLong;
+    }
+
+    /**
+     * @return The offset in characters of the first character of the current
+     * line from the start of the input.
+     */
+    public long getLineOffset() {
+        return lineOffset;
+    }
+
+    /**
+     * @return The offset in characters of the first character after the
+     * current line and its terminator from the start of the input.
+     */
+    public long getNextLineOffset() {
+        return discarded + splitter.getPosition();
+    }
+
+    /**
+     * Checks whether bytes can be counted for input decoded from a charset.
+     * This is the case for UTF-8 and for single-byte charsets that encode
+     * line feeds and carriage returns as themselves, like ISO-8859-1.
+     *
+     * @param charset The charset the input was decoded from
+     * @return True if {@link #setByteCounting(Charset)} accepts the charset
+     */
+    public static boolean canCountBytes(Charset charset) {
+        if ("UTF-8".equals(charset.name())) {
+            return true;
+        }
+        return charset.canEncode()
+                && charset.newEncoder().maxBytesPerChar() == 1.0f
+                && Arrays.equals("\n\r".getBytes(charset), new byte[]{'\n', '\r'});
+    }
+
+    /**
+     * Counts the bytes of the lines returned from now on, as they were
+     * before they were decoded. The count is exact as long as the input was
+     * valid in the charset.
+     *
+     * @param charset The charset the input was decoded from
+     * @throws IllegalArgumentException If bytes cannot be counted for the charset
+     * @see #canCountBytes(Charset)
+     */
+    public void setByteCounting(Charset charset) {
+        if (!canCountBytes(charset)) {
+            throw new IllegalArgumentException("Bytes cannot be counted for " + charset.name());
+        }
+        countBytes = true;
+        utf8 = "UTF-8".equals(charset.name());
+    }
+
+    /**
+     * @return The number of bytes of the lines returned since bytes are
+     * counted, including their terminators, or -1 if bytes are not counted.
+     * If the current line ended with a carriage return, a line feed that may
+     * follow it is not counted before the next line is read.
+     */
+    public long getByteCount() {
+        return countBytes ? bytes : -1;
+    }
+
+    /**
+     * @return True if the current line ended with a carriage return, so that
+     * a line feed at the start of the next line is part of its terminator.
+     */
+    public boolean isAfterCarriageReturn() {
+        return splitter.isAfterCarriageReturn();
+    }
+
+    /**
+     * Continues input that was split right after a carriage return that
+     * ended a line: a line feed at the start of the input is skipped as the
+     * rest of the terminator of that line.
+     */
+    public void continueAfterCarriageReturn() {
+        splitter.continueAfterCarriageReturn();
+    }
+
+    /**
+     * Adds the bytes of characters of the buffer to the count.
+     *
+     * @param from The index of the first character
+     * @param to   The index just past the last character
+     */
+    private void countBytes(int from, int to) {
+        if (!countBytes) {
+            return;
+        }
+        long count = to - from;
+        if (utf8) {
+            for (int i = from; i < to; i++) {
+                char c = buffer[i];
+                if (c >= 0x80) {
+                    // two bytes up to U+07FF, three above, four for a surrogate pair
+                    count += c < 0x800 || Character.isSurrogate(c) ? 1 : 2;
+                }
+            }
+        }
+        bytes += count;
+    }
+
+    /**
+     * @return The buffer holding the current line. The buffer is reused and
+     * its content changes with the next call to {@link #nextLine()}.
+     */
+    public char[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return The index of the first character of the current line in the buffer.
+     */
+    public int getLineStart() {
+        return lineStart;
+    }
+
+    /**
+     * @return The index just past the last character of the current line in the buffer.
+     */
+    public int getLineEnd() {
+        return lineEnd;
+    }
+
+    /**
+     * @return The number of characters in the current line.
+     */
+    public int getLineLength() {
+        return lineEnd - lineStart;
+    }
+
+    /**
+     * @return The current line as a String.
+     */
+    public String getLine() {
+        return new String(buffer, lineStart, lineEnd - lineStart);
+    }
+
+    /**
+     * Checks if characters have been read from the underlying Reader that
+     * have not yet been returned as part of a line.
+     *
+     * @return True if the buffer holds unread characters.
+     */
+    public boolean hasBufferedCharacters() {
+        return splitter.getPosition() < limit;
+    }
+
+    /**
+     * Reads more characters from the underlying Reader.
+     * The unread part of the buffer, starting with the current line, is moved
+     * to the front of the buffer first, and the buffer is grown if the current
+     * line already fills it.
+     *
+     * @return False if the end of the input was reached.
+     * @throws IOException On error from the underlying Reader
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int keep = limit - lineStart;
+        if (lineStart > 0) {
+            discarded += lineStart;
+            System.arraycopy(buffer, lineStart, buffer, 0, keep);
+            splitter.shift(lineStart);
+            lineStart = 0;
+        } else if (keep == buffer.length) {
+            char[] grown = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, keep);
+            buffer = grown;
+        }
+        limit = keep;
+
+        int read;
+        do {
+            read = reader.read(buffer, limit, buffer.length - limit);
+        } while (read == 0);
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -0,0 +1,182 @@
+package com.opencsv.stream.reader;
+
+/**
+ * Splits the characters or bytes in a window of a buffer into lines.
+ * <p>
+ * The buffer and its limit belong to the caller, who fills it and passes it
+ * to {@link #nextLine(char[], int)} or {@link #nextLine(byte[], int)}. The
+ * splitter keeps the position of the next line in the buffer, how far the
+ * buffer has been searched for a line break, and whether the last line
+ * ended with a carriage return, so that a line that is not complete yet is
+ * not searched again from its start when more input arrives, and a line
+ * feed following a carriage return is skipped even if it arrives later.
+ * When the caller moves the content of the buffer to its front, it tells
+ * the splitter with {@link #shift(int)}.
+ * </p>
+ * <p>
+ * Lines are terminated the same way as for {@link LineScanner}: by a line
+ * feed, a carriage return, or a carriage return followed by a line feed,
+ * or only by a line feed if carriage returns are kept. Bytes are compared
+ * with the characters directly, which is only right for charsets like
+ * UTF-8 that encode line feeds and carriage returns as themselves.
+ * </p>
+ *
+ * @since 3.9
+ */
+public final class LineSplitter {
+    private final boolean keepCarriageReturns;
+    private final ByteSearch lineBreaks;
+    private int position = 0;
+    private int scanned = 0;
+    private int lineStart = 0;
+    private int lineEnd = 0;
+    private boolean skipLF = false;
+
+    /**
+     * Creates a splitter positioned at the start of the buffer.
+     *
+     * @param keepCarriageReturns True if lines end at line feeds only, and
+     *                            carriage returns are kept in the lines
+     */
+    public LineSplitter(boolean keepCarriageReturns) {
+        this.keepCarriageReturns = keepCarriageReturns;
+        this.lineBreaks = keepCarriageReturns
+                ? new ByteSearch((byte) '\n')
+                : new ByteSearch((byte) '\n', (byte) '\r');
+    }
+
+    /**
+     * Finds the line at the position in a buffer of characters, and moves
+     * the position past its line break.
+     *
+     * @param chars The buffer
+     * @param limit The index just past the last character in the buffer
+     * @return True if a line was found between {@link #getLineStart()} and
+     * {@link #getLineEnd()}, false if the line is not complete yet.
+     */
+    public boolean nextLine(char[] chars, int limit) {
+        if (skipLF) {
+            if (position == limit) {
+                return false;
+            }
+            if (chars[position] == '\n') {
+                position++;
+            }
+            skipLF = false;
+        }
+        for (int i = Math.max(position, scanned); i < limit; i++) {
+            char c = chars[i];
+            if (c == '\n' || (c == '\r' && !keepCarriageReturns)) {
+                return found(i, c == '\r');
+            }
+        }
+        scanned = limit;
+        return false;
+    }
+
+    /**
+     * Finds the line at the position in a buffer of bytes, and moves the
+     * position past its line break.
+     *
+     * @param bytes The buffer
+     * @param limit The index just past the last byte in the buffer
+     * @return True if a line was found between {@link #getLineStart()} and
+     * {@link #getLineEnd()}, false if the line is not complete yet.
+     */
+    public boolean nextLine(byte[] bytes, int limit) {
+        if (skipLF) {
+            if (position == limit) {
+                return false;
+            }
+            if (bytes[position] == '\n') {
+                position++;
+            }
+            skipLF = false;
+        }
+        int i = lineBreaks.indexOf(bytes, Math.max(position, scanned), limit);
+        if (i < limit) {
+            return found(i, bytes[i] == '\r');
+        }
+        scanned = limit;
+        return false;
+    }
+
+    private boolean found(int end, boolean carriageReturn) {
+        lineStart = position;
+        lineEnd = end;
+        position = end + 1;
+        scanned = position;
+        skipLF = carriageReturn;
+        return true;
+    }
+
+    /**
+     * @return The index of the first character of the line found.
+     */
+    public int getLineStart() {
+        return lineStart;
+    }
+
+    /**
+     * @return The index of the line break ending the line found.
+     */
+    public int getLineEnd() {
+        return lineEnd;
+    }
+
+    /**
+     * @return The index where the next line starts, unless it starts with
+     * the line feed of a carriage return ending the previous line.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Moves the position, for instance past a last line without a line
+     * break at the end of the input.
+     *
+     * @param position The index where the next line starts
+     */
+    public void setPosition(int position) {
+        this.position = position;
+        this.scanned = position;
+    }
+
+    /**
+     * Moves the position back after the content of the buffer has been
+     * moved to the front.
+     *
+     * @param count The number of characters or bytes the content moved by
+     */
+    public void shift(int count) {
+        position -= count;
+        scanned -= count;
+    }
+
+    /**
+     * @return True if the last line ended with a carriage return, so that a
+     * line feed at the position is part of its terminator.
+     */
+    public boolean isAfterCarriageReturn() {
+        return skipLF;
+    }
+
+    /**
+     * Continues input that was split right after a carriage return that
+     * ended a line: a line feed at the position is skipped as the rest of
+     * the terminator of that line.
+     */
+    public void continueAfterCarriageReturn() {
+        skipLF = !keepCarriageReturns;
+    }
+
+    /**
+     * Moves the position to the start of the buffer, and forgets whether
+     * the last line ended with a carriage return.
+     */
+    public void reset() {
+        setPosition(0);
+        skipLF = false;
+    }
+}
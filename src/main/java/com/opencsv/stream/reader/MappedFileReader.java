@@ -0,0 +1,266 @@
+package com.opencsv.stream.reader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through memory mapped regions instead of read() calls.
+ * <p>
+ * The file is mapped one region at a time, so files larger than the address
+ * space that can be mapped at once are read as well. The bytes are decoded
+ * straight from the mapped region into the buffer passed to
+ * {@link #read(char[], int, int)}, without going through an intermediate
+ * byte array. Files in ISO-8859-1 are decoded by a plain loop, and for UTF-8
+ * and US-ASCII files runs of ASCII characters are, so the charset decoder is
+ * only used for the other characters.
+ * </p>
+ * <p>
+ * The characters read are the same as those read by an
+ * {@link java.io.InputStreamReader} for the file, with malformed input and
+ * unmappable characters replaced.
+ * </p>
+ *
+ * @since 3.9
+ */
+public class MappedFileReader extends Reader {
+    /**
+     * The default size of a mapped region of the file, in bytes.
+     */
+    public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * The maximum number of bytes of a single character. A region has to be
+     * at least this big so every character fits into one.
+     */
+    private static final int MAX_BYTES_PER_CHARACTER = 4;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int regionSize;
+    private final CharsetDecoder decoder;
+    private final boolean latin1;
+    private final boolean asciiCompatible;
+
+    private MappedByteBuffer region;
+    private long regionStart = 0;
+    /**
+     * The second char of a supplementary character that did not fit into
+     * the buffer of the last read, or -1.
+     */
+    private int leftover = -1;
+    private boolean closed = false;
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param path    The file to read
+     * @param charset The charset of the file
+     * @throws IOException If the file cannot be opened
+     */
+    public MappedFileReader(Path path, Charset charset) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ), charset, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Reads a file from an open channel, starting at its beginning.
+     *
+     * @param channel    The file to read. It is closed when this reader is closed.
+     * @param charset    The charset of the file
+     * @param regionSize The number of bytes to map at a time
+     * @throws IOException If the size of the file cannot be determined
+     */
+    public MappedFileReader(FileChannel channel, Charset charset, int regionSize) throws IOException {
+        if (regionSize < MAX_BYTES_PER_CHARACTER) {
+            throw new IllegalArgumentException("Region size must be at least " + MAX_BYTES_PER_CHARACTER);
+        }
+        this.channel = channel;
+        this.size = channel.size();
+        this.regionSize = regionSize;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        String name = charset.name();
+        this.latin1 = "ISO-8859-1".equals(name);
+        this.asciiCompatible = "UTF-8".equals(name) || "US-ASCII".equals(name);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || off + len > cbuf.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int n = 0;
+        if (leftover >= 0) {
+            cbuf[off] = (char) leftover;
+            leftover = -1;
+            n = 1;
+        }
+        while (n < len) {
+            if ((region == null || !region.hasRemaining()) && !mapNextRegion()) {
+                break;
+            }
+            if (latin1) {
+                n += copyLatin1(cbuf, off + n, len - n);
+            } else if (asciiCompatible) {
+                n += copyAscii(cbuf, off + n, len - n);
+                if (n < len && region.hasRemaining()) {
+                    n += decodeNonAscii(cbuf, off + n, len - n);
+                }
+            } else {
+                n += decode(cbuf, off + n, len - n, region.limit());
+            }
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    /**
+     * Checks if all characters of the file have been read.
+     * Unlike a read this does not change the position in the file.
+     *
+     * @return True if the end of the file has been reached or the reader has
+     * been closed.
+     */
+    public boolean isAtEnd() {
+        if (closed) {
+            return true;
+        }
+        if (leftover >= 0) {
+            return false;
+        }
+        return region == null ? size == 0 : !region.hasRemaining() && isLastRegion();
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        ensureOpen();
+        return !isAtEnd();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        region = null;
+        channel.close();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private boolean isLastRegion() {
+        return regionStart + region.limit() >= size;
+    }
+
+    /**
+     * Maps the next region of the file, starting with the first byte that
+     * has not been decoded yet.
+     *
+     * @return False if there are no more bytes to read.
+     * @throws IOException If the region cannot be mapped
+     */
+    private boolean mapNextRegion() throws IOException {
+        long start = region == null ? 0 : regionStart + region.position();
+        if (start >= size) {
+            return false;
+        }
+        region = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+        regionStart = start;
+        return true;
+    }
+
+    private int copyLatin1(char[] cbuf, int off, int len) {
+        int position = region.position();
+        int count = Math.min(len, region.limit() - position);
+        for (int i = 0; i < count; i++) {
+            cbuf[off + i] = (char) (region.get(position + i) & 0xFF);
+        }
+        region.position(position + count);
+        return count;
+    }
+
+    /**
+     * Copies bytes up to the first one that is not an ASCII character.
+     */
+    private int copyAscii(char[] cbuf, int off, int len) {
+        int position = region.position();
+        int count = Math.min(len, region.limit() - position);
+        int i = 0;
+        while (i < count) {
+            byte b = region.get(position + i);
+            if (b < 0) {
+                break;
+            }
+            cbuf[off + i] = (char) b;
+            i++;
+        }
+        region.position(position + i);
+        return i;
+    }
+
+    /**
+     * Decodes a run of bytes that are not ASCII characters. The byte after the
+     * run is given to the decoder as well, so malformed input is detected
+     * the same way as when the whole file is decoded at once.
+     */
+    private int decodeNonAscii(char[] cbuf, int off, int len) throws IOException {
+        int end = region.position();
+        int limit = region.limit();
+        while (end < limit && region.get(end) < 0) {
+            end++;
+        }
+        return decode(cbuf, off, len, Math.min(end + 1, limit));
+    }
+
+    /**
+     * Decodes bytes of the current region up to the given limit.
+     * A character that is cut off by the end of the region is left for the
+     * next region.
+     */
+    private int decode(char[] cbuf, int off, int len, int limit) throws IOException {
+        int regionLimit = region.limit();
+        boolean endOfInput = limit == regionLimit && isLastRegion();
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        CoderResult result;
+        region.limit(limit);
+        try {
+            result = decoder.decode(region, out, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (endOfInput && result.isUnderflow()) {
+                decoder.flush(out);
+            }
+        } finally {
+            region.limit(regionLimit);
+        }
+        int decoded = out.position() - off;
+        if (decoded == 0 && result.isOverflow()) {
+            // the two chars of a supplementary character do not fit
+            CharBuffer pair = CharBuffer.allocate(2);
+            decoder.decode(region, pair, endOfInput);
+            cbuf[off] = pair.get(0);
+            leftover = pair.position() > 1 ? pair.get(1) : -1;
+            return 1;
+        }
+        if (decoded == 0 && region.hasRemaining()) {
+            // only the start of a character is left in this region
+            mapNextRegion();
+        }
+        return decoded;
+    }
+}
@@ -69,7 +69,7 @@ class RFC4180ParserSpec extends Specification {
         testLine                                         | expected1 | expected2 | expected3                          | expected4
         "This,is,a,test"                                 | "This"    | "is"      | "a"                                | "test"
         "7,seven,7.89,12/11/16"                          | "7"       | "seven"   | "7.89"                             | "12/11/16"
-        "1,'\\'','this is a quote '' character',test"    | "1"       | "\\'"     | "this is a quote ' character"      | "test"
+        "1,'\\''','this is a quote '' character',test"   | "1"       | "\\'"     | "this is a quote ' character"      | "test"
         "2,\\ ,'this is a comma , character',two"        | "2"       | "\\ "     | "this is a comma , character"      | "two"
         "3,\\\\ ,this is a backslash \\ character,three" | "3"       | "\\\\ "   | "this is a backslash \\ character" | "three"
         "5,'21,34',test comma,five"                      | "5"       | "21,34"   | "test comma"                       | "five"
@@ -117,4 +117,88 @@ class RFC4180ParserSpec extends Specification {
         values[0] == "line 1\""
         values.length == 1
     }
+
+    @Unroll
+    def 'parsing #testLine yields #expected'(String testLine, List<String> expected) {
+        given:
+        RFC4180Parser parser = new RFC4180ParserBuilder().build()
+
+        expect:
+        parser.parseLine(testLine) as List == expected
+
+        where:
+        testLine            | expected
+        ""                  | [""]
+        "a,,b"              | ["a", "", "b"]
+        ",a,"               | ["", "a", ""]
+        "\"\",\"\"\"\""     | ["", "\""]
+        "a\"\"b,c"          | ["a\"\"b", "c"]
+        "\"a\"b,c"          | ["ab", "c"]
+        "\"a,\"\"b\"\"\",c" | ["a,\"b\"", "c"]
+    }
+
+    def 'parseLine throws on an unterminated quoted field'() {
+        given:
+        RFC4180Parser parser = new RFC4180ParserBuilder().build()
+
+        when:
+        parser.parseLine("a,\"b")
+
+        then:
+        IOException e = thrown()
+        e.message == "Un-terminated quoted field at end of CSV line"
+    }
+
+    def 'parseLine returns null for null'() {
+        expect:
+        new RFC4180Parser().parseLine(null) == null
+    }
+
+    def 'quoted fields continue on the next line with parseLineMulti'() {
+        given:
+        RFC4180Parser parser = new RFC4180ParserBuilder().build()
+
+        when:
+        String[] first = parser.parseLineMulti("a,\"b")
+
+        then:
+        first as List == ["a"]
+        parser.isPending()
+
+        when:
+        String[] second = parser.parseLineMulti("c\"\"")
+
+        then:
+        second.length == 0
+        parser.isPending()
+
+        when:
+        String[] third = parser.parseLineMulti("d\",e")
+
+        then:
+        third as List == ["b\nc\"\nd", "e"]
+        !parser.isPending()
+    }
+
+    def 'a pending field is returned at the end of the input'() {
+        given:
+        RFC4180Parser parser = new RFC4180ParserBuilder().build()
+        parser.parseLineMulti("\"a")
+
+        expect:
+        parser.parseLineMulti(null) as List == ["a\n"]
+        !parser.isPending()
+    }
+
+    def 'CSVReader reads records with quoted line breaks'() {
+        given:
+        CSVReader reader = new CSVReaderBuilder(new StringReader("1,\"two\nlines\",x\n2,\"\"\"q\"\"\",y\n"))
+                .withCSVParser(new RFC4180ParserBuilder().build())
+                .build()
+
+        expect:
+        reader.readNext() as List == ["1", "two\nlines", "x"]
+        reader.readNext() as List == ["2", "\"q\"", "y"]
+        reader.readNext() == null
+    }
 }
@@ -0,0 +1,213 @@
+package com.opencsv;
+
+import com.opencsv.enums.BackpressurePolicy;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AsyncCSVWriterTest {
+
+    /**
+     * A writer that counts flushes and can be held up in its first write.
+     */
+    private static class SlowWriter extends StringWriter {
+        final CountDownLatch release;
+        final CountDownLatch writing = new CountDownLatch(1);
+        final AtomicInteger flushes = new AtomicInteger();
+
+        SlowWriter(int holds) {
+            release = new CountDownLatch(holds);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.write(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() {
+            flushes.incrementAndGet();
+        }
+
+        String waitForText(String text) throws InterruptedException {
+            for (int i = 0; i < 500 && !toString().equals(text); i++) {
+                Thread.sleep(10);
+            }
+            return toString();
+        }
+    }
+
+    @Test
+    public void rowsOfAllThreadsAreWrittenOnClose() throws Exception {
+        StringWriter out = new StringWriter();
+        final AsyncCSVWriter writer = new AsyncCSVWriterBuilder(new CSVWriter(out))
+                .withQueueCapacity(16).build();
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            final int thread = t;
+            producers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        assertTrue(writer.writeNext(new String[]{Integer.toString(thread), "row " + i}, i % 2 == 0));
+                    }
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        writer.close();
+        assertFalse(writer.checkError());
+        assertEquals(0, writer.getDroppedRows());
+
+        List<String[]> rows = new CSVReader(new StringReader(out.toString())).readAll();
+        assertEquals(4000, rows.size());
+        Set<String> distinct = new HashSet<String>();
+        for (String[] row : rows) {
+            distinct.add(row[0] + "/" + row[1]);
+        }
+        assertEquals(4000, distinct.size());
+        assertTrue(out.toString().contains("\"0\",\"row 0\"\n"));
+        assertTrue(out.toString().contains("0,row 1\n"));
+    }
+
+    @Test
+    public void rowsAreDroppedWhenTheQueueIsFull() throws Exception {
+        SlowWriter out = new SlowWriter(1);
+        AsyncCSVWriter writer = new AsyncCSVWriterBuilder(new CSVWriter(out))
+                .withQueueCapacity(2).withBackpressurePolicy(BackpressurePolicy.DROP).build();
+        assertTrue(writer.writeNext(new String[]{"0"}, false));
+        assertTrue(out.writing.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.writeNext(new String[]{"1"}, false));
+        assertTrue(writer.writeNext(new String[]{"2"}, false));
+        assertFalse(writer.writeNext(new String[]{"3"}, false));
+        assertEquals(1, writer.getDroppedRows());
+        out.release.countDown();
+        writer.close();
+        assertEquals("0\n1\n2\n", out.toString());
+    }
+
+    @Test
+    public void writersWaitWhenTheQueueIsFull() throws Exception {
+        SlowWriter out = new SlowWriter(1);
+        final AsyncCSVWriter writer = new AsyncCSVWriterBuilder(new CSVWriter(out))
+                .withQueueCapacity(2).build();
+        writer.writeNext(new String[]{"0"}, false);
+        assertTrue(out.writing.await(5, TimeUnit.SECONDS));
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 1; i < 5; i++) {
+                    writer.writeNext(new String[]{Integer.toString(i)}, false);
+                }
+            }
+        });
+        producer.start();
+        producer.join(200);
+        assertTrue(producer.isAlive());
+        out.release.countDown();
+        producer.join();
+        writer.close();
+        assertEquals("0\n1\n2\n3\n4\n", out.toString());
+        assertEquals(0, writer.getDroppedRows());
+    }
+
+    @Test
+    public void rowsAreFlushedAfterTheInterval() throws Exception {
+        SlowWriter out = new SlowWriter(0);
+        AsyncCSVWriter writer = new AsyncCSVWriterBuilder(new CSVWriter(out))
+                .withFlushInterval(20, TimeUnit.MILLISECONDS).build();
+        writer.writeNext(new String[]{"a"});
+        assertEquals("\"a\"\n", out.waitForText("\"a\"\n"));
+        for (int i = 0; i < 500 && out.flushes.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(out.flushes.get() > 0);
+        writer.close();
+    }
+
+    @Test
+    public void rowsAreFlushedAfterTheNumberOfRows() throws Exception {
+        SlowWriter out = new SlowWriter(0);
+        AsyncCSVWriter writer = new AsyncCSVWriterBuilder(new CSVWriter(out))
+                .withFlushRows(3).withFlushInterval(1, TimeUnit.HOURS).build();
+        writer.writeNext(new String[]{"a"});
+        out.waitForText("\"a\"\n");
+        Thread.sleep(50);
+        assertEquals(0, out.flushes.get());
+        writer.writeNext(new String[]{"b"});
+        writer.writeNext(new String[]{"c"});
+        for (int i = 0; i < 500 && out.flushes.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(out.flushes.get() > 0);
+        writer.close();
+    }
+
+    @Test
+    public void flushWaitsForTheRowsQueued() throws IOException {
+        SlowWriter out = new SlowWriter(0);
+        AsyncCSVWriter writer = new AsyncCSVWriterBuilder(new CSVWriter(out))
+                .withFlushInterval(1, TimeUnit.HOURS).build();
+        for (int i = 0; i < 100; i++) {
+            writer.writeNext(new String[]{Integer.toString(i)}, false);
+        }
+        writer.flush();
+        assertTrue(out.toString().endsWith("\n99\n"));
+        assertTrue(out.flushes.get() > 0);
+        writer.close();
+    }
+
+    @Test
+    public void errorsAreReportedByCheckError() throws IOException {
+        Writer failing = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        AsyncCSVWriter writer = new AsyncCSVWriterBuilder(new CSVWriter(failing)).build();
+        writer.writeNext(new String[]{"a"});
+        assertTrue(writer.checkError());
+        writer.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rowsAreRejectedAfterClose() throws IOException {
+        AsyncCSVWriter writer = new AsyncCSVWriterBuilder(new CSVWriter(new StringWriter())).build();
+        writer.close();
+        writer.writeNext(new String[]{"a"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theQueueCapacityMustBePositive() {
+        new AsyncCSVWriterBuilder(new CSVWriter(new StringWriter())).withQueueCapacity(0);
+    }
+}
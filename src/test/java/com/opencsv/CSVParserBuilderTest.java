@@ -4,7 +4,10 @@ import com.opencsv.enums.CSVReaderNullFieldIndicator;
 import org.junit.Before;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
 
 public class CSVParserBuilderTest {
 
@@ -106,4 +109,84 @@ public class CSVParserBuilderTest {
        assertEquals(expected, builder.isIgnoreQuotations());
        assertEquals(expected, builder.build().isIgnoreQuotations());
    }
+
+   @Test
+   public void buildReturnsParsersSpecializedForTheConfiguration() {
+      assertEquals(NonStrictCSVParser.class, builder.build().getClass());
+      assertEquals(NonStrictCSVParser.class, builder.withEscapeChar(ICSVParser.NULL_CHARACTER).build().getClass());
+      assertEquals(SeparatorOnlyCSVParser.class,
+              builder.withSeparator('\t').withQuoteChar(ICSVParser.NULL_CHARACTER).build().getClass());
+      assertEquals(CSVParser.class, builder.withStrictQuotes(true).build().getClass());
+      assertEquals(CSVParser.class, new CSVParserBuilder().withIgnoreQuotations(true).build().getClass());
+   }
+
+   private static String[] parse(CSVParser parser, String line, boolean multi) {
+      try {
+         return multi ? parser.parseLineMulti(line) : parser.parseLine(line);
+      } catch (IOException e) {
+         return new String[]{"IOException", e.getMessage()};
+      }
+   }
+
+   @Test
+   public void specializedParsersParseLikeCSVParser() {
+      Random random = new Random(23);
+      char[] quotes = {'"', '\'', ICSVParser.NULL_CHARACTER};
+      char[] escapes = {'\\', ICSVParser.NULL_CHARACTER};
+      CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+      for (int round = 0; round < 20000; round++) {
+         CSVParserBuilder b = new CSVParserBuilder()
+                 .withSeparator(random.nextBoolean() ? ',' : '\t')
+                 .withQuoteChar(quotes[random.nextInt(quotes.length)])
+                 .withEscapeChar(escapes[random.nextInt(escapes.length)])
+                 .withIgnoreLeadingWhiteSpace(random.nextBoolean())
+                 .withIgnoreQuotations(random.nextInt(4) == 0)
+                 .withFieldAsNull(indicators[random.nextInt(indicators.length)]);
+         CSVParser actual = b.build();
+         CSVParser expected = new CSVParser(b.getSeparator(), b.getQuoteChar(), b.getEscapeChar(), false,
+                 b.isIgnoreLeadingWhiteSpace(), b.isIgnoreQuotations(), b.nullFieldIndicator());
+         String pieces = "ab \t,\"'\\\u0000\u0000";
+         for (int lines = random.nextInt(4); lines >= 0; lines--) {
+            StringBuilder line = new StringBuilder();
+            for (int i = random.nextInt(16); i > 0; i--) {
+               line.append(pieces.charAt(random.nextInt(pieces.length())));
+            }
+            boolean multi = random.nextInt(4) != 0;
+            assertArrayEquals(line.toString(), parse(expected, line.toString(), multi),
+                    parse(actual, line.toString(), multi));
+            assertEquals(expected.isPending(), actual.isPending());
+         }
+         assertArrayEquals(parse(expected, null, true), parse(actual, null, true));
+      }
+   }
+
+   @Test
+   public void limitsAreSetOnAllParsersBuilt() {
+      builder.withMaxFieldSize(10).withMaxRecordSize(100);
+      assertEquals(10, builder.getMaxFieldSize());
+      assertEquals(100, builder.getMaxRecordSize());
+      CSVParser[] parsers = {
+            builder.build(),
+            builder.buildTableDriven(),
+            builder.withStrictQuotes(true).build(),
+            builder.withStrictQuotes(false).withQuoteChar(ICSVParser.NULL_CHARACTER)
+                  .withEscapeChar(ICSVParser.NULL_CHARACTER).build()};
+      for (CSVParser parser : parsers) {
+         assertEquals(10, parser.getMaxFieldSize());
+         assertEquals(100, parser.getMaxRecordSize());
+         assertEquals(10, parser.copy().getMaxFieldSize());
+         assertEquals(100, parser.copy().getMaxRecordSize());
+      }
+      assertEquals(0, new CSVParserBuilder().build().getMaxRecordSize());
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void maxFieldSizeMayNotBeNegative() {
+      builder.withMaxFieldSize(-1);
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void maxRecordSizeMayNotBeNegative() {
+      builder.withMaxRecordSize(-1);
+   }
 }
@@ -1,6 +1,7 @@
 package com.opencsv;
 
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.exceptions.CsvLimitExceededException;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -430,6 +431,38 @@ public class CSVParserTest {
         assertFalse(csvParser.isPending());
     }
 
+    @Test
+    public void parseLineMultiFromBufferAllowsQuotesAcrossMultipleLines() throws IOException {
+        char[] buffer = "xxThis,\"is a \"good\" line\\\\ to parse\nbecause we are using a buffer.\",ok".toCharArray();
+        int firstLineEnd = 35;
+        assertEquals('\n', buffer[firstLineEnd]);
+
+        String[] nextLine = csvParser.parseLineMulti(buffer, 2, firstLineEnd - 2);
+
+        assertEquals(1, nextLine.length);
+        assertEquals("This", nextLine[0]);
+        assertTrue(csvParser.isPending());
+
+        nextLine = csvParser.parseLineMulti(buffer, firstLineEnd + 1, buffer.length - firstLineEnd - 1);
+
+        assertEquals(2, nextLine.length);
+        assertEquals("is a \"good\" line\\ to parse\nbecause we are using a buffer.", nextLine[0]);
+        assertEquals("ok", nextLine[1]);
+        assertFalse(csvParser.isPending());
+    }
+
+    @Test
+    public void parseLineMultiFromBufferOnlyUsesGivenRange() throws IOException {
+        char[] buffer = "a,b,c\nd,\"e\\\"f\",g".toCharArray();
+
+        String[] nextLine = csvParser.parseLineMulti(buffer, 6, buffer.length - 6);
+
+        assertEquals(3, nextLine.length);
+        assertEquals("d", nextLine[0]);
+        assertEquals("e\"f", nextLine[1]);
+        assertEquals("g", nextLine[2]);
+    }
+
     @Test
     public void pendingIsClearedAfterCallToParseLine() throws IOException {
         String[] nextLine = csvParser.parseLineMulti("This,\"is a \"good\" line\\\\ to parse");
@@ -714,4 +747,51 @@ public class CSVParserTest {
 
         assertEquals("\\\"", nextLine[0]);
     }
+
+    @Test
+    public void fieldsLongerThanTheLimitAreReported() throws IOException {
+        CSVParserBuilder builder = new CSVParserBuilder().withMaxFieldSize(5);
+        for (CSVParser parser : new CSVParser[]{builder.build(), builder.buildTableDriven()}) {
+            assertArrayEquals(new String[]{"12345", "b"}, parser.parseLineMulti("12345,b"));
+            try {
+                parser.parseLineMulti("a,123456,b");
+                fail("Expected a CsvLimitExceededException");
+            } catch (CsvLimitExceededException e) {
+                assertEquals(5, e.getLimit());
+                assertEquals(1, e.getColumn());
+                assertEquals(0, e.getRecordOffset());
+            }
+
+            // a field continuing on the next line counts the line break
+            assertArrayEquals(new String[]{"a"}, parser.parseLineMulti("a,\"123"));
+            try {
+                parser.parseLineMulti("4");
+                fail("Expected a CsvLimitExceededException");
+            } catch (CsvLimitExceededException e) {
+                assertEquals(1, e.getColumn());
+                assertEquals(7, e.getRecordOffset());
+            }
+            assertFalse(parser.isPending());
+            assertArrayEquals(new String[]{"c", "d"}, parser.parseLineMulti("c,d"));
+        }
+    }
+
+    @Test
+    public void recordsLongerThanTheLimitAreReported() throws IOException {
+        CSVParserBuilder builder = new CSVParserBuilder().withMaxRecordSize(10);
+        for (CSVParser parser : new CSVParser[]{builder.build(), builder.buildTableDriven()}) {
+            assertArrayEquals(new String[]{"1234", "6789"}, parser.parseLineMulti("1234,6789"));
+            assertArrayEquals(new String[]{"a"}, parser.parseLineMulti("a,\"b"));
+            try {
+                parser.parseLineMulti("c\",defg");
+                fail("Expected a CsvLimitExceededException");
+            } catch (CsvLimitExceededException e) {
+                assertEquals(10, e.getLimit());
+                assertEquals(-1, e.getColumn());
+                assertEquals(5, e.getRecordOffset());
+            }
+            assertFalse(parser.isPending());
+            assertArrayEquals(new String[]{"x"}, parser.parseLineMulti("x"));
+        }
+    }
 }
@@ -17,6 +17,7 @@ package com.opencsv;
  */
 
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.exceptions.CsvLimitExceededException;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -24,6 +25,7 @@ import java.io.*;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -679,4 +681,453 @@ public class CSVReaderTest {
         assertNull(item[4]);
     }
 
+    @Test
+    public void readsRecordsLongerThanTheLineBuffer() throws IOException {
+        StringBuilder longField = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            longField.append((char) ('a' + i % 26));
+        }
+        StringBuilder sb = new StringBuilder(ICSVParser.INITIAL_READ_SIZE);
+        sb.append("a,").append(longField).append(",c\r\n");
+        sb.append("\"").append(longField).append("\n").append(longField).append("\",d\r\n");
+        sb.append("e,f");
+
+        CSVReader c = new CSVReader(new StringReader(sb.toString()));
+
+        String[] nextLine = c.readNext();
+        assertArrayEquals(new String[]{"a", longField.toString(), "c"}, nextLine);
+        nextLine = c.readNext();
+        assertArrayEquals(new String[]{longField + "\n" + longField, "d"}, nextLine);
+        nextLine = c.readNext();
+        assertArrayEquals(new String[]{"e", "f"}, nextLine);
+        assertNull(c.readNext());
+        assertEquals(4, c.getLinesRead());
+        assertEquals(3, c.getRecordsRead());
+    }
+
+    @Test
+    public void readsSelectedColumnsInTheOrderGiven() throws IOException {
+        String data = "a,b,\"c,\nc\",d\ne,\"f\"\"\",g,h\ni\n";
+        CSVReader c = new CSVReaderBuilder(new StringReader(data)).withColumns(3, 1).build();
+
+        assertArrayEquals(new String[]{"d", "b"}, c.readNext());
+        assertArrayEquals(new String[]{"h", "f\""}, c.readNext());
+        assertArrayEquals(new String[]{null, null}, c.readNext());
+        assertNull(c.readNext());
+        assertEquals(4, c.getLinesRead());
+        assertEquals(3, c.getRecordsRead());
+    }
+
+    @Test
+    public void readsSelectedColumnsWithoutTheBufferedScanner() throws IOException {
+        String data = "a,b,c\r\nd,e\r\n";
+        CSVReader c = new CSVReaderBuilder(new StringReader(data))
+                .withKeepCarriageReturn(true).withColumns(2, 0).build();
+
+        assertArrayEquals(new String[]{"c\r", "a"}, c.readNext());
+        assertArrayEquals(new String[]{null, "d"}, c.readNext());
+        assertNull(c.readNext());
+    }
+
+    @Test
+    public void readsColumnsSelectedByName() throws IOException {
+        String data = "skipped\n Id ,Name,Age\n1,\"Smith,\nJohn\",42\n";
+        CSVReader c = new CSVReaderBuilder(new StringReader(data))
+                .withSkipLines(1).withColumns("age", "NAME").build();
+
+        assertArrayEquals(new String[]{"Age", "Name"}, c.readNext());
+        assertArrayEquals(new String[]{"42", "Smith,\nJohn"}, c.readNext());
+        assertNull(c.readNext());
+    }
+
+    @Test
+    public void readsRecordsOfColumnsSelectedByName() throws IOException {
+        String data = "id,name\n1,\"Smith,\nJohn\"\n";
+        CSVReader c = new CSVReaderBuilder(new StringReader(data)).withColumns("name").build();
+
+        assertEquals("[name]", c.readNextRecord().toString());
+        CsvRecord record = c.readNextRecord();
+        assertEquals(1, record.size());
+        assertEquals("Smith,\nJohn", record.getString(0));
+        assertNull(c.readNextRecord());
+        assertEquals(2, c.getRecordsRead());
+    }
+
+    @Test
+    public void unknownColumnNameIsReportedWhenTheHeaderIsRead() {
+        CSVReader c = new CSVReaderBuilder(new StringReader("id,name\n")).withColumns("age").build();
+        try {
+            c.readNext();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Column \"age\" not found in header [id, name]", e.getMessage());
+        }
+    }
+
+    @Test
+    public void emptyFileWithColumnsSelectedByNameHasNoRecords() throws IOException {
+        CSVReader c = new CSVReaderBuilder(new StringReader("")).withColumns("id").build();
+        assertNull(c.readNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void columnCannotBeSelectedTwice() {
+        new CSVReaderBuilder(new StringReader("")).withColumns(1, 2, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void columnIndexCannotBeNegative() {
+        new CSVReaderBuilder(new StringReader("")).withColumns(0, -1);
+    }
+
+    @Test
+    public void readsFilesThroughMappedRegions() throws IOException {
+        File file = File.createTempFile("mapped", ".csv");
+        file.deleteOnExit();
+        OutputStream out = new FileOutputStream(file);
+        out.write("a,\"b\r\nc\",\u00e9\r\nd,e\n".getBytes("UTF-8"));
+        out.close();
+
+        CSVReader c = CSVReaderBuilder.fromPath(file.toPath(), Charset.forName("UTF-8")).build();
+
+        assertArrayEquals(new String[]{"a", "b\nc", "\u00e9"}, c.readNext());
+        assertArrayEquals(new String[]{"d", "e"}, c.readNext());
+        assertNull(c.readNext());
+        assertEquals(3, c.getLinesRead());
+        c.close();
+    }
+
+    @Test
+    public void readsRecordsWithFieldsSpanningManyLines() throws IOException {
+        StringBuilder csv = new StringBuilder("id,\"");
+        String[] expected = new String[2002];
+        expected[0] = "id";
+        for (int line = 1; line <= 2000; line++) {
+            csv.append("line ").append(line).append("\",\"\n");
+            expected[line] = line == 1 ? "line 1" : "\nline " + line;
+        }
+        csv.append("last\",end\nnext\n");
+        expected[2000] = "\nline 2000";
+        expected[2001] = "\nlast";
+        String[] withEnd = new String[expected.length + 1];
+        System.arraycopy(expected, 0, withEnd, 0, expected.length);
+        withEnd[expected.length] = "end";
+
+        for (boolean keepCR : new boolean[]{false, true}) {
+            CSVReader c = new CSVReaderBuilder(new StringReader(csv.toString())).withKeepCarriageReturn(keepCR).build();
+            assertArrayEquals(withEnd, c.readNext());
+            assertArrayEquals(new String[]{"next"}, c.readNext());
+            assertNull(c.readNext());
+            assertEquals(2, c.getRecordsRead());
+        }
+
+        CSVReader c = new CSVReaderBuilder(new StringReader(csv.toString())).build();
+        assertArrayEquals(withEnd, c.readNextRecord().toStringArray());
+        assertArrayEquals(new String[]{"next"}, c.readNextRecord().toStringArray());
+        assertNull(c.readNextRecord());
+    }
+
+    @Test
+    public void oversizedRecordsFailWithTheirPosition() throws IOException {
+        String csv = "a,b\nc,\"stray quote\nd,e\nf,g\n";
+        for (boolean keepCR : new boolean[]{false, true}) {
+            CSVReader c = new CSVReaderBuilder(new StringReader(csv))
+                    .withMaxRecordSize(20).withKeepCarriageReturn(keepCR).build();
+            assertArrayEquals(new String[]{"a", "b"}, c.readNext());
+            try {
+                c.readNext();
+                fail("Expected a CsvLimitExceededException");
+            } catch (CsvLimitExceededException e) {
+                assertEquals(4, e.getLineNumber());
+                assertEquals(20, e.getLimit());
+                assertEquals(19, e.getRecordOffset());
+                assertEquals(23, e.getCharacterOffset());
+            }
+        }
+    }
+
+    @Test
+    public void oversizedRecordsAreSkipped() throws IOException {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            longLine.append("x,");
+        }
+        String csv = "a,b\n" + longLine + "\nc,\"stray quote\nd,e\nf,g\na longer field,h\n";
+        for (boolean keepCR : new boolean[]{false, true}) {
+            CSVReader c = new CSVReaderBuilder(new StringReader(csv))
+                    .withMaxRecordSize(20).withMaxFieldSize(12).withSkipOversizedRecords(true)
+                    .withKeepCarriageReturn(keepCR).build();
+            assertArrayEquals(new String[]{"a", "b"}, c.readNext());
+            assertArrayEquals(new String[]{"f", "g"}, c.readNext());
+            assertNull(c.readNext());
+            List<CsvLimitExceededException> skipped = c.getCapturedExceptions();
+            assertEquals(3, skipped.size());
+            assertEquals(2, skipped.get(0).getLineNumber());
+            assertEquals(-1, skipped.get(0).getColumn());
+            assertEquals(4, skipped.get(1).getLineNumber());
+            assertEquals(1, skipped.get(1).getColumn());
+            assertEquals(6, skipped.get(2).getLineNumber());
+            assertEquals(0, skipped.get(2).getColumn());
+            assertTrue(c.getCapturedExceptions().isEmpty());
+        }
+
+        CSVReader c = new CSVReaderBuilder(new StringReader(csv))
+                .withMaxRecordSize(20).withMaxFieldSize(12).withSkipOversizedRecords(true).build();
+        assertArrayEquals(new String[]{"a", "b"}, c.readNextRecord().toStringArray());
+        assertArrayEquals(new String[]{"f", "g"}, c.readNextRecord().toStringArray());
+        assertNull(c.readNextRecord());
+        assertEquals(3, c.getCapturedExceptions().size());
+    }
+
+    @Test
+    public void carriageReturnsAreKeptExactly() throws IOException {
+        String csv = "a,\"one\r\ntwo\rthree\",b\r\nc,\"\r\",d\n";
+        CSVReader c = new CSVReaderBuilder(new StringReader(csv)).withKeepCarriageReturn(true).build();
+        assertArrayEquals(new String[]{"a", "one\r\ntwo\rthree", "b\r"}, c.readNext());
+        assertArrayEquals(new String[]{"c", "\r", "d"}, c.readNextRecord().toStringArray());
+        assertNull(c.readNext());
+        assertEquals(3, c.getLinesRead());
+    }
+
+    @Test
+    public void theReaderIsNotProbedBeforeEachLine() throws IOException {
+        final int[] marks = new int[1];
+        for (ICSVParser parser : new ICSVParser[]{new CSVParser(), new RFC4180Parser()}) {
+            marks[0] = 0;
+            BufferedReader br = new BufferedReader(new StringReader("a,b\nc,d\ne,f\n")) {
+                @Override
+                public void mark(int readAheadLimit) throws IOException {
+                    marks[0]++;
+                    super.mark(readAheadLimit);
+                }
+            };
+            CSVReader c = new CSVReaderBuilder(br).withCSVParser(parser).build();
+            assertEquals(3, c.readAll().size());
+            assertEquals(0, marks[0]);
+        }
+    }
+
+    @Test
+    public void aClosedReaderEndsTheDataIfVerified() throws IOException {
+        for (ICSVParser parser : new ICSVParser[]{new CSVParser(), new RFC4180Parser()}) {
+            StringReader reader = new StringReader("a,b\nc,d\n");
+            CSVReader c = new CSVReaderBuilder(reader).withCSVParser(parser).build();
+            reader.close();
+            assertNull(c.readNext());
+
+            reader = new StringReader("a,b\nc,d\n");
+            c = new CSVReaderBuilder(reader).withCSVParser(parser).withVerifyReader(false).build();
+            reader.close();
+            try {
+                c.readNext();
+                fail("Expected an IOException");
+            } catch (IOException e) {
+                assertEquals("Stream closed", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void readErrorsAreNotTakenForAClosedReader() throws IOException {
+        Reader failing = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("Connection reset");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        for (ICSVParser parser : new ICSVParser[]{new CSVParser(), new RFC4180Parser()}) {
+            CSVReader c = new CSVReaderBuilder(failing).withCSVParser(parser).build();
+            try {
+                c.readNext();
+                fail("Expected an IOException");
+            } catch (IOException e) {
+                assertEquals("Connection reset", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void skipLinesSkipsPhysicalLines() throws IOException {
+        String csv = "# preamble\n# \"quoted\n\nh1,h2\na,\"b\nc\"\n";
+        for (ICSVParser parser : new ICSVParser[]{new CSVParser(), new RFC4180Parser()}) {
+            CSVReader c = new CSVReaderBuilder(new StringReader(csv)).withSkipLines(1).withCSVParser(parser).build();
+            assertEquals(2, c.skipLines(2));
+            assertEquals(3, c.getLinesRead());
+            assertArrayEquals(new String[]{"h1", "h2"}, c.readNext());
+            assertEquals(2, c.skipLines(5));
+            assertNull(c.readNext());
+            assertEquals(0, c.skipLines(1));
+            assertEquals(6, c.getLinesRead());
+        }
+    }
+
+    @Test
+    public void skipRecordsRespectsQuotedLineBreaks() throws IOException {
+        String csv = "h1,h2\na,\"b\nc\"\nd,\"e\r\nf\"\r\ng,h\n";
+        for (boolean keepCR : new boolean[]{false, true}) {
+            for (ICSVParser parser : new ICSVParser[]{new CSVParser(), new RFC4180Parser()}) {
+                CSVReader c = new CSVReaderBuilder(new StringReader(csv))
+                        .withCSVParser(parser).withKeepCarriageReturn(keepCR).build();
+                assertEquals(3, c.skipRecords(3));
+                assertEquals(3, c.getRecordsRead());
+                assertEquals(5, c.getLinesRead());
+                assertArrayEquals(new String[]{"g", "h"}, c.readNext());
+                assertEquals(0, c.skipRecords(2));
+                assertEquals(4, c.getRecordsRead());
+            }
+        }
+
+        CSVReader c = new CSVReaderBuilder(new StringReader(csv)).withColumns("h2").build();
+        assertEquals(2, c.skipRecords(2));
+        assertArrayEquals(new String[]{"e\nf"}, c.readNext());
+    }
+
+    @Test
+    public void subclassesReadTheirLinesThroughGetNextLine() throws IOException {
+        String csv = "a,b\nc,\"d\ne\"\nf,g\n";
+        CSVReader c = new CSVReader(new StringReader(csv)) {
+            @Override
+            protected String getNextLine() throws IOException {
+                String line = super.getNextLine();
+                return line == null ? null : line.toUpperCase();
+            }
+        };
+        assertArrayEquals(new String[]{"A", "B"}, c.readNext());
+        assertArrayEquals(new String[]{"C", "D\nE"}, c.readNextRecord().toStringArray());
+        assertEquals(1, c.skipRecords(2));
+        assertNull(c.readNext());
+        assertEquals(4, c.getLinesRead());
+    }
+
+    @Test
+    public void subclassesAreAskedWhetherTheyAreClosedBeforeEveryLine() throws IOException {
+        final int[] checks = new int[1];
+        CSVReader c = new CSVReader(new StringReader("a\nb\nc\n")) {
+            @Override
+            protected boolean isClosed() {
+                return ++checks[0] > 2;
+            }
+        };
+        assertArrayEquals(new String[]{"a"}, c.readNext());
+        assertArrayEquals(new String[]{"b"}, c.readNext());
+        assertNull(c.readNext());
+        assertEquals(3, checks[0]);
+    }
+
+    @Test
+    public void subclassesCombineTheFieldsOfMultiLineRecords() throws IOException {
+        final int[] combined = new int[1];
+        CSVReader c = new CSVReader(new StringReader("a,\"b\nc\",d\n")) {
+            @Override
+            protected String[] combineResultsFromMultipleReads(String[] buffer, String[] lastRead) {
+                combined[0]++;
+                return super.combineResultsFromMultipleReads(buffer, lastRead);
+            }
+        };
+        assertArrayEquals(new String[]{"a", "b\nc", "d"}, c.readNext());
+        assertEquals(1, combined[0]);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void subclassesReadingTheirOwnLinesCannotParseToAHandler() throws IOException {
+        CSVReader c = new CSVReader(new StringReader("a,b\n")) {
+            @Override
+            protected String getNextLine() throws IOException {
+                return super.getNextLine();
+            }
+        };
+        c.parse(new CsvEventHandler() {
+            @Override
+            public void startRecord(long recordNumber) {
+            }
+
+            @Override
+            public void field(char[] buf, int off, int len, boolean quoted) {
+            }
+
+            @Override
+            public void endRecord() {
+            }
+
+            @Override
+            public void abortRecord() {
+            }
+        });
+    }
+
+    @Test
+    public void subclassesNotReadingTheirOwnLinesCanParseToAHandler() throws IOException {
+        CSVReader c = new CSVReader(new StringReader("a,b\nc,\"d\ne\"\n")) {
+            @Override
+            protected boolean usesCustomLineReading() {
+                return false;
+            }
+        };
+        final StringBuilder events = new StringBuilder();
+        assertEquals(2, c.parse(new CsvEventHandler() {
+            @Override
+            public void startRecord(long recordNumber) {
+                events.append('[');
+            }
+
+            @Override
+            public void field(char[] buf, int off, int len, boolean quoted) {
+                events.append(buf, off, len).append(';');
+            }
+
+            @Override
+            public void endRecord() {
+                events.append(']');
+            }
+
+            @Override
+            public void abortRecord() {
+                events.append('!');
+            }
+        }));
+        assertEquals("[a;b;][c;d\ne;]", events.toString());
+        assertEquals(3, c.getLinesRead());
+    }
+
+    @Test
+    public void overridesOfCSVParserSubclassesAreCalled() throws IOException {
+        CSVParser upperCase = new CSVParser() {
+            @Override
+            protected String[] parseLine(String nextLine, boolean multi) throws IOException {
+                return super.parseLine(nextLine == null ? null : nextLine.toUpperCase(), multi);
+            }
+        };
+        CSVReader c = new CSVReaderBuilder(new StringReader("a,\"b\nc\"\nd\n")).withCSVParser(upperCase).build();
+        assertArrayEquals(new String[]{"A", "B\nC"}, c.readNext());
+        assertArrayEquals(new String[]{"D"}, c.readNextRecord().toStringArray());
+        assertNull(c.readNext());
+
+        CSVParser escapingNothing = new CSVParser() {
+            @Override
+            protected boolean isNextCharacterEscapable(String nextLine, boolean inQuotes, int i) {
+                return false;
+            }
+        };
+        c = new CSVReaderBuilder(new StringReader("\"a\\\\b\"\n")).withCSVParser(escapingNothing).build();
+        assertArrayEquals(new String[]{"ab"}, c.readNext());
+        c = new CSVReaderBuilder(new StringReader("\"a\\\\b\"\n")).withCSVParser(new CSVParser()).build();
+        assertArrayEquals(new String[]{"a\\b"}, c.readNext());
+    }
+
+    @Test
+    public void csvParserSubclassesCanOptInToParsingInPlace() throws IOException {
+        CSVParser parser = new CSVParser() {
+            @Override
+            protected boolean usesCustomParsing() {
+                return false;
+            }
+        };
+        CSVReader c = new CSVReaderBuilder(new StringReader("a,b\nc\n")).withCSVParser(parser).build();
+        assertArrayEquals(new String[]{"a", "b"}, c.readNext());
+        assertEquals(1, c.checkpoint().getRecordsRead());
+    }
 }
@@ -23,11 +23,15 @@ import java.io.*;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
@@ -624,6 +628,7 @@ public class CSVWriterTest {
    public void testIOException() throws IOException {
       Writer writer = mock(Writer.class);
       doThrow(IOException.class).when(writer).write(anyString());
+      doThrow(IOException.class).when(writer).write(any(char[].class), anyInt(), anyInt());
       CSVWriter csvWriter = new CSVWriter(writer);
 
       csvWriter.writeNext(SIMPLE_STRING_ARRAY);
@@ -637,6 +642,7 @@ public class CSVWriterTest {
    public void checkErrorReturnsTrueWhenPassedInPrintWriter() throws IOException {
       Writer writer = mock(Writer.class);
       doThrow(IOException.class).when(writer).write(anyString(), anyInt(), anyInt());
+      doThrow(IOException.class).when(writer).write(any(char[].class), anyInt(), anyInt());
 
       PrintWriter printWriter = new PrintWriter(writer);
 
@@ -648,4 +654,136 @@ public class CSVWriterTest {
 
       assertTrue(csvWriter.checkError());
    }
+
+   /**
+    * Formats rows through the protected methods, as a subclass that
+    * overrides them does.
+    */
+   private static class FormattingCSVWriter extends CSVWriter {
+      FormattingCSVWriter(Writer writer, char separator, char quotechar, char escapechar, String lineEnd) {
+         super(writer, separator, quotechar, escapechar, lineEnd);
+      }
+
+      @Override
+      protected boolean checkCharactersToEscape(char nextChar) {
+         return super.checkCharactersToEscape(nextChar);
+      }
+   }
+
+   @Test
+   public void rowsAreFormattedAsByTheProtectedMethods() {
+      Random random = new Random(21);
+      char[] separators = {',', ';', '\t', '\u00a7'};
+      char[] quotes = {'"', '\'', CSVWriter.NO_QUOTE_CHARACTER};
+      char[] escapes = {'"', '\\', CSVWriter.NO_ESCAPE_CHARACTER};
+      String[] lineEnds = {CSVWriter.DEFAULT_LINE_END, CSVWriter.RFC4180_LINE_END};
+      String pieces = "ab ,;\t\"'\\\n\r\u0000\u00e9\u00a7";
+      for (int round = 0; round < 500; round++) {
+         char separator = separators[random.nextInt(separators.length)];
+         char quote = quotes[random.nextInt(quotes.length)];
+         char escape = escapes[random.nextInt(escapes.length)];
+         String lineEnd = lineEnds[random.nextInt(lineEnds.length)];
+         List<String[]> rows = new ArrayList<String[]>();
+         for (int r = random.nextInt(5); r >= 0; r--) {
+            String[] row = new String[random.nextInt(5)];
+            for (int f = 0; f < row.length; f++) {
+               if (random.nextInt(8) > 0) {
+                  StringBuilder field = new StringBuilder();
+                  for (int n = random.nextInt(2000) < 1 ? 5000 : random.nextInt(8); n > 0; n--) {
+                     field.append(pieces.charAt(random.nextInt(pieces.length())));
+                  }
+                  row[f] = field.toString();
+               }
+            }
+            rows.add(random.nextInt(20) == 0 ? null : row);
+         }
+         boolean applyQuotesToAll = random.nextBoolean();
+
+         StringWriter expected = new StringWriter();
+         CSVWriter reference = new FormattingCSVWriter(expected, separator, quote, escape, lineEnd);
+         StringWriter rowByRow = new StringWriter();
+         CSVWriter writer = new CSVWriter(rowByRow, separator, quote, escape, lineEnd);
+         for (String[] row : rows) {
+            reference.writeNext(row, applyQuotesToAll);
+            writer.writeNext(row, applyQuotesToAll);
+         }
+         assertEquals(expected.toString(), rowByRow.toString());
+
+         StringWriter all = new StringWriter();
+         new CSVWriter(all, separator, quote, escape, lineEnd).writeAll(rows, applyQuotesToAll);
+         assertEquals(expected.toString(), all.toString());
+      }
+   }
+
+   @Test
+   public void subclassesFormatRowsThroughTheProtectedMethodsUnlessTheyOptOut() {
+      StringWriter custom = new StringWriter();
+      CSVWriter writer = new CSVWriter(custom) {
+         @Override
+         protected boolean stringContainsSpecialCharacters(String line) {
+            return true;
+         }
+
+         @Override
+         protected void processCharacter(Appendable appendable, char nextChar) throws IOException {
+            appendable.append(Character.toUpperCase(nextChar));
+         }
+      };
+      writer.writeNext(new String[]{"a", "b"});
+      writer.writeAll(Collections.singletonList(new String[]{"c"}), false);
+      assertEquals("\"A\",\"B\"\n\"C\"\n", custom.toString());
+
+      StringWriter fast = new StringWriter();
+      writer = new CSVWriter(fast) {
+         @Override
+         protected boolean usesCustomFormatting() {
+            return false;
+         }
+
+         @Override
+         protected boolean stringContainsSpecialCharacters(String line) {
+            return true;
+         }
+
+         @Override
+         protected void processCharacter(Appendable appendable, char nextChar) throws IOException {
+            appendable.append(Character.toUpperCase(nextChar));
+         }
+      };
+      writer.writeNext(new String[]{"a", "b"});
+      writer.writeAll(Collections.singletonList(new String[]{"c"}), false);
+      assertEquals("\"a\",\"b\"\nc\n", fast.toString());
+   }
+
+   @Test
+   public void writeAllCallsTheProcessLineOverrideOfASubclass() {
+      StringWriter sw = new StringWriter();
+      final List<String> processed = new ArrayList<String>();
+      CSVWriter writer = new CSVWriter(sw) {
+         @Override
+         protected void processLine(String nextElement, Appendable appendable) throws IOException {
+            processed.add(nextElement);
+            appendable.append(nextElement.replace(',', ';'));
+         }
+      };
+      List<String[]> rows = new ArrayList<String[]>();
+      rows.add(new String[]{"a,b", "c"});
+      writer.writeAll(rows);
+      writer.writeAll(rows, false);
+      writer.writeAll((Iterable<String[]>) rows, false);
+      assertEquals(Arrays.asList("a,b", "a,b", "a,b"), processed);
+      assertEquals("\"a;b\",\"c\"\n\"a;b\",c\n\"a;b\",c\n", sw.toString());
+   }
+
+   @Test
+   public void writeAllWritesTheRowsInBlocks() throws IOException {
+      Writer writer = mock(Writer.class);
+      List<String[]> rows = new ArrayList<String[]>();
+      for (int i = 0; i < 10000; i++) {
+         rows.add(new String[]{"row", Integer.toString(i)});
+      }
+      new CSVWriter(writer).writeAll(rows);
+      verify(writer, atMost(1 + 10000 * 14 / CSVWriter.BLOCK_SIZE)).write(any(char[].class), anyInt(), anyInt());
+      verify(writer, never()).write(anyString());
+   }
 }
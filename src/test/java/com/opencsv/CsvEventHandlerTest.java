@@ -0,0 +1,170 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CsvEventHandlerTest {
+
+    private static class Events implements CsvEventHandler {
+        final List<String[]> records = new ArrayList<String[]>();
+        final List<Boolean> quoted = new ArrayList<Boolean>();
+        private final List<String> fields = new ArrayList<String>();
+        private long expectedNumber = 0;
+        private boolean inRecord = false;
+        int aborted = 0;
+
+        @Override
+        public void startRecord(long recordNumber) {
+            assertFalse(inRecord);
+            assertEquals(expectedNumber, recordNumber);
+            inRecord = true;
+            fields.clear();
+        }
+
+        @Override
+        public void field(char[] buf, int off, int len, boolean quoted) {
+            assertTrue(inRecord);
+            fields.add(buf == null ? null : new String(buf, off, len));
+            this.quoted.add(quoted);
+        }
+
+        @Override
+        public void endRecord() {
+            assertTrue(inRecord);
+            inRecord = false;
+            expectedNumber++;
+            records.add(fields.toArray(new String[fields.size()]));
+        }
+
+        @Override
+        public void abortRecord() {
+            assertTrue(inRecord);
+            inRecord = false;
+            aborted++;
+        }
+    }
+
+    private String randomCsv(Random random, int records) {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < records; r++) {
+            sb.append(RandomCsv.pieces(random, random.nextInt(12), "a", " ", "\"", "\"\"", "\\", ",", "\n", "\u00e9"));
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private CSVParser randomParser(Random random, boolean tableDriven) {
+        CSVParserBuilder builder = new CSVParserBuilder()
+                .withStrictQuotes(random.nextInt(4) == 0)
+                .withIgnoreQuotations(random.nextInt(4) == 0)
+                .withIgnoreLeadingWhiteSpace(random.nextBoolean())
+                .withFieldAsNull(CSVReaderNullFieldIndicator.values()[random.nextInt(4)]);
+        if (random.nextInt(4) == 0) {
+            builder.withQuoteChar(CSVParser.NULL_CHARACTER).withEscapeChar(CSVParser.NULL_CHARACTER);
+        }
+        return tableDriven ? builder.buildTableDriven() : builder.build();
+    }
+
+    @Test
+    public void theEventsAreTheRecordsReadByReadNext() throws IOException {
+        Random random = new Random(20);
+        for (int round = 0; round < 500; round++) {
+            String csv = randomCsv(random, 1 + random.nextInt(5));
+            long seed = random.nextLong();
+
+            List<String[]> expected = new ArrayList<String[]>();
+            CSVReader reader = new CSVReaderBuilder(new StringReader(csv))
+                    .withCSVParser(randomParser(new Random(seed), false)).build();
+            boolean failed = false;
+            try {
+                String[] record;
+                while ((record = reader.readNext()) != null) {
+                    expected.add(record);
+                }
+            } catch (IOException e) {
+                failed = true;
+            }
+
+            String message = "round " + round + ": " + csv;
+            List<Boolean> quoted = null;
+            for (boolean tableDriven : new boolean[]{false, true}) {
+                Events events = new Events();
+                reader = new CSVReaderBuilder(new StringReader(csv))
+                        .withCSVParser(randomParser(new Random(seed), tableDriven)).build();
+                try {
+                    assertEquals(expected.size(), reader.parse(events));
+                    assertFalse(failed);
+                } catch (IOException e) {
+                    assertTrue(failed);
+                    assertEquals(1, events.aborted);
+                }
+                assertEquals(message, expected.size(), events.records.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertArrayEquals(message, expected.get(i), events.records.get(i));
+                }
+                assertEquals(expected.size(), reader.getRecordsRead());
+                if (quoted == null) {
+                    quoted = events.quoted;
+                } else {
+                    assertEquals(message, quoted, events.quoted);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void quotedFieldsAreReportedAsQuoted() throws IOException {
+        String csv = "a,\"b\",\"\",,\"c\"\"d\"\n\"multi\nline\",x\"y\"z,e\"\"f\n";
+        boolean[] quoted = {false, true, true, false, true, true, true, false};
+        List<CSVParser> parsers = new ArrayList<CSVParser>();
+        parsers.add(new CSVParser());
+        parsers.add(new CSVParserBuilder().build());
+        parsers.add(new CSVParserBuilder().buildTableDriven());
+        for (CSVParser parser : parsers) {
+            Events events = new Events();
+            CSVReader reader = new CSVReaderBuilder(new StringReader(csv)).withCSVParser(parser).build();
+            assertEquals(2, reader.parse(events));
+            assertArrayEquals(new String[]{"a", "b", "", "", "c\"d"}, events.records.get(0));
+            assertArrayEquals(new String[]{"multi\nline", "x\"y\"z", "e\"f"}, events.records.get(1));
+            for (int i = 0; i < quoted.length; i++) {
+                assertEquals(parser.getClass() + ", field " + i, quoted[i], events.quoted.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void nullFieldsArePassedAsNull() throws IOException {
+        Events events = new Events();
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,,\"\"\n")).withFieldAsNull(
+                CSVReaderNullFieldIndicator.BOTH).build();
+        reader.parse(events);
+        assertArrayEquals(new String[]{"a", null, null}, events.records.get(0));
+        assertEquals(Boolean.TRUE, events.quoted.get(2));
+    }
+
+    @Test
+    public void skippedOversizedRecordsAreAborted() throws IOException {
+        Events events = new Events();
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,b\nlong field,and more\nc\n"))
+                .withCSVParser(new CSVParserBuilder().withMaxRecordSize(12).build())
+                .withSkipOversizedRecords(true).build();
+        assertEquals(2, reader.parse(events));
+        assertEquals(1, events.aborted);
+        assertEquals(2, events.records.size());
+        assertArrayEquals(new String[]{"a", "b"}, events.records.get(0));
+        assertArrayEquals(new String[]{"c"}, events.records.get(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void onlyReadersWithACSVParserParseToAHandler() throws IOException {
+        new CSVReaderBuilder(new StringReader("a\n")).withCSVParser(new RFC4180Parser()).build().parse(new Events());
+    }
+}
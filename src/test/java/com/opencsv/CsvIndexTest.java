@@ -0,0 +1,206 @@
+package com.opencsv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CsvIndexTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(String content) throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes(UTF8));
+        } finally {
+            out.close();
+        }
+        return file.toPath();
+    }
+
+    private FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    @Test
+    public void readersOpenedAtARecordReadWhatASequentialReaderReads() throws IOException {
+        Random random = new Random(16);
+        for (int round = 0; round < 30; round++) {
+            Path file = write(RandomCsv.wellFormed(random, random.nextInt(40)));
+            boolean keepCR = random.nextInt(4) == 0;
+            int skipLines = random.nextInt(3);
+
+            CSVReader sequential = new CSVReaderBuilder(new InputStreamReader(new FileInputStream(file.toFile()), UTF8))
+                    .withSkipLines(skipLines).withKeepCarriageReturn(keepCR).build();
+            List<String[]> records = new ArrayList<String[]>();
+            List<Long> linesBefore = new ArrayList<Long>();
+            boolean complete = true;
+            try {
+                String[] record;
+                while (true) {
+                    long lines = sequential.getLinesRead();
+                    if ((record = sequential.readNext()) == null) {
+                        break;
+                    }
+                    records.add(record);
+                    linesBefore.add(records.size() == 1 ? Math.max(lines, skipLines) : lines);
+                }
+            } catch (IOException e) {
+                // an empty line or the skipped lines broke up a quoted field
+                complete = false;
+            }
+            sequential.close();
+
+            CsvIndex index = new CsvIndexBuilder(file).withCharset(UTF8).withSkipLines(skipLines)
+                    .withKeepCarriageReturn(keepCR).withInterval(1 + random.nextInt(4)).build();
+            if (complete) {
+                assertEquals(records.size(), index.getRecordCount());
+            }
+            for (int k = 0; k < records.size() || (complete && k == records.size()); k++) {
+                CSVReader reader = index.openAtRecord(open(file), new CSVParser(), k);
+                try {
+                    assertEquals(k, reader.getRecordsRead());
+                    String[] next = reader.readNext();
+                    if (k == records.size()) {
+                        assertNull(next);
+                    } else {
+                        assertArrayEquals("record " + k + " of round " + round, records.get(k), next);
+                        assertEquals(k + 1, reader.getRecordsRead());
+                    }
+                } finally {
+                    reader.close();
+                }
+                if (k < records.size()) {
+                    reader = index.openAtLine(open(file), new CSVParser(), linesBefore.get(k));
+                    try {
+                        assertEquals(k, reader.getRecordsRead());
+                        assertEquals((long) linesBefore.get(k), reader.getLinesRead());
+                        assertArrayEquals(records.get(k), reader.readNext());
+                    } finally {
+                        reader.close();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void aLineWithinARecordOpensAtTheNextRecord() throws IOException {
+        Path file = write("header\na,\"b\nc\nd\"\ne,f\ng,h\n");
+        CsvIndex index = new CsvIndexBuilder(file).withCharset(UTF8).withSkipLines(1).withInterval(1).build();
+        assertEquals(3, index.getRecordCount());
+        assertEquals(6, index.getLineCount());
+
+        CSVReader reader = index.openAtLine(open(file), new CSVParser(), 2);
+        assertEquals(4, reader.getLinesRead());
+        assertEquals(1, reader.getRecordsRead());
+        assertArrayEquals(new String[]{"e", "f"}, reader.readNext());
+        reader.close();
+
+        reader = index.openAtLine(open(file), new CSVParser(), 0);
+        assertArrayEquals(new String[]{"a", "b\nc\nd"}, reader.readNext());
+        reader.close();
+    }
+
+    @Test
+    public void theIndexIsSavedAndLoaded() throws IOException {
+        Path file = write("a,b\n1,\"x\ny\"\n2,z\n3,\u00e9\n");
+        CsvIndex index = new CsvIndexBuilder(file).withCharset(UTF8).withInterval(2).build();
+        Path sidecar = folder.newFile().toPath();
+        index.save(sidecar);
+
+        CsvIndex loaded = CsvIndex.load(sidecar);
+        assertEquals(index.getRecordCount(), loaded.getRecordCount());
+        assertEquals(index.getLineCount(), loaded.getLineCount());
+        assertEquals(index.getFileSize(), loaded.getFileSize());
+        assertEquals(index.positionOf(3), loaded.positionOf(3));
+        assertTrue(loaded.isCurrent(file, true));
+        CSVReader reader = loaded.openAtRecord(open(file), new CSVParser(), 3);
+        assertArrayEquals(new String[]{"3", "\u00e9"}, reader.readNext());
+        assertNull(reader.readNext());
+        reader.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void loadingAnythingElseFails() throws IOException {
+        CsvIndex.load(write("not an index"));
+    }
+
+    @Test
+    public void changedFilesAreDetected() throws IOException {
+        Path file = write("a,b\n1,2\n");
+        CsvIndex index = new CsvIndexBuilder(file).withCharset(UTF8).build();
+        assertTrue(index.isCurrent(file));
+        assertTrue(index.isCurrent(file, true));
+
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.write(file, "a,b\n1,3\n".getBytes(UTF8));
+        Files.setLastModifiedTime(file, modified);
+        assertTrue(index.isCurrent(file));
+        assertFalse(index.isCurrent(file, true));
+
+        Files.write(file, "a,b\n1,2\n3,4\n".getBytes(UTF8));
+        assertFalse(index.isCurrent(file));
+        assertFalse(index.isCurrent(folder.getRoot().toPath().resolve("missing.csv")));
+    }
+
+    @Test
+    public void recordsAfterAnEmptyLineAreNotIndexedWhenCarriageReturnsAreKept() throws IOException {
+        Path file = write("a\r\nb\r\n\nc\n");
+        CsvIndex index = new CsvIndexBuilder(file).withCharset(UTF8).withKeepCarriageReturn(true)
+                .withInterval(1).build();
+        assertEquals(2, index.getRecordCount());
+        CSVReader reader = index.openAtRecord(open(file), new CSVParser(), 1);
+        assertArrayEquals(new String[]{"b\r"}, reader.readNext());
+        assertNull(reader.readNext());
+        reader.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aParserSplittingRecordsDifferentlyIsRejected() throws IOException {
+        Path file = write("a;b\n");
+        CsvIndex index = new CsvIndexBuilder(file).withCharset(UTF8)
+                .withCSVParser(new CSVParserBuilder().withSeparator(';').build()).build();
+        index.openAtRecord(open(file), new CSVParser(), 0);
+    }
+
+    @Test
+    public void buildingRejectsBadArguments() throws IOException {
+        Path file = write("a\n");
+        try {
+            new CsvIndexBuilder(file).withInterval(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new CsvIndexBuilder(file).withCharset(Charset.forName("UTF-16")).build();
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(0L, new CsvIndexBuilder(file).build().positionOf(5));
+    }
+}
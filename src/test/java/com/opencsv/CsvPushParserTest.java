@@ -0,0 +1,162 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CsvPushParserTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static class Records implements CsvRecordHandler {
+        final List<String[]> records = new ArrayList<String[]>();
+
+        @Override
+        public void handleRecord(String[] record) {
+            records.add(record);
+        }
+    }
+
+    private List<String[]> readAll(String csv, ICSVParser parser, int skipLines, boolean keepCR) {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(csv)).withCSVParser(parser)
+                .withSkipLines(skipLines).withKeepCarriageReturn(keepCR).build();
+        List<String[]> records = new ArrayList<String[]>();
+        try {
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                records.add(record);
+            }
+        } catch (IOException e) {
+            records.add(null);
+        }
+        return records;
+    }
+
+    @Test
+    public void recordsFedInPiecesAreTheRecordsOfTheCSVReader() {
+        Random random = new Random(19);
+        for (int round = 0; round < 300; round++) {
+            String csv = RandomCsv.malformed(random, 1 + random.nextInt(10));
+            int skipLines = random.nextInt(2);
+            boolean keepCR = random.nextInt(4) == 0;
+            boolean rfc = random.nextInt(4) == 0;
+            List<String[]> expected = readAll(csv, rfc ? new RFC4180Parser() : new CSVParser(), skipLines, keepCR);
+
+            Records records = new Records();
+            CsvPushParser parser = new CsvPushParserBuilder(records)
+                    .withCSVParser(rfc ? new RFC4180Parser() : new CSVParser())
+                    .withCharset(UTF8).withSkipLines(skipLines).withKeepCarriageReturn(keepCR).build();
+            boolean bytes = random.nextBoolean();
+            byte[] encoded = csv.getBytes(UTF8);
+            char[] chars = csv.toCharArray();
+            int length = bytes ? encoded.length : chars.length;
+            try {
+                int offset = 0;
+                while (offset < length) {
+                    int piece = Math.min(length - offset, random.nextInt(8));
+                    if (bytes) {
+                        ByteBuffer buffer = ByteBuffer.wrap(encoded, offset, piece);
+                        parser.feed(buffer);
+                        assertFalse(buffer.hasRemaining());
+                    } else {
+                        parser.feed(chars, offset, piece);
+                    }
+                    offset += piece;
+                }
+                parser.endOfInput();
+            } catch (IOException e) {
+                records.records.add(null);
+            }
+
+            String message = "round " + round + ": " + csv;
+            assertEquals(message, expected.size(), records.records.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(message, expected.get(i), records.records.get(i));
+            }
+            assertEquals(message, records.records.size() - (expected.contains(null) ? 1 : 0),
+                    parser.getRecordsRead());
+        }
+    }
+
+    @Test
+    public void recordsArePassedOnAsSoonAsTheyAreComplete() throws IOException {
+        Records records = new Records();
+        CsvPushParser parser = new CsvPushParserBuilder(records).withCharset(UTF8).build();
+        parser.feed(ByteBuffer.wrap(new byte[]{'a', ',', '"', (byte) 0xc3}));
+        assertEquals(0, records.records.size());
+        parser.feed(ByteBuffer.wrap(new byte[]{(byte) 0xa9, '\r', '"', '\r'}));
+        assertEquals(1, records.records.size());
+        assertArrayEquals(new String[]{"a", "\u00e9\n"}, records.records.get(0));
+        parser.feed(ByteBuffer.wrap(new byte[]{'\n', 'b'}));
+        assertEquals(1, records.records.size());
+        assertEquals(2, parser.getLinesRead());
+        parser.endOfInput();
+        assertArrayEquals(new String[]{"b"}, records.records.get(1));
+        assertEquals(2, parser.getRecordsRead());
+        assertEquals(3, parser.getLinesRead());
+    }
+
+    @Test
+    public void anIncompleteCharacterAtTheEndIsReplaced() throws IOException {
+        Records records = new Records();
+        CsvPushParser parser = new CsvPushParserBuilder(records).withCharset(UTF8).build();
+        parser.feed(ByteBuffer.wrap(new byte[]{'a', ',', (byte) 0xe2, (byte) 0x82}));
+        parser.endOfInput();
+        assertArrayEquals(new String[]{"a", "\ufffd"}, records.records.get(0));
+    }
+
+    @Test
+    public void parsingGoesOnAfterAFailedRecord() throws IOException {
+        Records records = new Records();
+        CsvPushParser parser = new CsvPushParserBuilder(records)
+                .withCSVParser(new CSVParserBuilder().withMaxFieldSize(3).build()).build();
+        char[] csv = "a,long\nb,c\n".toCharArray();
+        try {
+            parser.feed(csv, 0, csv.length);
+        } catch (IOException e) {
+            // expected
+        }
+        parser.endOfInput();
+        assertEquals(1, records.records.size());
+        assertArrayEquals(new String[]{"b", "c"}, records.records.get(0));
+    }
+
+    @Test
+    public void aLineWithoutEndIsSkippedOnceItIsLongerThanARecordMayBe() throws IOException {
+        Records records = new Records();
+        CsvPushParser parser = new CsvPushParserBuilder(records)
+                .withCSVParser(new CSVParserBuilder().withMaxRecordSize(100).build()).build();
+        char[] piece = "abcdefghij".toCharArray();
+        int failures = 0;
+        for (int i = 0; i < 1000; i++) {
+            try {
+                parser.feed(piece, 0, piece.length);
+            } catch (CsvLimitExceededException e) {
+                failures++;
+            }
+        }
+        assertEquals(1, failures);
+        char[] rest = "xyz\na,b\n".toCharArray();
+        parser.feed(rest, 0, rest.length);
+        parser.endOfInput();
+        assertEquals(1, records.records.size());
+        assertArrayEquals(new String[]{"a", "b"}, records.records.get(0));
+        assertEquals(2, parser.getLinesRead());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void nothingCanBeFedAfterTheEnd() throws IOException {
+        CsvPushParser parser = new CsvPushParserBuilder(new Records()).build();
+        parser.endOfInput();
+        parser.feed(new char[1], 0, 1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class CsvRecordTest {
+
+    private CSVReader createReader(String data) {
+        return new CSVReaderBuilder(new StringReader(data)).build();
+    }
+
+    @Test
+    public void readNextRecordReturnsTheSameFieldsAsReadNext() throws IOException {
+        String data = "a,b,c\n"
+                + "a,\"b,b,b\",c\n"
+                + ",,\n"
+                + "a,\"PO Box 123,\nKippax,ACT. 2615.\nAustralia\",d.\n"
+                + "\"Glen \"\"The Man\"\" Smith\",Athlete,Developer\n"
+                + "\"a\nb\",b,\"\nd\",e\n";
+        CSVReader expected = createReader(data);
+        CSVReader actual = createReader(data);
+
+        String[] line;
+        while ((line = expected.readNext()) != null) {
+            CsvRecord record = actual.readNextRecord();
+            assertNotNull(record);
+            assertArrayEquals(line, record.toStringArray());
+            assertEquals(line.length, record.size());
+            for (int i = 0; i < line.length; i++) {
+                assertEquals(line[i], record.get(i).toString());
+                assertEquals(line[i], record.getString(i));
+            }
+        }
+        assertNull(actual.readNextRecord());
+        assertEquals(expected.getLinesRead(), actual.getLinesRead());
+        assertEquals(expected.getRecordsRead(), actual.getRecordsRead());
+    }
+
+    @Test
+    public void recordIsReused() throws IOException {
+        CSVReader reader = createReader("a,b\nc,d\n");
+
+        CsvRecord first = reader.readNextRecord();
+        CharSequence field = first.get(1);
+        assertEquals("b", field.toString());
+
+        CsvRecord second = reader.readNextRecord();
+        assertSame(first, second);
+        assertEquals("d", second.get(1).toString());
+    }
+
+    @Test
+    public void fieldsAreCharSequences() throws IOException {
+        CSVReader reader = createReader("first,\"sec\"\"ond\"\n");
+
+        CsvRecord record = reader.readNextRecord();
+
+        CharSequence field = record.get(1);
+        assertEquals(7, field.length());
+        assertEquals('c', field.charAt(2));
+        assertEquals('"', field.charAt(3));
+        assertEquals("c\"o", field.subSequence(2, 5).toString());
+        assertEquals("sec\"ond", field.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAtChecksBounds() throws IOException {
+        CSVReader reader = createReader("abc\n");
+        reader.readNextRecord().get(0).charAt(3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getChecksBounds() throws IOException {
+        CSVReader reader = createReader("a,b\n");
+        reader.readNextRecord().get(2);
+    }
+
+    @Test
+    public void nullFieldsAreReturnedAsNull() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,,\"\"\n"))
+                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS)
+                .build();
+
+        CsvRecord record = reader.readNextRecord();
+
+        assertEquals(3, record.size());
+        assertFalse(record.isNull(0));
+        assertTrue(record.isNull(1));
+        assertNull(record.get(1));
+        assertNull(record.getString(1));
+        assertFalse(record.isNull(2));
+        assertEquals("", record.getString(2));
+        assertArrayEquals(new String[]{"a", null, ""}, record.toStringArray());
+    }
+
+    @Test
+    public void multiLineRecordsLongerThanTheLineBufferAreKeptIntact() throws IOException {
+        StringBuilder longField = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            longField.append((char) ('a' + i % 26));
+        }
+        String data = "x," + longField + ",\"" + longField + "\n" + longField + "\"," + longField + "\ny\n";
+        CSVReader reader = createReader(data);
+
+        CsvRecord record = reader.readNextRecord();
+
+        assertEquals(4, record.size());
+        assertEquals("x", record.getString(0));
+        assertEquals(longField.toString(), record.getString(1));
+        assertEquals(longField + "\n" + longField, record.getString(2));
+        assertEquals(longField.toString(), record.getString(3));
+        assertArrayEquals(new String[]{"y"}, reader.readNextRecord().toStringArray());
+        assertNull(reader.readNextRecord());
+        assertEquals(2, reader.getRecordsRead());
+    }
+
+    @Test
+    public void recordsAreAlsoAvailableWhenLinesAreReadAsStrings() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,\"b\"\"c\"\n"))
+                .withKeepCarriageReturn(true)
+                .build();
+
+        CsvRecord record = reader.readNextRecord();
+
+        assertArrayEquals(new String[]{"a", "b\"c"}, record.toStringArray());
+        assertNull(reader.readNextRecord());
+    }
+
+    @Test(expected = IOException.class)
+    public void unterminatedQuotedFieldAtEndOfFileThrows() throws IOException {
+        CSVReader reader = createReader("a,\"b\nc");
+        reader.readNextRecord();
+    }
+
+    @Test
+    public void recordsOnlyHoldSelectedColumns() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,\"b\nb\",c,\"d\nd\"\ne\n"))
+                .withColumns(3, 1, 0)
+                .build();
+
+        CsvRecord record = reader.readNextRecord();
+        assertEquals(3, record.size());
+        assertEquals("d\nd", record.getString(0));
+        assertEquals("b\nb", record.getString(1));
+        assertEquals("a", record.getString(2));
+
+        record = reader.readNextRecord();
+        assertTrue(record.isNull(0));
+        assertTrue(record.isNull(1));
+        assertEquals("e", record.getString(2));
+        assertNull(reader.readNextRecord());
+    }
+}
@@ -0,0 +1,139 @@
+package com.opencsv;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CsvRowWriterTest {
+
+    private static final double[] DOUBLES = {0.0, -0.0, 1.0, -1.5, 1e-5, 1e21, 123456.789,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE};
+    private static final long[] LONGS = {0, 1, -1, 10, -10, 1234567890123L, Long.MIN_VALUE, Long.MAX_VALUE};
+    private static final String[] PIECES = {"a", " ", "\"", "'", "\\", ",", ".", "-", "\n", "\r", "\u00e9"};
+
+    private static class FormattingCSVWriter extends CSVWriter {
+        FormattingCSVWriter(StringWriter writer) {
+            super(writer);
+        }
+
+        @Override
+        protected boolean checkCharactersToEscape(char nextChar) {
+            return super.checkCharactersToEscape(nextChar);
+        }
+    }
+
+    private String randomText(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = random.nextInt(6); n > 0; n--) {
+            sb.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void rowsAreWrittenAsCSVWriterWritesTheirText() throws IOException {
+        Random random = new Random(23);
+        char[] separators = {',', ';', '.', '-', '\u00e9'};
+        char[] quotes = {'"', '\'', CSVWriter.NO_QUOTE_CHARACTER};
+        char[] escapes = {'"', '\\', CSVWriter.NO_ESCAPE_CHARACTER};
+        for (int round = 0; round < 300; round++) {
+            char separator = separators[random.nextInt(separators.length)];
+            char quotechar = quotes[random.nextInt(quotes.length)];
+            char escapechar = escapes[random.nextInt(escapes.length)];
+            boolean applyQuotesToAll = random.nextBoolean();
+
+            StringWriter expected = new StringWriter();
+            CSVWriter expectedWriter = new CSVWriter(expected, separator, quotechar, escapechar, "\n");
+            StringWriter actual = new StringWriter();
+            CsvRowWriter rows = new CsvRowWriter(
+                    new CSVWriter(actual, separator, quotechar, escapechar, "\n"), applyQuotesToAll);
+
+            for (int r = random.nextInt(4); r >= 0; r--) {
+                String[] row = new String[random.nextInt(6)];
+                rows.beginRow();
+                for (int i = 0; i < row.length; i++) {
+                    switch (random.nextInt(5)) {
+                        case 0:
+                            long l = random.nextBoolean() ? LONGS[random.nextInt(LONGS.length)] : random.nextLong();
+                            row[i] = Long.toString(l);
+                            rows.field(l);
+                            break;
+                        case 1:
+                            double d = random.nextBoolean() ? DOUBLES[random.nextInt(DOUBLES.length)] : random.nextGaussian();
+                            row[i] = Double.toString(d);
+                            rows.field(d);
+                            break;
+                        case 2:
+                            row[i] = randomText(random);
+                            rows.field(row[i]);
+                            break;
+                        case 3:
+                            row[i] = randomText(random);
+                            rows.field(new StringBuilder(row[i]));
+                            break;
+                        default:
+                            rows.field(null);
+                    }
+                }
+                rows.endRow();
+                expectedWriter.writeNext(row, applyQuotesToAll);
+            }
+            rows.close();
+            assertEquals("round " + round, expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void rowsReachTheWriterWhenFlushedOrInBlocks() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvRowWriter rows = new CsvRowWriter(new CSVWriter(out), false);
+        rows.beginRow().field(1).field(2.5).field("a,b").endRow();
+        assertEquals("", out.toString());
+        rows.beginRow().field("open");
+        rows.flush();
+        assertEquals("1,2.5,\"a,b\"\n", out.toString());
+        rows.field(3).endRow();
+        rows.flush();
+        assertEquals("1,2.5,\"a,b\"\nopen,3\n", out.toString());
+
+        int flushed = out.getBuffer().length();
+        int rowCount = 0;
+        while (out.getBuffer().length() == flushed) {
+            rows.beginRow().field(rowCount++).endRow();
+        }
+        assertTrue(out.getBuffer().length() >= flushed + CSVWriter.BLOCK_SIZE);
+        assertTrue(rowCount > 1);
+    }
+
+    @Test
+    public void aRowNotEndedIsDiscardedOnClose() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvRowWriter rows = new CsvRowWriter(new CSVWriter(out));
+        rows.beginRow().field(-7).endRow();
+        rows.beginRow().field("lost");
+        rows.close();
+        assertEquals("\"-7\"\n", out.toString());
+    }
+
+    @Test
+    public void writersThatFormatRowsThemselvesGetTheRowsAsStrings() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvRowWriter rows = new CsvRowWriter(new FormattingCSVWriter(out), false);
+        rows.beginRow().field(Long.MIN_VALUE).field(0.1).field(new StringBuilder("x\"y")).field(null).endRow();
+        assertEquals("-9223372036854775808,0.1,\"x\"\"y\",\n", out.toString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fieldsNeedARow() {
+        new CsvRowWriter(new CSVWriter(new StringWriter())).field(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rowsMustBeEndedBeforeTheNextBegins() {
+        new CsvRowWriter(new CSVWriter(new StringWriter())).beginRow().beginRow();
+    }
+}
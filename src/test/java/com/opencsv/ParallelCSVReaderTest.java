@@ -0,0 +1,263 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ParallelCSVReaderTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(String content) throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes(UTF8));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private ParallelCSVReaderBuilder builder(File file) throws IOException {
+        return new ParallelCSVReaderBuilder(new RandomAccessFile(file, "r").getChannel())
+                .withCharset(UTF8)
+                .withParallelism(3);
+    }
+
+    private CSVReaderBuilder sequentialBuilder(File file) throws IOException {
+        return new CSVReaderBuilder(new InputStreamReader(new FileInputStream(file), UTF8));
+    }
+
+    private void assertSameAsSequential(File file, ParallelCSVReaderBuilder parallel, CSVReaderBuilder sequential)
+            throws IOException {
+        CSVReader expected = sequential.build();
+        ParallelCSVReader actual = parallel.build();
+        try {
+            String[] record;
+            do {
+                try {
+                    record = expected.readNext();
+                } catch (IOException e) {
+                    try {
+                        actual.readNext();
+                        fail("Expected " + e);
+                    } catch (IOException actualException) {
+                        assertEquals(e.getMessage(), actualException.getMessage());
+                    }
+                    return;
+                }
+                assertArrayEquals(record, actual.readNext());
+                assertEquals(expected.getLinesRead(), actual.getLinesRead());
+                assertEquals(expected.getRecordsRead(), actual.getRecordsRead());
+            } while (record != null);
+        } finally {
+            actual.close();
+            expected.close();
+        }
+    }
+
+    @Test
+    public void readsTheSameRecordsAsCSVReaderForAnyChunkSize() throws IOException {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            File file = write(RandomCsv.malformed(random, 1 + random.nextInt(40)));
+            int chunkSize = 1 + random.nextInt(64);
+            assertSameAsSequential(file, builder(file).withChunkSize(chunkSize), sequentialBuilder(file));
+        }
+    }
+
+    @Test
+    public void readsTheSameRecordsAsCSVReaderWithOtherParserSettings() throws IOException {
+        Random random = new Random(7);
+        for (int round = 0; round < 30; round++) {
+            File file = write(RandomCsv.malformed(random, 1 + random.nextInt(40)));
+            CSVParser parser = new CSVParserBuilder()
+                    .withStrictQuotes(random.nextBoolean())
+                    .withIgnoreLeadingWhiteSpace(random.nextBoolean())
+                    .withIgnoreQuotations(random.nextInt(4) == 0)
+                    .build();
+            int skipLines = random.nextInt(3);
+            boolean keepCR = random.nextBoolean();
+            assertSameAsSequential(file,
+                    builder(file).withChunkSize(1 + random.nextInt(64)).withCSVParser(parser)
+                            .withSkipLines(skipLines).withKeepCarriageReturn(keepCR),
+                    sequentialBuilder(file).withCSVParser(parser)
+                            .withSkipLines(skipLines).withKeepCarriageReturn(keepCR));
+        }
+    }
+
+    @Test
+    public void quotedFieldsSpanningManyChunks() throws IOException {
+        StringBuilder longField = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            longField.append("line ").append(i).append(",\"\"quoted\"\"\n");
+        }
+        File file = write("a,b\n1,\"" + longField + "\",2\n3,4\n");
+
+        ParallelCSVReader reader = builder(file).withChunkSize(100).build();
+        assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+        assertArrayEquals(new String[]{"1", longField.toString().replace("\"\"", "\""), "2"}, reader.readNext());
+        assertArrayEquals(new String[]{"3", "4"}, reader.readNext());
+        assertNull(reader.readNext());
+        assertEquals(203, reader.getLinesRead());
+        assertEquals(3, reader.getRecordsRead());
+        reader.close();
+    }
+
+    @Test
+    public void unorderedOutputReturnsAllRecords() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i).append(",\"value\n").append(i).append("\"\n");
+        }
+        File file = write(sb.toString());
+
+        ParallelCSVReader reader = builder(file).withChunkSize(256).withOrderedOutput(false).build();
+        assertFalse(reader.isOrdered());
+        List<String[]> records = reader.readAll();
+        reader.close();
+
+        assertEquals(1000, records.size());
+        assertEquals(2000, reader.getLinesRead());
+        assertEquals(1000, reader.getRecordsRead());
+        Collections.sort(records, new Comparator<String[]>() {
+            @Override
+            public int compare(String[] o1, String[] o2) {
+                return Integer.valueOf(o1[0]).compareTo(Integer.valueOf(o2[0]));
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            assertArrayEquals(new String[]{Integer.toString(i), "value\n" + i}, records.get(i));
+        }
+    }
+
+    private File fileWithALongRecord() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            sb.append(i).append(",short\n");
+        }
+        sb.append("10,\"a field that is far too long\"\n");
+        for (int i = 11; i < 500; i++) {
+            sb.append(i).append(",\"value\n").append(i).append("\"\n");
+        }
+        return write(sb.toString());
+    }
+
+    private void assertRecordsAroundTheLongRecord(File file, CSVParser parser, boolean ordered) throws IOException {
+        ParallelCSVReader reader = builder(file).withChunkSize(16).withCSVParser(parser)
+                .withOrderedOutput(ordered).build();
+        List<String[]> before = new ArrayList<String[]>();
+        long linesAtError = -1;
+        try {
+            while (before.size() <= 10) {
+                before.add(reader.readNext());
+            }
+            fail("Expected CsvLimitExceededException");
+        } catch (CsvLimitExceededException e) {
+            assertEquals(10, before.size());
+            linesAtError = reader.getLinesRead();
+        }
+        CSVReader expected = sequentialBuilder(file).withCSVParser(parser).build();
+        for (int i = 0; i < 10; i++) {
+            String[] record = expected.readNext();
+            if (ordered) {
+                assertArrayEquals(record, before.get(i));
+            }
+        }
+        try {
+            expected.readNext();
+            fail("Expected CsvLimitExceededException");
+        } catch (CsvLimitExceededException e) {
+            // the sequential reader goes on with the next record, and so must the parallel one
+            assertEquals(expected.getLinesRead(), linesAtError);
+        }
+        String[] record;
+        do {
+            record = expected.readNext();
+            assertArrayEquals(record, reader.readNext());
+            assertEquals(expected.getLinesRead(), reader.getLinesRead());
+        } while (record != null);
+        assertEquals(499, reader.getRecordsRead());
+        assertEquals(11 + 489 * 2, reader.getLinesRead());
+        expected.close();
+        reader.close();
+    }
+
+    @Test
+    public void theRestOfTheFileIsReadSequentiallyWhenAChunkScanFails() throws IOException {
+        File file = fileWithALongRecord();
+        // the scan of a chunk stops at a record that is too long
+        CSVParser parser = new CSVParserBuilder().withMaxRecordSize(20).build();
+        assertRecordsAroundTheLongRecord(file, parser, true);
+        assertRecordsAroundTheLongRecord(file, parser, false);
+    }
+
+    @Test
+    public void recordsAfterAFieldThatIsTooLongAreRead() throws IOException {
+        CSVParser parser = new CSVParserBuilder().withMaxFieldSize(16).build();
+        assertRecordsAroundTheLongRecord(fileWithALongRecord(), parser, true);
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        ParallelCSVReader reader = builder(write("")).withSkipLines(2).build();
+        assertNull(reader.readNext());
+        assertEquals(0, reader.getLinesRead());
+        reader.close();
+    }
+
+    @Test
+    public void skippingAllLines() throws IOException {
+        ParallelCSVReader reader = builder(write("a\r\nb\n")).withSkipLines(3).build();
+        assertNull(reader.readNext());
+        assertEquals(3, reader.getLinesRead());
+        reader.close();
+    }
+
+    @Test
+    public void unterminatedQuotedFieldAtEndOfFileThrows() throws IOException {
+        ParallelCSVReader reader = builder(write("a,b\nc,\"d\ne\nf\n")).withChunkSize(2).build();
+        assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+        try {
+            reader.readNext();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Un-terminated quoted field at end of CSV file", e.getMessage());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void charsetsWithMultiByteLineFeedsAreRejected() throws IOException {
+        File file = write("a,b\n");
+        try {
+            builder(file).withCharset(Charset.forName("UTF-16")).build();
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Files in UTF-16 cannot be split into chunks", e.getMessage());
+        }
+        assertTrue(ParallelCSVReader.canSplit(Charset.forName("ISO-8859-1")));
+    }
+}
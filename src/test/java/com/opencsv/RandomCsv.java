@@ -0,0 +1,93 @@
+package com.opencsv;
+
+import java.util.Random;
+
+/**
+ * Generates random CSV data for the tests that compare the records read
+ * in different ways.
+ */
+public class RandomCsv {
+
+    private static final String[] PIECES = {
+            "a", "bc", "\u00e9\u20ac", "\ud83d\ude00", "\"\"", ",", "\n", "\r\n", "\r", " "};
+    private static final String[] MALFORMED_PIECES = {
+            "a", "bc", "\u00e9\u20ac", "\ud83d\ude00", "\"", "\"\"", ",", "\n", "\r\n", "\r", "\\", " ", "x\"y"};
+    private static final String[] LINE_BREAKS = {"\n", "\r\n", "\r"};
+
+    private RandomCsv() {
+    }
+
+    /**
+     * Generates records whose quotes and line breaks are all within quoted
+     * fields. The records end with any kind of line break, except that the
+     * last one may have none.
+     *
+     * @param random  The source of randomness
+     * @param records The number of records
+     * @return The CSV data
+     */
+    public static String wellFormed(Random random, int records) {
+        return generate(random, records, false);
+    }
+
+    /**
+     * Generates records like {@link #wellFormed(Random, int)}, but with the
+     * odd stray quote, backslash or line break in an unquoted field, and
+     * the odd quoted field that is not terminated.
+     *
+     * @param random  The source of randomness
+     * @param records The number of records
+     * @return The CSV data
+     */
+    public static String malformed(Random random, int records) {
+        return generate(random, records, true);
+    }
+
+    /**
+     * Concatenates random pieces, without regard to fields or records.
+     *
+     * @param random The source of randomness
+     * @param count  The number of pieces
+     * @param pieces The pieces to choose from
+     * @return The concatenated pieces
+     */
+    public static String pieces(Random random, int count, String... pieces) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String generate(Random random, int records, boolean malformed) {
+        String[] pieces = malformed ? MALFORMED_PIECES : PIECES;
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < records; r++) {
+            int fields = 1 + random.nextInt(4);
+            for (int f = 0; f < fields; f++) {
+                if (f > 0) {
+                    sb.append(',');
+                }
+                boolean quoted = random.nextInt(3) == 0;
+                if (quoted) {
+                    sb.append('"');
+                }
+                for (int n = random.nextInt(6); n > 0; n--) {
+                    String piece = pieces[random.nextInt(pieces.length)];
+                    if (!quoted && !(malformed && random.nextInt(8) == 0)
+                            && (piece.indexOf('"') >= 0 || piece.indexOf('\n') >= 0 || piece.indexOf('\r') >= 0)) {
+                        continue;
+                    }
+                    sb.append(piece);
+                }
+                if (quoted && !(malformed && random.nextInt(20) == 0)) {
+                    sb.append('"');
+                }
+            }
+            if (r < records - 1 || random.nextBoolean()) {
+                sb.append(LINE_BREAKS[random.nextInt(LINE_BREAKS.length)]);
+            }
+        }
+        return sb.toString();
+    }
+}
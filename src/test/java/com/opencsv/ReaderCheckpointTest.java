@@ -0,0 +1,145 @@
+package com.opencsv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ReaderCheckpointTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ReaderCheckpoint roundTrip(ReaderCheckpoint checkpoint) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(checkpoint);
+        out.close();
+        return (ReaderCheckpoint) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+    }
+
+    @Test
+    public void readersResumedAtACheckpointReadTheRestOfTheFile() throws Exception {
+        Random random = new Random(17);
+        for (int round = 0; round < 20; round++) {
+            int skipLines = random.nextInt(2);
+            String csv = (skipLines > 0 ? "preamble\r\n" : "") + RandomCsv.wellFormed(random, 1 + random.nextInt(20));
+            Path file = folder.newFile().toPath();
+            Files.write(file, csv.getBytes(UTF8));
+
+            CSVReader reader = CSVReaderBuilder.fromPath(file, UTF8).withSkipLines(skipLines).build();
+            List<String[]> records = new ArrayList<String[]>();
+            List<ReaderCheckpoint> checkpoints = new ArrayList<ReaderCheckpoint>();
+            checkpoints.add(reader.checkpoint());
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                records.add(record);
+                checkpoints.add(roundTrip(reader.checkpoint()));
+            }
+            long lines = reader.getLinesRead();
+            reader.close();
+
+            for (int k = 0; k < checkpoints.size(); k++) {
+                ReaderCheckpoint checkpoint = checkpoints.get(k);
+                assertEquals(k, checkpoint.getRecordsRead());
+
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                checkpoint.seek(channel);
+                CSVReader resumed = new CSVReaderBuilder(Channels.newReader(channel, "UTF-8"))
+                        .withSkipLines(skipLines).withCharset(UTF8).withCheckpoint(checkpoint).build();
+                assertRestIsRead(records, k, resumed, "round " + round);
+                assertEquals(lines, resumed.getLinesRead());
+
+                StringReader chars = new StringReader(csv);
+                checkpoint.skip(chars);
+                resumed = new CSVReaderBuilder(chars).withSkipLines(skipLines).withCheckpoint(checkpoint).build();
+                assertRestIsRead(records, k, resumed, "round " + round);
+                assertEquals(-1, resumed.checkpoint().getByteOffset());
+                assertEquals(csv.length(), resumed.checkpoint().getCharacterOffset());
+            }
+        }
+    }
+
+    private void assertRestIsRead(List<String[]> records, int from, CSVReader reader, String message)
+            throws IOException {
+        for (int i = from; i < records.size(); i++) {
+            assertArrayEquals(message + ", record " + i, records.get(i), reader.readNext());
+            assertEquals(i + 1, reader.getRecordsRead());
+        }
+        assertNull(reader.readNext());
+        reader.close();
+    }
+
+    @Test
+    public void theHeaderOfAProjectionIsNotReadAgain() throws IOException {
+        String csv = "id,name,size\n1,one,s\n2,two,m\n3,three,l\n";
+        CSVReader reader = new CSVReaderBuilder(new StringReader(csv)).withColumns("size", "id").build();
+        assertArrayEquals(new String[]{"size", "id"}, reader.readNext());
+        assertArrayEquals(new String[]{"s", "1"}, reader.readNext());
+        ReaderCheckpoint checkpoint = reader.checkpoint();
+        assertArrayEquals(new String[]{"id", "name", "size"}, checkpoint.getHeader());
+
+        StringReader chars = new StringReader(csv);
+        checkpoint.skip(chars);
+        CSVReader resumed = new CSVReaderBuilder(chars).withColumns("size", "id").withCheckpoint(checkpoint).build();
+        assertArrayEquals(new String[]{"m", "2"}, resumed.readNext());
+        assertArrayEquals(new String[]{"l", "3"}, resumed.readNext());
+        assertNull(resumed.readNext());
+        assertEquals(4, resumed.getRecordsRead());
+    }
+
+    @Test
+    public void theByteOffsetIsOnlyKnownWithTheCharset() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("\u00e9,b\n")).build();
+        reader.readNext();
+        ReaderCheckpoint checkpoint = reader.checkpoint();
+        assertEquals(-1, checkpoint.getByteOffset());
+        assertEquals(4, checkpoint.getCharacterOffset());
+        File file = folder.newFile();
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            checkpoint.seek(channel);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        } finally {
+            channel.close();
+        }
+
+        reader = new CSVReaderBuilder(new StringReader("\u00e9,b\n")).withCharset(UTF8).build();
+        reader.readNext();
+        assertEquals(5, reader.checkpoint().getByteOffset());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void onlyReadersWithACSVParserTakeCheckpoints() {
+        new CSVReaderBuilder(new StringReader("a\n")).withCSVParser(new RFC4180Parser()).build().checkpoint();
+    }
+
+    @Test(expected = IOException.class)
+    public void skippingBeyondTheEndOfTheInputFails() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,b\nc,d\n")).build();
+        reader.readNext();
+        reader.checkpoint().skip(new StringReader("a"));
+    }
+}
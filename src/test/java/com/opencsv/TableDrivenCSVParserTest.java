@@ -0,0 +1,166 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TableDrivenCSVParserTest {
+
+    private static final char[][] CHARACTERS = {
+            {',', '"', '\\'},
+            {'\t', '\'', '"'},
+            {';', '"', CSVParser.NULL_CHARACTER},
+            {',', CSVParser.NULL_CHARACTER, CSVParser.NULL_CHARACTER},
+            {'\u00a7', '\u00ab', '\u00bb'}};
+
+    private static CSVParserBuilder randomBuilder(Random random) {
+        char[] characters = CHARACTERS[random.nextInt(CHARACTERS.length)];
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        return new CSVParserBuilder()
+                .withSeparator(characters[0])
+                .withQuoteChar(characters[1])
+                .withEscapeChar(characters[2])
+                .withStrictQuotes(random.nextInt(4) == 0)
+                .withIgnoreLeadingWhiteSpace(random.nextBoolean())
+                .withIgnoreQuotations(random.nextInt(5) == 0)
+                .withFieldAsNull(indicators[random.nextInt(indicators.length)]);
+    }
+
+    /**
+     * Creates the general CSVParser with the configuration of a builder, as
+     * the builder itself may pick one of the specialised parsers.
+     */
+    private static CSVParser referenceParser(CSVParserBuilder builder) {
+        CSVParser configured = builder.build();
+        return new CSVParser(configured.getSeparator(), configured.getQuotechar(), configured.getEscape(),
+                configured.isStrictQuotes(), configured.isIgnoreLeadingWhiteSpace(),
+                configured.isIgnoreQuotations(), configured.nullFieldIndicator());
+    }
+
+    private static String randomLine(Random random, CSVParser parser) {
+        String[] pieces = {"a", "bc", " ", "\t", "\u2003", "\u00e9", "\u0000", "\n",
+                String.valueOf(parser.getSeparator()), String.valueOf(parser.getQuotechar()),
+                String.valueOf(parser.getQuotechar()), String.valueOf(parser.getEscape())};
+        StringBuilder sb = new StringBuilder();
+        for (int i = random.nextInt(16); i > 0; i--) {
+            sb.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static void assertSameResult(CSVParser expected, TableDrivenCSVParser actual, String line, boolean multi) {
+        String[] expectedTokens;
+        try {
+            expectedTokens = multi ? expected.parseLineMulti(line) : expected.parseLine(line);
+        } catch (IOException e) {
+            try {
+                if (multi) {
+                    actual.parseLineMulti(line);
+                } else {
+                    actual.parseLine(line);
+                }
+                fail("Expected " + e);
+            } catch (IOException actualException) {
+                assertEquals(e.getMessage(), actualException.getMessage());
+            }
+            return;
+        }
+        try {
+            assertArrayEquals(line, expectedTokens, multi ? actual.parseLineMulti(line) : actual.parseLine(line));
+        } catch (IOException e) {
+            fail("Unexpected " + e);
+        }
+        assertEquals(expected.isPending(), actual.isPending());
+        assertEquals(expected.isInField(), actual.isInField());
+    }
+
+    @Test
+    public void parsesLinesLikeCSVParser() {
+        Random random = new Random(17);
+        for (int round = 0; round < 20000; round++) {
+            CSVParserBuilder builder = randomBuilder(random);
+            CSVParser expected = referenceParser(builder);
+            TableDrivenCSVParser actual = builder.buildTableDriven();
+            for (int lines = random.nextInt(5); lines >= 0; lines--) {
+                assertSameResult(expected, actual, randomLine(random, expected), random.nextInt(4) != 0);
+            }
+            assertSameResult(expected, actual, null, random.nextBoolean());
+        }
+    }
+
+    @Test
+    public void readsLikeCSVReader() throws IOException {
+        Random random = new Random(5);
+        for (int round = 0; round < 2000; round++) {
+            CSVParserBuilder builder = randomBuilder(random);
+            StringBuilder csv = new StringBuilder();
+            for (int lines = random.nextInt(6); lines >= 0; lines--) {
+                csv.append(randomLine(random, builder.build())).append('\n');
+            }
+            CSVReader expected = new CSVReaderBuilder(new StringReader(csv.toString()))
+                    .withCSVParser(referenceParser(builder)).build();
+            CSVReader actual = new CSVReaderBuilder(new StringReader(csv.toString()))
+                    .withCSVParser(builder.buildTableDriven()).build();
+            String[] record;
+            do {
+                try {
+                    record = expected.readNext();
+                } catch (IOException e) {
+                    try {
+                        actual.readNext();
+                        fail("Expected " + e);
+                    } catch (IOException actualException) {
+                        assertEquals(e.getMessage(), actualException.getMessage());
+                    }
+                    break;
+                }
+                assertArrayEquals(record, actual.readNext());
+            } while (record != null);
+        }
+    }
+
+    @Test
+    public void parsesQuotedAndEscapedFields() throws IOException {
+        TableDrivenCSVParser parser = new CSVParserBuilder().buildTableDriven();
+        assertArrayEquals(new String[]{"a", "b,c", "d\"e", "f\"g\"h", ""},
+                parser.parseLine("a,\"b,c\",\"d\\\"e\",f\"g\"h,"));
+        assertArrayEquals(new String[]{"x"}, parser.parseLineMulti("x,\"y"));
+        assertTrue(parser.isPending());
+        assertArrayEquals(new String[]{"y\nz"}, parser.parseLineMulti("z\""));
+        assertFalse(parser.isPending());
+    }
+
+    @Test
+    public void unterminatedQuotedFieldThrows() {
+        TableDrivenCSVParser parser = new CSVParserBuilder().buildTableDriven();
+        try {
+            parser.parseLine("a,\"b");
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Un-terminated quoted field at end of CSV line", e.getMessage());
+        }
+    }
+
+    @Test
+    public void convertsEmptyFieldsToNull() throws IOException {
+        TableDrivenCSVParser parser = new CSVParserBuilder()
+                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS).buildTableDriven();
+        assertArrayEquals(new String[]{null, "", "a", null}, parser.parseLine(",\"\",a,"));
+        parser = new CSVParserBuilder()
+                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_QUOTES).buildTableDriven();
+        assertArrayEquals(new String[]{"", null, "a", ""}, parser.parseLine(",\"\",a,"));
+    }
+
+    @Test
+    public void copiesAreTableDriven() {
+        TableDrivenCSVParser parser = new CSVParserBuilder().withSeparator(';').buildTableDriven();
+        TableDrivenCSVParser copy = parser.copy();
+        assertEquals(';', copy.getSeparator());
+        assertNotSame(parser, copy);
+    }
+}
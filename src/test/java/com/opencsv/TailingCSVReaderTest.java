@@ -0,0 +1,211 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TailingCSVReaderTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private TailingCSVReader reader;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws IOException {
+        file = folder.getRoot().toPath().resolve("audit.csv");
+        Files.write(file, new byte[0]);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private TailingCSVReaderBuilder builder() {
+        return new TailingCSVReaderBuilder(file).withCharset(UTF8)
+                .withPollInterval(1, 10, TimeUnit.MILLISECONDS);
+    }
+
+    private void append(String text) throws IOException {
+        Files.write(file, text.getBytes(UTF8), StandardOpenOption.APPEND);
+    }
+
+    @Test
+    public void onlyCompleteRecordsAreReturned() throws IOException {
+        reader = builder().build();
+        assertNull(reader.poll());
+
+        append("a,b\n1,\"x");
+        assertArrayEquals(new String[]{"a", "b"}, reader.poll());
+        assertNull(reader.poll());
+
+        append("\ny\",2\n3,");
+        assertArrayEquals(new String[]{"1", "x\ny", "2"}, reader.poll());
+        assertNull(reader.poll());
+
+        append("\u00e94\n");
+        assertArrayEquals(new String[]{"3", "\u00e94"}, reader.poll());
+        assertNull(reader.poll());
+        assertEquals(3, reader.getRecordsRead());
+        assertEquals(4, reader.getLinesRead());
+    }
+
+    @Test
+    public void aLineFeedAppendedAfterACarriageReturnEndsTheSameLine() throws IOException {
+        reader = builder().build();
+        append("a\r");
+        assertArrayEquals(new String[]{"a"}, reader.poll());
+        append("\nb\r\n");
+        assertArrayEquals(new String[]{"b"}, reader.poll());
+        assertNull(reader.poll());
+    }
+
+    @Test
+    public void aLineWithoutEndIsSkippedOnceItIsLongerThanARecordMayBe() throws IOException {
+        reader = builder().withCSVParser(new CSVParserBuilder().withMaxRecordSize(100).build()).build();
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            line.append('x');
+        }
+        append("a\n" + line);
+        assertArrayEquals(new String[]{"a"}, reader.poll());
+        try {
+            reader.poll();
+            fail("Expected a CsvLimitExceededException");
+        } catch (CsvLimitExceededException e) {
+            // expected
+        }
+        append(line.toString());
+        assertNull(reader.poll());
+        append("\nb,c\n");
+        assertArrayEquals(new String[]{"b", "c"}, reader.poll());
+        assertEquals(3, reader.getLinesRead());
+    }
+
+    @Test
+    public void readNextWaitsForTheRecordToBeWritten() throws Exception {
+        reader = builder().build();
+        Future<String[]> next = executor.submit(new Callable<String[]>() {
+            @Override
+            public String[] call() throws IOException {
+                return reader.readNext();
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(next.isDone());
+        append("late,record\n");
+        assertArrayEquals(new String[]{"late", "record"}, next.get(5, TimeUnit.SECONDS));
+
+        assertNull(reader.readNext(20, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void closingEndsAWait() throws Exception {
+        reader = builder().build();
+        Future<String[]> next = executor.submit(new Callable<String[]>() {
+            @Override
+            public String[] call() throws IOException {
+                return reader.readNext();
+            }
+        });
+        Thread.sleep(50);
+        reader.close();
+        assertNull(next.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void aTruncatedFileIsReadFromTheStart() throws IOException {
+        reader = builder().withSkipLines(1).build();
+        append("header\nfirst,1\nsecond,2\n");
+        assertArrayEquals(new String[]{"first", "1"}, reader.poll());
+        assertArrayEquals(new String[]{"second", "2"}, reader.poll());
+
+        Files.write(file, "header\nnew\n".getBytes(UTF8));
+        assertArrayEquals(new String[]{"new"}, reader.poll());
+        assertNull(reader.poll());
+    }
+
+    @Test
+    public void aRotatedFileIsReadToItsEndBeforeTheNewFile() throws IOException {
+        reader = builder().withSkipLines(1).build();
+        append("header\nold,1\nold,2");
+        assertArrayEquals(new String[]{"old", "1"}, reader.poll());
+        assertNull(reader.poll());
+
+        Files.move(file, folder.getRoot().toPath().resolve("audit.csv.1"));
+        assertNull(reader.poll());
+        Files.write(file, "header\nnew,1\n".getBytes(UTF8));
+        assertArrayEquals(new String[]{"old", "2"}, reader.poll());
+        assertArrayEquals(new String[]{"new", "1"}, reader.poll());
+        assertNull(reader.poll());
+        assertEquals(3, reader.getRecordsRead());
+    }
+
+    @Test
+    public void aRotatedFileEndingInAQuotedFieldIsReported() throws IOException {
+        reader = builder().build();
+        append("a\n\"open");
+        assertArrayEquals(new String[]{"a"}, reader.poll());
+        Files.move(file, folder.getRoot().toPath().resolve("audit.csv.1"));
+        Files.write(file, "b\n".getBytes(UTF8));
+        try {
+            reader.poll();
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Un-terminated quoted field"));
+        }
+        assertArrayEquals(new String[]{"b"}, reader.poll());
+    }
+
+    @Test
+    public void readingResumesAtThePositionOfTheLastRecord() throws IOException {
+        append("header\na,1\r\nb,2\r");
+        reader = builder().withSkipLines(1).build();
+        assertArrayEquals(new String[]{"a", "1"}, reader.poll());
+        assertArrayEquals(new String[]{"b", "2"}, reader.poll());
+        long position = reader.getPosition();
+        assertEquals(Files.size(file), position);
+        reader.close();
+
+        append("\nc,3\n");
+        reader = builder().withSkipLines(1).withStartPosition(position).build();
+        assertArrayEquals(new String[]{"c", "3"}, reader.poll());
+        assertNull(reader.poll());
+        reader.close();
+
+        reader = builder().withStartPosition(-1).build();
+        assertNull(reader.poll());
+        append("d,4\n");
+        assertArrayEquals(new String[]{"d", "4"}, reader.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thePollIntervalMustBePositive() {
+        builder().withPollInterval(0, 10, TimeUnit.MILLISECONDS);
+    }
+}
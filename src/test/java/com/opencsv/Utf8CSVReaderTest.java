@@ -0,0 +1,171 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Utf8CSVReaderTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static Utf8CSVReader reader(String csv) {
+        return new Utf8CSVReaderBuilder(new ByteArrayInputStream(csv.getBytes(UTF8))).build();
+    }
+
+    private String randomCsv(Random random) {
+        return RandomCsv.pieces(random, random.nextInt(60), "a", "bc", " ", "\u2003", "\u00e9", "\u20ac",
+                "\ud83d\ude00", "\"", "\"\"", ",", "\n", "\r\n", "\r", "\\", "x\"y");
+    }
+
+    private void assertSameAsCSVReader(byte[] bytes, CSVParser parser, Utf8CSVReader actual) throws IOException {
+        CSVReader expected = new CSVReaderBuilder(new InputStreamReader(new ByteArrayInputStream(bytes), UTF8))
+                .withCSVParser(parser).build();
+        String[] record;
+        do {
+            try {
+                record = expected.readNext();
+            } catch (IOException e) {
+                try {
+                    actual.readNext();
+                    fail("Expected " + e);
+                } catch (IOException actualException) {
+                    assertEquals(e.getMessage(), actualException.getMessage());
+                }
+                return;
+            }
+            assertArrayEquals(record, actual.readNext());
+            assertEquals(expected.getLinesRead(), actual.getLinesRead());
+            assertEquals(expected.getRecordsRead(), actual.getRecordsRead());
+        } while (record != null);
+    }
+
+    @Test
+    public void readsTheSameRecordsAsCSVReader() throws IOException {
+        Random random = new Random(11);
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        for (int round = 0; round < 500; round++) {
+            byte[] bytes = randomCsv(random).getBytes(UTF8);
+            if (round % 3 == 0 && bytes.length > 0) {
+                // malformed input is replaced the same way
+                bytes[random.nextInt(bytes.length)] = (byte) (0x80 + random.nextInt(0x80));
+            }
+            CSVParser parser = new CSVParserBuilder()
+                    .withStrictQuotes(random.nextInt(4) == 0)
+                    .withIgnoreLeadingWhiteSpace(random.nextBoolean())
+                    .withIgnoreQuotations(random.nextInt(5) == 0)
+                    .withFieldAsNull(indicators[random.nextInt(indicators.length)])
+                    .build();
+            ByteBuffer buffer;
+            if (random.nextBoolean()) {
+                buffer = ByteBuffer.wrap(bytes);
+            } else {
+                buffer = ByteBuffer.allocateDirect(bytes.length);
+                buffer.put(bytes).flip();
+            }
+            Utf8CSVReaderBuilder builder = random.nextBoolean()
+                    ? new Utf8CSVReaderBuilder(new ByteArrayInputStream(bytes))
+                    : new Utf8CSVReaderBuilder(buffer);
+            assertSameAsCSVReader(bytes, parser, builder.withCSVParser(parser).build());
+        }
+    }
+
+    @Test
+    public void readsQuotedMultiLineFields() throws IOException {
+        Utf8CSVReader reader = reader("a,\"b\r\n\u00e9\"\"c\",d\n\u20ac,\"\"\n");
+        assertArrayEquals(new String[]{"a", "b\n\u00e9\"c", "d"}, reader.readNext());
+        assertArrayEquals(new String[]{"\u20ac", ""}, reader.readNext());
+        assertNull(reader.readNext());
+        assertEquals(3, reader.getLinesRead());
+        assertEquals(2, reader.getRecordsRead());
+    }
+
+    @Test
+    public void recordFieldsAreDecodedWhenLookedAt() throws IOException {
+        Utf8CSVReader reader = reader("plain,\"caf\u00e9\",\n\"multi\n\ud83d\ude00\",x\n");
+        CsvRecord record = reader.readNextRecord();
+        assertEquals(3, record.size());
+        assertEquals("plain", record.get(0).toString());
+        assertEquals('l', record.get(0).charAt(1));
+        assertEquals(4, record.get(1).length());
+        assertEquals('\u00e9', record.get(1).charAt(3));
+        assertEquals("", record.getString(2));
+
+        record = reader.readNextRecord();
+        assertArrayEquals(new String[]{"multi\n\ud83d\ude00", "x"}, record.toStringArray());
+        assertNull(reader.readNextRecord());
+        assertEquals(2, reader.getRecordsRead());
+    }
+
+    @Test
+    public void nullFieldsInRecords() throws IOException {
+        CSVParser parser = new CSVParserBuilder().withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS).build();
+        Utf8CSVReader reader = new Utf8CSVReaderBuilder(ByteBuffer.wrap(",\"\"\n".getBytes(UTF8)))
+                .withCSVParser(parser).build();
+        CsvRecord record = reader.readNextRecord();
+        assertTrue(record.isNull(0));
+        assertNull(record.get(0));
+        assertFalse(record.isNull(1));
+        assertEquals("", record.getString(1));
+    }
+
+    @Test
+    public void skipsLines() throws IOException {
+        Utf8CSVReader reader = new Utf8CSVReaderBuilder(ByteBuffer.wrap("skip\nskip\na\n".getBytes(UTF8)))
+                .withSkipLines(2).build();
+        assertArrayEquals(new String[]{"a"}, reader.readNext());
+        assertNull(reader.readNext());
+        assertEquals(3, reader.getLinesRead());
+
+        reader = new Utf8CSVReaderBuilder(ByteBuffer.wrap(new byte[0])).withSkipLines(2).build();
+        assertNull(reader.readNext());
+        assertEquals(0, reader.getLinesRead());
+    }
+
+    @Test
+    public void unterminatedQuotedFieldAtEndOfInputThrows() throws IOException {
+        Utf8CSVReader reader = reader("a,\"b\nc");
+        try {
+            reader.readNext();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Un-terminated quoted field at end of CSV file", e.getMessage());
+        }
+    }
+
+    @Test
+    public void closedReaderReturnsNoMoreRecords() throws IOException {
+        Utf8CSVReader reader = reader("a\nb\n");
+        assertArrayEquals(new String[]{"a"}, reader.readNext());
+        reader.close();
+        assertNull(reader.readNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void separatorMustBeAscii() {
+        new Utf8CSVReaderBuilder(ByteBuffer.wrap(new byte[0]))
+                .withCSVParser(new CSVParserBuilder().withSeparator('\u00a7').build())
+                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parserWithLimitsIsRejected() {
+        new Utf8CSVReaderBuilder(ByteBuffer.wrap(new byte[0]))
+                .withCSVParser(new CSVParserBuilder().withMaxRecordSize(100).build())
+                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parserWithFieldLimitIsRejected() {
+        new Utf8CSVReaderBuilder(ByteBuffer.wrap(new byte[0]))
+                .withCSVParser(new CSVParserBuilder().withMaxFieldSize(10).build())
+                .build();
+    }
+}
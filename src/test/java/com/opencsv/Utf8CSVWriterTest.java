@@ -0,0 +1,142 @@
+package com.opencsv;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Utf8CSVWriterTest {
+
+    private static final String[] PIECES = {"a", " ", "\"", "'", "\\", ",", "\n", "\r",
+            "\u00e9", "\u00a7", "\u20ac", "\ud83d\ude00", "\ud83d", "\ude00"};
+
+    private String randomText(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = random.nextInt(random.nextInt(20) == 0 ? 40 : 6); n > 0; n--) {
+            sb.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void rowsAreEncodedAsCSVWriterWritesThem() throws IOException {
+        Random random = new Random(24);
+        char[] separators = {',', ';', '\u00a7'};
+        char[] quotes = {'"', '\'', '\u00e9', CSVWriter.NO_QUOTE_CHARACTER};
+        char[] escapes = {'"', '\\', CSVWriter.NO_ESCAPE_CHARACTER};
+        String[] lineEnds = {"\n", "\r\n", "\u2028"};
+        for (int round = 0; round < 500; round++) {
+            char separator = separators[random.nextInt(separators.length)];
+            char quotechar = quotes[random.nextInt(quotes.length)];
+            char escapechar = escapes[random.nextInt(escapes.length)];
+            String lineEnd = lineEnds[random.nextInt(lineEnds.length)];
+            boolean applyQuotesToAll = random.nextBoolean();
+            int bufferSize = random.nextBoolean() ? Utf8CSVWriter.MIN_BUFFER_SIZE + random.nextInt(100)
+                    : Utf8CSVWriter.DEFAULT_BUFFER_SIZE;
+
+            StringWriter expected = new StringWriter();
+            CSVWriter csvWriter = new CSVWriter(expected, separator, quotechar, escapechar, lineEnd);
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            Utf8CSVWriterBuilder builder = random.nextBoolean()
+                    ? new Utf8CSVWriterBuilder(actual) : new Utf8CSVWriterBuilder(Channels.newChannel(actual));
+            Utf8CSVWriter writer = builder.withSeparator(separator).withQuoteChar(quotechar)
+                    .withEscapeChar(escapechar).withLineEnd(lineEnd).withBufferSize(bufferSize).build();
+
+            List<String[]> rows = new ArrayList<String[]>();
+            for (int r = random.nextInt(5); r >= 0; r--) {
+                String[] row = new String[random.nextInt(6)];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = random.nextInt(8) == 0 ? null : randomText(random);
+                }
+                rows.add(row);
+            }
+            if (random.nextBoolean()) {
+                for (String[] row : rows) {
+                    csvWriter.writeNext(row, applyQuotesToAll);
+                    writer.writeNext(row, applyQuotesToAll);
+                }
+            } else {
+                csvWriter.writeAll(rows, applyQuotesToAll);
+                writer.writeAll(rows, applyQuotesToAll);
+            }
+            writer.close();
+            assertFalse(writer.checkError());
+            assertArrayEquals("round " + round, expected.toString().getBytes("UTF-8"), actual.toByteArray());
+        }
+    }
+
+    @Test
+    public void rowsAreWrittenWhenTheBufferIsFullOrFlushed() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8CSVWriter writer = new Utf8CSVWriterBuilder(out).withBufferSize(32).build();
+        writer.writeNext(new String[]{"a", "b"});
+        assertEquals(0, out.size());
+        writer.flush();
+        assertEquals("\"a\",\"b\"\n", out.toString("UTF-8"));
+        writer.writeNext(new String[]{"a field longer than the buffer", "\u00e9"}, false);
+        assertTrue(out.size() > 8);
+        writer.close();
+        assertEquals("\"a\",\"b\"\na field longer than the buffer,\u00e9\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void rowsAreWrittenToAFileChannel() throws IOException {
+        File file = File.createTempFile("utf8writer", ".csv");
+        file.deleteOnExit();
+        FileChannel channel = new FileOutputStream(file).getChannel();
+        Utf8CSVWriter writer = new Utf8CSVWriterBuilder(channel).withBufferSize(64).build();
+        List<String[]> rows = new ArrayList<String[]>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(new String[]{Integer.toString(i), "\u20ac" + i});
+            expected.append(i).append(",\u20ac").append(i).append('\n');
+        }
+        writer.writeAll(rows, false);
+        writer.close();
+        assertFalse(channel.isOpen());
+
+        Utf8CSVReader reader = new Utf8CSVReaderBuilder(new FileInputStream(file)).build();
+        assertEquals(rows.size(), reader.readAll().size());
+        reader.close();
+        FileInputStream in = new FileInputStream(file);
+        byte[] bytes = new byte[(int) file.length()];
+        assertEquals(bytes.length, in.read(bytes));
+        in.close();
+        assertEquals(expected.toString(), new String(bytes, "UTF-8"));
+    }
+
+    @Test
+    public void errorsAreReportedByCheckError() {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        Utf8CSVWriter writer = new Utf8CSVWriterBuilder(failing).withBufferSize(16).build();
+        writer.writeNext(new String[]{"more than sixteen bytes"});
+        assertTrue(writer.checkError());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theBufferHasAMinimumSize() {
+        new Utf8CSVWriterBuilder(new ByteArrayOutputStream()).withBufferSize(Utf8CSVWriter.MIN_BUFFER_SIZE - 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theOutputMayNotBeNull() {
+        new Utf8CSVWriterBuilder((OutputStream) null);
+    }
+}
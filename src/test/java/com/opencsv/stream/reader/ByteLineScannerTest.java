@@ -0,0 +1,68 @@
+package com.opencsv.stream.reader;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class ByteLineScannerTest {
+
+    private static String line(ByteLineScanner scanner) throws IOException {
+        return new String(scanner.getBuffer(), scanner.getLineStart(), scanner.getLineLength(), "UTF-8");
+    }
+
+    private static void assertLines(ByteLineScanner scanner, String... lines) throws IOException {
+        for (String line : lines) {
+            assertTrue(scanner.nextLine());
+            assertEquals(line, line(scanner));
+        }
+        assertFalse(scanner.nextLine());
+        assertTrue(scanner.isAtEnd());
+    }
+
+    @Test
+    public void removesAllLineTerminators() throws IOException {
+        byte[] bytes = "first\nsecond\r\nthird\r\r\nfourth".getBytes("UTF-8");
+        assertLines(new ByteLineScanner(new ByteArrayInputStream(bytes), 64),
+                "first", "second", "third", "", "fourth");
+    }
+
+    @Test
+    public void carriageReturnLineFeedSplitAcrossReadsAndGrowingBuffer() throws IOException {
+        byte[] bytes = "abc\r\n\u00e9\u00e9\u00e9\u00e9\u00e9\r\n".getBytes("UTF-8");
+        assertLines(new ByteLineScanner(new ByteArrayInputStream(bytes), 4),
+                "abc", "\u00e9\u00e9\u00e9\u00e9\u00e9");
+    }
+
+    @Test
+    public void readsHeapBuffersInPlace() throws IOException {
+        byte[] bytes = "xxa\nb\r\ncxx".getBytes("UTF-8");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, 6).slice();
+        ByteLineScanner scanner = new ByteLineScanner(buffer);
+        assertTrue(scanner.nextLine());
+        assertSame(bytes, scanner.getBuffer());
+        assertEquals("a", line(scanner));
+        assertLines(scanner, "b", "c");
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void readsDirectBuffers() throws IOException {
+        byte[] bytes = "a,b\nc,d\n".getBytes("UTF-8");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        assertLines(new ByteLineScanner(buffer), "a,b", "c,d");
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void emptyInput() throws IOException {
+        ByteLineScanner scanner = new ByteLineScanner(new ByteArrayInputStream(new byte[0]));
+        assertTrue(scanner.isAtEnd());
+        assertFalse(scanner.nextLine());
+        assertFalse(scanner.hasBufferedBytes());
+    }
+}
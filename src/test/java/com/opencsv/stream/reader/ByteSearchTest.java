@@ -0,0 +1,53 @@
+package com.opencsv.stream.reader;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ByteSearchTest {
+
+    private static int indexOfByLoop(byte[] bytes, int from, int to, byte... values) {
+        for (int i = from; i < to; i++) {
+            for (byte value : values) {
+                if (bytes[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return to;
+    }
+
+    @Test
+    public void findsTheSameBytesAsALoop() {
+        Random random = new Random(3);
+        byte[][] targets = {{','}, {',', '"'}, {',', '"', '\\'}, {0, (byte) 0x80, (byte) 0xFF}};
+        for (int round = 0; round < 2000; round++) {
+            byte[] values = targets[random.nextInt(targets.length)];
+            ByteSearch search = new ByteSearch(values);
+            byte[] bytes = new byte[random.nextInt(64)];
+            for (int i = 0; i < bytes.length; i++) {
+                // mostly plain bytes, with the odd value searched for
+                bytes[i] = random.nextInt(12) == 0 ? values[random.nextInt(values.length)] : (byte) random.nextInt(256);
+            }
+            int from = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+            int to = from + random.nextInt(bytes.length - from + 1);
+            assertEquals(indexOfByLoop(bytes, from, to, values), search.indexOf(bytes, from, to));
+        }
+    }
+
+    @Test
+    public void lowestMatchWinsWhenSeveralBytesInAWordMatch() {
+        ByteSearch search = new ByteSearch((byte) '\n', (byte) '\r');
+        byte[] bytes = "abcdefghijk\r\n\r\nxyz".getBytes();
+        assertEquals(11, search.indexOf(bytes, 0, bytes.length));
+        assertEquals(12, search.indexOf(bytes, 12, bytes.length));
+        assertEquals(bytes.length, search.indexOf(bytes, 15, bytes.length));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void atMostThreeValues() {
+        new ByteSearch((byte) 1, (byte) 2, (byte) 3, (byte) 4);
+    }
+}
@@ -6,7 +6,12 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNull;
 
 public class LineReaderTest {
     private static final String ORIGINAL = "This is the original string\r\n";
@@ -55,4 +60,64 @@ public class LineReaderTest {
         LineReader reader = createLineReaderforString(EMPTY_STRING, false);
         assertEquals(NULL_STRING, reader.readLine());
     }
+
+    @Test
+    public void lineReaderKeepingCRReadsLongLines() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append(i % 7 == 0 ? '\r' : 'x');
+        }
+        String longLine = sb.toString();
+        LineReader reader = createLineReaderforString(longLine + "\n" + ORIGINAL + "last", true);
+        assertEquals(longLine, reader.readLine());
+        assertEquals(WITH_CR, reader.readLine());
+        assertEquals("last", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    public void lineReaderKeepingCRDoesNotReadBeyondTheLine() throws IOException {
+        BufferedReader br = new BufferedReader(new StringReader("one\r\ntwo\n"));
+        LineReader reader = new LineReader(br, true);
+        assertEquals("one\r", reader.readLine());
+        assertEquals('t', br.read());
+    }
+
+    @Test
+    public void skipLineSkipsTheLinesReadLineReads() throws IOException {
+        Random random = new Random(1);
+        String[] pieces = {"a", "bc", "\r", "\n", "\r\n"};
+        for (int test = 0; test < 200; test++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                sb.append(pieces[random.nextInt(pieces.length)]);
+            }
+            if (random.nextBoolean()) {
+                // put a line break across the blocks the lines are scanned in
+                sb.insert(0, new String(new char[1023]).replace('\0', 'x'));
+            }
+            for (boolean keepCR : new boolean[]{false, true}) {
+                for (int skip = 0; skip < 4; skip++) {
+                    LineReader reading = createLineReaderforString(sb.toString(), keepCR);
+                    LineReader skipping = createLineReaderforString(sb.toString(), keepCR);
+                    for (int i = 0; i < skip; i++) {
+                        reading.readLine();
+                        skipping.skipLine();
+                    }
+                    for (String line = reading.readLine(); line != null; line = reading.readLine()) {
+                        assertEquals(line, skipping.readLine());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void skipLineReturnsFalseAtTheEnd() throws IOException {
+        LineReader reader = createLineReaderforString("one\r", false);
+        assertTrue(reader.skipLine());
+        assertFalse(reader.skipLine());
+        reader = createLineReaderforString(EMPTY_STRING, true);
+        assertFalse(reader.skipLine());
+    }
 }
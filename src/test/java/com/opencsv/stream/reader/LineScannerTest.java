@@ -0,0 +1,164 @@
+package com.opencsv.stream.reader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.*;
+
+public class LineScannerTest {
+
+    private LineScanner createLineScannerForString(String s, int bufferSize) {
+        return new LineScanner(new StringReader(s), bufferSize);
+    }
+
+    @Test
+    public void lineScannerRemovesAllLineTerminators() throws IOException {
+        LineScanner scanner = createLineScannerForString("first\nsecond\r\nthird\rfourth", 64);
+        assertTrue(scanner.nextLine());
+        assertEquals("first", scanner.getLine());
+        assertTrue(scanner.nextLine());
+        assertEquals("second", scanner.getLine());
+        assertTrue(scanner.nextLine());
+        assertEquals("third", scanner.getLine());
+        assertTrue(scanner.nextLine());
+        assertEquals("fourth", scanner.getLine());
+        assertFalse(scanner.nextLine());
+    }
+
+    @Test
+    public void lineScannerReturnsEmptyLines() throws IOException {
+        LineScanner scanner = createLineScannerForString("\n\r\n\r", 64);
+        assertTrue(scanner.nextLine());
+        assertEquals(0, scanner.getLineLength());
+        assertTrue(scanner.nextLine());
+        assertEquals(0, scanner.getLineLength());
+        assertTrue(scanner.nextLine());
+        assertEquals(0, scanner.getLineLength());
+        assertFalse(scanner.nextLine());
+    }
+
+    @Test
+    public void lineScannerHandlesEmptyString() throws IOException {
+        LineScanner scanner = createLineScannerForString("", 64);
+        assertFalse(scanner.nextLine());
+        assertFalse(scanner.hasBufferedCharacters());
+    }
+
+    @Test
+    public void lineScannerHandlesCarriageReturnLineFeedSplitAcrossReads() throws IOException {
+        LineScanner scanner = createLineScannerForString("abc\r\ndef\r\n", 4);
+        assertTrue(scanner.nextLine());
+        assertEquals("abc", scanner.getLine());
+        assertTrue(scanner.nextLine());
+        assertEquals("def", scanner.getLine());
+        assertFalse(scanner.nextLine());
+    }
+
+    @Test
+    public void lineScannerGrowsBufferForLongLines() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i % 10);
+        }
+        String longLine = sb.toString();
+        LineScanner scanner = createLineScannerForString("short\n" + longLine + "\nlast", 8);
+        assertTrue(scanner.nextLine());
+        assertEquals("short", scanner.getLine());
+        assertTrue(scanner.nextLine());
+        assertEquals(longLine, scanner.getLine());
+        assertEquals(longLine.length(), scanner.getLineEnd() - scanner.getLineStart());
+        assertTrue(scanner.nextLine());
+        assertEquals("last", scanner.getLine());
+        assertFalse(scanner.nextLine());
+    }
+
+    @Test
+    public void lineIsAvailableInBuffer() throws IOException {
+        LineScanner scanner = createLineScannerForString("a,b\nc,d\n", 64);
+        assertTrue(scanner.nextLine());
+        assertTrue(scanner.nextLine());
+        assertEquals("c,d", new String(scanner.getBuffer(), scanner.getLineStart(), scanner.getLineLength()));
+        assertTrue(scanner.hasBufferedCharacters() || !scanner.nextLine());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bufferSizeMustBePositive() {
+        createLineScannerForString("", 0);
+    }
+
+    @Test
+    public void linesLongerThanTheLimitAreSkipped() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i % 10);
+        }
+        LineScanner scanner = createLineScannerForString("short\r\n" + sb + "\r\nlast", 8);
+        scanner.setMaxLineLength(20);
+        assertTrue(scanner.nextLine());
+        assertEquals("short", scanner.getLine());
+        assertFalse(scanner.isLineTooLong());
+        assertTrue(scanner.nextLine());
+        assertTrue(scanner.isLineTooLong());
+        assertEquals("", scanner.getLine());
+        assertEquals(7, scanner.getLineOffset());
+        assertTrue(scanner.getBuffer().length < 100);
+        assertTrue(scanner.nextLine());
+        assertFalse(scanner.isLineTooLong());
+        assertEquals("last", scanner.getLine());
+        assertEquals(1009, scanner.getLineOffset());
+        assertFalse(scanner.nextLine());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxLineLengthMayNotBeNegative() {
+        createLineScannerForString("", 8).setMaxLineLength(-1);
+    }
+
+    @Test
+    public void carriageReturnsAreKeptInTheLine() throws IOException {
+        LineScanner scanner = new LineScanner(new StringReader("a\r\nb\rc\n\r\nlast\r"), 4, true);
+        assertTrue(scanner.nextLine());
+        assertEquals("a\r", scanner.getLine());
+        assertTrue(scanner.nextLine());
+        assertEquals("b\rc", scanner.getLine());
+        assertTrue(scanner.nextLine());
+        assertEquals("\r", scanner.getLine());
+        assertTrue(scanner.nextLine());
+        assertEquals("last\r", scanner.getLine());
+        assertFalse(scanner.nextLine());
+    }
+
+    @Test
+    public void bytesOfTheLinesReturnedAreCounted() throws IOException {
+        Charset utf8 = Charset.forName("UTF-8");
+        String input = "a\u00e9\r\n\u20ac\ud83d\ude00\rline that is too long\nz";
+        LineScanner scanner = new LineScanner(new StringReader(input), 4);
+        scanner.setMaxLineLength(8);
+        assertEquals(-1, scanner.getByteCount());
+        scanner.setByteCounting(utf8);
+        assertEquals(0, scanner.getByteCount());
+
+        assertTrue(scanner.nextLine());
+        // the line feed after the carriage return is not read yet
+        assertEquals("a\u00e9\r".getBytes(utf8).length, scanner.getByteCount());
+        assertTrue(scanner.nextLine());
+        assertEquals("a\u00e9\r\n\u20ac\ud83d\ude00\r".getBytes(utf8).length, scanner.getByteCount());
+        assertTrue(scanner.isAfterCarriageReturn());
+        assertTrue(scanner.nextLine());
+        assertTrue(scanner.isLineTooLong());
+        assertEquals(input.length() - 1, scanner.getNextLineOffset());
+        assertTrue(scanner.nextLine());
+        assertEquals(input.getBytes(utf8).length, scanner.getByteCount());
+        assertEquals(input.length(), scanner.getNextLineOffset());
+    }
+
+    @Test
+    public void bytesAreOnlyCountedForCharsetsWithSingleByteLineBreaks() {
+        assertTrue(LineScanner.canCountBytes(Charset.forName("UTF-8")));
+        assertTrue(LineScanner.canCountBytes(Charset.forName("ISO-8859-1")));
+        assertFalse(LineScanner.canCountBytes(Charset.forName("UTF-16")));
+    }
+}
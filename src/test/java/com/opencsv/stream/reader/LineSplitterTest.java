@@ -0,0 +1,88 @@
+package com.opencsv.stream.reader;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LineSplitterTest {
+
+    /**
+     * Splits text that arrives in random pieces, moving what is left of the
+     * buffer to its front before each piece, and returns the lines and
+     * what is left at the end.
+     */
+    private static List<String> split(String text, boolean keepCarriageReturns, boolean bytes, Random random) {
+        LineSplitter splitter = new LineSplitter(keepCarriageReturns);
+        char[] chars = new char[text.length()];
+        byte[] buffer = new byte[text.length()];
+        List<String> lines = new ArrayList<String>();
+        int limit = 0;
+        int offset = 0;
+        while (offset < text.length()) {
+            int position = splitter.getPosition();
+            System.arraycopy(chars, position, chars, 0, limit - position);
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            splitter.shift(position);
+            int piece = Math.min(text.length() - offset, random.nextInt(5));
+            for (int i = 0; i < piece; i++) {
+                chars[limit] = text.charAt(offset);
+                buffer[limit] = (byte) text.charAt(offset);
+                limit++;
+                offset++;
+            }
+            while (bytes ? splitter.nextLine(buffer, limit) : splitter.nextLine(chars, limit)) {
+                lines.add(new String(chars, splitter.getLineStart(), splitter.getLineEnd() - splitter.getLineStart()));
+            }
+        }
+        lines.add(new String(chars, splitter.getPosition(), limit - splitter.getPosition()));
+        return lines;
+    }
+
+    @Test
+    public void linesEndAtAnyLineBreak() {
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            for (boolean bytes : new boolean[]{false, true}) {
+                assertEquals(Arrays.asList("a", "", "b", "", "c", "d"),
+                        split("a\n\nb\r\r\nc\r\nd", false, bytes, random));
+                assertEquals(Arrays.asList("a", "", "b\r", "\r", "c\rd"),
+                        split("a\n\nb\r\n\r\nc\rd", true, bytes, random));
+            }
+        }
+    }
+
+    @Test
+    public void aLineFeedAfterACarriageReturnIsSkippedWhenItArrives() {
+        LineSplitter splitter = new LineSplitter(false);
+        char[] chars = "a\r\nb\n".toCharArray();
+        assertTrue(splitter.nextLine(chars, 2));
+        assertTrue(splitter.isAfterCarriageReturn());
+        assertFalse(splitter.nextLine(chars, 2));
+        assertEquals(2, splitter.getPosition());
+        assertFalse(splitter.nextLine(chars, 4));
+        assertEquals(3, splitter.getPosition());
+        assertFalse(splitter.isAfterCarriageReturn());
+        assertTrue(splitter.nextLine(chars, 5));
+        assertEquals(3, splitter.getLineStart());
+        assertEquals(4, splitter.getLineEnd());
+    }
+
+    @Test
+    public void inputCanContinueAfterACarriageReturn() {
+        LineSplitter splitter = new LineSplitter(false);
+        splitter.continueAfterCarriageReturn();
+        assertTrue(splitter.nextLine("\nx\n".getBytes(), 3));
+        assertEquals(1, splitter.getLineStart());
+
+        splitter = new LineSplitter(true);
+        splitter.continueAfterCarriageReturn();
+        assertTrue(splitter.nextLine("\nx\n".getBytes(), 3));
+        assertEquals(0, splitter.getLineStart());
+    }
+}
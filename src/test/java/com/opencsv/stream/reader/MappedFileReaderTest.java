@@ -0,0 +1,126 @@
+package com.opencsv.stream.reader;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MappedFileReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(byte[] content) throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content);
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private MappedFileReader open(File file, Charset charset, int regionSize) throws IOException {
+        return new MappedFileReader(new RandomAccessFile(file, "r").getChannel(), charset, regionSize);
+    }
+
+    private String readAll(Reader reader, Random random) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[64];
+        int n;
+        while ((n = reader.read(buf, 0, 1 + random.nextInt(buf.length))) != -1) {
+            sb.append(buf, 0, n);
+        }
+        reader.close();
+        return sb.toString();
+    }
+
+    private void assertSameAsInputStreamReader(byte[] content, Charset charset, Random random) throws IOException {
+        String expected = readAll(new InputStreamReader(new ByteArrayInputStream(content), charset), random);
+        int regionSize = 4 + random.nextInt(20);
+        String actual = readAll(open(write(content), charset, regionSize), random);
+        assertEquals("region size " + regionSize, expected, actual);
+    }
+
+    @Test
+    public void decodesUtf8LikeInputStreamReader() throws IOException {
+        Charset utf8 = Charset.forName("UTF-8");
+        String[] pieces = {"a", "bc,", "\n", "\u00e9", "\u20ac", "\ud83d\ude00", "\"x\""};
+        Random random = new Random(1);
+        for (int round = 0; round < 200; round++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                sb.append(pieces[random.nextInt(pieces.length)]);
+            }
+            byte[] content = sb.toString().getBytes(utf8);
+            if (round % 4 == 0 && content.length > 0) {
+                // malformed input is replaced the same way
+                content[random.nextInt(content.length)] = (byte) (0x80 + random.nextInt(0x80));
+            }
+            assertSameAsInputStreamReader(content, utf8, random);
+        }
+    }
+
+    @Test
+    public void decodesSingleByteCharsets() throws IOException {
+        byte[] content = new byte[256];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Random random = new Random(2);
+        assertSameAsInputStreamReader(content, Charset.forName("ISO-8859-1"), random);
+        assertSameAsInputStreamReader(content, Charset.forName("US-ASCII"), random);
+        assertSameAsInputStreamReader(content, Charset.forName("windows-1252"), random);
+    }
+
+    @Test
+    public void singleCharReadsSplitSupplementaryCharacters() throws IOException {
+        MappedFileReader reader = open(write("\ud83d\ude00!".getBytes("UTF-8")), Charset.forName("UTF-8"), 4);
+        assertEquals(0xd83d, reader.read());
+        assertFalse(reader.isAtEnd());
+        assertEquals(0xde00, reader.read());
+        assertEquals('!', reader.read());
+        assertEquals(-1, reader.read());
+        reader.close();
+    }
+
+    @Test
+    public void knowsWhenTheEndOfTheFileIsReached() throws IOException {
+        MappedFileReader reader = open(write("abc".getBytes("UTF-8")), Charset.forName("UTF-8"), 4);
+        assertFalse(reader.isAtEnd());
+        assertTrue(reader.ready());
+        char[] buf = new char[3];
+        assertEquals(3, reader.read(buf, 0, 3));
+        assertTrue(reader.isAtEnd());
+        assertEquals(-1, reader.read(buf, 0, 3));
+        reader.close();
+
+        assertTrue(open(write(new byte[0]), Charset.forName("UTF-8"), 4).isAtEnd());
+    }
+
+    @Test
+    public void closedReaderCannotBeRead() throws IOException {
+        MappedFileReader reader = open(write("abc".getBytes("UTF-8")), Charset.forName("UTF-8"), 4);
+        reader.close();
+        assertTrue(reader.isAtEnd());
+        try {
+            reader.read();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Stream closed", e.getMessage());
+        }
+    }
+}